@@ -0,0 +1,54 @@
+package integra.asistencia.cache;
+
+import integra.asistencia.actions.EmpleadoReporteCommand;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Clave normalizada de un reporte de asistencia.
+ * <p>
+ * El límite superior solo se conserva como fecha porque las consultas lo extienden al final del día;
+ * así, dos comandos que difieren únicamente en la hora de "hasta" comparten la misma entrada.
+ * </p>
+ */
+public record ReporteCacheKey(Integer empleadoId,
+                              Integer unidadId,
+                              Integer zonaId,
+                              Integer supervisorId,
+                              Integer puestoId,
+                              LocalDateTime desde,
+                              LocalDate hasta) {
+
+    public static ReporteCacheKey of(EmpleadoReporteCommand command) {
+        return new ReporteCacheKey(command.getEmpleadoId(),
+                command.getUnidadId(),
+                command.getZonaId(),
+                command.getSupervisorId(),
+                command.getPuestoId(),
+                command.getDesde(),
+                command.getHasta() != null ? command.getHasta().toLocalDate() : null);
+    }
+
+    /**
+     * Indica si un cambio en la jornada del empleado en la fecha indicada puede alterar este reporte.
+     */
+    public boolean cubre(Integer empleado, LocalDate fecha) {
+        if (empleadoId != null && !empleadoId.equals(empleado)) {
+            return false;
+        }
+        if (fecha == null) {
+            return true;
+        }
+        boolean despuesDeInicio = desde == null || !fecha.isBefore(desde.toLocalDate());
+        boolean antesDeFin = hasta == null || !fecha.isAfter(hasta);
+        return despuesDeInicio && antesDeFin;
+    }
+
+    /**
+     * Un periodo es candidato a inmutable cuando termina antes del día en curso.
+     */
+    public boolean periodoConcluido(LocalDate hoy) {
+        return hasta != null && hasta.isBefore(hoy);
+    }
+}
@@ -0,0 +1,346 @@
+package integra.asistencia.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import integra.asistencia.actions.EmpleadoReporteCommand;
+import integra.asistencia.config.ReporteProperties;
+import integra.asistencia.event.AsistenciaModificadaEvent;
+import integra.asistencia.model.Asistencia;
+import integra.asistencia.model.EmpleadoReporte;
+import integra.asistencia.model.PausaAsistencia;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * Caché de resultados de reportes de asistencia.
+ * <p>
+ * Los periodos concluidos cuyas jornadas están todas cerradas no vuelven a cambiar salvo por un registro
+ * manual, así que se conservan durante {@code ttl-inmutable}; el resto vive solo {@code ttl-abierto}.
+ * Las entradas se invalidan en cuanto una checada, un registro manual o un cierre automático toca a un
+ * empleado y fecha dentro de su rango (ver {@link AsistenciaModificadaEvent}).
+ * </p>
+ * <p>
+ * Ambos niveles en memoria están acotados por peso: los reportes por número de asistencias y los archivos
+ * Excel por KB. Opcionalmente, los Excel inmutables también se escriben en disco para sobrevivir a la
+ * expulsión de memoria. El índice del disco está acotado por {@code maximo-disco-kb} y {@code ttl-inmutable};
+ * el archivo se elimina en cuanto su entrada sale del índice. El índice vive en memoria, por lo que los
+ * archivos huérfanos de una ejecución anterior se eliminan al arrancar.
+ * </p>
+ * <p>
+ * Los reportes en caché se comparten entre todas las solicitudes, así que se guardan como copia del resultado
+ * calculado, con listas inmutables.
+ * </p>
+ */
+@Service
+@Slf4j
+public class ReporteCacheService {
+
+    private static final String NOMBRE_CACHE = "reporteAsistencia";
+    private static final String NOMBRE_CACHE_EXCEL = "reporteAsistenciaExcel";
+
+    private final ReporteProperties.Cache config;
+    private final Cache<ReporteCacheKey, EntradaReporte> reportes;
+    private final Cache<ReporteCacheKey, EntradaExcel> excel;
+    private final Set<Calculo> calculosEnCurso = ConcurrentHashMap.newKeySet();
+    private final Cache<ReporteCacheKey, ArchivoDisco> indiceDisco;
+    private final Path directorioDisco;
+    private final Counter aciertosDisco;
+    private final Counter fallosDisco;
+
+    public ReporteCacheService(ReporteProperties properties, MeterRegistry meterRegistry) {
+        this.config = properties.getCache();
+
+        Cache<ReporteCacheKey, EntradaReporte> cacheReportes = Caffeine.newBuilder()
+                .maximumWeight(config.getMaximoRegistros())
+                .weigher((ReporteCacheKey key, EntradaReporte entrada) -> entrada.peso())
+                .expireAfter(new ExpiracionPorPeriodo<ReporteCacheKey, EntradaReporte>(EntradaReporte::inmutable))
+                .recordStats()
+                .build();
+        this.reportes = CaffeineCacheMetrics.monitor(meterRegistry, cacheReportes, NOMBRE_CACHE);
+
+        Cache<ReporteCacheKey, EntradaExcel> cacheExcel = Caffeine.newBuilder()
+                .maximumWeight(config.getMaximoExcelKb())
+                .weigher((ReporteCacheKey key, EntradaExcel entrada) -> Math.max(1, entrada.contenido().length / 1024))
+                .expireAfter(new ExpiracionPorPeriodo<ReporteCacheKey, EntradaExcel>(EntradaExcel::inmutable))
+                .recordStats()
+                .build();
+        this.excel = CaffeineCacheMetrics.monitor(meterRegistry, cacheExcel, NOMBRE_CACHE_EXCEL);
+
+        this.directorioDisco = prepararDirectorioDisco(config.getDirectorioDisco());
+        // El scheduler hace que los archivos expirados se eliminen a tiempo aunque no haya accesos
+        this.indiceDisco = Caffeine.newBuilder()
+                .maximumWeight(config.getMaximoDiscoKb())
+                .weigher((ReporteCacheKey key, ArchivoDisco archivo) -> archivo.kb())
+                .expireAfterWrite(config.getTtlInmutable())
+                .scheduler(Scheduler.systemScheduler())
+                .removalListener((ReporteCacheKey key, ArchivoDisco archivo, RemovalCause cause) -> {
+                    if (archivo != null) {
+                        eliminarArchivo(archivo.ruta());
+                    }
+                })
+                .build();
+        this.aciertosDisco = Counter.builder("integra.reporte.cache.disco")
+                .tag("resultado", "hit")
+                .register(meterRegistry);
+        this.fallosDisco = Counter.builder("integra.reporte.cache.disco")
+                .tag("resultado", "miss")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Devuelve el reporte en caché o lo calcula con {@code cargar}.
+     */
+    public List<EmpleadoReporte> obtenerAsistencia(EmpleadoReporteCommand command, Supplier<List<EmpleadoReporte>> cargar) {
+        if (!config.isHabilitado()) {
+            return cargar.get();
+        }
+        ReporteCacheKey key = ReporteCacheKey.of(command);
+        EntradaReporte entrada = reportes.getIfPresent(key);
+        if (entrada != null) {
+            return entrada.datos();
+        }
+
+        Calculo calculo = iniciarCalculo(key);
+        try {
+            List<EmpleadoReporte> datos = inmutable(cargar.get());
+            if (!calculo.invalidado) {
+                reportes.put(key, new EntradaReporte(datos, esInmutable(key, datos)));
+            }
+            return datos;
+        } finally {
+            calculosEnCurso.remove(calculo);
+        }
+    }
+
+    /**
+     * Devuelve el Excel en caché (memoria o disco) o lo genera a partir del reporte.
+     */
+    public byte[] obtenerExcel(EmpleadoReporteCommand command, Supplier<List<EmpleadoReporte>> cargar, Function<List<EmpleadoReporte>, byte[]> generar) {
+        if (!config.isHabilitado()) {
+            return generar.apply(cargar.get());
+        }
+        ReporteCacheKey key = ReporteCacheKey.of(command);
+        EntradaExcel entrada = excel.getIfPresent(key);
+        if (entrada != null) {
+            return entrada.contenido();
+        }
+        byte[] desdeDisco = leerDisco(key);
+        if (desdeDisco != null) {
+            excel.put(key, new EntradaExcel(desdeDisco, true));
+            return desdeDisco;
+        }
+
+        Calculo calculo = iniciarCalculo(key);
+        try {
+            List<EmpleadoReporte> datos = obtenerAsistencia(command, cargar);
+            byte[] contenido = generar.apply(datos);
+            if (!calculo.invalidado) {
+                boolean inmutable = esInmutable(key, datos);
+                excel.put(key, new EntradaExcel(contenido, inmutable));
+                if (inmutable) {
+                    escribirDisco(key, contenido);
+                }
+            }
+            return contenido;
+        } finally {
+            calculosEnCurso.remove(calculo);
+        }
+    }
+
+    /**
+     * Elimina los reportes cuyo rango incluye la jornada modificada. Se ejecuta tras el commit para que
+     * ningún cálculo posterior lea el estado anterior; los cálculos en curso se marcan para no guardarse.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAsistenciaModificada(AsistenciaModificadaEvent event) {
+        calculosEnCurso.stream()
+                .filter(calculo -> calculo.key.cubre(event.empleadoId(), event.fecha()))
+                .forEach(calculo -> calculo.invalidado = true);
+
+        reportes.asMap().keySet().removeIf(key -> key.cubre(event.empleadoId(), event.fecha()));
+        excel.asMap().keySet().removeIf(key -> key.cubre(event.empleadoId(), event.fecha()));
+        // El removalListener del índice elimina los archivos
+        indiceDisco.asMap().keySet().removeIf(key -> key.cubre(event.empleadoId(), event.fecha()));
+    }
+
+    /**
+     * Copia del reporte para la caché. Los reportes, asistencias y pausas se copian, así que el llamador puede
+     * seguir modificando los suyos sin alterar la entrada, y las listas de la copia son inmutables. Empleado,
+     * unidad y puesto se comparten: son datos descriptivos que el reporte no modifica.
+     */
+    private static List<EmpleadoReporte> inmutable(List<EmpleadoReporte> datos) {
+        List<EmpleadoReporte> copia = new ArrayList<>(datos.size());
+        for (EmpleadoReporte reporte : datos) {
+            copia.add(new EmpleadoReporte(reporte.getId(), reporte.getEmpleado(), reporte.getUnidad(), reporte.getPuesto(),
+                    copiar(reporte.getAsistencias(), ReporteCacheService::copiar), reporte.getFechaDesde(), reporte.getFechaHasta()));
+        }
+        return List.copyOf(copia);
+    }
+
+    private static Asistencia copiar(Asistencia asistencia) {
+        Asistencia copia = new Asistencia(asistencia.getId(), asistencia.getFecha(), asistencia.getInicioJornada(),
+                asistencia.getFinJornada(), asistencia.getJornadaCerrada(), asistencia.getPathFotoInicio(),
+                asistencia.getPathFotoFin(), null, asistencia.getComentario(), asistencia.getCerradoAutomatico(),
+                asistencia.getInconsistencia(), asistencia.getTiempoCompensado(), asistencia.getFueAsistenciaNocturna());
+        copia.setPausas(copiar(asistencia.getPausas(), pausa -> new PausaAsistencia(pausa.getId(), copia, pausa.getTipoPausa(),
+                pausa.getInicio(), pausa.getFin(), pausa.getPathFotoInicio(), pausa.getPathFotoFin())));
+        return copia;
+    }
+
+    private static <T> List<T> copiar(List<T> elementos, UnaryOperator<T> copiar) {
+        return elementos != null ? elementos.stream().map(copiar).toList() : null;
+    }
+
+    private Calculo iniciarCalculo(ReporteCacheKey key) {
+        Calculo calculo = new Calculo(key);
+        calculosEnCurso.add(calculo);
+        return calculo;
+    }
+
+    private boolean esInmutable(ReporteCacheKey key, List<EmpleadoReporte> datos) {
+        if (!key.periodoConcluido(LocalDate.now())) {
+            return false;
+        }
+        return datos.stream()
+                .flatMap(reporte -> reporte.getAsistencias().stream())
+                .allMatch(asistencia -> Boolean.TRUE.equals(asistencia.getJornadaCerrada()));
+    }
+
+    // === NIVEL EN DISCO ===
+
+    private Path prepararDirectorioDisco(String directorio) {
+        if (!StringUtils.hasText(directorio)) {
+            return null;
+        }
+        Path ruta = Paths.get(directorio);
+        try {
+            Files.createDirectories(ruta);
+            try (Stream<Path> archivos = Files.list(ruta)) {
+                archivos.filter(archivo -> archivo.toString().endsWith(".xlsx")).forEach(this::eliminarArchivo);
+            }
+            log.info("Caché de reportes Excel en disco habilitada en {}", ruta.toAbsolutePath());
+            return ruta;
+        } catch (IOException e) {
+            log.warn("No se pudo preparar el directorio de caché de reportes '{}': {}", directorio, e.getMessage());
+            return null;
+        }
+    }
+
+    private byte[] leerDisco(ReporteCacheKey key) {
+        if (directorioDisco == null) {
+            return null;
+        }
+        ArchivoDisco archivo = indiceDisco.getIfPresent(key);
+        if (archivo == null) {
+            fallosDisco.increment();
+            return null;
+        }
+        try {
+            byte[] contenido = Files.readAllBytes(archivo.ruta());
+            aciertosDisco.increment();
+            return contenido;
+        } catch (IOException e) {
+            log.warn("No se pudo leer el reporte en caché {}: {}", archivo.ruta(), e.getMessage());
+            indiceDisco.asMap().remove(key, archivo);
+            fallosDisco.increment();
+            return null;
+        }
+    }
+
+    private void escribirDisco(ReporteCacheKey key, byte[] contenido) {
+        if (directorioDisco == null) {
+            return;
+        }
+        Path archivo = directorioDisco.resolve(UUID.randomUUID() + ".xlsx");
+        try {
+            Files.write(archivo, contenido);
+            // Si ya había un archivo para la clave, el removalListener lo elimina
+            indiceDisco.put(key, new ArchivoDisco(archivo, Math.max(1, contenido.length / 1024)));
+        } catch (IOException e) {
+            log.warn("No se pudo escribir el reporte en caché {}: {}", archivo, e.getMessage());
+        }
+    }
+
+    private void eliminarArchivo(Path archivo) {
+        try {
+            Files.deleteIfExists(archivo);
+        } catch (IOException e) {
+            log.warn("No se pudo eliminar el reporte en caché {}: {}", archivo, e.getMessage());
+        }
+    }
+
+    // === TIPOS INTERNOS ===
+
+    private record EntradaReporte(List<EmpleadoReporte> datos, boolean inmutable) {
+        int peso() {
+            int registros = datos.stream().mapToInt(reporte -> reporte.getAsistencias().size() + 1).sum();
+            return Math.max(1, registros);
+        }
+    }
+
+    private record EntradaExcel(byte[] contenido, boolean inmutable) {
+    }
+
+    private record ArchivoDisco(Path ruta, int kb) {
+    }
+
+    private static final class Calculo {
+        private final ReporteCacheKey key;
+        private volatile boolean invalidado;
+
+        private Calculo(ReporteCacheKey key) {
+            this.key = key;
+        }
+    }
+
+    /**
+     * Asigna a cada entrada la vigencia de su tipo de periodo; las lecturas no la extienden.
+     */
+    private final class ExpiracionPorPeriodo<K, V> implements Expiry<K, V> {
+        private final Function<V, Boolean> inmutable;
+
+        private ExpiracionPorPeriodo(Function<V, Boolean> inmutable) {
+            this.inmutable = inmutable;
+        }
+
+        @Override
+        public long expireAfterCreate(K key, V value, long currentTime) {
+            Duration ttl = inmutable.apply(value) ? config.getTtlInmutable() : config.getTtlAbierto();
+            return ttl.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(K key, V value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(K key, V value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
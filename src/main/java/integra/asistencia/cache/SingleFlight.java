@@ -0,0 +1,82 @@
+package integra.asistencia.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa ejecuciones concurrentes con la misma clave en un único cálculo.
+ * <p>
+ * El primer llamador ejecuta el cálculo en su propio hilo; quienes llegan mientras sigue en curso
+ * esperan su resultado en lugar de repetirlo. Una vez concluido, la clave se libera y la siguiente
+ * llamada vuelve a calcular: no es una caché, solo evita trabajo duplicado simultáneo.
+ * </p>
+ * <p>
+ * Si los datos de un cálculo en curso cambian, {@link #olvidar(Predicate)} lo retira: quienes ya esperan
+ * reciben su resultado, pero las llamadas posteriores calculan de nuevo en lugar de unirse a él.
+ * </p>
+ * <p>
+ * Cada ejecución ahorrada se contabiliza en {@code integra.singleflight.coalescidas} con la etiqueta
+ * {@code operacion}.
+ * </p>
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> enCurso = new ConcurrentHashMap<>();
+    private final Counter coalescidas;
+
+    public SingleFlight(String operacion, MeterRegistry meterRegistry) {
+        this.coalescidas = Counter.builder("integra.singleflight.coalescidas")
+                .description("Ejecuciones evitadas al unirse a un cálculo idéntico en curso")
+                .tag("operacion", operacion)
+                .register(meterRegistry);
+    }
+
+    public V ejecutar(K key, Supplier<V> calculo) {
+        CompletableFuture<V> propio = new CompletableFuture<>();
+        CompletableFuture<V> existente = enCurso.putIfAbsent(key, propio);
+        if (existente != null) {
+            coalescidas.increment();
+            return esperar(existente);
+        }
+
+        try {
+            V resultado = calculo.get();
+            propio.complete(resultado);
+            return resultado;
+        } catch (RuntimeException | Error e) {
+            propio.completeExceptionally(e);
+            throw e;
+        } finally {
+            enCurso.remove(key, propio);
+        }
+    }
+
+    /**
+     * Retira los cálculos en curso cuyas claves cumplen {@code afectada}, para que las siguientes llamadas
+     * no se unan a un resultado que no incluye un cambio ya confirmado.
+     */
+    public void olvidar(Predicate<K> afectada) {
+        enCurso.keySet().removeIf(afectada);
+    }
+
+    private V esperar(CompletableFuture<V> futuro) {
+        try {
+            return futuro.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package integra.asistencia.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Parámetros de ejecución de los reportes de asistencia.
+ * <p>
+ * Controlan cuándo un reporte se divide en particiones por rango de fechas, cuántas
+ * particiones pueden consultar la base de datos de forma simultánea y cómo se
+ * conservan en caché los reportes ya generados.
+ * </p>
+ */
+@Component
+@ConfigurationProperties(prefix = "integra.reporte")
+@Data
+public class ReporteProperties {
+
+    /**
+     * Número de días a partir del cual el rango del reporte se divide en particiones.
+     */
+    private int umbralParticionDias = 31;
+
+    /**
+     * Tamaño de cada partición en días (por defecto, una semana).
+     */
+    private int diasPorParticion = 7;
+
+    /**
+     * Máximo de particiones consultando en paralelo.
+     */
+    private int maxParticionesConcurrentes = 4;
+
+    /**
+     * Conexiones del pool que nunca se asignan a reportes, reservadas para el tráfico de kioscos.
+     */
+    private int conexionesReservadas = 4;
+
+    private final Cache cache = new Cache();
+
+    @Data
+    public static class Cache {
+        private boolean habilitado = true;
+
+        /**
+         * Peso máximo de los reportes en memoria, medido en registros de asistencia.
+         */
+        private long maximoRegistros = 200_000;
+
+        /**
+         * Peso máximo de los archivos Excel en memoria, medido en KB.
+         */
+        private long maximoExcelKb = 64 * 1024;
+
+        /**
+         * Vigencia de los periodos concluidos con todas sus jornadas cerradas.
+         */
+        private Duration ttlInmutable = Duration.ofHours(12);
+
+        /**
+         * Vigencia de los periodos que aún pueden recibir checadas.
+         */
+        private Duration ttlAbierto = Duration.ofMinutes(5);
+
+        /**
+         * Directorio para el nivel en disco de los archivos Excel inmutables; vacío para deshabilitarlo.
+         */
+        private String directorioDisco;
+
+        /**
+         * Tamaño máximo de los archivos Excel en disco, medido en KB; al superarlo se eliminan los menos usados.
+         */
+        private long maximoDiscoKb = 512 * 1024;
+    }
+}
@@ -6,6 +6,7 @@ import integra.asistencia.actions.FiltroIncidencia;
 import integra.asistencia.entity.Incidencia;
 import integra.asistencia.facade.ReporteFacade;
 import integra.asistencia.model.EmpleadoReporte;
+import integra.asistencia.query.ResumenAsistenciaProyeccion;
 import integra.asistencia.service.WorkTimeImageService;
 import integra.utils.ResponseData;
 import jakarta.validation.Valid;
@@ -51,6 +52,18 @@ public class ReporteQueryController {
         return ResponseEntity.ok(ResponseData.of(reporteFacade.obtenerAsistencia(command), "Asistencia por empleados"));
     }
 
+    /**
+     * Obtiene únicamente los totales por empleado (horas trabajadas, horas extras, días trabajados e
+     * inconsistencias), calculados en la base de datos sin cargar el detalle de asistencias.
+     *
+     * @param request Objeto con los parámetros de filtrado para generar el reporte
+     * @return ResponseEntity con los totales de asistencia por empleado
+     */
+    @GetMapping("/asistencias/resumen")
+    public ResponseEntity<ResponseData<List<ResumenAsistenciaProyeccion>>> obtenerResumenJson(@Valid EmpleadoReporteRequest request) {
+        EmpleadoReporteCommand command = mapRequestToCommand(request);
+        return ResponseEntity.ok(ResponseData.of(reporteFacade.obtenerResumenAsistencia(command), "Resumen de asistencia por empleados"));
+    }
 
     @GetMapping("/{filename:.+}")
     public ResponseEntity<Resource> getImage(@PathVariable String filename) throws IOException {
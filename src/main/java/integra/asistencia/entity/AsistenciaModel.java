@@ -74,6 +74,23 @@ public class AsistenciaModel {
     @Column(name = "tiempo_compensado")
     private LocalTime tiempoCompensado;
 
+    // Resumen de la jornada calculado al cierre; null mientras la jornada sigue abierta o no se ha recalculado
+
+    @Column(name = "minutos_netos")
+    private Integer minutosNetos;
+
+    @Column(name = "minutos_pausa_comida")
+    private Integer minutosPausaComida;
+
+    @Column(name = "minutos_otras_pausas")
+    private Integer minutosOtrasPausas;
+
+    @Column(name = "minutos_extras")
+    private Integer minutosExtras;
+
+    @Column(name = "jornada_nocturna")
+    private Boolean jornadaNocturna;
+
     public AsistenciaModel() {
     }
 
@@ -0,0 +1,12 @@
+package integra.asistencia.event;
+
+import java.time.LocalDate;
+
+/**
+ * Evento publicado cuando una jornada o una de sus pausas cambia (checada, registro manual o cierre automático).
+ *
+ * @param empleadoId empleado afectado
+ * @param fecha      fecha de inicio de la jornada afectada
+ */
+public record AsistenciaModificadaEvent(Integer empleadoId, LocalDate fecha) {
+}
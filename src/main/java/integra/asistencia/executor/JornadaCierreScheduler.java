@@ -1,12 +1,15 @@
 package integra.asistencia.executor;
 
 import integra.asistencia.entity.AsistenciaModel;
+import integra.asistencia.event.AsistenciaModificadaEvent;
 import integra.asistencia.repository.AsistenciaRepository;
 import integra.asistencia.repository.EmpleadoPuestoService;
 import integra.asistencia.repository.PausaModelRepository;
+import integra.asistencia.util.ResumenJornada;
 import integra.config.mail.EmailService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
@@ -30,18 +33,21 @@ public class JornadaCierreScheduler {
     private final EmpleadoPuestoService empleadoPuestoService;
     private final EmailService emailService;
     private final Executor jornadaExecutor;
+    private final ApplicationEventPublisher eventPublisher;
 
     public JornadaCierreScheduler(
             AsistenciaRepository asistenciaRepository,
             PausaModelRepository pausaRepository,
             EmpleadoPuestoService empleadoPuestoService,
             EmailService emailService,
-            @Qualifier("jornadaExecutor") Executor jornadaExecutor) {
+            @Qualifier("jornadaExecutor") Executor jornadaExecutor,
+            ApplicationEventPublisher eventPublisher) {
         this.asistenciaRepository = asistenciaRepository;
         this.pausaRepository = pausaRepository;
         this.empleadoPuestoService = empleadoPuestoService;
         this.emailService = emailService;
         this.jornadaExecutor = jornadaExecutor;
+        this.eventPublisher = eventPublisher;
     }
 
     // =====  SCHEDULES =====
@@ -95,8 +101,10 @@ public class JornadaCierreScheduler {
             jornada.setJornadaCerrada(true);
             jornada.setComentario("Cierre automático por falta de registro de salida.");
             jornada.setCerradoAutomatico(true);
+            ResumenJornada.aplicar(jornada, pausaRepository.findByAsistenciaId(jornada.getId()));
 
             asistenciaRepository.save(jornada);
+            eventPublisher.publishEvent(new AsistenciaModificadaEvent(jornada.getEmpleado().getId(), inicio.toLocalDate()));
 
             log.info("Cierre OK: Jornada {}", jornada.getId());
 
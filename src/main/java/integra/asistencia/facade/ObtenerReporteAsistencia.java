@@ -4,14 +4,21 @@ import integra.asistencia.actions.EmpleadoAsistencia;
 import integra.asistencia.actions.EmpleadoReporteCommand;
 import integra.asistencia.actions.FiltroIncidenciaRequest;
 import integra.asistencia.actions.ReporteAsistenciaResponse;
+import integra.asistencia.cache.ReporteCacheKey;
+import integra.asistencia.cache.SingleFlight;
+import integra.asistencia.event.AsistenciaModificadaEvent;
 import integra.asistencia.query.AsistenciaProyeccion;
 import integra.asistencia.repository.AsistenciaRepository;
 import integra.empleado.EmpleadoFiltros;
 import integra.empleado.EmpleadoRepository;
 import integra.empleado.InfoBasicaEmpleado;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -20,14 +27,38 @@ import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 public class ObtenerReporteAsistencia {
 
     private final EmpleadoRepository empleadoRepository;
     private final AsistenciaRepository asistenciaRepository;
+    private final TransactionTemplate lecturaTx;
+    private final SingleFlight<ReporteCacheKey, ReporteAsistenciaResponse> vuelos;
+
+    public ObtenerReporteAsistencia(EmpleadoRepository empleadoRepository, AsistenciaRepository asistenciaRepository, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.empleadoRepository = empleadoRepository;
+        this.asistenciaRepository = asistenciaRepository;
+        this.lecturaTx = new TransactionTemplate(transactionManager);
+        this.lecturaTx.setReadOnly(true);
+        this.vuelos = new SingleFlight<>("reporteAsistenciaDiaria", meterRegistry);
+    }
 
-    @Transactional(readOnly = true)
+    /**
+     * Las solicitudes idénticas simultáneas comparten una sola generación; solo el cálculo abre transacción.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ReporteAsistenciaResponse execute(FiltroIncidenciaRequest request) {
+        ReporteCacheKey key = new ReporteCacheKey(request.getEmpleadoId(), request.getUnidadId(), request.getZonaId(),
+                request.getSupervisorId(), null, request.getFechaInicio(),
+                request.getFechaFin() != null ? request.getFechaFin().toLocalDate() : null);
+        return vuelos.ejecutar(key, () -> lecturaTx.execute(status -> generar(request)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAsistenciaModificada(AsistenciaModificadaEvent event) {
+        vuelos.olvidar(key -> key.cubre(event.empleadoId(), event.fecha()));
+    }
+
+    private ReporteAsistenciaResponse generar(FiltroIncidenciaRequest request) {
         // 1. Obtener empleados según filtros (para tener el universo completo de
         // empleados)
         EmpleadoFiltros filtros = new EmpleadoFiltros();
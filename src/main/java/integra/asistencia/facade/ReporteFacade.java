@@ -1,37 +1,92 @@
 package integra.asistencia.facade;
 
 import integra.asistencia.actions.EmpleadoReporteCommand;
+import integra.asistencia.cache.ReporteCacheKey;
+import integra.asistencia.cache.ReporteCacheService;
+import integra.asistencia.cache.SingleFlight;
 import integra.asistencia.entity.Incidencia;
+import integra.asistencia.event.AsistenciaModificadaEvent;
 import integra.asistencia.model.EmpleadoReporte;
+import integra.asistencia.query.ResumenAsistenciaProyeccion;
+import integra.asistencia.repository.AsistenciaRepository;
 import integra.asistencia.repository.KioscoUnidadIncidenciaRepository;
 import integra.asistencia.service.ExportarAsistenciaExcelService;
-import integra.asistencia.service.ReporteAsistenciaQueryService;
-import lombok.RequiredArgsConstructor;
+import integra.asistencia.service.ReporteParticionadoService;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
-@RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class ReporteFacade {
-    private final ReporteAsistenciaQueryService asistenciaService;
+    private final ReporteParticionadoService asistenciaService;
     private final ExportarAsistenciaExcelService exportarAsistenciaExcelService;
     private final KioscoUnidadIncidenciaRepository incidenciaRepository;
+    private final AsistenciaRepository asistenciaRepository;
+    private final ReporteCacheService reporteCache;
+    private final SingleFlight<ReporteCacheKey, List<EmpleadoReporte>> vuelosReporte;
+    private final SingleFlight<ReporteCacheKey, byte[]> vuelosExcel;
 
+    public ReporteFacade(ReporteParticionadoService asistenciaService, ExportarAsistenciaExcelService exportarAsistenciaExcelService, KioscoUnidadIncidenciaRepository incidenciaRepository, AsistenciaRepository asistenciaRepository, ReporteCacheService reporteCache, MeterRegistry meterRegistry) {
+        this.asistenciaService = asistenciaService;
+        this.exportarAsistenciaExcelService = exportarAsistenciaExcelService;
+        this.incidenciaRepository = incidenciaRepository;
+        this.asistenciaRepository = asistenciaRepository;
+        this.reporteCache = reporteCache;
+        this.vuelosReporte = new SingleFlight<>("reporteAsistencia", meterRegistry);
+        this.vuelosExcel = new SingleFlight<>("reporteAsistenciaExcel", meterRegistry);
+    }
+
+    /**
+     * Las consultas se ejecutan en transacciones propias por partición, por lo que este método
+     * no retiene una conexión mientras se ensambla el reporte. Los resultados se sirven desde
+     * {@link ReporteCacheService} mientras ninguna checada del rango los invalide; las solicitudes
+     * idénticas simultáneas comparten una sola generación.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<EmpleadoReporte> obtenerAsistencia(EmpleadoReporteCommand cmd) {
-        return asistenciaService.getAsistencias(cmd);
+        return reporteCache.obtenerAsistencia(cmd, () -> cargarAsistencias(cmd));
+    }
+
+    /**
+     * Obtiene solo los totales por empleado del reporte de asistencias. Se calculan en la base de datos,
+     * sin cargar asistencias ni pausas, con las mismas reglas que {@link EmpleadoReporte}.
+     */
+    public List<ResumenAsistenciaProyeccion> obtenerResumenAsistencia(EmpleadoReporteCommand cmd) {
+        return asistenciaRepository.findResumenByCriteria(cmd);
     }
 
     /**
      * Genera un reporte de asistencias en Excel usando EmpleadoReporte como datasource.
      * Este método utiliza la estructura optimizada de EmpleadoReporte.
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public byte[] obtenerReporteAsistenciaExcel(EmpleadoReporteCommand command) {
-        List<EmpleadoReporte> datosReporte = asistenciaService.getAsistencias(command);
+        return reporteCache.obtenerExcel(command,
+                () -> cargarAsistencias(command),
+                datosReporte -> vuelosExcel.ejecutar(ReporteCacheKey.of(command), () -> generarExcel(datosReporte, command)));
+    }
+
+    /**
+     * Una solicitud que llega después del cambio no debe unirse a una generación que empezó antes.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAsistenciaModificada(AsistenciaModificadaEvent event) {
+        vuelosReporte.olvidar(key -> key.cubre(event.empleadoId(), event.fecha()));
+        vuelosExcel.olvidar(key -> key.cubre(event.empleadoId(), event.fecha()));
+    }
+
+    private List<EmpleadoReporte> cargarAsistencias(EmpleadoReporteCommand command) {
+        return vuelosReporte.ejecutar(ReporteCacheKey.of(command), () -> asistenciaService.getAsistencias(command));
+    }
+
+    private byte[] generarExcel(List<EmpleadoReporte> datosReporte, EmpleadoReporteCommand command) {
         try {
             return exportarAsistenciaExcelService.generarReporteAsistenciaExcel(datosReporte, command);
         } catch (IOException e) {
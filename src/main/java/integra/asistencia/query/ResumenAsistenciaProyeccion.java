@@ -0,0 +1,20 @@
+package integra.asistencia.query;
+
+/**
+ * Totales de asistencia por empleado calculados en la base de datos.
+ * <p>
+ * Los nombres de los totales coinciden con los de {@code EmpleadoReporte} para que el cliente pueda
+ * usar indistintamente el reporte completo o el resumen.
+ * </p>
+ */
+public record ResumenAsistenciaProyeccion(
+        Integer empleadoId,
+        String clave,
+        String nombreCompleto,
+        String unidadNombreCompleto,
+        String puestoNombre,
+        int sumatoriaTiempoTrabajado,
+        int sumatoriaTiempoExtras,
+        long diasTrabajados,
+        int totalInconsistencias) {
+}
@@ -1,9 +1,11 @@
 package integra.asistencia.repository;
 
 import integra.asistencia.entity.AsistenciaModel;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -46,4 +48,23 @@ public interface AsistenciaRepository
                                                              java.time.LocalDate fechaInicio,
                                                              java.time.LocalDate fechaFin);
 
+    /**
+     * Obtiene, en orden ascendente, los ids de jornadas cerradas que aún no tienen resumen calculado.
+     *
+     * @param desdeId  último id procesado; solo se devuelven ids mayores
+     * @param pageable tamaño del lote
+     * @return los ids del siguiente lote
+     */
+    @Query("SELECT a.id FROM AsistenciaModel a WHERE a.jornadaCerrada = true AND a.minutosNetos IS NULL AND a.id > :desdeId ORDER BY a.id")
+    List<Integer> findIdsSinResumen(@Param("desdeId") Integer desdeId, Pageable pageable);
+
+    /**
+     * Carga las asistencias indicadas junto con sus pausas.
+     *
+     * @param ids los identificadores de asistencia
+     * @return las asistencias con las pausas inicializadas
+     */
+    @Query("SELECT DISTINCT a FROM AsistenciaModel a LEFT JOIN FETCH a.pausas WHERE a.id IN :ids")
+    List<AsistenciaModel> findAllWithPausasByIdIn(@Param("ids") List<Integer> ids);
+
 }
\ No newline at end of file
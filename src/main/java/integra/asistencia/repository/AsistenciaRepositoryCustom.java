@@ -2,9 +2,16 @@ package integra.asistencia.repository;
 
 import integra.asistencia.actions.EmpleadoReporteCommand;
 import integra.asistencia.query.AsistenciaProyeccion;
+import integra.asistencia.query.ResumenAsistenciaProyeccion;
 
 import java.util.List;
 
 public interface AsistenciaRepositoryCustom {
     List<AsistenciaProyeccion> findProyeccionByCriteria(EmpleadoReporteCommand request);
+
+    /**
+     * Calcula en la base de datos los totales por empleado del reporte de asistencias, aplicando las
+     * mismas reglas que {@link integra.asistencia.util.CalculadoraJornada}.
+     */
+    List<ResumenAsistenciaProyeccion> findResumenByCriteria(EmpleadoReporteCommand request);
 }
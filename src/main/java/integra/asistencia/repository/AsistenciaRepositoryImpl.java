@@ -3,24 +3,46 @@ package integra.asistencia.repository;
 import integra.asistencia.actions.EmpleadoReporteCommand;
 import integra.asistencia.entity.AsistenciaModel;
 import integra.asistencia.query.AsistenciaProyeccion;
+import integra.asistencia.query.ResumenAsistenciaProyeccion;
 import integra.empleado.EmpleadoEntity;
 import integra.organizacion.puesto.entity.PuestoEntity;
 import integra.ubicacion.zona.entity.ZonaEntity;
 import integra.unidad.entity.UnidadEntity;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
 import jakarta.persistence.criteria.*;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Repository
 @RequiredArgsConstructor
 public class AsistenciaRepositoryImpl implements AsistenciaRepositoryCustom {
 
+    /**
+     * Minutos netos por jornada con las reglas de CalculadoraJornada: cero si el cierre fue automático;
+     * si no, max(0, bruto - pausas), con el total de pausas truncado a minutos después de sumarlas.
+     * Cuando la jornada ya tiene su resumen guardado se usa directamente y no se consultan sus pausas.
+     */
+    private static final String MINUTOS_NETOS_SQL = """
+            CASE
+                WHEN a.cerrado_automatico = 1 THEN 0
+                WHEN a.minutos_netos IS NOT NULL THEN a.minutos_netos
+                ELSE GREATEST(0,
+                        COALESCE(TIMESTAMPDIFF(MINUTE, a.inicio_jornada, a.fin_jornada), 0)
+                        - GREATEST(0, COALESCE((SELECT TRUNCATE(SUM(TIMESTAMPDIFF(SECOND, p.inicio, p.fin)) / 60, 0)
+                                                FROM pausa p
+                                                WHERE p.id_asistencia = a.id), 0)))
+            END""";
+
+    private static final int JORNADA_ESTANDAR_MINUTOS = 480;
+
     @PersistenceContext
     private EntityManager entityManager;
 
@@ -113,4 +135,82 @@ public class AsistenciaRepositoryImpl implements AsistenciaRepositoryCustom {
 
         return entityManager.createQuery(query).getResultList();
     }
+
+    @Override
+    public List<ResumenAsistenciaProyeccion> findResumenByCriteria(EmpleadoReporteCommand request) {
+        Map<String, Object> parametros = new LinkedHashMap<>();
+        StringBuilder filtros = new StringBuilder();
+
+        if (request.getEmpleadoId() != null) {
+            filtros.append(" AND e0.id = :empleadoId");
+            parametros.put("empleadoId", request.getEmpleadoId());
+        }
+        if (request.getUnidadId() != null) {
+            filtros.append(" AND e0.unidad_id = :unidadId");
+            parametros.put("unidadId", request.getUnidadId());
+        }
+        if (request.getPuestoId() != null) {
+            filtros.append(" AND e0.puesto_id = :puestoId");
+            parametros.put("puestoId", request.getPuestoId());
+        }
+        if (request.getSupervisorId() != null) {
+            filtros.append(" AND u0.supervisor_id = :supervisorId");
+            parametros.put("supervisorId", request.getSupervisorId());
+        }
+        if (request.getZonaId() != null) {
+            filtros.append(" AND u0.zona_id = :zonaId");
+            parametros.put("zonaId", request.getZonaId());
+        }
+        if (request.getDesde() != null) {
+            filtros.append(" AND a.inicio_jornada >= :desde");
+            parametros.put("desde", request.getDesde());
+        }
+        if (request.getHasta() != null) {
+            filtros.append(" AND a.inicio_jornada <= :hasta");
+            parametros.put("hasta", request.getHasta().toLocalDate().atTime(23, 59, 59));
+        }
+
+        // Horas netas y extras se redondean hacia abajo por jornada antes de sumarse, igual que en EmpleadoReporte
+        String sql = """
+                SELECT j.id_empleado,
+                       e.codigo_empleado,
+                       e.nombre_completo,
+                       u.nombre_completo,
+                       pu.nombre,
+                       SUM(FLOOR(j.minutos_netos / 60)),
+                       SUM(CASE WHEN j.minutos_netos > %1$d THEN FLOOR((j.minutos_netos - %1$d) / 60) ELSE 0 END),
+                       COUNT(DISTINCT CASE WHEN j.inicio_jornada IS NOT NULL THEN j.fecha END),
+                       SUM(CASE WHEN j.inconsistencia = 1 THEN 1 ELSE 0 END)
+                FROM (SELECT a.id_empleado, a.fecha, a.inicio_jornada, a.inconsistencia, %2$s AS minutos_netos
+                      FROM asistencia a
+                               JOIN empleado e0 ON e0.id = a.id_empleado
+                               LEFT JOIN unidad u0 ON u0.id = e0.unidad_id
+                      WHERE 1 = 1 %3$s) j
+                         JOIN empleado e ON e.id = j.id_empleado
+                         LEFT JOIN unidad u ON u.id = e.unidad_id
+                         LEFT JOIN puesto pu ON pu.id = e.puesto_id
+                GROUP BY j.id_empleado, e.codigo_empleado, e.nombre_completo, u.nombre_completo, pu.nombre
+                ORDER BY e.nombre_completo
+                """.formatted(JORNADA_ESTANDAR_MINUTOS, MINUTOS_NETOS_SQL, filtros);
+
+        Query query = entityManager.createNativeQuery(sql);
+        parametros.forEach(query::setParameter);
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> filas = query.getResultList();
+        return filas.stream().map(fila -> new ResumenAsistenciaProyeccion(
+                ((Number) fila[0]).intValue(),
+                (String) fila[1],
+                (String) fila[2],
+                (String) fila[3],
+                (String) fila[4],
+                entero(fila[5]),
+                entero(fila[6]),
+                fila[7] != null ? ((Number) fila[7]).longValue() : 0L,
+                entero(fila[8]))).toList();
+    }
+
+    private static int entero(Object valor) {
+        return valor != null ? ((Number) valor).intValue() : 0;
+    }
 }
@@ -0,0 +1,175 @@
+package integra.asistencia.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import integra.asistencia.actions.EmpleadoReporteCommand;
+import integra.asistencia.config.ReporteProperties;
+import integra.asistencia.model.EmpleadoReporte;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Ensambla reportes de asistencia dividiendo rangos largos en particiones por fecha.
+ * <p>
+ * Cada partición se consulta en su propia transacción de solo lectura sobre un hilo virtual.
+ * El número de particiones simultáneas está limitado por un semáforo dimensionado a partir
+ * del pool de conexiones, de modo que los reportes grandes nunca consuman las conexiones
+ * reservadas para el tráfico de kioscos. Los resultados se combinan respetando el orden
+ * cronológico de las particiones.
+ * </p>
+ */
+@Service
+@Slf4j
+public class ReporteParticionadoService {
+
+    private final ReporteAsistenciaQueryService asistenciaService;
+    private final ReporteProperties properties;
+    private final TransactionTemplate lecturaTx;
+    private final Semaphore permisos;
+
+    public ReporteParticionadoService(ReporteAsistenciaQueryService asistenciaService, ReporteProperties properties, PlatformTransactionManager transactionManager, DataSource dataSource) {
+        this.asistenciaService = asistenciaService;
+        this.properties = properties;
+        this.lecturaTx = new TransactionTemplate(transactionManager);
+        this.lecturaTx.setReadOnly(true);
+        int permisosDisponibles = calcularPermisos(dataSource, properties);
+        this.permisos = new Semaphore(permisosDisponibles, true);
+        log.info("Reportes de asistencia: hasta {} particiones concurrentes", permisosDisponibles);
+    }
+
+    public List<EmpleadoReporte> getAsistencias(EmpleadoReporteCommand command) {
+        List<EmpleadoReporteCommand> particiones = particionar(command);
+        if (particiones.size() == 1) {
+            return ejecutarParticion(command);
+        }
+
+        log.debug("Reporte de asistencia dividido en {} particiones", particiones.size());
+        List<List<EmpleadoReporte>> resultados = new ArrayList<>(particiones.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<List<EmpleadoReporte>>> futuros = particiones.stream()
+                    .map(particion -> executor.submit(() -> ejecutarParticion(particion)))
+                    .toList();
+            for (Future<List<EmpleadoReporte>> futuro : futuros) {
+                resultados.add(esperar(futuro));
+            }
+        }
+        return combinar(resultados, command);
+    }
+
+    private List<EmpleadoReporte> ejecutarParticion(EmpleadoReporteCommand particion) {
+        try {
+            permisos.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Generación del reporte interrumpida", e);
+        }
+        try {
+            return lecturaTx.execute(status -> asistenciaService.getAsistencias(particion));
+        } finally {
+            permisos.release();
+        }
+    }
+
+    private List<EmpleadoReporte> esperar(Future<List<EmpleadoReporte>> futuro) {
+        try {
+            return futuro.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Generación del reporte interrumpida", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new RuntimeException("Error al generar una partición del reporte de asistencias", e.getCause());
+        }
+    }
+
+    /**
+     * Divide el rango del comando en bloques de {@link ReporteProperties#getDiasPorParticion()} días.
+     * Los rangos abiertos o menores al umbral se devuelven como una sola partición.
+     */
+    List<EmpleadoReporteCommand> particionar(EmpleadoReporteCommand command) {
+        if (command.getDesde() == null || command.getHasta() == null) {
+            return List.of(command);
+        }
+        LocalDate inicio = command.getDesde().toLocalDate();
+        LocalDate fin = command.getHasta().toLocalDate();
+        long dias = ChronoUnit.DAYS.between(inicio, fin) + 1;
+        if (dias <= properties.getUmbralParticionDias()) {
+            return List.of(command);
+        }
+
+        int diasPorParticion = Math.max(1, properties.getDiasPorParticion());
+        List<EmpleadoReporteCommand> particiones = new ArrayList<>();
+        for (LocalDate desde = inicio; !desde.isAfter(fin); desde = desde.plusDays(diasPorParticion)) {
+            LocalDate hasta = desde.plusDays(diasPorParticion - 1L);
+            if (hasta.isAfter(fin)) {
+                hasta = fin;
+            }
+            // La primera partición conserva la hora original del filtro "desde"
+            LocalDateTime desdeParticion = desde.equals(inicio) ? command.getDesde() : desde.atStartOfDay();
+            particiones.add(copiarConRango(command, desdeParticion, hasta.atStartOfDay()));
+        }
+        return particiones;
+    }
+
+    private EmpleadoReporteCommand copiarConRango(EmpleadoReporteCommand origen, LocalDateTime desde, LocalDateTime hasta) {
+        EmpleadoReporteCommand copia = new EmpleadoReporteCommand();
+        copia.setEmpleadoId(origen.getEmpleadoId());
+        copia.setUnidadId(origen.getUnidadId());
+        copia.setZonaId(origen.getZonaId());
+        copia.setSupervisorId(origen.getSupervisorId());
+        copia.setPuestoId(origen.getPuestoId());
+        copia.setDesde(desde);
+        copia.setHasta(hasta);
+        return copia;
+    }
+
+    /**
+     * Une los resultados parciales por empleado, concatenando las asistencias en el orden de las particiones.
+     */
+    private List<EmpleadoReporte> combinar(List<List<EmpleadoReporte>> resultados, EmpleadoReporteCommand command) {
+        LocalDate fechaDesde = command.getDesde().toLocalDate();
+        LocalDate fechaHasta = command.getHasta().toLocalDate();
+        Map<Integer, EmpleadoReporte> combinados = new LinkedHashMap<>();
+
+        for (List<EmpleadoReporte> parcial : resultados) {
+            for (EmpleadoReporte reporte : parcial) {
+                EmpleadoReporte existente = combinados.get(reporte.getId());
+                if (existente == null) {
+                    reporte.setAsistencias(new ArrayList<>(reporte.getAsistencias()));
+                    reporte.setFechaDesde(fechaDesde);
+                    reporte.setFechaHasta(fechaHasta);
+                    combinados.put(reporte.getId(), reporte);
+                } else {
+                    existente.getAsistencias().addAll(reporte.getAsistencias());
+                }
+            }
+        }
+        return new ArrayList<>(combinados.values());
+    }
+
+    private static int calcularPermisos(DataSource dataSource, ReporteProperties properties) {
+        int maximo = Math.max(1, properties.getMaxParticionesConcurrentes());
+        if (dataSource instanceof HikariDataSource hikari) {
+            int disponibles = hikari.getMaximumPoolSize() - properties.getConexionesReservadas();
+            maximo = Math.min(maximo, Math.max(1, disponibles));
+        }
+        return maximo;
+    }
+}
@@ -1,32 +1,59 @@
 package integra.asistencia.service.compensacion;
 
 import integra.asistencia.actions.EmpleadoReporteCommand;
+import integra.asistencia.cache.ReporteCacheKey;
+import integra.asistencia.cache.SingleFlight;
 import integra.asistencia.entity.CompensacionSalidaDepositoEntity;
 import integra.asistencia.query.CompensacionReporteQuery;
 import integra.asistencia.specification.CompensacionSpecification;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
-import lombok.RequiredArgsConstructor;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.List;
 
 @Service
-@RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class CompensacionQueryService {
 
     private final EntityManager entityManager;
+    private final TransactionTemplate lecturaTx;
+    private final SingleFlight<ReporteCacheKey, List<CompensacionReporteQuery>> vuelos;
 
+    public CompensacionQueryService(EntityManager entityManager, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.entityManager = entityManager;
+        this.lecturaTx = new TransactionTemplate(transactionManager);
+        this.lecturaTx.setReadOnly(true);
+        this.vuelos = new SingleFlight<>("compensaciones", meterRegistry);
+    }
+
+    /**
+     * Las solicitudes idénticas simultáneas comparten una sola consulta. La transacción se abre solo
+     * dentro del cálculo, de modo que quienes esperan el resultado no retienen una conexión.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<CompensacionReporteQuery> obtenerInforme(EmpleadoReporteCommand request) {
+        return vuelos.ejecutar(ReporteCacheKey.of(request), () -> lecturaTx.execute(status -> consultarInforme(request)));
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public byte[] obtenerCompensacionesExcel(EmpleadoReporteCommand request) {
+        return generarExcel(obtenerInforme(request));
+    }
+
+    private List<CompensacionReporteQuery> consultarInforme(EmpleadoReporteCommand request) {
         CriteriaBuilder cb = entityManager.getCriteriaBuilder();
         CriteriaQuery<CompensacionReporteQuery> query = cb.createQuery(CompensacionReporteQuery.class);
         var root = query.from(CompensacionSalidaDepositoEntity.class);
@@ -36,9 +63,7 @@ public class CompensacionQueryService {
         return entityManager.createQuery(query.where(predicate)).getResultList();
     }
 
-    public byte[] obtenerCompensacionesExcel(EmpleadoReporteCommand request) {
-        List<CompensacionReporteQuery> compensaciones = obtenerInforme(request);
-
+    private byte[] generarExcel(List<CompensacionReporteQuery> compensaciones) {
         try (Workbook workbook = new XSSFWorkbook()) {
             Sheet sheet = workbook.createSheet("Compensaciones");
 
@@ -4,6 +4,7 @@ import integra.asistencia.actions.FinalizarJornadaCommand;
 import integra.asistencia.entity.AsistenciaModel;
 import integra.asistencia.entity.CompensacionSalidaDepositoEntity;
 import integra.asistencia.entity.TipoIncidencia;
+import integra.asistencia.event.AsistenciaModificadaEvent;
 import integra.asistencia.model.PausaAsistencia;
 import integra.asistencia.query.CompensacionQuery;
 import integra.asistencia.repository.AsistenciaRepository;
@@ -14,7 +15,9 @@ import integra.asistencia.service.UnidadVerificadorService;
 import integra.asistencia.service.WorkTimeImageService;
 import integra.asistencia.util.CalculadoraJornada;
 import integra.asistencia.util.HandlerExecutor;
+import integra.asistencia.util.ResumenJornada;
 import integra.unidad.repository.UnidadRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -37,8 +40,9 @@ public class FinalizarJornada extends BaseAsistenciaService implements HandlerEx
     private final CompensacionRepository compensacionRepository;
     private final CompensacionDepositoService compensacionDepositoService;
     private final EmpleadoPuestoService empleadoPuestoService;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public FinalizarJornada(WorkTimeImageService workTimeImageService, AsistenciaRepository asistenciaRepository, PausaModelRepository pausaRepository, UnidadVerificadorService unidadVerificadorService, UnidadRepository unidadRepository, CompensacionRepository compensacionRepository, CompensacionDepositoService compensacionDepositoService, EmpleadoPuestoService empleadoPuestoService) {
+    public FinalizarJornada(WorkTimeImageService workTimeImageService, AsistenciaRepository asistenciaRepository, PausaModelRepository pausaRepository, UnidadVerificadorService unidadVerificadorService, UnidadRepository unidadRepository, CompensacionRepository compensacionRepository, CompensacionDepositoService compensacionDepositoService, EmpleadoPuestoService empleadoPuestoService, ApplicationEventPublisher eventPublisher) {
         super(workTimeImageService);
         this.asistenciaRepository = asistenciaRepository;
         this.pausaRepository = pausaRepository;
@@ -47,6 +51,7 @@ public class FinalizarJornada extends BaseAsistenciaService implements HandlerEx
         this.compensacionRepository = compensacionRepository;
         this.compensacionDepositoService = compensacionDepositoService;
         this.empleadoPuestoService = empleadoPuestoService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -143,7 +148,9 @@ public class FinalizarJornada extends BaseAsistenciaService implements HandlerEx
         asistencia.setFinJornada(horaFin);
         asistencia.setPathFotoFin(pathFoto);
         asistencia.setJornadaCerrada(true);
+        ResumenJornada.aplicar(asistencia, asistencia.getPausas());
         asistenciaRepository.save(asistencia);
+        eventPublisher.publishEvent(new AsistenciaModificadaEvent(asistencia.getEmpleado().getId(), asistencia.getInicioJornada().toLocalDate()));
     }
 
     private LocalDateTime determinarHoraFin(FinalizarJornadaCommand command, AsistenciaModel asistencia) {
@@ -5,10 +5,13 @@ import integra.asistencia.actions.FinalizarPausaCommand;
 import integra.asistencia.entity.AsistenciaModel;
 import integra.asistencia.entity.PausaModel;
 import integra.asistencia.entity.TipoIncidencia;
+import integra.asistencia.event.AsistenciaModificadaEvent;
 import integra.asistencia.repository.PausaModelRepository;
 import integra.asistencia.service.UnidadVerificadorService;
 import integra.asistencia.service.WorkTimeImageService;
 import integra.asistencia.util.HandlerExecutor;
+import integra.asistencia.util.ResumenJornada;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,11 +23,13 @@ import java.util.Objects;
 public class FinalizarPausa extends BaseAsistenciaService implements HandlerExecutor<Void, FinalizarPausaCommand> {
     private final PausaModelRepository pausaRepository;
     private final UnidadVerificadorService unidadVerificadorService;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public FinalizarPausa(WorkTimeImageService workTimeImageService, PausaModelRepository pausaRepository, UnidadVerificadorService unidadVerificadorService) {
+    public FinalizarPausa(WorkTimeImageService workTimeImageService, PausaModelRepository pausaRepository, UnidadVerificadorService unidadVerificadorService, ApplicationEventPublisher eventPublisher) {
         super(workTimeImageService);
         this.pausaRepository = pausaRepository;
         this.unidadVerificadorService = unidadVerificadorService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -42,7 +47,14 @@ public class FinalizarPausa extends BaseAsistenciaService implements HandlerExec
             pausa.setAsistencia(asistencia);
         }
 
+        // Pausa registrada manualmente sobre una jornada ya cerrada: el resumen guardado deja de ser válido
+        AsistenciaModel asistenciaPausa = pausa.getAsistencia();
+        if (Boolean.TRUE.equals(asistenciaPausa.getJornadaCerrada())) {
+            ResumenJornada.aplicar(asistenciaPausa, asistenciaPausa.getPausas());
+        }
+
         pausaRepository.save(pausa);
+        eventPublisher.publishEvent(new AsistenciaModificadaEvent(data.empleadoId(), pausa.getAsistencia().getInicioJornada().toLocalDate()));
 
         if (hayIncidencia) {
             unidadVerificadorService.registrarIncidenciaKioscoAsync(pausa.getAsistencia()
@@ -3,12 +3,14 @@ package integra.asistencia.service.jornada;
 import integra.asistencia.actions.IniciarJornadaCommand;
 import integra.asistencia.entity.AsistenciaModel;
 import integra.asistencia.entity.TipoIncidencia;
+import integra.asistencia.event.AsistenciaModificadaEvent;
 import integra.asistencia.exception.AsistenciaException;
 import integra.asistencia.repository.AsistenciaRepository;
 import integra.asistencia.service.UnidadVerificadorService;
 import integra.asistencia.service.WorkTimeImageService;
 import integra.asistencia.util.HandlerExecutor;
 import integra.empleado.EmpleadoEntity;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,11 +24,13 @@ import java.util.Optional;
 public class IniciarJornada extends BaseAsistenciaService implements HandlerExecutor<Void, IniciarJornadaCommand> {
     private final AsistenciaRepository asistenciaRepository;
     private final UnidadVerificadorService unidadVerificadorService;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public IniciarJornada(WorkTimeImageService workTimeImageService, AsistenciaRepository asistenciaRepository, UnidadVerificadorService unidadVerificadorService) {
+    public IniciarJornada(WorkTimeImageService workTimeImageService, AsistenciaRepository asistenciaRepository, UnidadVerificadorService unidadVerificadorService, ApplicationEventPublisher eventPublisher) {
         super(workTimeImageService);
         this.asistenciaRepository = asistenciaRepository;
         this.unidadVerificadorService = unidadVerificadorService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -38,6 +42,7 @@ public class IniciarJornada extends BaseAsistenciaService implements HandlerExec
 
         AsistenciaModel asistencia = construirAsistencia(command, pathFoto, hayIncidencia);
         AsistenciaModel asistenciaGuardada = asistenciaRepository.save(asistencia);
+        eventPublisher.publishEvent(new AsistenciaModificadaEvent(command.empleadoId(), asistencia.getInicioJornada().toLocalDate()));
 
         if (hayIncidencia) {
             unidadVerificadorService.registrarIncidenciaKioscoAsync(asistenciaGuardada.getId(), command.empleadoId(), command.unidadAsignadaId(), command.unidadId(), pathFoto, TipoIncidencia.UNIDAD_INCORRECTA, "Inicio de jornada");
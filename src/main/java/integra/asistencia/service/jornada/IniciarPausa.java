@@ -4,12 +4,14 @@ import integra.asistencia.actions.IniciarPausaCommand;
 import integra.asistencia.entity.AsistenciaModel;
 import integra.asistencia.entity.PausaModel;
 import integra.asistencia.entity.TipoIncidencia;
+import integra.asistencia.event.AsistenciaModificadaEvent;
 import integra.asistencia.repository.AsistenciaRepository;
 import integra.asistencia.repository.PausaModelRepository;
 import integra.asistencia.service.UnidadVerificadorService;
 import integra.asistencia.service.ValidarRegistrarPausaService;
 import integra.asistencia.service.WorkTimeImageService;
 import integra.asistencia.util.HandlerExecutor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,13 +25,15 @@ public class IniciarPausa extends BaseAsistenciaService implements HandlerExecut
     private final AsistenciaRepository asistenciaRepository;
     private final PausaModelRepository pausaRepository;
     private final UnidadVerificadorService unidadVerificadorService;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public IniciarPausa(WorkTimeImageService workTimeImageService, ValidarRegistrarPausaService validarRegistrarPausaService, AsistenciaRepository asistenciaRepository, PausaModelRepository pausaRepository, UnidadVerificadorService unidadVerificadorService) {
+    public IniciarPausa(WorkTimeImageService workTimeImageService, ValidarRegistrarPausaService validarRegistrarPausaService, AsistenciaRepository asistenciaRepository, PausaModelRepository pausaRepository, UnidadVerificadorService unidadVerificadorService, ApplicationEventPublisher eventPublisher) {
         super(workTimeImageService);
         this.validarRegistrarPausaService = validarRegistrarPausaService;
         this.asistenciaRepository = asistenciaRepository;
         this.pausaRepository = pausaRepository;
         this.unidadVerificadorService = unidadVerificadorService;
+        this.eventPublisher = eventPublisher;
     }
 
 
@@ -50,6 +54,7 @@ public class IniciarPausa extends BaseAsistenciaService implements HandlerExecut
         pausa.setInicio(determinarHoraInicio(data));
         pausa.setPathFotoInicio(pathFoto);
         pausaRepository.save(pausa);
+        eventPublisher.publishEvent(new AsistenciaModificadaEvent(data.empleadoId(), asistencia.getInicioJornada().toLocalDate()));
 
         if (existeIncidencia) {
             unidadVerificadorService.registrarIncidenciaKioscoAsync(asistencia.getId(), data.empleadoId(), data.unidadAsignadaId(), data.unidadId(), pathFoto, TipoIncidencia.UNIDAD_INCORRECTA, "Inicio de pausa");
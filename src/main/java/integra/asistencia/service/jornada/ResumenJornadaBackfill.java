@@ -0,0 +1,68 @@
+package integra.asistencia.service.jornada;
+
+import integra.asistencia.entity.AsistenciaModel;
+import integra.asistencia.repository.AsistenciaRepository;
+import integra.asistencia.util.ResumenJornada;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Calcula el resumen de las jornadas históricas cerradas antes de que existieran las columnas de resumen.
+ * <p>
+ * Se habilita con {@code integra.asistencia.resumen-backfill.habilitado=true} y recorre la tabla por lotes
+ * ordenados por id, cada uno en su propia transacción, para no bloquear la tabla ni agotar el pool.
+ * Es idempotente: solo toma jornadas con {@code minutos_netos} nulo.
+ * </p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "integra.asistencia.resumen-backfill", name = "habilitado", havingValue = "true")
+public class ResumenJornadaBackfill {
+
+    private final AsistenciaRepository asistenciaRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int tamanoLote;
+
+    public ResumenJornadaBackfill(AsistenciaRepository asistenciaRepository, PlatformTransactionManager transactionManager, @Value("${integra.asistencia.resumen-backfill.tamano-lote:500}") int tamanoLote) {
+        this.asistenciaRepository = asistenciaRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tamanoLote = Math.max(1, tamanoLote);
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void ejecutar() {
+        log.info("Iniciando cálculo de resumen de jornadas históricas (lotes de {})", tamanoLote);
+        int ultimoId = 0;
+        int procesadas = 0;
+        while (true) {
+            List<Integer> ids = asistenciaRepository.findIdsSinResumen(ultimoId, PageRequest.of(0, tamanoLote));
+            if (ids.isEmpty()) {
+                break;
+            }
+            transactionTemplate.executeWithoutResult(status -> procesarLote(ids));
+            procesadas += ids.size();
+            ultimoId = ids.getLast();
+            log.debug("Resumen de jornadas: {} procesadas (último id {})", procesadas, ultimoId);
+        }
+        log.info("Cálculo de resumen de jornadas históricas concluido: {} jornadas", procesadas);
+    }
+
+    private void procesarLote(List<Integer> ids) {
+        List<AsistenciaModel> asistencias = asistenciaRepository.findAllWithPausasByIdIn(ids);
+        for (AsistenciaModel asistencia : asistencias) {
+            ResumenJornada.aplicar(asistencia, asistencia.getPausas());
+        }
+        asistenciaRepository.saveAll(asistencias);
+    }
+}
@@ -0,0 +1,44 @@
+package integra.asistencia.util;
+
+import integra.asistencia.entity.AsistenciaModel;
+import integra.asistencia.entity.PausaModel;
+import integra.asistencia.model.PausaAsistencia;
+
+import java.util.List;
+
+import static integra.asistencia.util.ConvertidorPausas.mapearPausas;
+
+/**
+ * Calcula las columnas de resumen de una jornada cerrada a partir de {@link CalculadoraJornada}.
+ * <p>
+ * Los valores se guardan en minutos sin redondear: el redondeo a horas de los reportes se aplica al leerlos.
+ * Las jornadas con cierre automático conservan los minutos de pausa, pero registran cero minutos netos y extras,
+ * igual que en los cálculos en memoria.
+ * </p>
+ */
+public class ResumenJornada {
+
+    /**
+     * Asigna el resumen a la asistencia usando las pausas indicadas.
+     */
+    public static void aplicar(AsistenciaModel asistencia, List<PausaModel> pausasModel) {
+        List<PausaAsistencia> pausas = mapearPausas(pausasModel);
+        Boolean cerradoAutomatico = asistencia.getCerradoAutomatico();
+
+        asistencia.setMinutosNetos(CalculadoraJornada.calcularTiempoNeto(asistencia.getInicioJornada(), asistencia.getFinJornada(), pausas, cerradoAutomatico).minutos());
+        asistencia.setMinutosPausaComida(CalculadoraJornada.calcularTiempoPausaComida(pausas).minutos());
+        asistencia.setMinutosOtrasPausas(CalculadoraJornada.calcularTiempoOtrasPausas(pausas).minutos());
+        asistencia.setMinutosExtras(CalculadoraJornada.calcularTiempoExtras(asistencia.getInicioJornada(), asistencia.getFinJornada(), pausas, cerradoAutomatico).minutos());
+        asistencia.setJornadaNocturna(esJornadaNocturna(asistencia));
+    }
+
+    /**
+     * Una jornada es nocturna cuando termina en un día posterior al de su inicio.
+     */
+    public static boolean esJornadaNocturna(AsistenciaModel asistencia) {
+        if (asistencia.getInicioJornada() == null || asistencia.getFinJornada() == null) {
+            return false;
+        }
+        return asistencia.getInicioJornada().toLocalDate().isBefore(asistencia.getFinJornada().toLocalDate());
+    }
+}
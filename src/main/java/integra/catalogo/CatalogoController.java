@@ -0,0 +1,24 @@
+package integra.catalogo;
+
+import integra.utils.ResponseData;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Paquete con todos los catálogos de referencia en una sola respuesta, con soporte de {@code If-None-Match}.
+ */
+@RestController
+@RequestMapping("catalogos")
+@RequiredArgsConstructor
+class CatalogoController {
+    private final CatalogoReferenciaService catalogoReferenciaService;
+
+    @GetMapping
+    public ResponseEntity<ResponseData<CatalogosReferencia>> obtenerCatalogos(WebRequest request) {
+        return RespuestaCatalogo.responder(catalogoReferenciaService, request, CatalogosReferencia.PAQUETE, catalogos -> catalogos, "Catálogos de referencia");
+    }
+}
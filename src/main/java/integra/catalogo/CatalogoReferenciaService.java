@@ -0,0 +1,107 @@
+package integra.catalogo;
+
+import integra.config.db.ConfiguracionApp;
+import integra.config.db.ConfiguracionModificadaEvent;
+import integra.credenciales.service.CuentaQueryService;
+import integra.departamento.service.DepartamentoService;
+import integra.empleado.EmpleadoService;
+import integra.organizacion.puesto.service.PuestoService;
+import integra.ubicacion.estado.service.EstadoQueryService;
+import integra.ubicacion.zona.service.ZonaQueryService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Mantiene en memoria la instantánea de catálogos de referencia ({@link CatalogosReferencia}).
+ * <p>
+ * Se construye al arrancar, tras cada {@link CatalogosModificadosEvent} confirmado y cada
+ * {@code integra.catalogos.recarga-ms}, para recoger los cambios hechos por otras instancias o fuera del
+ * sistema (empleados, puestos, departamentos). La versión solo aumenta si el contenido cambió.
+ * </p>
+ */
+@Service
+@Slf4j
+public class CatalogoReferenciaService {
+
+    private final ZonaQueryService zonaQueryService;
+    private final PuestoService puestoService;
+    private final DepartamentoService departamentoService;
+    private final EstadoQueryService estadoQueryService;
+    private final CuentaQueryService cuentaQueryService;
+    private final EmpleadoService empleadoService;
+    private final AtomicReference<CatalogosReferencia> actual = new AtomicReference<>();
+
+    public CatalogoReferenciaService(ZonaQueryService zonaQueryService, PuestoService puestoService,
+                                     DepartamentoService departamentoService, EstadoQueryService estadoQueryService,
+                                     CuentaQueryService cuentaQueryService, EmpleadoService empleadoService) {
+        this.zonaQueryService = zonaQueryService;
+        this.puestoService = puestoService;
+        this.departamentoService = departamentoService;
+        this.estadoQueryService = estadoQueryService;
+        this.cuentaQueryService = cuentaQueryService;
+        this.empleadoService = empleadoService;
+    }
+
+    /**
+     * Instantánea vigente; se construye en la primera llamada si aún no existe.
+     */
+    public CatalogosReferencia actual() {
+        CatalogosReferencia catalogos = actual.get();
+        return catalogos != null ? catalogos : reconstruir();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializar() {
+        reconstruir();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogosModificados(CatalogosModificadosEvent event) {
+        log.debug("Catálogo '{}' modificado, reconstruyendo instantánea", event.catalogo());
+        reconstruir();
+    }
+
+    /**
+     * La lista de supervisores depende del puesto configurado como supervisor.
+     */
+    @EventListener
+    public void onConfiguracionModificada(ConfiguracionModificadaEvent event) {
+        if (event.cambio(ConfiguracionApp.ID_PUESTO_SUPERVISOR)) {
+            recargar();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${integra.catalogos.recarga-ms:300000}", initialDelayString = "${integra.catalogos.recarga-ms:300000}")
+    public void recargar() {
+        try {
+            reconstruir();
+        } catch (RuntimeException e) {
+            // Se conserva la instantánea anterior hasta el siguiente ciclo
+            log.warn("No se pudieron recargar los catálogos de referencia: {}", e.getMessage());
+        }
+    }
+
+    private synchronized CatalogosReferencia reconstruir() {
+        CatalogosReferencia anterior = actual.get();
+        long version = anterior != null ? anterior.version() + 1 : 1;
+        CatalogosReferencia nueva = CatalogosReferencia.de(version,
+                zonaQueryService.obtenerZonas(),
+                puestoService.obtenerPuestos(),
+                departamentoService.obtenerDepartamentos(),
+                estadoQueryService.obtenerEstados(),
+                cuentaQueryService.obtenerTiposCuenta(),
+                empleadoService.obtenerSupervisoresActivos());
+        if (nueva.mismoContenido(anterior)) {
+            return anterior;
+        }
+        actual.set(nueva);
+        log.info("Catálogos de referencia actualizados a la versión {}", version);
+        return nueva;
+    }
+}
@@ -0,0 +1,10 @@
+package integra.catalogo;
+
+/**
+ * Evento publicado cuando cambia un catálogo de referencia (zonas, tipos de cuenta, ...). Tras el commit se
+ * reconstruye la instantánea de {@link CatalogoReferenciaService}.
+ *
+ * @param catalogo nombre del catálogo modificado
+ */
+public record CatalogosModificadosEvent(String catalogo) {
+}
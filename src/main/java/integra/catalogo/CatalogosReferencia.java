@@ -0,0 +1,129 @@
+package integra.catalogo;
+
+import integra.departamento.dto.DepartamentoEntityDto;
+import integra.empleado.InfoEmpleados;
+import integra.model.Estado;
+import integra.model.TipoCuenta;
+import integra.organizacion.puesto.response.PuestoDto;
+import integra.ubicacion.zona.entity.ZonaEntityDto;
+
+import java.lang.reflect.RecordComponent;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Instantánea inmutable de los catálogos que el front end consulta en cada carga de página.
+ * <p>
+ * La {@code version} aumenta cada vez que el contenido cambia. El ETag de cada catálogo (y el del paquete
+ * completo) se deriva de su contenido, no de la versión, para que dos instancias del servicio con los mismos
+ * datos respondan con el mismo ETag: son los primeros 64 bits del SHA-256 de los campos de cada elemento,
+ * igual que la versión de {@link integra.security.authority.CatalogoPermisos}.
+ * </p>
+ */
+public record CatalogosReferencia(long version,
+                                  List<ZonaEntityDto> zonas,
+                                  List<PuestoDto> puestos,
+                                  List<DepartamentoEntityDto> departamentos,
+                                  List<Estado> estados,
+                                  List<TipoCuenta> tiposCuenta,
+                                  List<InfoEmpleados> supervisores,
+                                  Map<String, String> etags) {
+
+    public static final String ZONAS = "zonas";
+    public static final String PUESTOS = "puestos";
+    public static final String DEPARTAMENTOS = "departamentos";
+    public static final String ESTADOS = "estados";
+    public static final String TIPOS_CUENTA = "tiposCuenta";
+    public static final String SUPERVISORES = "supervisores";
+    public static final String PAQUETE = "paquete";
+
+    public static CatalogosReferencia de(long version, List<ZonaEntityDto> zonas, List<PuestoDto> puestos,
+                                         List<DepartamentoEntityDto> departamentos, List<Estado> estados,
+                                         List<TipoCuenta> tiposCuenta, List<InfoEmpleados> supervisores) {
+        Map<String, byte[]> huellas = new LinkedHashMap<>();
+        huellas.put(ZONAS, huella(zonas, CatalogosReferencia::componentes));
+        huellas.put(PUESTOS, huella(puestos, CatalogosReferencia::componentes));
+        huellas.put(DEPARTAMENTOS, huella(departamentos, CatalogosReferencia::componentes));
+        // Estado y TipoCuenta no son records: se usan sus campos
+        huellas.put(ESTADOS, huella(estados, e -> Arrays.asList(e.getId(), e.getCodigo(), e.getNombre())));
+        huellas.put(TIPOS_CUENTA, huella(tiposCuenta, t -> Arrays.asList(t.getId(), t.getNombre())));
+        huellas.put(SUPERVISORES, huella(supervisores, CatalogosReferencia::componentes));
+
+        Map<String, String> etags = new LinkedHashMap<>();
+        MessageDigest paquete = sha256();
+        huellas.forEach((catalogo, huella) -> {
+            etags.put(catalogo, etag(catalogo, huella));
+            paquete.update(huella);
+        });
+        etags.put(PAQUETE, etag(PAQUETE, paquete.digest()));
+
+        return new CatalogosReferencia(version, List.copyOf(zonas), List.copyOf(puestos), List.copyOf(departamentos),
+                List.copyOf(estados), List.copyOf(tiposCuenta), List.copyOf(supervisores), Map.copyOf(etags));
+    }
+
+    /**
+     * Indica si ambas instantáneas tienen los mismos datos, sin importar su versión.
+     */
+    public boolean mismoContenido(CatalogosReferencia otra) {
+        return otra != null && Objects.equals(etags.get(PAQUETE), otra.etags.get(PAQUETE));
+    }
+
+    public String etag(String catalogo) {
+        return etags.get(catalogo);
+    }
+
+    private static String etag(String catalogo, byte[] huella) {
+        return "\"" + catalogo + "-" + HexFormat.of().formatHex(huella, 0, Long.BYTES) + "\"";
+    }
+
+    /**
+     * SHA-256 de los campos de cada elemento, en orden. Cada campo va precedido de su longitud (-1 si es
+     * {@code null}) para que ninguna combinación de valores se confunda con otra.
+     */
+    private static <T> byte[] huella(List<T> elementos, Function<T, List<?>> campos) {
+        MessageDigest digest = sha256();
+        ByteBuffer longitud = ByteBuffer.allocate(Integer.BYTES);
+        for (T elemento : elementos) {
+            List<?> valores = campos.apply(elemento);
+            digest.update(longitud.clear().putInt(valores.size()).array());
+            for (Object valor : valores) {
+                byte[] bytes = valor != null ? String.valueOf(valor).getBytes(StandardCharsets.UTF_8) : null;
+                digest.update(longitud.clear().putInt(bytes != null ? bytes.length : -1).array());
+                if (bytes != null) {
+                    digest.update(bytes);
+                }
+            }
+        }
+        return digest.digest();
+    }
+
+    private static List<?> componentes(Record registro) {
+        List<Object> valores = new ArrayList<>();
+        try {
+            for (RecordComponent componente : registro.getClass().getRecordComponents()) {
+                valores.add(componente.getAccessor().invoke(registro));
+            }
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("No se pudieron leer los campos de " + registro.getClass().getSimpleName(), e);
+        }
+        return valores;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package integra.catalogo;
+
+import integra.config.cache.RegionesHibernate;
+import integra.config.cache.bus.BusInvalidacion;
+import integra.config.cache.bus.Invalidacion;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+
+/**
+ * Descarta la región de segundo nivel de Hibernate de un catálogo cuando este cambia.
+ * <p>
+ * En el nodo que hizo el cambio Hibernate ya mantiene la región al día; el descarte explícito cubre las
+ * sentencias que no pasan por la sesión. A los demás nodos se les avisa por el {@link BusInvalidacion}, que
+ * descartan la región y los resultados de consultas cacheables. Sin bus, los otros nodos ven el cambio cuando
+ * expira la región ({@code integra.cache.hibernate.predeterminada.expire-after-write}).
+ * </p>
+ * <p>
+ * Los tipos de observación y los estatus no tienen servicio de escritura; se actualizan solo por expiración.
+ * </p>
+ */
+@Component
+@Slf4j
+public class RegionesCatalogoSincronizador {
+
+    private static final Map<String, String> REGIONES = Map.of(
+            CatalogosReferencia.ZONAS, RegionesHibernate.ZONA,
+            CatalogosReferencia.PUESTOS, RegionesHibernate.PUESTO,
+            CatalogosReferencia.DEPARTAMENTOS, RegionesHibernate.DEPARTAMENTO,
+            CatalogosReferencia.ESTADOS, RegionesHibernate.ESTADO,
+            CatalogosReferencia.TIPOS_CUENTA, RegionesHibernate.TIPO_CUENTA);
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ObjectProvider<BusInvalidacion> bus;
+
+    public RegionesCatalogoSincronizador(EntityManagerFactory entityManagerFactory, ObjectProvider<BusInvalidacion> bus) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.bus = bus;
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void suscribir() {
+        bus.ifAvailable(destino -> destino.suscribir(this::aplicarRemota));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogosModificados(CatalogosModificadosEvent event) {
+        String region = REGIONES.get(event.catalogo());
+        if (region == null) {
+            return;
+        }
+        cache().evictRegion(region);
+        bus.ifAvailable(destino -> destino.publicar(RegionesHibernate.BUS, region));
+    }
+
+    private void aplicarRemota(Invalidacion invalidacion) {
+        if (!RegionesHibernate.BUS.equals(invalidacion.cache()) || !(invalidacion.clave() instanceof String region)) {
+            return;
+        }
+        Cache cache = cache();
+        cache.evictRegion(region);
+        // Los resultados de consultas de este nodo no se enteran del cambio hecho en otro
+        cache.evictDefaultQueryRegion();
+        log.debug("Región de Hibernate '{}' descartada por cambio en el nodo {}", region, invalidacion.origen());
+    }
+
+    private Cache cache() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+}
@@ -0,0 +1,31 @@
+package integra.catalogo;
+
+import integra.utils.ResponseData;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Function;
+
+/**
+ * Respuesta condicional de los endpoints de catálogos: si el {@code If-None-Match} del cliente coincide con el
+ * ETag del catálogo vigente se responde {@code 304} sin cuerpo ni consultas a la base de datos.
+ */
+public final class RespuestaCatalogo {
+
+    private RespuestaCatalogo() {
+    }
+
+    public static <T> ResponseEntity<ResponseData<T>> responder(CatalogoReferenciaService service, WebRequest request, String catalogo,
+                                                                Function<CatalogosReferencia, T> extraer, String mensaje) {
+        CatalogosReferencia catalogos = service.actual();
+        String etag = catalogos.etag(catalogo);
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .header("X-Catalogos-Version", String.valueOf(catalogos.version()))
+                .body(ResponseData.of(extraer.apply(catalogos), mensaje));
+    }
+}
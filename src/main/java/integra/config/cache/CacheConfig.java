@@ -1,16 +1,33 @@
 package integra.config.cache;
 
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.RemovalCause;
+import integra.config.cache.bus.BusInvalidacion;
+import integra.config.cache.bus.CacheManagerDistribuido;
+import integra.config.cache.bus.NivelCompartido;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.util.StringUtils;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Configuration
 @EnableCaching
@@ -21,12 +38,45 @@ public class CacheConfig {
     private final CacheProperties cacheProperties;
     private final MeterRegistry meterRegistry;
 
+    /**
+     * Hilos para las recargas en segundo plano de las cachés con {@link CargadorCache}. Mientras una recarga
+     * está en curso, los lectores siguen recibiendo el valor anterior. Las cargas de un fallo no pasan por
+     * aquí: se ejecutan en el hilo que consulta.
+     */
+    @Bean("cacheRefreshExecutor")
+    public ThreadPoolTaskExecutor cacheRefreshExecutor() {
+        ThreadPoolTaskExecutor exec = new ThreadPoolTaskExecutor();
+        exec.setCorePoolSize(2);
+        exec.setMaxPoolSize(2);
+        exec.setQueueCapacity(100);
+        exec.setThreadNamePrefix("CacheRefresh-");
+        exec.initialize();
+        return exec;
+    }
+
     @Bean
-    public CacheManager cacheManager() {
+    public CacheManager cacheManager(ObjectProvider<CargadorCache> cargadores, @Qualifier("cacheRefreshExecutor") Executor refreshExecutor,
+                                     ObjectProvider<BusInvalidacion> bus, ObjectProvider<NivelCompartido> nivelCompartido,
+                                     ApplicationEventPublisher eventPublisher) {
         CaffeineCacheManager cacheManager = new CaffeineCacheManager();
         log.info("======");
         log.info("Configurando cachés Caffeine...");
 
+        // Los cargadores dependen de servicios con @Cacheable, así que se resuelven en la primera carga
+        Function<String, CargadorCache> buscarCargador = new Function<>() {
+            private volatile Map<String, CargadorCache> porCache;
+
+            @Override
+            public CargadorCache apply(String cacheName) {
+                Map<String, CargadorCache> actual = porCache;
+                if (actual == null) {
+                    actual = cargadores.orderedStream().collect(Collectors.toMap(CargadorCache::cache, Function.identity()));
+                    porCache = actual;
+                }
+                return actual.get(cacheName);
+            }
+        };
+
         cacheProperties.getSpecs().forEach((cacheName, spec) -> {
 
             log.info("Caché '{}' cargando configuración...", cacheName);
@@ -36,6 +86,8 @@ public class CacheConfig {
                         if (cause != RemovalCause.EXPLICIT) {
                             log.debug("Caché '{}': clave '{}' eliminada ({})", cacheName, key, cause);
                         }
+                        // Desglose por causa para CacheService.getCacheDetalle
+                        meterRegistry.counter("integra.cache.expulsiones", "cache", cacheName, "causa", cause.name()).increment();
                     });
 
             if (spec.getExpireAfterWrite() != null) {
@@ -44,9 +96,6 @@ public class CacheConfig {
             if (spec.getExpireAfterAccess() != null) {
                 caffeine.expireAfterAccess(spec.getExpireAfterAccess());
             }
-            if (spec.getRefreshAfterWrite() != null) {
-                caffeine.refreshAfterWrite(spec.getRefreshAfterWrite());
-            }
             if (spec.getMaximumSize() != null) {
                 caffeine.maximumSize(spec.getMaximumSize());
             }
@@ -59,6 +108,18 @@ public class CacheConfig {
             if (Boolean.TRUE.equals(spec.getWeakKeys())) {
                 caffeine.weakKeys();
             }
+
+            if (spec.getRefreshAfterWrite() != null) {
+                // El refresco solo funciona con una caché de carga: se sirve el valor vigente y se recalcula en segundo plano
+                caffeine.refreshAfterWrite(spec.getRefreshAfterWrite()).executor(refreshExecutor);
+                AsyncLoadingCache<Object, Object> cache = caffeine.buildAsync(new CargadorConMetricas(cacheName, buscarCargador));
+                CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), cacheName);
+                cacheManager.registerCustomCache(cacheName, cache);
+                log.info("Caché '{}' configurada con refresco cada {}.", cacheName, spec.getRefreshAfterWrite());
+                return;
+            }
+
+            // Las referencias débiles o suaves a valores no son compatibles con la caché asíncrona
             if (Boolean.TRUE.equals(spec.getWeakValues())) {
                 caffeine.weakValues();
             }
@@ -76,6 +137,79 @@ public class CacheConfig {
 
         log.info("Cachés configuradas correctamente.");
         log.info("======");
+        if (StringUtils.hasText(cacheProperties.getBus().getTipo())) {
+            // Varios nodos: los descartes se propagan por el bus configurado en integra.cache.bus.tipo
+            return new CacheManagerDistribuido(cacheManager, bus, nivelCompartido, eventPublisher);
+        }
         return cacheManager;
     }
+
+    /**
+     * Cargador asíncrono que delega en el {@link CargadorCache} de la caché y registra la duración de cada
+     * carga y recarga en {@code integra.cache.carga} (etiquetas {@code cache}, {@code tipo}, {@code resultado}).
+     * <p>
+     * La carga inicial se ejecuta en el hilo que consulta: {@code CaffeineCache} de Spring resuelve cada fallo con
+     * {@code LoadingCache.get} sobre la vista síncrona, y pasarla por el executor de recargas haría que los fallos
+     * de distintas claves se esperaran entre sí y se rechazaran al llenarse su cola. Solo las recargas usan ese
+     * executor; si una falla, Caffeine conserva el valor anterior.
+     * </p>
+     */
+    private final class CargadorConMetricas implements AsyncCacheLoader<Object, Object> {
+        private final String cacheName;
+        private final Function<String, CargadorCache> buscarCargador;
+
+        private CargadorConMetricas(String cacheName, Function<String, CargadorCache> buscarCargador) {
+            this.cacheName = cacheName;
+            this.buscarCargador = buscarCargador;
+        }
+
+        @Override
+        public CompletableFuture<Object> asyncLoad(Object key, Executor executor) {
+            CargadorCache cargador = buscarCargador();
+            if (cargador == null) {
+                return CompletableFuture.completedFuture(null);
+            }
+            try {
+                return CompletableFuture.completedFuture(cargar(cargador, key, "carga"));
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        @Override
+        public CompletableFuture<Object> asyncReload(Object key, Object oldValue, Executor executor) {
+            CargadorCache cargador = buscarCargador();
+            if (cargador == null) {
+                return CompletableFuture.completedFuture(oldValue);
+            }
+            return CompletableFuture.supplyAsync(() -> cargar(cargador, key, "recarga"), executor);
+        }
+
+        private CargadorCache buscarCargador() {
+            CargadorCache cargador = buscarCargador.apply(cacheName);
+            if (cargador == null) {
+                // Sin cargador la entrada solo se llena desde @Cacheable y una recarga conserva el valor vigente
+                log.warn("Caché '{}' tiene refresh-after-write pero no hay CargadorCache registrado", cacheName);
+            }
+            return cargador;
+        }
+
+        private Object cargar(CargadorCache cargador, Object key, String tipo) {
+            Timer.Sample muestra = Timer.start(meterRegistry);
+            String resultado = "error";
+            try {
+                Object valor = cargador.cargar().apply(key);
+                resultado = "exito";
+                return valor;
+            } catch (RuntimeException e) {
+                log.warn("Caché '{}': falló la {} de la clave '{}': {}", cacheName, tipo, key, e.getMessage());
+                throw e;
+            } finally {
+                muestra.stop(Timer.builder("integra.cache.carga")
+                        .tags("cache", cacheName, "tipo", tipo, "resultado", resultado)
+                        .publishPercentiles(0.5, 0.95, 0.99)
+                        .register(meterRegistry));
+            }
+        }
+    }
 }
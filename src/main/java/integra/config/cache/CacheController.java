@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -21,6 +22,28 @@ public class CacheController {
         return ResponseEntity.ok(cacheService.getCacheStats());
     }
 
+    @GetMapping("/detalle")
+    public ResponseEntity<Map<String, CacheService.CacheDetalleDto>> getDetalles(@RequestParam(defaultValue = "10") int top) {
+        log.info("Retrieving cache details");
+        return ResponseEntity.ok(cacheService.getCacheDetalles(top));
+    }
+
+    @GetMapping("/detalle/{cacheName}")
+    public ResponseEntity<CacheService.CacheDetalleDto> getDetalle(@PathVariable String cacheName, @RequestParam(defaultValue = "10") int top) {
+        log.info("Retrieving cache detail: {}", cacheName);
+        CacheService.CacheDetalleDto detalle = cacheService.getCacheDetalle(cacheName, top);
+        return detalle != null ? ResponseEntity.ok(detalle) : ResponseEntity.notFound().build();
+    }
+
+    @GetMapping("/{cacheName}/claves")
+    public ResponseEntity<List<String>> getClaves(@PathVariable String cacheName,
+                                                  @RequestParam(defaultValue = "*") String patron,
+                                                  @RequestParam(defaultValue = "100") int limite) {
+        log.info("Listing keys of cache {} matching '{}'", cacheName, patron);
+        List<String> claves = cacheService.buscarClaves(cacheName, patron, Math.min(limite, 1000));
+        return claves != null ? ResponseEntity.ok(claves) : ResponseEntity.notFound().build();
+    }
+
     @DeleteMapping("/clear")
     public ResponseEntity<Void> clearAll() {
         log.info("Clearing all caches");
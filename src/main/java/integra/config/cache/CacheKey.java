@@ -0,0 +1,59 @@
+package integra.config.cache;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Clave compuesta generada por {@link CustomKeyGenerator}: la firma del método más los argumentos normalizados.
+ * <p>
+ * El hash se calcula una sola vez al crearla; {@link #equals(Object)} compara primero el hash y la firma antes
+ * de comparar los argumentos. La firma se compara con {@code equals}: dentro del proceso suele ser la misma
+ * instancia, pero una clave deserializada (instantánea de cachés o caché distribuida) trae su propia copia.
+ * </p>
+ * <p>
+ * Es serializable si sus argumentos lo son. El hash no se serializa: depende de {@code hashCode} de enums y
+ * clases, que cambia entre JVMs, y se recalcula al deserializar.
+ * </p>
+ */
+public final class CacheKey implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final Object firma;
+    private final Object[] argumentos;
+    private final transient int hash;
+
+    CacheKey(Object firma, Object[] argumentos) {
+        this.firma = firma;
+        this.argumentos = argumentos;
+        this.hash = 31 * firma.hashCode() + Arrays.hashCode(argumentos);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof CacheKey otra
+                && hash == otra.hash
+                && firma.equals(otra.firma)
+                && Arrays.equals(argumentos, otra.argumentos);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return firma + Arrays.toString(argumentos);
+    }
+
+    @Serial
+    private Object readResolve() {
+        return new CacheKey(firma, argumentos);
+    }
+}
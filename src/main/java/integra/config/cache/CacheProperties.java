@@ -5,6 +5,9 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Component
@@ -13,6 +16,10 @@ import java.util.Map;
 public class CacheProperties {
 
     private Map<String, CacheSpec> specs;
+    private Calentamiento calentamiento = new Calentamiento();
+    private Instantanea instantanea = new Instantanea();
+    private Bus bus = new Bus();
+    private Hibernate hibernate = new Hibernate();
 
     @Data
     public static class CacheSpec {
@@ -26,4 +33,84 @@ public class CacheProperties {
         private Boolean weakValues;
         private Boolean softValues;
     }
-}
\ No newline at end of file
+
+    @Data
+    public static class Calentamiento {
+        /**
+         * Tiempo máximo para el precalentamiento; al agotarse se abre el tráfico aunque falten cachés.
+         */
+        private Duration timeout = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class Instantanea {
+        private boolean habilitado = false;
+        /**
+         * Archivo local donde se guarda la instantánea.
+         */
+        private String archivo = "cache/instantanea.bin";
+        /**
+         * Cachés a guardar; vacío para todas las que tienen {@link CargadorCache}. Las que no lo tienen nunca se
+         * guardan: no habría cómo recargar sus valores al restaurarlas.
+         */
+        private List<String> caches = new ArrayList<>();
+        /**
+         * Antigüedad máxima de una instantánea para restaurarla.
+         */
+        private Duration vigenciaMaxima = Duration.ofHours(6);
+        /**
+         * Cada cuánto se guarda la instantánea además de al detener la aplicación.
+         */
+        private Duration intervalo = Duration.ofMinutes(10);
+    }
+
+    @Data
+    public static class Bus {
+        /**
+         * Implementación del bus de invalidación entre nodos ({@code tabla}); vacío para cachés solo locales.
+         */
+        private String tipo;
+        /**
+         * Antigüedad a partir de la cual se eliminan las invalidaciones ya leídas.
+         */
+        private Duration retencion = Duration.ofHours(1);
+        /**
+         * Ids por debajo de la marca de agua que se vuelven a leer en cada sondeo, para no perder las filas
+         * confirmadas fuera de orden.
+         */
+        private int ventana = 1000;
+    }
+
+    @Data
+    public static class Hibernate {
+        /**
+         * Caché de segundo nivel de Hibernate para las entidades de catálogo ({@link RegionesHibernate}).
+         */
+        private boolean habilitado = true;
+        /**
+         * Caché de resultados para las consultas marcadas como cacheables.
+         */
+        private boolean consultas = true;
+        /**
+         * Estadísticas de Hibernate, publicadas en Micrometer como {@code hibernate.*}.
+         */
+        private boolean estadisticas = true;
+        /**
+         * Configuración de las regiones que no aparecen en {@code regiones}.
+         */
+        private Region predeterminada = new Region();
+        /**
+         * Configuración por región, con el nombre de {@link RegionesHibernate} como clave.
+         */
+        private Map<String, Region> regiones = new HashMap<>();
+    }
+
+    @Data
+    public static class Region {
+        private Long maximumSize = 1000L;
+        /**
+         * Sin bus de invalidación, es lo que tarda un cambio hecho en otro nodo en verse en este.
+         */
+        private Duration expireAfterWrite = Duration.ofMinutes(5);
+    }
+}
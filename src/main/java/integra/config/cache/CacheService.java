@@ -1,22 +1,40 @@
 package integra.config.cache;
 
 import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
+import org.springframework.util.PatternMatchUtils;
+import org.springframework.util.StringUtils;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class CacheService {
 
+    private static final int MUESTRA_BYTES = 32;
+
     private final CacheManager cacheManager;
+    private final CacheProperties cacheProperties;
+    private final MeterRegistry meterRegistry;
 
     public Map<String, CacheStatsDto> getCacheStats() {
         Map<String, CacheStatsDto> stats = new HashMap<>();
@@ -25,22 +43,8 @@ public class CacheService {
             if (cache != null) {
                 try {
                     Object nativeCache = cache.getNativeCache();
-                    if (nativeCache instanceof com.github.benmanes.caffeine.cache.Cache caffeineCache) {
-                        CacheStats caffeineStats = caffeineCache.stats();
-                        ConcurrentMap<?, ?> cacheMap = caffeineCache.asMap();
-                        CacheStatsDto dto = new CacheStatsDto(
-                                caffeineStats.hitCount(),
-                                caffeineStats.missCount(),
-                                caffeineStats.loadCount(),
-                                caffeineStats.loadSuccessCount(),
-                                caffeineStats.loadFailureCount(),
-                                caffeineStats.totalLoadTime(),
-                                caffeineStats.evictionCount(),
-                                caffeineStats.hitRate(),
-                                caffeineStats.missRate(),
-                                cacheMap.size()
-                        );
-                        stats.put(cacheName, dto);
+                    if (nativeCache instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeineCache) {
+                        stats.put(cacheName, toStatsDto(caffeineCache));
                     }
                 } catch (Exception e) {
                     log.warn("Error getting stats for cache '{}': {}", cacheName, e.getMessage());
@@ -50,8 +54,192 @@ public class CacheService {
         return stats;
     }
 
+    /**
+     * Detalle de todas las cachés para ajustar tamaños y vigencias con el tráfico real.
+     */
+    public Map<String, CacheDetalleDto> getCacheDetalles(int topClaves) {
+        Map<String, CacheDetalleDto> detalles = new TreeMap<>();
+        cacheManager.getCacheNames().forEach(cacheName -> {
+            CacheDetalleDto detalle = getCacheDetalle(cacheName, topClaves);
+            if (detalle != null) {
+                detalles.put(cacheName, detalle);
+            }
+        });
+        return detalles;
+    }
+
+    /**
+     * Estadísticas, tamaño estimado en memoria, claves más usadas, latencia de carga, expulsiones por causa
+     * y configuración declarada frente a la efectiva de una caché.
+     *
+     * @param topClaves número máximo de claves calientes a listar
+     * @return el detalle, o {@code null} si la caché no existe o no es de Caffeine
+     */
+    public CacheDetalleDto getCacheDetalle(String cacheName, int topClaves) {
+        Cache cache = existente(cacheName);
+        if (cache == null || !(cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeineCache)) {
+            return null;
+        }
+        try {
+            return new CacheDetalleDto(
+                    toStatsDto(caffeineCache),
+                    estimarBytes(caffeineCache),
+                    clavesCalientes(caffeineCache, topClaves),
+                    latenciaCarga(cacheName),
+                    expulsionesPorCausa(cacheName),
+                    specConfigurada(cacheName),
+                    specEfectiva(caffeineCache)
+            );
+        } catch (Exception e) {
+            log.warn("Error getting detail for cache '{}': {}", cacheName, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Claves de la caché cuyo texto coincide con {@code patron} (comodín {@code *}).
+     *
+     * @return las claves encontradas, hasta {@code limite}; {@code null} si la caché no existe
+     */
+    public List<String> buscarClaves(String cacheName, String patron, int limite) {
+        Cache cache = existente(cacheName);
+        if (cache == null || !(cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeineCache)) {
+            return null;
+        }
+        String filtro = StringUtils.hasText(patron) ? patron : "*";
+        return caffeineCache.asMap().keySet().stream()
+                .map(String::valueOf)
+                .filter(clave -> PatternMatchUtils.simpleMatch(filtro, clave))
+                .limit(Math.max(0, limite))
+                .toList();
+    }
+
+    private CacheStatsDto toStatsDto(com.github.benmanes.caffeine.cache.Cache<?, ?> caffeineCache) {
+        CacheStats caffeineStats = caffeineCache.stats();
+        ConcurrentMap<?, ?> cacheMap = caffeineCache.asMap();
+        return new CacheStatsDto(
+                caffeineStats.hitCount(),
+                caffeineStats.missCount(),
+                caffeineStats.loadCount(),
+                caffeineStats.loadSuccessCount(),
+                caffeineStats.loadFailureCount(),
+                caffeineStats.totalLoadTime(),
+                caffeineStats.evictionCount(),
+                caffeineStats.hitRate(),
+                caffeineStats.missRate(),
+                cacheMap.size()
+        );
+    }
+
+    /**
+     * Serializa una muestra de entradas y extrapola al total. Es una aproximación (la forma serializada no es
+     * la ocupación real en el heap), suficiente para comparar cachés entre sí; {@code null} si los valores no
+     * son serializables.
+     */
+    private Long estimarBytes(com.github.benmanes.caffeine.cache.Cache<?, ?> caffeineCache) {
+        long total = caffeineCache.estimatedSize();
+        if (total == 0) {
+            return 0L;
+        }
+        long bytes = 0;
+        int muestras = 0;
+        for (Map.Entry<?, ?> entrada : caffeineCache.asMap().entrySet()) {
+            if (muestras == MUESTRA_BYTES) {
+                break;
+            }
+            try {
+                ByteArrayOutputStream salida = new ByteArrayOutputStream();
+                try (ObjectOutputStream out = new ObjectOutputStream(salida)) {
+                    out.writeObject(entrada.getKey());
+                    out.writeObject(entrada.getValue());
+                }
+                bytes += salida.size();
+                muestras++;
+            } catch (IOException e) {
+                return null;
+            }
+        }
+        return muestras == 0 ? 0L : bytes / muestras * total;
+    }
+
+    /**
+     * Claves con mayor frecuencia de uso según la política de Caffeine (o las de acceso más reciente si la caché
+     * solo expira por acceso). Vacío si la caché no tiene límite de tamaño ni expiración por acceso.
+     */
+    private List<String> clavesCalientes(com.github.benmanes.caffeine.cache.Cache<?, ?> caffeineCache, int limite) {
+        if (limite <= 0) {
+            return List.of();
+        }
+        var politica = caffeineCache.policy();
+        Map<?, ?> calientes = politica.eviction()
+                .<Map<?, ?>>map(eviction -> eviction.hottest(limite))
+                .or(() -> politica.expireAfterAccess().map(expiracion -> expiracion.youngest(limite)))
+                .orElse(Map.of());
+        return calientes.keySet().stream().map(String::valueOf).toList();
+    }
+
+    private Map<String, PercentilesDto> latenciaCarga(String cacheName) {
+        Map<String, PercentilesDto> latencias = new TreeMap<>();
+        for (Timer timer : meterRegistry.find("integra.cache.carga").tag("cache", cacheName).timers()) {
+            HistogramSnapshot snapshot = timer.takeSnapshot();
+            Map<Double, Double> percentiles = new HashMap<>();
+            for (ValueAtPercentile valor : snapshot.percentileValues()) {
+                percentiles.put(valor.percentile(), valor.value(TimeUnit.MILLISECONDS));
+            }
+            String clave = timer.getId().getTag("tipo") + "/" + timer.getId().getTag("resultado");
+            latencias.put(clave, new PercentilesDto(
+                    snapshot.count(),
+                    percentiles.getOrDefault(0.5, Double.NaN),
+                    percentiles.getOrDefault(0.95, Double.NaN),
+                    percentiles.getOrDefault(0.99, Double.NaN),
+                    snapshot.max(TimeUnit.MILLISECONDS)
+            ));
+        }
+        return latencias;
+    }
+
+    private Map<String, Long> expulsionesPorCausa(String cacheName) {
+        Map<String, Long> causas = new TreeMap<>();
+        for (Counter counter : meterRegistry.find("integra.cache.expulsiones").tag("cache", cacheName).counters()) {
+            causas.put(counter.getId().getTag("causa"), (long) counter.count());
+        }
+        return causas;
+    }
+
+    private Map<String, Object> specConfigurada(String cacheName) {
+        Map<String, Object> spec = new LinkedHashMap<>();
+        CacheProperties.CacheSpec configurada = cacheProperties.getSpecs() != null ? cacheProperties.getSpecs().get(cacheName) : null;
+        if (configurada != null) {
+            spec.put("maximumSize", configurada.getMaximumSize());
+            spec.put("expireAfterWrite", configurada.getExpireAfterWrite());
+            spec.put("expireAfterAccess", configurada.getExpireAfterAccess());
+            spec.put("refreshAfterWrite", configurada.getRefreshAfterWrite());
+            spec.put("recordStats", configurada.getRecordStats());
+        }
+        return spec;
+    }
+
+    private Map<String, Object> specEfectiva(com.github.benmanes.caffeine.cache.Cache<?, ?> caffeineCache) {
+        var politica = caffeineCache.policy();
+        Map<String, Object> spec = new LinkedHashMap<>();
+        spec.put("maximumSize", politica.eviction().map(eviction -> eviction.getMaximum()).orElse(null));
+        spec.put("expireAfterWrite", politica.expireAfterWrite().map(expiracion -> expiracion.getExpiresAfter()).orElse(null));
+        spec.put("expireAfterAccess", politica.expireAfterAccess().map(expiracion -> expiracion.getExpiresAfter()).orElse(null));
+        spec.put("refreshAfterWrite", politica.refreshAfterWrite().map(refresco -> refresco.getRefreshesAfter()).orElse(null));
+        spec.put("recordStats", politica.isRecordingStats());
+        return spec;
+    }
+
+    /**
+     * Caché ya creada con ese nombre, o {@code null}. El gestor es dinámico: {@code getCache} con un nombre
+     * desconocido crearía (y, con el bus, propagaría) una caché vacía en lugar de indicar que no existe.
+     */
+    private Cache existente(String cacheName) {
+        return cacheManager.getCacheNames().contains(cacheName) ? cacheManager.getCache(cacheName) : null;
+    }
+
     public void clearCache(String cacheName) {
-        Cache cache = cacheManager.getCache(cacheName);
+        Cache cache = existente(cacheName);
         if (cache != null) {
             cache.clear();
             log.info("Cache '{}' cleared manually", cacheName);
@@ -84,4 +272,24 @@ public class CacheService {
             long size
     ) {
     }
+
+    public record CacheDetalleDto(
+            CacheStatsDto stats,
+            Long bytesEstimados,
+            List<String> clavesCalientes,
+            Map<String, PercentilesDto> latenciaCarga,
+            Map<String, Long> expulsionesPorCausa,
+            Map<String, Object> specConfigurada,
+            Map<String, Object> specEfectiva
+    ) {
+    }
+
+    public record PercentilesDto(
+            long cantidad,
+            double p50Ms,
+            double p95Ms,
+            double p99Ms,
+            double maximoMs
+    ) {
+    }
 }
\ No newline at end of file
@@ -1,14 +1,26 @@
 package integra.config.cache;
 
-import integra.seguridad.rol.service.RolesPermisosService;
-import integra.seguridad.usuario.service.TokenVersionService;
-import integra.unidad.service.UnidadQueryService;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 /**
  * Servicio encargado de realizar el "precalentamiento" (warmup) de las cachés del sistema
  * una vez que la aplicación ha iniciado completamente.
@@ -17,68 +29,123 @@ import org.springframework.stereotype.Service;
  * frecuente, de manera que las primeras peticiones al backend no experimenten latencia
  * causada por una caché vacía.</p>
  *
- * <p>Este proceso se ejecuta automáticamente al recibir el evento
- * {@link ApplicationReadyEvent}, lo que garantiza que todos los componentes de Spring
- * ya estén inicializados antes de comenzar el precalentamiento.</p>
+ * <p>Cada caché se declara como un bean {@link CalentamientoCache} (ver {@link CalentamientosCache}).
+ * Al recibir el evento {@link ApplicationReadyEvent}, todas se cargan en paralelo, cada una en su propio
+ * hilo virtual, con un límite de {@code integra.cache.calentamiento.timeout}. La duración de cada carga se
+ * escribe en el log y en la métrica {@code integra.cache.calentamiento} (etiquetas {@code cache} y
+ * {@code resultado}).</p>
  *
- * <p>En caso de ocurrir un error durante la carga de datos, el proceso será registrado
- * en el log pero no impedirá que la aplicación continúe con su arranque normal.</p>
+ * <p>Mientras falte alguna caché crítica, {@link CalentamientoCacheHealthIndicator} reporta
+ * {@code OUT_OF_SERVICE} para que la instancia no reciba tráfico. En caso de error o de agotarse el tiempo,
+ * el proceso se registra en el log y el tráfico se habilita de todos modos: las cachés pendientes se llenan
+ * con las primeras consultas.</p>
  *
  * @author Pablo Reyes
- * @version 1.0.1-Beta
+ * @version 1.1
  * @since 2025
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class CacheWarmupService {
 
-    /**
-     * Servicio encargado de las consultas de información de unidades.
-     */
-    private final UnidadQueryService unidadQueryService;
-    private final TokenVersionService tokenVersionService;
+    public enum Estado {PENDIENTE, CARGADA, FALLIDA, AGOTADA}
 
-    /**
-     * Servicio encargado de las consultas de roles y permisos.
-     */
-    private final RolesPermisosService rolesPermisosService;
+    private final ObjectProvider<CalentamientoCache> calentamientos;
+    private final MeterRegistry meterRegistry;
+    private final Duration timeout;
+    private final Map<String, Estado> estados = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> criticas = new ConcurrentHashMap<>();
+    private volatile boolean iniciado;
+    private volatile boolean concluido;
+
+    public CacheWarmupService(ObjectProvider<CalentamientoCache> calentamientos, MeterRegistry meterRegistry, CacheProperties cacheProperties) {
+        this.calentamientos = calentamientos;
+        this.meterRegistry = meterRegistry;
+        this.timeout = cacheProperties.getCalentamiento().getTimeout();
+    }
 
     /**
      * Método que se ejecuta automáticamente al completar el arranque de la aplicación.
      * <p>
-     * Realiza las llamadas necesarias a los servicios que cargan las cachés principales
-     * del sistema, permitiendo un acceso más rápido a los datos desde el inicio.
+     * Lanza todas las precargas en paralelo y espera a que concluyan o a que se agote el tiempo.
      * </p>
      */
+    @Async
     @EventListener(ApplicationReadyEvent.class)
     public void warmupCaches() {
+        List<CalentamientoCache> lista = calentamientos.orderedStream().toList();
+        lista.forEach(c -> {
+            estados.put(c.cache(), Estado.PENDIENTE);
+            criticas.put(c.cache(), c.critico());
+        });
+        iniciado = true;
+
         log.info("======");
-        log.info("Iniciando proceso de precalentamiento de cachés...");
+        log.info("Iniciando precalentamiento de {} cachés (límite {})...", lista.size(), timeout);
+        long inicio = System.nanoTime();
 
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
         try {
-            // === Carga inicial de cachés de Unidad ===
-            log.info("Precargando caché de información básica de unidades...");
-            unidadQueryService.obtenerInfoBasica();
+            CompletableFuture<?>[] tareas = lista.stream()
+                    .map(c -> CompletableFuture.runAsync(() -> precargar(c), executor))
+                    .toArray(CompletableFuture[]::new);
+            CompletableFuture.allOf(tareas).get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            estados.replaceAll((cache, estado) -> estado == Estado.PENDIENTE ? Estado.AGOTADA : estado);
+            log.warn("El precalentamiento excedió {}; cachés sin cargar: {}", timeout, pendientes(Estado.AGOTADA));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // Cada precarga registra su propio error; aquí solo se espera a que terminen
+        } finally {
+            executor.shutdownNow();
+            concluido = true;
+        }
 
-            log.info("Precargando caché de unidades activas...");
-            unidadQueryService.obtenerUnidadesActivas();
+        log.info("Precalentamiento de cachés concluido en {} ms: {}", Duration.ofNanos(System.nanoTime() - inicio).toMillis(), estados);
+        log.info("======");
+    }
 
-            // === Carga inicial de cachés de Roles y Permisos ===
-            log.info("Precargando caché de roles y permisos...");
-            rolesPermisosService.obtenerRolesConPermisos();
+    /**
+     * {@code true} cuando todas las cachés críticas están cargadas o el precalentamiento ya concluyó.
+     */
+    public boolean listoParaTrafico() {
+        return concluido || iniciado && criticas.entrySet().stream()
+                .filter(Map.Entry::getValue)
+                .allMatch(entry -> estados.get(entry.getKey()) == Estado.CARGADA);
+    }
+
+    public boolean isConcluido() {
+        return concluido;
+    }
 
-            log.info("Precargando caché de versión de tokens");
-            tokenVersionService.preloadCache();
-            // Puedes agregar aquí más invocaciones para otros servicios con caché
-            // Ejemplo: productoService.precargarProductos();
-            // Ejemplo: clienteService.cargarClientesFrecuentes();
-            log.info("El precalentamiento de cachés se completó exitosamente");
-            log.info("======");
+    /**
+     * Estado de cada caché declarada, en orden alfabético.
+     */
+    public Map<String, Estado> estados() {
+        Map<String, Estado> copia = new LinkedHashMap<>();
+        estados.keySet().stream().sorted().forEach(cache -> copia.put(cache, estados.get(cache)));
+        return copia;
+    }
+
+    private void precargar(CalentamientoCache calentamiento) {
+        Timer.Sample muestra = Timer.start(meterRegistry);
+        Estado resultado = Estado.FALLIDA;
+        try {
+            calentamiento.cargar().run();
+            resultado = Estado.CARGADA;
         } catch (Exception e) {
-            log.error("Error durante el proceso de precalentamiento de cachés. "
-                    + "La aplicación continuará su ejecución normalmente.", e);
-            // No se lanza la excepción para no interrumpir el arranque del sistema
+            log.error("Error al precargar la caché '{}'. La aplicación continuará su ejecución normalmente.", calentamiento.cache(), e);
+        } finally {
+            long nanos = muestra.stop(meterRegistry.timer("integra.cache.calentamiento",
+                    "cache", calentamiento.cache(), "resultado", resultado.name().toLowerCase()));
+            // Si se agotó el tiempo no se sobrescribe el estado
+            estados.replace(calentamiento.cache(), Estado.PENDIENTE, resultado);
+            log.info("Caché '{}' precargada en {} ms ({})", calentamiento.cache(), TimeUnit.NANOSECONDS.toMillis(nanos), resultado);
         }
     }
+
+    private List<String> pendientes(Estado estado) {
+        return estados.entrySet().stream().filter(e -> e.getValue() == estado).map(Map.Entry::getKey).sorted().toList();
+    }
 }
@@ -0,0 +1,11 @@
+package integra.config.cache;
+
+/**
+ * Precarga de una caché al arrancar la aplicación, ejecutada por {@link CacheWarmupService}.
+ *
+ * @param cache   nombre con el que se reporta en el log, las métricas y el health
+ * @param critico si es {@code true}, la instancia no recibe tráfico hasta que esta precarga concluye
+ * @param cargar  invocación que llena la caché
+ */
+public record CalentamientoCache(String cache, boolean critico, Runnable cargar) {
+}
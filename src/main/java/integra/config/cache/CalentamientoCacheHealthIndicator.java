@@ -0,0 +1,29 @@
+package integra.config.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reporta {@code OUT_OF_SERVICE} mientras falte alguna caché crítica por precargar.
+ * <p>
+ * Para que el balanceador no envíe tráfico durante el arranque se debe incluir en el grupo de readiness:
+ * {@code management.endpoint.health.group.readiness.include=readinessState,calentamientoCache}.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class CalentamientoCacheHealthIndicator implements HealthIndicator {
+
+    private final CacheWarmupService cacheWarmupService;
+
+    @Override
+    public Health health() {
+        Health.Builder builder = cacheWarmupService.listoParaTrafico() ? Health.up() : Health.outOfService();
+        return builder
+                .withDetail("concluido", cacheWarmupService.isConcluido())
+                .withDetails(cacheWarmupService.estados())
+                .build();
+    }
+}
@@ -0,0 +1,35 @@
+package integra.config.cache;
+
+import integra.seguridad.rol.service.RolesPermisosService;
+import integra.seguridad.usuario.service.TokenVersionService;
+import integra.unidad.service.UnidadQueryService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Cachés que se precargan al arrancar. Los roles y las versiones de token se consultan en cada solicitud
+ * autenticada, por eso son críticas; las listas de unidades se pueden llenar con la primera consulta.
+ */
+@Configuration
+public class CalentamientosCache {
+
+    @Bean
+    public CalentamientoCache calentamientoUnidadList(UnidadQueryService unidadQueryService) {
+        return new CalentamientoCache("unidadList", false, unidadQueryService::obtenerInfoBasica);
+    }
+
+    @Bean
+    public CalentamientoCache calentamientoUnidadesActivas(UnidadQueryService unidadQueryService) {
+        return new CalentamientoCache("unidadesActivas", false, unidadQueryService::obtenerUnidadesActivas);
+    }
+
+    @Bean
+    public CalentamientoCache calentamientoRolesPermisos(RolesPermisosService rolesPermisosService) {
+        return new CalentamientoCache("rolesPermisos", true, rolesPermisosService::obtenerRolesConPermisos);
+    }
+
+    @Bean
+    public CalentamientoCache calentamientoTokenVersion(TokenVersionService tokenVersionService) {
+        return new CalentamientoCache("tokenVersion", true, tokenVersionService::preloadCache);
+    }
+}
@@ -0,0 +1,18 @@
+package integra.config.cache;
+
+import java.util.function.Function;
+
+/**
+ * Función que calcula el valor de una clave de la caché {@code cache}, usada por Caffeine para cargar y
+ * refrescar entradas en segundo plano.
+ * <p>
+ * Debe invocar el método sin caché del servicio dueño (p. ej., {@code cargarInfoBasica} en lugar de
+ * {@code obtenerInfoBasica}) y reconocer las mismas claves que genera su {@code @Cacheable}: los métodos
+ * sin parámetros usan {@link org.springframework.cache.interceptor.SimpleKey#EMPTY}.
+ * </p>
+ *
+ * @param cache  nombre de la caché
+ * @param cargar cálculo del valor a partir de la clave
+ */
+public record CargadorCache(String cache, Function<Object, Object> cargar) {
+}
@@ -0,0 +1,41 @@
+package integra.config.cache;
+
+import integra.seguridad.rol.service.RolesPermisosService;
+import integra.unidad.service.UnidadQueryService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Cargadores de las cachés que se refrescan en segundo plano ({@code refresh-after-write}).
+ */
+@Configuration
+public class CargadoresCache {
+
+    @Bean
+    public CargadorCache cargadorUnidadList(UnidadQueryService unidadQueryService) {
+        // obtenerInfoBasica() usa la clave vacía; obtenerInfoBasicaPorSupervisor(id) usa el id
+        return new CargadorCache("unidadList", key -> key instanceof Integer supervisorId
+                ? unidadQueryService.cargarInfoBasicaPorSupervisor(supervisorId)
+                : unidadQueryService.cargarInfoBasica());
+    }
+
+    @Bean
+    public CargadorCache cargadorUnidadesActivas(UnidadQueryService unidadQueryService) {
+        return new CargadorCache("unidadesActivas", key -> unidadQueryService.cargarUnidadesActivas());
+    }
+
+    @Bean
+    public CargadorCache cargadorUnidadContacto(UnidadQueryService unidadQueryService) {
+        return new CargadorCache("unidadContacto", key -> unidadQueryService.cargarContacto((Integer) key));
+    }
+
+    @Bean
+    public CargadorCache cargadorUnidadInfo(UnidadQueryService unidadQueryService) {
+        return new CargadorCache("unidadInfo", key -> unidadQueryService.cargarHorario((Integer) key));
+    }
+
+    @Bean
+    public CargadorCache cargadorRolesPermisos(RolesPermisosService rolesPermisosService) {
+        return new CargadorCache("rolesPermisos", key -> rolesPermisosService.cargarRolesConPermisos());
+    }
+}
@@ -1,52 +1,177 @@
 package integra.config.cache;
 
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.interceptor.KeyGenerator;
 import org.springframework.stereotype.Component;
 
+import java.io.Serializable;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.InaccessibleObjectException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
 
+/**
+ * Genera claves {@link CacheKey} para los métodos que declaran {@code keyGenerator = "customKeyGenerator"}.
+ * <p>
+ * La firma del método ({@code paquete.Clase.metodo(paquete.TipoA,int[])}) se construye una sola vez por método,
+ * con nombres completos para que dos clases o tipos homónimos de paquetes distintos no compartan claves. Los
+ * argumentos se copian y normalizan para que la clave no cambie si el llamador modifica el objeto después:
+ * </p>
+ * <ul>
+ *     <li>Listas, conjuntos, mapas y demás {@link Iterable} se copian completos, elemento por elemento.</li>
+ *     <li>Los arreglos (incluidos los primitivos) se copian y se comparan por contenido.</li>
+ *     <li>Los records y las clases que definen {@code equals} se usan tal cual; las demás se comparan por el
+ *     valor de sus campos.</li>
+ * </ul>
+ * <p>
+ * Hoy ningún {@code @Cacheable} lo usa: todos los métodos en caché reciben un solo id o ningún argumento, y
+ * la clave por defecto ({@code SimpleKey}) es la que reconocen los {@link CargadorCache}. Está pensado para
+ * métodos que reciban colecciones o DTOs como argumentos; si se adopta en una caché que tenga cargador o
+ * instantánea en disco, sus argumentos deben ser serializables.
+ * </p>
+ */
 @Component
-@Slf4j
 public class CustomKeyGenerator implements KeyGenerator {
 
+    private static final Object[] SIN_ARGUMENTOS = new Object[0];
+    // Evita recorrer sin fin grafos con referencias circulares
+    private static final int PROFUNDIDAD_MAXIMA = 8;
+
+    private final ConcurrentMap<Method, String> firmas = new ConcurrentHashMap<>();
+
+    /**
+     * Campos de instancia de las clases que no definen {@code equals}; {@code null} si sí lo definen.
+     */
+    private static final ClassValue<Field[]> CAMPOS_ESTRUCTURALES = new ClassValue<>() {
+        @Override
+        protected Field[] computeValue(Class<?> type) {
+            if (type.isRecord() || type.isEnum() || definirEquals(type)) {
+                return null;
+            }
+            List<Field> campos = new ArrayList<>();
+            for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+                for (Field campo : c.getDeclaredFields()) {
+                    if (!Modifier.isStatic(campo.getModifiers())) {
+                        campos.add(campo);
+                    }
+                }
+            }
+            try {
+                for (Field campo : campos) {
+                    campo.setAccessible(true);
+                }
+            } catch (InaccessibleObjectException | SecurityException e) {
+                return null;
+            }
+            return campos.toArray(Field[]::new);
+        }
+    };
+
     @Override
     public Object generate(Object target, Method method, Object... params) {
-        StringBuilder keyBuilder = new StringBuilder();
-        keyBuilder.append(target.getClass().getSimpleName())
-                .append(".")
-                .append(method.getName());
-
-        if (params != null && params.length > 0) {
-            keyBuilder.append("(");
-            String paramStr = Arrays.stream(params)
-                    .map(this::paramToString)
-                    .collect(Collectors.joining(","));
-            keyBuilder.append(paramStr);
-            keyBuilder.append(")");
-        } else {
-            keyBuilder.append("()");
-        }
-
-        String key = keyBuilder.toString();
-        log.debug("Generated cache key: {}", key);
-        return key;
+        // Misma instancia de String por método: String.equals en CacheKey resuelve por referencia sin recorrer el texto
+        String firma = firmas.computeIfAbsent(method, m -> firma(target, m));
+        if (params == null || params.length == 0) {
+            return new CacheKey(firma, SIN_ARGUMENTOS);
+        }
+        Object[] argumentos = new Object[params.length];
+        for (int i = 0; i < params.length; i++) {
+            argumentos[i] = normalizar(params[i], 0);
+        }
+        return new CacheKey(firma, argumentos);
     }
 
-    private String paramToString(Object param) {
-        if (param == null) {
-            return "null";
+    private static String firma(Object target, Method method) {
+        return target.getClass().getName() + "." + method.getName() + Arrays.stream(method.getParameterTypes())
+                .map(Class::getTypeName)
+                .collect(Collectors.joining(",", "(", ")"));
+    }
+
+    private static Object normalizar(Object param, int profundidad) {
+        if (param == null || profundidad > PROFUNDIDAD_MAXIMA) {
+            return param;
+        }
+        int siguiente = profundidad + 1;
+        if (param instanceof Object[] arreglo) {
+            Object[] copia = new Object[arreglo.length];
+            for (int i = 0; i < arreglo.length; i++) {
+                copia[i] = normalizar(arreglo[i], siguiente);
+            }
+            return new Arreglo(copia);
         }
         if (param.getClass().isArray()) {
-            return Arrays.deepToString((Object[]) param);
+            int longitud = Array.getLength(param);
+            Object copia = Array.newInstance(param.getClass().getComponentType(), longitud);
+            System.arraycopy(param, 0, copia, 0, longitud);
+            return new Arreglo(copia);
+        }
+        if (param instanceof Set<?> set) {
+            Set<Object> copia = new HashSet<>(Math.max(16, set.size() * 2));
+            set.forEach(elemento -> copia.add(normalizar(elemento, siguiente)));
+            return Collections.unmodifiableSet(copia);
+        }
+        if (param instanceof Map<?, ?> map) {
+            Map<Object, Object> copia = new HashMap<>(Math.max(16, map.size() * 2));
+            map.forEach((k, v) -> copia.put(normalizar(k, siguiente), normalizar(v, siguiente)));
+            return Collections.unmodifiableMap(copia);
+        }
+        if (param instanceof Iterable<?> iterable) {
+            List<Object> copia = new ArrayList<>(iterable instanceof Collection<?> c ? c.size() : 10);
+            iterable.forEach(elemento -> copia.add(normalizar(elemento, siguiente)));
+            return Collections.unmodifiableList(copia);
         }
-        if (param instanceof Iterable) {
-            return ((Iterable<?>) param).iterator().hasNext() ?
-                    "[" + ((Iterable<?>) param).iterator().next().toString() + "...]" :
-                    "[]";
+        Field[] campos = CAMPOS_ESTRUCTURALES.get(param.getClass());
+        if (campos == null) {
+            return param;
+        }
+        Object[] valores = new Object[campos.length];
+        try {
+            for (int i = 0; i < campos.length; i++) {
+                valores[i] = normalizar(campos[i].get(param), siguiente);
+            }
+        } catch (IllegalAccessException e) {
+            return param;
+        }
+        return new CacheKey(param.getClass(), valores);
+    }
+
+    private static boolean definirEquals(Class<?> type) {
+        try {
+            return type.getMethod("equals", Object.class).getDeclaringClass() != Object.class;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Envoltura que compara y calcula el hash de un arreglo (de objetos o primitivo) por contenido.
+     */
+    private record Arreglo(Object valor) implements Serializable {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Arreglo otro && Arrays.deepEquals(new Object[]{valor}, new Object[]{otro.valor});
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.deepHashCode(new Object[]{valor});
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.deepToString(new Object[]{valor});
         }
-        return param.toString();
     }
-}
\ No newline at end of file
+}
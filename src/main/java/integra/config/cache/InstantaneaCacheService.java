@@ -0,0 +1,270 @@
+package integra.config.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Guarda el contenido de las cachés en un archivo local y lo restaura al arrancar, para que un reinicio no
+ * empiece con las cachés vacías y toda la carga caiga sobre la base de datos.
+ * <p>
+ * Se habilita con {@code integra.cache.instantanea.habilitado=true}. La instantánea se escribe cada
+ * {@code integra.cache.instantanea.intervalo} y al detener la aplicación, y se restaura con
+ * {@link ApplicationStartedEvent}, antes de que la instancia reciba tráfico y del precalentamiento (que así
+ * encuentra las entradas ya cargadas).
+ * </p>
+ * <p>
+ * Solo se guardan y restauran las cachés con {@link CargadorCache}. Los datos pudieron cambiar mientras la
+ * instancia estaba detenida y no hay una marca por caché que permita saberlo; una caché sin cargador (p. ej.
+ * una que solo llena su {@code @Cacheable}) serviría esos valores hasta que expiraran. Con cargador, las
+ * entradas restauradas se recargan de inmediato en segundo plano, una por una, y los valores de la
+ * instantánea solo se sirven mientras llega el actual; si la recarga de una clave falla, la clave se descarta.
+ * </p>
+ * <p>
+ * Antes de restaurar se descarta la instantánea completa si es de otro formato o más antigua que
+ * {@code vigencia-maxima}, y una caché si su configuración cambió o sus clases ya no son compatibles. El
+ * resultado por caché se cuenta en {@code integra.cache.instantanea} (etiquetas {@code cache} y
+ * {@code resultado}).
+ * </p>
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(prefix = "integra.cache.instantanea", name = "habilitado", havingValue = "true")
+public class InstantaneaCacheService {
+
+    private static final int FORMATO = 1;
+    // Solo se aceptan clases del JDK, del proyecto y las claves/valores que Spring guarda en caché
+    private static final ObjectInputFilter FILTRO = ObjectInputFilter.Config.createFilter(
+            "maxdepth=32;java.base/*;integra.**;org.springframework.cache.interceptor.SimpleKey;org.springframework.cache.support.NullValue;!*");
+
+    private final CacheManager cacheManager;
+    private final CacheProperties cacheProperties;
+    private final CacheProperties.Instantanea config;
+    private final MeterRegistry meterRegistry;
+    private final ObjectProvider<CargadorCache> cargadores;
+    private final Executor refreshExecutor;
+    private final Path archivo;
+
+    public InstantaneaCacheService(CacheManager cacheManager, CacheProperties cacheProperties, MeterRegistry meterRegistry,
+                                   ObjectProvider<CargadorCache> cargadores, @Qualifier("cacheRefreshExecutor") Executor refreshExecutor) {
+        this.cacheManager = cacheManager;
+        this.cacheProperties = cacheProperties;
+        this.config = cacheProperties.getInstantanea();
+        this.meterRegistry = meterRegistry;
+        this.cargadores = cargadores;
+        this.refreshExecutor = refreshExecutor;
+        this.archivo = Paths.get(config.getArchivo());
+    }
+
+    // === RESTAURAR ===
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void restaurar() {
+        if (!Files.exists(archivo)) {
+            log.info("No hay instantánea de cachés en {}", archivo.toAbsolutePath());
+            return;
+        }
+        Instantanea instantanea;
+        try (InputStream in = Files.newInputStream(archivo)) {
+            instantanea = (Instantanea) leer(in);
+        } catch (IOException | ClassNotFoundException | ClassCastException | IllegalStateException e) {
+            log.warn("No se pudo leer la instantánea de cachés {}: {}", archivo, e.getMessage());
+            return;
+        }
+
+        Duration antiguedad = Duration.between(instantanea.creada(), Instant.now());
+        if (instantanea.formato() != FORMATO || antiguedad.compareTo(config.getVigenciaMaxima()) > 0) {
+            log.info("Instantánea de cachés descartada (formato {}, antigüedad {})", instantanea.formato(), antiguedad);
+            return;
+        }
+
+        Map<String, CargadorCache> porCache = cargadoresPorCache();
+        instantanea.caches().forEach((nombre, contenido) -> restaurarCache(nombre, contenido, instantanea.firmas().get(nombre), porCache.get(nombre)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void restaurarCache(String nombre, byte[] contenido, String firma, CargadorCache cargador) {
+        org.springframework.cache.Cache cache = cacheManager.getCache(nombre);
+        if (cache == null || !(cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativa)) {
+            contar(nombre, "descartada");
+            return;
+        }
+        if (cargador == null) {
+            // Sin forma de recargarla, sus valores podrían estar desactualizados hasta que expiren
+            log.info("Caché '{}': no tiene CargadorCache, no se restaura", nombre);
+            contar(nombre, "sin-cargador");
+            return;
+        }
+        if (!Objects.equals(firma, firma(spec(nombre)))) {
+            log.info("Caché '{}': configuración distinta a la de la instantánea, se descarta", nombre);
+            contar(nombre, "descartada");
+            return;
+        }
+
+        Map<Object, Object> entradas;
+        try {
+            entradas = (Map<Object, Object>) leer(new ByteArrayInputStream(contenido));
+        } catch (IOException | ClassNotFoundException | ClassCastException | IllegalStateException e) {
+            // Clases modificadas desde que se escribió la instantánea
+            log.info("Caché '{}': no se pudo restaurar ({}), se descarta", nombre, e.getMessage());
+            contar(nombre, "descartada");
+            return;
+        }
+
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> caffeine = (com.github.benmanes.caffeine.cache.Cache<Object, Object>) nativa;
+        caffeine.putAll(entradas);
+        // Una sola tarea por caché: una tarea por clave desbordaría la cola del executor de recargas
+        refreshExecutor.execute(() -> recargar(nombre, caffeine.asMap(), entradas, cargador));
+        log.info("Caché '{}': {} entradas restauradas, recargando en segundo plano", nombre, entradas.size());
+        contar(nombre, "restaurada");
+    }
+
+    /**
+     * Reemplaza cada valor restaurado por el actual, salvo que la entrada ya haya cambiado (una escritura o un
+     * descarte posteriores a la restauración prevalecen).
+     */
+    private void recargar(String nombre, ConcurrentMap<Object, Object> mapa, Map<Object, Object> restauradas, CargadorCache cargador) {
+        int recargadas = 0;
+        int descartadas = 0;
+        for (Map.Entry<Object, Object> entrada : restauradas.entrySet()) {
+            Object actual;
+            try {
+                actual = cargador.cargar().apply(entrada.getKey());
+            } catch (RuntimeException e) {
+                log.debug("Caché '{}': no se pudo recargar la clave '{}': {}", nombre, entrada.getKey(), e.getMessage());
+                actual = null;
+            }
+            if (actual != null) {
+                mapa.replace(entrada.getKey(), entrada.getValue(), actual);
+                recargadas++;
+            } else {
+                mapa.remove(entrada.getKey(), entrada.getValue());
+                descartadas++;
+            }
+        }
+        log.info("Caché '{}': instantánea recargada ({} claves actualizadas, {} descartadas)", nombre, recargadas, descartadas);
+    }
+
+    // === GUARDAR ===
+
+    @Scheduled(fixedDelayString = "${integra.cache.instantanea.intervalo:PT10M}", initialDelayString = "${integra.cache.instantanea.intervalo:PT10M}")
+    public void guardarPeriodicamente() {
+        guardar();
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void alDetener() {
+        guardar();
+    }
+
+    public synchronized void guardar() {
+        Map<String, byte[]> caches = new HashMap<>();
+        Map<String, String> firmas = new HashMap<>();
+        for (String nombre : nombresAGuardar()) {
+            org.springframework.cache.Cache cache = cacheManager.getCache(nombre);
+            if (cache == null || !(cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativa)) {
+                continue;
+            }
+            try {
+                caches.put(nombre, escribir(new HashMap<>(nativa.asMap())));
+                firmas.put(nombre, firma(spec(nombre)));
+            } catch (IOException e) {
+                // Normalmente un valor que no es Serializable; el resto de las cachés se guarda igual
+                log.warn("Caché '{}' no se incluye en la instantánea: {}", nombre, e.getMessage());
+            }
+        }
+
+        Path temporal = archivo.resolveSibling(archivo.getFileName() + ".tmp");
+        try {
+            if (archivo.getParent() != null) {
+                Files.createDirectories(archivo.getParent());
+            }
+            try (OutputStream out = Files.newOutputStream(temporal)) {
+                out.write(escribir(new Instantanea(FORMATO, Instant.now(), caches, firmas)));
+            }
+            Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Instantánea de cachés guardada en {}: {}", archivo, caches.keySet());
+        } catch (IOException e) {
+            log.warn("No se pudo guardar la instantánea de cachés en {}: {}", archivo, e.getMessage());
+        }
+    }
+
+    private Collection<String> nombresAGuardar() {
+        List<String> seleccion = config.getCaches();
+        Collection<String> nombres = seleccion == null || seleccion.isEmpty() ? cacheManager.getCacheNames() : seleccion;
+        Set<String> conCargador = cargadoresPorCache().keySet();
+        return nombres.stream().filter(conCargador::contains).toList();
+    }
+
+    private Map<String, CargadorCache> cargadoresPorCache() {
+        return cargadores.orderedStream().collect(Collectors.toMap(CargadorCache::cache, Function.identity()));
+    }
+
+    private CacheProperties.CacheSpec spec(String nombre) {
+        return cacheProperties.getSpecs() != null ? cacheProperties.getSpecs().get(nombre) : null;
+    }
+
+    private static String firma(CacheProperties.CacheSpec spec) {
+        return String.valueOf(spec);
+    }
+
+    private static byte[] escribir(Object objeto) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(objeto);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object leer(InputStream in) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream ois = new ObjectInputStream(in)) {
+            ois.setObjectInputFilter(FILTRO);
+            return ois.readObject();
+        }
+    }
+
+    private void contar(String cache, String resultado) {
+        meterRegistry.counter("integra.cache.instantanea", "cache", cache, "resultado", resultado).increment();
+    }
+
+    /**
+     * Contenido del archivo: cada caché se serializa por separado para poder descartarla sin perder las demás.
+     */
+    private record Instantanea(int formato, Instant creada, Map<String, byte[]> caches,
+                               Map<String, String> firmas) implements Serializable {
+    }
+}
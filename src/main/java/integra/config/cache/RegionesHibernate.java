@@ -0,0 +1,40 @@
+package integra.config.cache;
+
+import org.hibernate.cache.spi.RegionFactory;
+
+import java.util.List;
+
+/**
+ * Nombres de las regiones de la caché de segundo nivel de Hibernate, usados en {@code @Cache(region = ...)} de
+ * las entidades de catálogo y como clave de {@code integra.cache.hibernate.regiones}.
+ */
+public final class RegionesHibernate {
+
+    public static final String PUESTO = "catalogo.puesto";
+    public static final String ZONA = "catalogo.zona";
+    public static final String ESTADO = "catalogo.estado";
+    public static final String DEPARTAMENTO = "catalogo.departamento";
+    public static final String TIPO_OBSERVACION = "catalogo.tipoObservacion";
+    public static final String ESTATUS = "catalogo.estatus";
+    public static final String TIPO_CUENTA = "catalogo.tipoCuenta";
+
+    /**
+     * Resultados de las consultas cacheables.
+     */
+    public static final String CONSULTAS = RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME;
+    /**
+     * Última modificación de cada tabla; invalida los resultados de consultas. No debe expirar antes que ellos.
+     */
+    public static final String MARCAS_TIEMPO = RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME;
+
+    /**
+     * Nombre con el que se publican en el {@link integra.config.cache.bus.BusInvalidacion} los descartes de
+     * regiones; la clave es el nombre de la región.
+     */
+    public static final String BUS = "hibernate";
+
+    public static final List<String> ENTIDADES = List.of(PUESTO, ZONA, ESTADO, DEPARTAMENTO, TIPO_OBSERVACION, ESTATUS, TIPO_CUENTA);
+
+    private RegionesHibernate() {
+    }
+}
@@ -0,0 +1,91 @@
+package integra.config.cache;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Caché de segundo nivel de Hibernate (JCache sobre Caffeine) para las entidades de catálogo que los reportes
+ * cargan una y otra vez al resolver sus asociaciones.
+ * <p>
+ * Las regiones de {@link RegionesHibernate} se crean aquí con la configuración de
+ * {@code integra.cache.hibernate.regiones} (o {@code predeterminada}), de modo que ninguna queda sin límite.
+ * Con {@code estadisticas} habilitado, Spring Boot publica en Micrometer las métricas {@code hibernate.*}:
+ * {@code hibernate.statements} permite comparar las sentencias ejecutadas antes y después, y
+ * {@code hibernate.second.level.cache.requests} los aciertos por región.
+ * </p>
+ * <p>
+ * Cada contexto crea su propio {@code CacheManager} de JCache con un URI único: el del URI por defecto es
+ * compartido por toda la JVM, y otro contexto (un segundo nodo en las pruebas o un contexto de prueba en caché)
+ * destruiría sus regiones al crearlas y lo cerraría al detenerse.
+ * </p>
+ */
+@Configuration
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(prefix = "integra.cache.hibernate", name = "habilitado", havingValue = "true", matchIfMissing = true)
+public class SegundoNivelConfig {
+
+    private final CacheProperties cacheProperties;
+
+    @Bean(destroyMethod = "close")
+    public javax.cache.CacheManager hibernateCacheManager() {
+        CacheProperties.Hibernate config = cacheProperties.getHibernate();
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        // Un esquema propio hace que Caffeine use la configuración por defecto en lugar de buscar un recurso
+        URI uri = URI.create("integra-hibernate:" + UUID.randomUUID());
+        javax.cache.CacheManager cacheManager = provider.getCacheManager(uri, getClass().getClassLoader());
+
+        for (String region : RegionesHibernate.ENTIDADES) {
+            crearRegion(cacheManager, region, config.getRegiones().getOrDefault(region, config.getPredeterminada()));
+        }
+        if (config.isConsultas()) {
+            crearRegion(cacheManager, RegionesHibernate.CONSULTAS, config.getRegiones().getOrDefault(RegionesHibernate.CONSULTAS, config.getPredeterminada()));
+            // Las marcas de tiempo deben sobrevivir a los resultados que invalidan: sin límite ni expiración
+            crearRegion(cacheManager, RegionesHibernate.MARCAS_TIEMPO, null);
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer segundoNivelCustomizer(@Qualifier("hibernateCacheManager") javax.cache.CacheManager hibernateCacheManager) {
+        CacheProperties.Hibernate config = cacheProperties.getHibernate();
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, config.isConsultas());
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            // Una región no declarada en RegionesHibernate se crea sin límite; se avisa para agregarla
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "create-warn");
+            properties.put(AvailableSettings.GENERATE_STATISTICS, config.isEstadisticas());
+            log.info("Caché de segundo nivel de Hibernate habilitada (consultas: {}, estadísticas: {})", config.isConsultas(), config.isEstadisticas());
+        };
+    }
+
+    private static void crearRegion(javax.cache.CacheManager cacheManager, String region, CacheProperties.Region spec) {
+        CaffeineConfiguration<Object, Object> configuracion = new CaffeineConfiguration<>();
+        configuracion.setStatisticsEnabled(true);
+        if (spec != null && spec.getMaximumSize() != null) {
+            configuracion.setMaximumSize(OptionalLong.of(spec.getMaximumSize()));
+        }
+        if (spec != null && spec.getExpireAfterWrite() != null) {
+            configuracion.setExpireAfterWrite(OptionalLong.of(spec.getExpireAfterWrite().toNanos()));
+        }
+        cacheManager.createCache(region, configuracion);
+        log.info("Región de Hibernate '{}' configurada.", region);
+    }
+}
@@ -0,0 +1,29 @@
+package integra.config.cache.bus;
+
+import java.util.function.Consumer;
+
+/**
+ * Canal por el que los nodos de la aplicación se avisan de las entradas de caché que cambiaron.
+ * <p>
+ * Cada nodo publica lo que descarta localmente y aplica lo que publican los demás; las invalidaciones
+ * propias no se entregan de vuelta al mismo nodo.
+ * </p>
+ */
+public interface BusInvalidacion {
+
+    /**
+     * Identificador de este nodo, único por contexto de aplicación.
+     */
+    String nodo();
+
+    /**
+     * Avisa a los demás nodos que descarten {@code clave} de {@code cache} ({@code null} para vaciarla).
+     * Si hay una transacción activa, se envía después del commit.
+     */
+    void publicar(String cache, Object clave);
+
+    /**
+     * Registra quién aplica las invalidaciones recibidas de otros nodos.
+     */
+    void suscribir(Consumer<Invalidacion> receptor);
+}
@@ -0,0 +1,192 @@
+package integra.config.cache.bus;
+
+import integra.config.cache.CacheProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * {@link BusInvalidacion} sobre la tabla {@code cache_invalidacion}: no requiere infraestructura adicional.
+ * <p>
+ * Cada invalidación se inserta en su propia transacción (después del commit de la operación que la
+ * originó) y los nodos la leen por sondeo cada {@code integra.cache.bus.sondeo-ms}, avanzando una marca de
+ * agua sobre el id. Al arrancar, la marca empieza en el último id existente para no reaplicar el historial.
+ * Las filas más antiguas que {@code integra.cache.bus.retencion} se eliminan.
+ * </p>
+ * <p>
+ * El id se asigna al insertar, no al confirmar: una fila con id menor puede hacerse visible después de que la
+ * marca ya pasó por encima de ella. Por eso cada sondeo vuelve a leer los últimos
+ * {@code integra.cache.bus.ventana} ids por debajo de la marca y descarta los ya entregados. Las filas que
+ * estaban dentro de esa ventana al arrancar pueden entregarse una vez; descartar una entrada dos veces no
+ * tiene efecto.
+ * </p>
+ * <p>
+ * Solo se transmiten claves simples ({@code Integer}, {@code Long}, {@code String} y la clave vacía de los
+ * métodos sin parámetros); para cualquier otra clave los demás nodos vacían la caché completa.
+ * </p>
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(prefix = "integra.cache.bus", name = "tipo", havingValue = "tabla")
+public class BusInvalidacionTabla implements BusInvalidacion {
+
+    private static final String CLAVE_VACIA = "~";
+    private static final int LOTE = 500;
+
+    private final CacheInvalidacionRepository repository;
+    private final TransactionTemplate nuevaTransaccion;
+    private final CacheProperties.Bus config;
+    private final String nodo = UUID.randomUUID().toString();
+    private final List<Consumer<Invalidacion>> receptores = new CopyOnWriteArrayList<>();
+    /** Ids ya entregados dentro de la ventana; solo se accede desde {@link #sondear()}. */
+    private final NavigableSet<Long> entregadas = new TreeSet<>();
+    private volatile Long marcaAgua;
+
+    public BusInvalidacionTabla(CacheInvalidacionRepository repository, PlatformTransactionManager transactionManager, CacheProperties cacheProperties) {
+        this.repository = repository;
+        this.nuevaTransaccion = new TransactionTemplate(transactionManager);
+        this.nuevaTransaccion.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.config = cacheProperties.getBus();
+    }
+
+    @Override
+    public String nodo() {
+        return nodo;
+    }
+
+    @Override
+    public void publicar(String cache, Object clave) {
+        CacheInvalidacionEntity fila = new CacheInvalidacionEntity(cache, codificar(clave), nodo);
+        Runnable insertar = () -> {
+            try {
+                nuevaTransaccion.executeWithoutResult(status -> repository.save(fila));
+            } catch (RuntimeException e) {
+                log.warn("No se pudo publicar la invalidación de '{}' ({}): {}", cache, clave, e.getMessage());
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            insertar.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                insertar.run();
+            }
+        });
+    }
+
+    @Override
+    public void suscribir(Consumer<Invalidacion> receptor) {
+        receptores.add(receptor);
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void iniciar() {
+        marcaAgua = repository.findMaxId();
+        log.info("Bus de invalidación de cachés por tabla iniciado (nodo {}, desde id {})", nodo, marcaAgua);
+    }
+
+    @Scheduled(fixedDelayString = "${integra.cache.bus.sondeo-ms:2000}", initialDelayString = "${integra.cache.bus.sondeo-ms:2000}")
+    public synchronized void sondear() {
+        if (marcaAgua == null) {
+            return;
+        }
+        try {
+            long desde = Math.max(0, marcaAgua - config.getVentana());
+            List<CacheInvalidacionEntity> filas;
+            do {
+                filas = repository.findByIdGreaterThanOrderByIdAsc(desde, PageRequest.of(0, LOTE));
+                for (CacheInvalidacionEntity fila : filas) {
+                    desde = fila.getId();
+                    if (!entregadas.add(fila.getId())) {
+                        continue;
+                    }
+                    if (!nodo.equals(fila.getOrigen())) {
+                        entregar(new Invalidacion(fila.getCache(), decodificar(fila.getClave()), fila.getOrigen()));
+                    }
+                    marcaAgua = Math.max(marcaAgua, fila.getId());
+                }
+            } while (filas.size() == LOTE);
+            entregadas.headSet(marcaAgua - config.getVentana(), true).clear();
+        } catch (RuntimeException e) {
+            // Se reintenta en el siguiente ciclo desde la misma marca de agua
+            log.warn("No se pudieron leer las invalidaciones de caché: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${integra.cache.bus.limpieza-ms:600000}", initialDelayString = "${integra.cache.bus.limpieza-ms:600000}")
+    public void limpiar() {
+        try {
+            int eliminadas = nuevaTransaccion.execute(status -> repository.deleteByCreadoBefore(LocalDateTime.now().minus(config.getRetencion())));
+            log.debug("Invalidaciones de caché antiguas eliminadas: {}", eliminadas);
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron eliminar las invalidaciones de caché antiguas: {}", e.getMessage());
+        }
+    }
+
+    private void entregar(Invalidacion invalidacion) {
+        for (Consumer<Invalidacion> receptor : receptores) {
+            try {
+                receptor.accept(invalidacion);
+            } catch (RuntimeException e) {
+                log.warn("Error al aplicar la invalidación {}: {}", invalidacion, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * {@code null} significa "vaciar la caché": se usa para la caché completa y para claves que no se pueden transmitir.
+     */
+    static String codificar(Object clave) {
+        if (clave == null) {
+            return null;
+        }
+        if (SimpleKey.EMPTY.equals(clave)) {
+            return CLAVE_VACIA;
+        }
+        if (clave instanceof Integer i) {
+            return "i:" + i;
+        }
+        if (clave instanceof Long l) {
+            return "l:" + l;
+        }
+        if (clave instanceof String s && s.length() <= 250) {
+            return "s:" + s;
+        }
+        return null;
+    }
+
+    static Object decodificar(String clave) {
+        if (clave == null) {
+            return null;
+        }
+        if (CLAVE_VACIA.equals(clave)) {
+            return SimpleKey.EMPTY;
+        }
+        String valor = clave.substring(2);
+        return switch (clave.charAt(0)) {
+            case 'i' -> Integer.valueOf(valor);
+            case 'l' -> Long.valueOf(valor);
+            default -> valor;
+        };
+    }
+}
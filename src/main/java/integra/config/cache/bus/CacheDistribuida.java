@@ -0,0 +1,142 @@
+package integra.config.cache.bus;
+
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Caché local (L1) que avisa a los demás nodos de cada descarte y, si existe, consulta un {@link NivelCompartido}
+ * (L2) antes de calcular un valor.
+ * <p>
+ * Las lecturas siempre pasan primero por la caché local; las invalidaciones recibidas de otros nodos se
+ * aplican directamente sobre ella mediante {@link #aplicarRemota(Object)}, sin volver a publicarse.
+ * Las escrituras ({@link #put}) no se publican.
+ * </p>
+ */
+public class CacheDistribuida implements Cache {
+
+    private final Cache local;
+    private final BusInvalidacion bus;
+    private final NivelCompartido compartido;
+
+    public CacheDistribuida(Cache local, BusInvalidacion bus, NivelCompartido compartido) {
+        this.local = local;
+        this.bus = bus;
+        this.compartido = compartido;
+    }
+
+    @Override
+    public String getName() {
+        return local.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper valor = local.get(key);
+        if (valor != null || compartido == null) {
+            return valor;
+        }
+        Object remoto = compartido.obtener(getName(), key);
+        if (remoto == null) {
+            return null;
+        }
+        local.put(key, remoto);
+        return local.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper valor = get(key);
+        if (valor == null) {
+            return null;
+        }
+        Object contenido = valor.get();
+        if (contenido != null && type != null && !type.isInstance(contenido)) {
+            throw new IllegalStateException("El valor en caché no es del tipo requerido [" + type.getName() + "]: " + contenido);
+        }
+        return type != null ? type.cast(contenido) : null;
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        if (compartido == null) {
+            return local.get(key, valueLoader);
+        }
+        return local.get(key, () -> {
+            @SuppressWarnings("unchecked")
+            T remoto = (T) compartido.obtener(getName(), key);
+            if (remoto != null) {
+                return remoto;
+            }
+            T calculado = valueLoader.call();
+            if (calculado != null) {
+                compartido.guardar(getName(), key, calculado);
+            }
+            return calculado;
+        });
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        local.put(key, value);
+        if (compartido != null && value != null) {
+            compartido.guardar(getName(), key, value);
+        }
+        // No se publica: @Cacheable también escribe con put y cada fallo vaciaría la entrada en los demás nodos.
+        // Quien reemplace un valor vigente debe publicar la clave con BusInvalidacion.
+    }
+
+    @Override
+    public void evict(Object key) {
+        local.evict(key);
+        if (compartido != null) {
+            compartido.descartar(getName(), key);
+        }
+        bus.publicar(getName(), key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean presente = local.evictIfPresent(key);
+        if (compartido != null) {
+            compartido.descartar(getName(), key);
+        }
+        bus.publicar(getName(), key);
+        return presente;
+    }
+
+    @Override
+    public void clear() {
+        local.clear();
+        if (compartido != null) {
+            compartido.vaciar(getName());
+        }
+        bus.publicar(getName(), null);
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean habiaEntradas = local.invalidate();
+        if (compartido != null) {
+            compartido.vaciar(getName());
+        }
+        bus.publicar(getName(), null);
+        return habiaEntradas;
+    }
+
+    /**
+     * Descarta localmente una clave (o todas, si es {@code null}) por aviso de otro nodo.
+     */
+    void aplicarRemota(Object key) {
+        if (key == null) {
+            local.invalidate();
+        } else {
+            local.evictIfPresent(key);
+        }
+    }
+}
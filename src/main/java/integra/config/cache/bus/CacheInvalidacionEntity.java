@@ -0,0 +1,46 @@
+package integra.config.cache.bus;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Fila de la tabla {@code cache_invalidacion}, usada por {@link BusInvalidacionTabla}.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "cache_invalidacion")
+public class CacheInvalidacionEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    @Column(name = "cache", nullable = false, length = 100)
+    private String cache;
+
+    /**
+     * Clave codificada; {@code null} para vaciar la caché completa.
+     */
+    @Column(name = "clave")
+    private String clave;
+
+    @Column(name = "origen", nullable = false, length = 64)
+    private String origen;
+
+    @Column(name = "creado", insertable = false, updatable = false)
+    private LocalDateTime creado;
+
+    public CacheInvalidacionEntity() {
+    }
+
+    public CacheInvalidacionEntity(String cache, String clave, String origen) {
+        this.cache = cache;
+        this.clave = clave;
+        this.origen = origen;
+    }
+}
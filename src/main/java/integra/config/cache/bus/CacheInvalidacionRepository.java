@@ -0,0 +1,24 @@
+package integra.config.cache.bus;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface CacheInvalidacionRepository extends CrudRepository<CacheInvalidacionEntity, Long> {
+
+    /**
+     * Invalidaciones posteriores a la marca de agua, en orden de emisión.
+     */
+    List<CacheInvalidacionEntity> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @Query("select coalesce(max(ci.id), 0) from CacheInvalidacionEntity ci")
+    Long findMaxId();
+
+    @Modifying
+    @Query("delete from CacheInvalidacionEntity ci where ci.creado < ?1")
+    int deleteByCreadoBefore(LocalDateTime limite);
+}
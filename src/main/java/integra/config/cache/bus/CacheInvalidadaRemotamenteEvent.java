@@ -0,0 +1,11 @@
+package integra.config.cache.bus;
+
+/**
+ * Evento local publicado después de aplicar una invalidación recibida de otro nodo, para que los componentes
+ * que derivan datos de una caché (índices, catálogos) los reconstruyan.
+ *
+ * @param cache nombre de la caché
+ * @param clave clave descartada; {@code null} si se vació la caché completa
+ */
+public record CacheInvalidadaRemotamenteEvent(String cache, Object clave) {
+}
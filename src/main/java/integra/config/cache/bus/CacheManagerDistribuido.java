@@ -0,0 +1,108 @@
+package integra.config.cache.bus;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * {@link CacheManager} que envuelve cada caché local en una {@link CacheDistribuida} y aplica las
+ * invalidaciones que llegan por el {@link BusInvalidacion}.
+ * <p>
+ * Tras aplicar una invalidación remota publica un {@link CacheInvalidadaRemotamenteEvent} local. El bus y el
+ * {@link NivelCompartido} se resuelven de forma diferida porque dependen de beans (repositorios, conexiones) que
+ * se crean después del {@code CacheManager}.
+ * </p>
+ */
+@Slf4j
+public class CacheManagerDistribuido implements CacheManager, SmartInitializingSingleton {
+
+    private final CacheManager local;
+    private final ObjectProvider<BusInvalidacion> busProvider;
+    private final ObjectProvider<NivelCompartido> compartidoProvider;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Map<String, CacheDistribuida> caches = new ConcurrentHashMap<>();
+    private final BusInvalidacion bus = new BusDiferido();
+
+    public CacheManagerDistribuido(CacheManager local, ObjectProvider<BusInvalidacion> busProvider, ObjectProvider<NivelCompartido> compartidoProvider, ApplicationEventPublisher eventPublisher) {
+        this.local = local;
+        this.busProvider = busProvider;
+        this.compartidoProvider = compartidoProvider;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        BusInvalidacion destino = busProvider.getIfAvailable();
+        if (destino == null) {
+            log.warn("No hay un BusInvalidacion disponible: las invalidaciones de caché solo se aplican en este nodo");
+            return;
+        }
+        destino.suscribir(this::aplicarRemota);
+        log.info("Cachés distribuidas con {} (nodo {}){}", destino.getClass().getSimpleName(), destino.nodo(),
+                compartidoProvider.getIfAvailable() != null ? " y nivel compartido" : "");
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        CacheDistribuida existente = caches.get(name);
+        if (existente != null) {
+            return existente;
+        }
+        Cache cache = local.getCache(name);
+        if (cache == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, n -> new CacheDistribuida(cache, bus, compartidoProvider.getIfAvailable()));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return local.getCacheNames();
+    }
+
+    private void aplicarRemota(Invalidacion invalidacion) {
+        // Una caché que este nodo aún no usa no tiene nada que descartar; además el bus transporta otros
+        // canales (p. ej. regiones de Hibernate) que el gestor local crearía como cachés vacías
+        if (!local.getCacheNames().contains(invalidacion.cache())) {
+            return;
+        }
+        if (getCache(invalidacion.cache()) instanceof CacheDistribuida cache) {
+            cache.aplicarRemota(invalidacion.clave());
+            log.debug("Invalidación remota aplicada: {}", invalidacion);
+            eventPublisher.publishEvent(new CacheInvalidadaRemotamenteEvent(invalidacion.cache(), invalidacion.clave()));
+        }
+    }
+
+    /**
+     * Reenvía al bus configurado; sin bus, las publicaciones se descartan.
+     */
+    private final class BusDiferido implements BusInvalidacion {
+
+        @Override
+        public String nodo() {
+            BusInvalidacion destino = busProvider.getIfAvailable();
+            return destino != null ? destino.nodo() : "local";
+        }
+
+        @Override
+        public void publicar(String cache, Object clave) {
+            BusInvalidacion destino = busProvider.getIfAvailable();
+            if (destino != null) {
+                destino.publicar(cache, clave);
+            }
+        }
+
+        @Override
+        public void suscribir(Consumer<Invalidacion> receptor) {
+            busProvider.ifAvailable(destino -> destino.suscribir(receptor));
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package integra.config.cache.bus;
+
+/**
+ * Invalidación de una entrada de caché emitida por un nodo.
+ *
+ * @param cache  nombre de la caché
+ * @param clave  clave a descartar; {@code null} para vaciar la caché completa
+ * @param origen identificador del nodo que la emitió ({@link BusInvalidacion#nodo()})
+ */
+public record Invalidacion(String cache, Object clave, String origen) {
+
+    public boolean todas() {
+        return clave == null;
+    }
+}
@@ -0,0 +1,22 @@
+package integra.config.cache.bus;
+
+/**
+ * Segundo nivel de caché compartido entre nodos (p. ej., Redis), consultado cuando falla la caché local.
+ * <p>
+ * Es opcional: si existe un bean de este tipo, {@link CacheDistribuida} lo consulta antes de calcular un valor
+ * y lo actualiza con cada escritura y descarte. Los valores deben ser serializables por la implementación.
+ * </p>
+ */
+public interface NivelCompartido {
+
+    /**
+     * Valor guardado, o {@code null} si no existe.
+     */
+    Object obtener(String cache, Object clave);
+
+    void guardar(String cache, Object clave, Object valor);
+
+    void descartar(String cache, Object clave);
+
+    void vaciar(String cache);
+}
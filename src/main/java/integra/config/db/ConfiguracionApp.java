@@ -0,0 +1,93 @@
+package integra.config.db;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Valores de {@code parametros_app} ya convertidos a su tipo, leídos una vez por cada cambio en la tabla.
+ * <p>
+ * Un parámetro sin fila en la tabla toma el valor de {@code app.config.<nombre>} en las propiedades de la
+ * aplicación o variables de entorno ({@code respaldo}) y, si tampoco está ahí, su valor por defecto. Un valor
+ * que no se puede convertir toma el siguiente de esa cadena, de modo que un error de captura en la tabla no
+ * deja a la aplicación sin configuración.
+ * </p>
+ *
+ * @param idPuestoNocturno        {@code idPuestoNocturno}; por defecto 2
+ * @param horaInicioNocturno      {@code horaInicioNocturno} en formato {@code HH:mm}; por defecto 18:00
+ * @param defaultRolUsuarioNuevo  {@code defaultRolUsuarioNuevo}; por defecto "Vendedor"
+ * @param idPuestoSupervisor      {@code idPuestoSupervisor}; por defecto 4
+ * @param idUsuarioAdmin          {@code idUsuarioAdmin}; por defecto 1
+ * @param parametros              valores sin convertir, por nombre
+ */
+@Slf4j
+public record ConfiguracionApp(Integer idPuestoNocturno,
+                               LocalTime horaInicioNocturno,
+                               String defaultRolUsuarioNuevo,
+                               Integer idPuestoSupervisor,
+                               Long idUsuarioAdmin,
+                               Map<String, String> parametros) {
+
+    public static final String ID_PUESTO_NOCTURNO = "idPuestoNocturno";
+    public static final String HORA_INICIO_NOCTURNO = "horaInicioNocturno";
+    public static final String DEFAULT_ROL_USUARIO_NUEVO = "defaultRolUsuarioNuevo";
+    public static final String ID_PUESTO_SUPERVISOR = "idPuestoSupervisor";
+    public static final String ID_USUARIO_ADMIN = "idUsuarioAdmin";
+
+    public static final List<String> NOMBRES = List.of(ID_PUESTO_NOCTURNO, HORA_INICIO_NOCTURNO, DEFAULT_ROL_USUARIO_NUEVO,
+            ID_PUESTO_SUPERVISOR, ID_USUARIO_ADMIN);
+
+    /**
+     * Prefijo con el que los parámetros se exponen en el {@code Environment}.
+     */
+    public static final String PREFIJO = "app.config.";
+
+    /**
+     * @param parametros valores de {@code parametros_app}, por nombre
+     * @param respaldo   valores de {@code app.config.*} fuera de la tabla, por nombre sin prefijo
+     */
+    public static ConfiguracionApp de(Map<String, String> parametros, Map<String, String> respaldo) {
+        return new ConfiguracionApp(
+                valor(parametros, respaldo, ID_PUESTO_NOCTURNO, Integer::valueOf, 2),
+                valor(parametros, respaldo, HORA_INICIO_NOCTURNO, LocalTime::parse, LocalTime.of(18, 0)),
+                valor(parametros, respaldo, DEFAULT_ROL_USUARIO_NUEVO, Function.identity(), "Vendedor"),
+                valor(parametros, respaldo, ID_PUESTO_SUPERVISOR, Integer::valueOf, 4),
+                valor(parametros, respaldo, ID_USUARIO_ADMIN, Long::valueOf, 1L),
+                Map.copyOf(parametros));
+    }
+
+    /**
+     * Nombres de los parámetros cuyo valor difiere de {@code anterior}, incluidos los agregados y eliminados.
+     */
+    public Set<String> cambios(ConfiguracionApp anterior) {
+        Set<String> nombres = new HashSet<>(parametros.keySet());
+        if (anterior != null) {
+            nombres.addAll(anterior.parametros.keySet());
+        }
+        nombres.removeIf(nombre -> anterior != null && Objects.equals(parametros.get(nombre), anterior.parametros.get(nombre)));
+        return Set.copyOf(nombres);
+    }
+
+    private static <T> T valor(Map<String, String> parametros, Map<String, String> respaldo, String nombre, Function<String, T> convertir, T porDefecto) {
+        return convertir(nombre, parametros.get(nombre), convertir, convertir(nombre, respaldo.get(nombre), convertir, porDefecto));
+    }
+
+    private static <T> T convertir(String nombre, String valor, Function<String, T> convertir, T siguiente) {
+        if (valor == null || valor.isBlank()) {
+            return siguiente;
+        }
+        try {
+            return convertir.apply(valor.trim());
+        } catch (NumberFormatException | DateTimeParseException e) {
+            log.warn("Parámetro '{}' con valor inválido '{}'; se usa {}", nombre, valor, siguiente);
+            return siguiente;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package integra.config.db;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.context.event.EventListener;
 import org.springframework.core.env.ConfigurableEnvironment;
@@ -9,33 +10,42 @@ import org.springframework.stereotype.Component;
 
 import java.util.Map;
 
+/**
+ * Expone los parámetros de {@code parametros_app} en el {@code Environment} como {@code app.config.*}.
+ * <p>
+ * La fuente se agrega al refrescar el contexto y se reemplaza con cada {@link ConfiguracionModificadaEvent}.
+ * El código de la aplicación debe leer los parámetros de {@link SystemIdProvider}; esta fuente se mantiene
+ * para quien los resuelva desde el {@code Environment}.
+ * </p>
+ */
 @Component
 @RequiredArgsConstructor
+@Slf4j
 public class ConfiguracionLoader {
 
+    static final String FUENTE = "dbProperties";
 
     private final ConfiguracionService configuracionService;
     private final ConfigurableEnvironment env; // Inyección del Entorno de Spring
 
     @EventListener
     public void handleContextRefreshed(ContextRefreshedEvent event) {
-        // 1. Carga los parámetros desde la DB
-        Map<String, Object> parametrosDb = configuracionService.cargarParametrosGlobales();
-
-        // 📢 NUEVO LOG DE DIAGNÓSTICO
-        System.out.println("=======");
-        System.out.println("🚨 DIAGNÓSTICO: CLAVES DEL MAPA DE LA DB ANTES DE INYECCIÓN:");
-
-        // Imprime las claves que se están inyectando. ¡Busca 'app.config.key'!
-        parametrosDb.forEach((k, v) -> System.out.println(" -> CLAVE: " + k + " | VALOR: " + v));
-        System.out.println("=======");
+        publicar();
+        log.info("Configuración de la DB cargada en Spring Environment: {}", configuracionService.actual().parametros().keySet());
+    }
 
-        // 2. Crea una nueva fuente de propiedades para la DB
-        MapPropertySource dbPropertySource = new MapPropertySource("dbProperties", parametrosDb);
+    @EventListener
+    public void onConfiguracionModificada(ConfiguracionModificadaEvent event) {
+        publicar();
+    }
 
-        // 3. Añade la nueva fuente de propiedades
-        env.getPropertySources().addFirst(dbPropertySource);
-        System.out.println("✅ Configuración de la DB cargada correctamente en Spring Environment.");
-        System.out.println("=======");
+    private void publicar() {
+        Map<String, Object> parametrosDb = configuracionService.cargarParametrosGlobales();
+        MapPropertySource dbPropertySource = new MapPropertySource(FUENTE, parametrosDb);
+        if (env.getPropertySources().contains(FUENTE)) {
+            env.getPropertySources().replace(FUENTE, dbPropertySource);
+        } else {
+            env.getPropertySources().addFirst(dbPropertySource);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,18 @@
+package integra.config.db;
+
+import java.util.Set;
+
+/**
+ * Evento publicado cuando cambia algún valor de {@code parametros_app}, para que las cachés que dependen de
+ * un parámetro (p. ej. el puesto de supervisor) se descarten o reconstruyan.
+ *
+ * @param anterior   configuración vigente hasta ahora
+ * @param actual     configuración nueva, ya publicada en {@link ConfiguracionService#actual()}
+ * @param parametros nombres de los parámetros modificados
+ */
+public record ConfiguracionModificadaEvent(ConfiguracionApp anterior, ConfiguracionApp actual, Set<String> parametros) {
+
+    public boolean cambio(String parametro) {
+        return parametros.contains(parametro);
+    }
+}
@@ -1,27 +1,122 @@
 package integra.config.db;
 
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.PropertySourcesPropertyResolver;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Mantiene en memoria la {@link ConfiguracionApp} vigente.
+ * <p>
+ * La tabla {@code parametros_app} se lee al arrancar ({@link ConfiguracionLoader}) y después cada
+ * {@code integra.configuracion.sondeo-ms}; es una tabla de pocas filas, así que se lee completa. Si algún
+ * valor cambió se reemplaza la configuración y se publica un {@link ConfiguracionModificadaEvent}: los cambios
+ * se aplican sin reiniciar y leer un parámetro cuesta solo la lectura de la referencia.
+ * </p>
+ * <p>
+ * Los parámetros sin fila en la tabla se toman de {@code app.config.*} en el {@code Environment}, sin la
+ * fuente que publica {@link ConfiguracionLoader}: así se respetan las propiedades y variables de entorno que
+ * antes los definían.
+ * </p>
+ */
 @Service
-@RequiredArgsConstructor
+@Slf4j
 @Transactional(readOnly = true)
 public class ConfiguracionService {
 
+    // Nombre de la fuente que agrega ConfigurationPropertySources.attach
+    private static final String VISTA_CONFIGURATION_PROPERTIES = "configurationProperties";
+
     private final ParametroRepository parametroRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ConfigurableEnvironment env;
+    private final AtomicReference<ConfiguracionApp> actual = new AtomicReference<>();
+
+    public ConfiguracionService(ParametroRepository parametroRepository, ApplicationEventPublisher eventPublisher, ConfigurableEnvironment env) {
+        this.parametroRepository = parametroRepository;
+        this.eventPublisher = eventPublisher;
+        this.env = env;
+    }
+
+    /**
+     * Configuración vigente; se carga en la primera llamada si aún no existe.
+     */
+    public ConfiguracionApp actual() {
+        ConfiguracionApp configuracion = actual.get();
+        return configuracion != null ? configuracion : recargar();
+    }
 
+    /**
+     * Parámetros vigentes con el prefijo {@code app.config.}, tal como se exponen en el {@code Environment}.
+     */
     public Map<String, Object> cargarParametrosGlobales() {
         Map<String, Object> parametros = new HashMap<>();
-        List<ParametrosAppEntity> lista = parametroRepository.findAll();
+        actual().parametros().forEach((nombre, valor) -> parametros.put(ConfiguracionApp.PREFIJO + nombre, valor));
+        return parametros;
+    }
 
+    @Scheduled(fixedDelayString = "${integra.configuracion.sondeo-ms:30000}", initialDelayString = "${integra.configuracion.sondeo-ms:30000}")
+    public void sondearCambios() {
+        try {
+            recargar();
+        } catch (RuntimeException e) {
+            // Se conserva la configuración anterior hasta el siguiente ciclo
+            log.warn("No se pudieron leer los parámetros de la aplicación: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Lee {@code parametros_app} y, si cambió algún valor, publica la nueva configuración.
+     */
+    public synchronized ConfiguracionApp recargar() {
+        Map<String, String> valores = new HashMap<>();
+        List<ParametrosAppEntity> lista = parametroRepository.findAll();
         for (ParametrosAppEntity p : lista) {
-            parametros.put("app.config." + p.getNombre(), p.getValor());
+            if (p.getValor() != null) {
+                valores.put(p.getNombre(), p.getValor());
+            }
         }
-        return parametros;
+
+        ConfiguracionApp anterior = actual.get();
+        if (anterior != null && anterior.parametros().equals(valores)) {
+            return anterior;
+        }
+        ConfiguracionApp nueva = ConfiguracionApp.de(valores, respaldo());
+        Set<String> cambios = nueva.cambios(anterior);
+        actual.set(nueva);
+        if (anterior != null) {
+            log.info("Parámetros de la aplicación modificados: {}", cambios);
+            eventPublisher.publishEvent(new ConfiguracionModificadaEvent(anterior, nueva, cambios));
+        }
+        return nueva;
+    }
+
+    /**
+     * Valores de {@code app.config.*} en las demás fuentes del {@code Environment}. Se excluye también la fuente
+     * que Spring Boot agrega como vista de todas las demás, que incluiría la de la tabla.
+     */
+    private Map<String, String> respaldo() {
+        MutablePropertySources fuentes = new MutablePropertySources(env.getPropertySources());
+        fuentes.remove(ConfiguracionLoader.FUENTE);
+        fuentes.remove(VISTA_CONFIGURATION_PROPERTIES);
+        PropertySourcesPropertyResolver resolver = new PropertySourcesPropertyResolver(fuentes);
+        Map<String, String> valores = new HashMap<>();
+        for (String nombre : ConfiguracionApp.NOMBRES) {
+            String valor = resolver.getProperty(ConfiguracionApp.PREFIJO + nombre);
+            if (valor != null) {
+                valores.put(nombre, valor);
+            }
+        }
+        return valores;
     }
 }
@@ -1,7 +1,6 @@
 package integra.config.db;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalTime;
@@ -9,17 +8,23 @@ import java.time.LocalTime;
 /**
  * Servicio proveedor de configuraciones y constantes del sistema.
  * <p>
- * Esta clase actúa como una fachada sobre {@link Environment} para centralizar
- * el acceso a propiedades críticas de la aplicación. Proporciona métodos tipados
- * y valores por defecto (fallback) en caso de que las propiedades no estén
- * definidas en los archivos de configuración (application.yml).
+ * Esta clase actúa como una fachada sobre la {@link ConfiguracionApp} vigente para
+ * centralizar el acceso a propiedades críticas de la aplicación. Proporciona métodos
+ * tipados; un parámetro que no está en la tabla {@code parametros_app} se toma de
+ * {@code app.config.*} en las propiedades o variables de entorno y, si tampoco está ahí,
+ * de su valor por defecto (fallback).
+ * </p>
+ * <p>
+ * Los valores ya están convertidos y se actualizan por sondeo ({@link ConfiguracionService}),
+ * así que cada llamada es solo una lectura en memoria; los cambios en la tabla se aplican
+ * sin reiniciar.
  * </p>
  */
 @Service
 @RequiredArgsConstructor
 public class SystemIdProvider {
 
-    private final Environment env;
+    private final ConfiguracionService configuracionService;
 
     /**
      * Obtiene el ID del puesto de trabajo correspondiente al turno nocturno.
@@ -30,7 +35,7 @@ public class SystemIdProvider {
      * @return El ID del puesto nocturno. Valor por defecto: <b>2</b>.
      */
     public Integer getIdPuestoNocturno() {
-        return env.getProperty("app.config.idPuestoNocturno", Integer.class, 2);
+        return configuracionService.actual().idPuestoNocturno();
     }
 
     /**
@@ -44,8 +49,7 @@ public class SystemIdProvider {
      * @return La hora de inicio como {@link LocalTime}. Valor por defecto: <b>18:00</b>.
      */
     public LocalTime getHoraInicioNocturno() {
-        String horaStr = env.getProperty("app.config.horaInicioNocturno", "18:00");
-        return LocalTime.parse(horaStr);
+        return configuracionService.actual().horaInicioNocturno();
     }
 
     /**
@@ -57,7 +61,7 @@ public class SystemIdProvider {
      * @return El nombre del rol. Valor por defecto: <b>"Vendedor"</b>.
      */
     public String getDefaultRolUsuarioNuevo() {
-        return env.getProperty("app.config.defaultRolUsuarioNuevo", "Vendedor");
+        return configuracionService.actual().defaultRolUsuarioNuevo();
     }
 
     /**
@@ -69,7 +73,7 @@ public class SystemIdProvider {
      * @return El ID del puesto de supervisor. Valor por defecto: <b>4</b>.
      */
     public Integer getIdPuestoSupervisor() {
-        return env.getProperty("app.config.idPuestoSupervisor", Integer.class, 4);
+        return configuracionService.actual().idPuestoSupervisor();
     }
 
     /**
@@ -81,6 +85,6 @@ public class SystemIdProvider {
      * @return El ID del usuario admin. Valor por defecto: <b>1L</b>.
      */
     public Long getIdUsuarioAdmin() {
-        return env.getProperty("app.config.idUsuarioAdmin", Long.class, 1L);
+        return configuracionService.actual().idUsuarioAdmin();
     }
 }
\ No newline at end of file
@@ -1,5 +1,8 @@
 package integra.credenciales.controller;
 
+import integra.catalogo.CatalogoReferenciaService;
+import integra.catalogo.CatalogosReferencia;
+import integra.catalogo.RespuestaCatalogo;
 import integra.credenciales.query.CuentaEntityDto;
 import integra.credenciales.request.FiltroCuenta;
 import integra.credenciales.request.NuevaCuenta;
@@ -11,6 +14,7 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -20,6 +24,7 @@ import java.util.List;
 public class CredencialController {
     private final CuentaQueryService cuentaQueryService;
     private final CuentaCommandService cuentaCommandService;
+    private final CatalogoReferenciaService catalogoReferenciaService;
 
     @GetMapping
     public ResponseEntity<ResponseData<List<CuentaEntityDto>>> obtenerCuentasPorFiltro(FiltroCuenta filtro) {
@@ -57,8 +62,8 @@ public class CredencialController {
     }
 
     @GetMapping("tipos")
-    public ResponseEntity<ResponseData<List<?>>> obtenerTipos() {
-        return ResponseEntity.ok(ResponseData.of(cuentaQueryService.obtenerTiposCuenta(), "Tipos de cuentas"));
+    public ResponseEntity<ResponseData<List<?>>> obtenerTipos(WebRequest request) {
+        return RespuestaCatalogo.responder(catalogoReferenciaService, request, CatalogosReferencia.TIPOS_CUENTA, CatalogosReferencia::tiposCuenta, "Tipos de cuentas");
     }
 
     @DeleteMapping("tipo/{id}")
@@ -1,10 +1,13 @@
 package integra.credenciales.entity;
 
+import integra.config.cache.RegionesHibernate;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.DynamicInsert;
 import org.hibernate.annotations.DynamicUpdate;
 
@@ -14,6 +17,8 @@ import org.hibernate.annotations.DynamicUpdate;
 @DynamicUpdate
 @Entity
 @Table(name = "tipo_cuenta")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = RegionesHibernate.TIPO_CUENTA)
 public class TipoCuentaEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
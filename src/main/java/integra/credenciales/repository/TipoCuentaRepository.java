@@ -1,10 +1,14 @@
 package integra.credenciales.repository;
 
 import integra.credenciales.entity.TipoCuentaEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 
 import java.util.List;
 
 public interface TipoCuentaRepository extends CrudRepository<TipoCuentaEntity, Integer> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     <T> List<T> findBy(Class<T> type);
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package integra.credenciales.service;
 
+import integra.catalogo.CatalogosModificadosEvent;
+import integra.catalogo.CatalogosReferencia;
 import integra.credenciales.entity.CuentaEntity;
 import integra.credenciales.entity.TipoCuentaEntity;
 import integra.credenciales.repository.CuentaEntityRepository;
@@ -11,6 +13,7 @@ import integra.globalexception.DuplicateDataException;
 import integra.unidad.entity.UnidadEntity;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,6 +23,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class CuentaCommandService {
     private final CuentaEntityRepository repository;
     private final TipoCuentaRepository tipoCuentaReposistory;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public void registrar(NuevaCuenta data) {
@@ -63,15 +67,18 @@ public class CuentaCommandService {
         TipoCuentaEntity entity = new TipoCuentaEntity();
         entity.setNombre(data.nombre());
         tipoCuentaReposistory.save(entity);
+        eventPublisher.publishEvent(new CatalogosModificadosEvent(CatalogosReferencia.TIPOS_CUENTA));
     }
 
     public void actualizarTipoCuenta(Integer id, @Valid TipoCuenta data) {
         TipoCuentaEntity entity = new TipoCuentaEntity(id);
         entity.setNombre(data.nombre());
         tipoCuentaReposistory.save(entity);
+        eventPublisher.publishEvent(new CatalogosModificadosEvent(CatalogosReferencia.TIPOS_CUENTA));
     }
 
     public void eliminarTipoCuenta(Integer id) {
         tipoCuentaReposistory.deleteById(id);
+        eventPublisher.publishEvent(new CatalogosModificadosEvent(CatalogosReferencia.TIPOS_CUENTA));
     }
 }
@@ -1,13 +1,16 @@
 package integra.departamento.controller;
 
+import integra.catalogo.CatalogoReferenciaService;
+import integra.catalogo.CatalogosReferencia;
+import integra.catalogo.RespuestaCatalogo;
 import integra.departamento.dto.DepartamentoEntityDto;
-import integra.departamento.service.DepartamentoService;
 import integra.utils.ResponseData;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -15,10 +18,10 @@ import java.util.List;
 @RequestMapping("/departamentos")
 @RequiredArgsConstructor
 public class DepartamentoController {
-    private final DepartamentoService departamentoService;
+    private final CatalogoReferenciaService catalogoReferenciaService;
 
     @GetMapping
-    public ResponseEntity<ResponseData<List<DepartamentoEntityDto>>> obtenerDepartamentos() {
-        return ResponseEntity.ok(ResponseData.of(departamentoService.obtenerDepartamentos(), "Departamentos"));
+    public ResponseEntity<ResponseData<List<DepartamentoEntityDto>>> obtenerDepartamentos(WebRequest request) {
+        return RespuestaCatalogo.responder(catalogoReferenciaService, request, CatalogosReferencia.DEPARTAMENTOS, CatalogosReferencia::departamentos, "Departamentos");
     }
 }
\ No newline at end of file
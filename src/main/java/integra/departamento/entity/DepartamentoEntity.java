@@ -1,15 +1,20 @@
 package integra.departamento.entity;
 
+import integra.config.cache.RegionesHibernate;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Getter
 @Setter
 @Entity
 @Table(name = "departamento")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = RegionesHibernate.DEPARTAMENTO)
 public class DepartamentoEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -1,10 +1,14 @@
 package integra.departamento.repository;
 
 import integra.departamento.entity.DepartamentoEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
 
 public interface DepartamentoRepository extends JpaRepository<DepartamentoEntity, Integer> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     <T> List<T> findBy(Class<T> type);
 }
\ No newline at end of file
@@ -1,11 +1,15 @@
 package integra.empleado;
 
+import integra.catalogo.CatalogoReferenciaService;
+import integra.catalogo.CatalogosReferencia;
+import integra.catalogo.RespuestaCatalogo;
 import integra.utils.ResponseData;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -14,6 +18,7 @@ import java.util.List;
 @RequestMapping("empleados")
 class EmpleadoController {
     private final EmpleadoService empleadoService;
+    private final CatalogoReferenciaService catalogoReferenciaService;
 
     @GetMapping
     public ResponseEntity<ResponseData<List<InfoBasicaEmpleado>>> obtenerEmpleado() {
@@ -31,8 +36,8 @@ class EmpleadoController {
     }
 
     @GetMapping("supervisores-activos")
-    public ResponseEntity<ResponseData<List<InfoEmpleados>>> obtenerSupervisoresActivos() {
-        return ResponseEntity.ok(ResponseData.of(empleadoService.obtenerSupervisoresActivos(), "Supervisores activos"));
+    public ResponseEntity<ResponseData<List<InfoEmpleados>>> obtenerSupervisoresActivos(WebRequest request) {
+        return RespuestaCatalogo.responder(catalogoReferenciaService, request, CatalogosReferencia.SUPERVISORES, CatalogosReferencia::supervisores, "Supervisores activos");
     }
 
 }
@@ -1,5 +1,6 @@
 package integra.globalexception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -12,4 +13,16 @@ public class LoginExceptionHandler {
         ErrorResponse response = new ErrorResponse(ex.getTitle(), ex.getMessage(), HttpStatus.UNAUTHORIZED, null);
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
     }
+
+    @ExceptionHandler(LoginSaturadoException.class)
+    public ResponseEntity<ErrorResponse> handleLoginSaturadoException(LoginSaturadoException ex) {
+        ErrorResponse response = new ErrorResponse(ex.getTitle(), ex.getMessage(), HttpStatus.SERVICE_UNAVAILABLE, null);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "2").body(response);
+    }
+
+    @ExceptionHandler(LoginLimitadoException.class)
+    public ResponseEntity<ErrorResponse> handleLoginLimitadoException(LoginLimitadoException ex) {
+        ErrorResponse response = new ErrorResponse(ex.getTitle(), ex.getMessage(), HttpStatus.TOO_MANY_REQUESTS, null);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getReintentarSegundos())).body(response);
+    }
 }
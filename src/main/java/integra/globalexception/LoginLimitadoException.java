@@ -0,0 +1,18 @@
+package integra.globalexception;
+
+import lombok.Getter;
+
+/**
+ * Indica que el usuario o la IP excedieron los intentos de inicio de sesión permitidos en la ventana.
+ */
+@Getter
+public class LoginLimitadoException extends RuntimeException {
+    private final String title;
+    private final long reintentarSegundos;
+
+    public LoginLimitadoException(String title, String message, long reintentarSegundos) {
+        super(message);
+        this.title = title;
+        this.reintentarSegundos = reintentarSegundos;
+    }
+}
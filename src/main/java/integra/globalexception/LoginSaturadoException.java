@@ -0,0 +1,16 @@
+package integra.globalexception;
+
+import lombok.Getter;
+
+/**
+ * Indica que el pool de inicio de sesión está lleno y la solicitud no puede esperar turno.
+ */
+@Getter
+public class LoginSaturadoException extends RuntimeException {
+    private final String title;
+
+    public LoginSaturadoException(String title, String message) {
+        super(message);
+        this.title = title;
+    }
+}
@@ -3,9 +3,11 @@ package integra.model;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.io.Serializable;
+
 @Getter
 @Setter
-public class Contacto {
+public class Contacto implements Serializable {
     private String direccion;
     private String telefono;
     private String email;
@@ -3,9 +3,11 @@ package integra.model;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.io.Serializable;
+
 @Getter
 @Setter
-public class Empleado {
+public class Empleado implements Serializable {
     private Integer id;
     private String codigo;
     private String nombre;
@@ -4,12 +4,13 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.io.Serializable;
 import java.util.List;
 
 @Getter
 @AllArgsConstructor
 @Setter
-public final class Estado {
+public final class Estado implements Serializable {
     private Integer id;
     private String codigo;
     private String nombre;
@@ -3,11 +3,12 @@ package integra.model;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.io.Serializable;
 import java.time.LocalTime;
 
 @Getter
 @Setter
-public class Unidad {
+public class Unidad implements Serializable {
     private Integer id;
     private String clave;
     private String nombre;
@@ -3,9 +3,11 @@ package integra.model;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
+import java.io.Serializable;
+
 @Getter
 @AllArgsConstructor
-public class Zona {
+public class Zona implements Serializable {
     private Integer id;
     private String nombre;
 
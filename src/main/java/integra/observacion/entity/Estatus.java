@@ -1,16 +1,21 @@
 package integra.observacion.entity;
 
+import integra.config.cache.RegionesHibernate;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.ColumnDefault;
 
 @Getter
 @Setter
 @Entity
 @Table(name = "estatus")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = RegionesHibernate.ESTATUS)
 public class Estatus {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -1,5 +1,6 @@
 package integra.observacion.entity;
 
+import integra.config.cache.RegionesHibernate;
 import integra.departamento.entity.DepartamentoEntity;
 import integra.reportes.CategoriaObservacion;
 import jakarta.persistence.*;
@@ -7,12 +8,16 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.ColumnDefault;
 
 @Getter
 @Setter
 @Entity
 @Table(name = "tipo_observacion")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = RegionesHibernate.TIPO_OBSERVACION)
 public class TipoObservacion {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -1,13 +1,16 @@
 package integra.organizacion.puesto.controller;
 
+import integra.catalogo.CatalogoReferenciaService;
+import integra.catalogo.CatalogosReferencia;
+import integra.catalogo.RespuestaCatalogo;
 import integra.organizacion.puesto.response.PuestoDto;
-import integra.organizacion.puesto.service.PuestoService;
 import integra.utils.ResponseData;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -15,10 +18,10 @@ import java.util.List;
 @RequiredArgsConstructor
 @RequestMapping("puestos")
 public class PuestoController {
-    private final PuestoService puestoService;
+    private final CatalogoReferenciaService catalogoReferenciaService;
 
     @GetMapping
-    public ResponseEntity<ResponseData<List<PuestoDto>>> obtenerPuestos() {
-        return ResponseEntity.ok(ResponseData.of(puestoService.obtenerPuestos(), "Puestos"));
+    public ResponseEntity<ResponseData<List<PuestoDto>>> obtenerPuestos(WebRequest request) {
+        return RespuestaCatalogo.responder(catalogoReferenciaService, request, CatalogosReferencia.PUESTOS, CatalogosReferencia::puestos, "Puestos");
     }
 }
\ No newline at end of file
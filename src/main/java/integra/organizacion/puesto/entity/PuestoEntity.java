@@ -1,16 +1,21 @@
 package integra.organizacion.puesto.entity;
 
+import integra.config.cache.RegionesHibernate;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.ColumnDefault;
 
 @Getter
 @Setter
 @Entity
 @Table(name = "puesto")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = RegionesHibernate.PUESTO)
 public class PuestoEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -1,10 +1,14 @@
 package integra.organizacion.puesto.repository;
 
 import integra.organizacion.puesto.entity.PuestoEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
 
 public interface PuestoRepository extends JpaRepository<PuestoEntity, Integer> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     <T> List<T> findBy(Class<T> type);
 }
\ No newline at end of file
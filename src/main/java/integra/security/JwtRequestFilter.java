@@ -1,7 +1,7 @@
 package integra.security;
 
-import integra.seguridad.rol.model.Rol;
-import integra.seguridad.rol.service.RolesPermisosService;
+import integra.security.authority.AutoridadesEfectivas;
+import integra.security.authority.ExpansionAutoridadesService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,14 +10,12 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -25,8 +23,9 @@ import java.util.Set;
 @RequiredArgsConstructor
 @Slf4j
 public class JwtRequestFilter extends OncePerRequestFilter {
-    private final RolesPermisosService rolesPermisosService;
+    private final ExpansionAutoridadesService expansionAutoridadesService;
     private final JwtUtil jwtUtil;
+    private final MetricasFiltroSeguridad metricas;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain) throws ServletException, IOException {
@@ -40,14 +39,19 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 
         if (token != null && SecurityContextHolder.getContext().getAuthentication() == null) {
             boolean tokenValido = false;
+            long inicioFiltro = metricas.inicio();
+            long asignacionInicial = metricas.inicioAsignacion();
             try {
-                // 1. Verificación de expiración y versión
-                if (!jwtUtil.isTokenExpired(token) && !jwtUtil.esVersionDeprecada(token)) {
-                    // ... (El resto de la lógica para autenticar)
-
-                    // Extraemos todos los claims de una vez
-                    var claims = jwtUtil.extractAllClaims(token);
+                // Extraemos todos los claims de una vez (firma verificada, o desde caché si ya se verificó)
+                var claims = jwtUtil.extractAllClaims(token);
+                long marca = metricas.registrar(MetricasFiltroSeguridad.Fase.VERIFICACION, inicioFiltro);
 
+                // 1. Verificación de expiración y versión
+                boolean vigente = !jwtUtil.isTokenExpired(claims) && !jwtUtil.esVersionDeprecada(claims);
+                // Un claim compacto de otra versión del catálogo no se decodifica (null): también es un token desactualizado
+                List<String> authorities = vigente ? jwtUtil.extraerAuthorities(claims) : null;
+                marca = metricas.registrar(MetricasFiltroSeguridad.Fase.VERSION, marca);
+                if (authorities != null) {
                     String username = claims.getSubject();
                     String email = claims.get("email", String.class);
                     Boolean enabled = claims.get("enabled", Boolean.class);
@@ -55,13 +59,13 @@ public class JwtRequestFilter extends OncePerRequestFilter {
                     Integer ver = claims.get("ver", Integer.class);
                     Boolean isSupervisor = claims.get("sup", Boolean.class);
                     Integer empleadoId = claims.get("empleadoId", Integer.class);
-                    @SuppressWarnings("unchecked") List<String> authorities = (List<String>) claims.get("authorities");
 
-                    // Expandir authorities usando caché de roles
-                    List<Rol> rolesCache = rolesPermisosService.obtenerRolesConPermisos();
-                    Set<GrantedAuthority> expandedAuthorities = buildAuthorities(authorities, rolesCache);
+                    // Expandir authorities usando el índice precompilado de roles
+                    AutoridadesEfectivas efectivas = expansionAutoridadesService.expandir(authorities);
+                    Set<GrantedAuthority> expandedAuthorities = efectivas.authorities();
+                    metricas.registrar(MetricasFiltroSeguridad.Fase.EXPANSION, marca);
 
-                    UserPrincipal user = new UserPrincipal(id, username, email, null, null, expandedAuthorities, enabled != null ? enabled : true, null, null, null, authorities, ver, isSupervisor, empleadoId);
+                    UserPrincipal user = new UserPrincipal(id, username, email, null, null, expandedAuthorities, enabled != null ? enabled : true, null, null, null, authorities, ver, isSupervisor, empleadoId, efectivas.bits());
 
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(user, null, expandedAuthorities);
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -80,6 +84,9 @@ public class JwtRequestFilter extends OncePerRequestFilter {
                 // 3. Lógica para otras excepciones de JWT (formato incorrecto, etc.)
                 handleJwtException(response, e);
                 return; // Importante: detener la cadena de filtros
+            } finally {
+                metricas.registrar(MetricasFiltroSeguridad.Fase.TOTAL, inicioFiltro);
+                metricas.registrarAsignacion(asignacionInicial);
             }
         }
 
@@ -99,34 +106,6 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         response.getWriter().write("{\"success\":false,\"message\":\"Token inválido o mal formado\"}");
     }
 
-    private Set<GrantedAuthority> buildAuthorities(List<String> authorities, List<Rol> rolesCache) {
-        Set<String> permisosUnicos = new HashSet<>();
-
-        if (authorities != null) {
-            authorities.forEach(authority -> {
-                // Intentar expandir como rol
-                boolean esRol = rolesCache.stream()
-                        .filter(rol -> rol.getNombre().equals(authority))
-                        .findFirst()
-                        .map(rol -> {
-                            if (rol.getPermisos() != null) {
-                                rol.getPermisos().forEach(permiso -> permisosUnicos.add(permiso.getId()));
-                            }
-                            return true;
-                        })
-                        .orElse(false);
-
-                // Si no es rol, es permiso especial
-                if (!esRol) {
-                    permisosUnicos.add(authority);
-                }
-            });
-        }
-
-        return permisosUnicos.stream().map(SimpleGrantedAuthority::new).collect(java.util.stream.Collectors.toSet());
-    }
-
-
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
         String path = request.getRequestURI();
@@ -1,19 +1,34 @@
 package integra.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import integra.security.authority.CodificadorClaimPermisos;
+import integra.security.authority.VersionesRoles;
 import integra.seguridad.usuario.service.TokenVersionService;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.interfaces.RSAPrivateKey;
 import java.security.interfaces.RSAPublicKey;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.UUID;
 import java.util.function.Function;
 
@@ -21,7 +36,12 @@ import java.util.function.Function;
 @RequiredArgsConstructor
 @Slf4j
 public class JwtUtil {
+    private static final String ISSUER = "integra-auth-server";
+
     private final TokenVersionService tokenVersionService;
+    private final MeterRegistry meterRegistry;
+    private final CodificadorClaimPermisos codificadorClaimPermisos;
+    private final VersionesRoles versionesRoles;
     @Value("${security.jwt.private-key}")
     private RSAPrivateKey privateKey;
 
@@ -31,6 +51,69 @@ public class JwtUtil {
     @Value("${security.jwt.expiration}")
     private Long jwtExpirationInSeconds;
 
+    @Value("${security.jwt.claims-cache.maximo:10000}")
+    private long maximoClaimsEnCache;
+
+    /**
+     * Emite las authorities como bitsets sobre el catálogo de permisos ({@code pc}) en lugar de la lista de
+     * códigos. Los tokens con la lista tradicional se siguen aceptando en ambos casos.
+     */
+    @Value("${security.jwt.claims-compactos:false}")
+    private boolean claimsCompactos;
+
+    /**
+     * Incluye la versión de cada rol del usuario ({@code rv}); un cambio de permisos del rol invalida sus
+     * tokens sin incrementar la versión de cada usuario. Al habilitarlo, los tokens emitidos sin {@code rv}
+     * se consideran desactualizados.
+     */
+    @Value("${security.jwt.version-rol:false}")
+    private boolean versionPorRol;
+
+    /**
+     * El parser es inmutable y seguro entre hilos; se construye una sola vez.
+     */
+    private JwtParser parser;
+
+    /**
+     * Claims ya verificados, indexados por el SHA-256 del token. Cada entrada expira junto con su token,
+     * de modo que un token en caché nunca sobrevive a su {@code exp}. La versión del token no se guarda
+     * como válida: se vuelve a comparar contra {@link TokenVersionService} en cada solicitud.
+     */
+    private Cache<String, Claims> claimsVerificados;
+
+    @PostConstruct
+    void init() {
+        this.parser = Jwts.parser()             // JJWT 0.13.0
+                .verifyWith(publicKey)          // RSAPublicKey -> verifica RS256
+                .requireIssuer(ISSUER).build();
+
+        Cache<String, Claims> cache = Caffeine.newBuilder()
+                .maximumSize(maximoClaimsEnCache)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String key, Claims claims, long currentTime) {
+                        if (claims.getExpiration() == null) {
+                            return 0;
+                        }
+                        long restante = claims.getExpiration().getTime() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, restante));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        this.claimsVerificados = CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwtClaims");
+    }
+
     public String generateToken(UserPrincipal user) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("id", user.getId());
@@ -42,12 +125,43 @@ public class JwtUtil {
             claims.put("empleadoId", user.getEmpleadoId());
         }
         claims.put("name", user.getFullname());
-        claims.put("authorities", user.getAuthoritiesForToken()); // roles + permisos especiales únicamente
+        putAuthorities(claims, user.getAuthoritiesForToken()); // roles + permisos especiales únicamente
         claims.put("enabled", user.isEnabled());
         claims.put("ver", tokenVersionService.getVersion(user.getUsername()));
+        if (versionPorRol) {
+            claims.put("rv", versionesRoles.versionesDe(user.getAuthoritiesForToken()));
+        }
         return createToken(claims, user.getUsername(), jwtExpirationInSeconds);
     }
 
+    private void putAuthorities(Map<String, Object> claims, List<String> authorities) {
+        if (claimsCompactos) {
+            Map<String, Object> compacto = codificadorClaimPermisos.codificar(authorities);
+            if (compacto != null) {
+                claims.put(CodificadorClaimPermisos.CLAIM, compacto);
+                return;
+            }
+        }
+        claims.put("authorities", authorities);
+    }
+
+    /**
+     * Devuelve las authorities del token (roles + permisos especiales), tanto de la lista tradicional como
+     * del claim compacto. Devuelve null si el claim compacto corresponde a otra versión del catálogo.
+     */
+    @SuppressWarnings("unchecked")
+    public List<String> extraerAuthorities(Claims claims) {
+        Object authorities = claims.get("authorities");
+        if (authorities != null) {
+            return (List<String>) authorities;
+        }
+        Object compacto = claims.get(CodificadorClaimPermisos.CLAIM);
+        if (compacto instanceof Map<?, ?> claim) {
+            return codificadorClaimPermisos.decodificar(claim);
+        }
+        return List.of();
+    }
+
     private String createToken(Map<String, Object> claims, String subject, Long expiration) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expiration * 1000);
@@ -58,7 +172,7 @@ public class JwtUtil {
                 .issuedAt(now)
                 .expiration(expiryDate)
                 .id(UUID.randomUUID().toString())
-                .issuer("integra-auth-server")
+                .issuer(ISSUER)
                 .signWith(privateKey)
                 .compact();
     }
@@ -70,19 +184,7 @@ public class JwtUtil {
 
     public boolean esVersionDeprecada(String token) {
         try {
-            // Extrae todos los claims del token
-            Claims claims = extractAllClaims(token);
-
-            // Obtiene el usuario y la versión del token
-            String username = claims.getSubject();
-            Integer tokenVersion = claims.get("ver", Integer.class);
-
-            // Obtiene la versión actual almacenada (cache o DB)
-            int currentVersion = tokenVersionService.getVersion(username);
-
-            // Si la versión del token es menor que la actual, está deprecado
-            return tokenVersion == null || tokenVersion < currentVersion;
-
+            return esVersionDeprecada(extractAllClaims(token));
         } catch (JwtException e) {
             // Si hay algún error en el token, se considera inválido/deprecado
             log.warn("Error verificando versión del token: {}", e.getMessage());
@@ -90,11 +192,47 @@ public class JwtUtil {
         }
     }
 
+    /**
+     * Compara la versión de claims ya verificados contra la versión vigente del usuario.
+     */
+    public boolean esVersionDeprecada(Claims claims) {
+        // Obtiene el usuario y la versión del token
+        String username = claims.getSubject();
+        Integer tokenVersion = claims.get("ver", Integer.class);
+
+        // Obtiene la versión actual almacenada (cache o DB)
+        int currentVersion = tokenVersionService.getVersion(username);
+
+        // Si la versión del token es menor que la actual, está deprecado
+        if (tokenVersion == null || tokenVersion < currentVersion) {
+            return true;
+        }
+        if (versionPorRol && !(claims.get("rv") instanceof Map<?, ?> versionesRol && versionesRoles.vigentes(versionesRol))) {
+            return true;
+        }
+        // Un claim compacto emitido con otro catálogo de permisos ya no se puede interpretar
+        return claims.get(CodificadorClaimPermisos.CLAIM) instanceof Map<?, ?> compacto
+                && !codificadorClaimPermisos.esVersionVigente(compacto);
+    }
+
+    /**
+     * Devuelve los claims del token verificando firma, emisor y expiración. Un token ya verificado se
+     * resuelve desde caché sin repetir la verificación RSA.
+     */
     public Claims extractAllClaims(String token) {
+        String key = hashToken(token);
+        Claims enCache = claimsVerificados.getIfPresent(key);
+        if (enCache != null) {
+            return enCache;
+        }
+        Claims claims = parseClaims(token);
+        claimsVerificados.put(key, claims);
+        return claims;
+    }
+
+    private Claims parseClaims(String token) {
         try {
-            return Jwts.parser()             // JJWT 0.13.0
-                    .verifyWith(publicKey)   // RSAPublicKey -> verifica RS256
-                    .requireIssuer("integra-auth-server").build().parseSignedClaims(token).getPayload();
+            return parser.parseSignedClaims(token).getPayload();
         } catch (io.jsonwebtoken.security.SignatureException e) {
             log.error("Firma de token inválida: {}", e.getMessage());
             throw e;
@@ -113,4 +251,17 @@ public class JwtUtil {
     public boolean isTokenExpired(String token) {
         return extractClaim(token, Claims::getExpiration).before(new Date());
     }
+
+    public boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
+    }
+
+    private static String hashToken(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
 }
@@ -0,0 +1,123 @@
+package integra.security;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Métricas de diagnóstico del costo por solicitud de {@link JwtRequestFilter}.
+ * <p>
+ * Están deshabilitadas por defecto ({@code security.metricas.filtro.habilitado}): el costo del filtro se mide
+ * con los benchmarks de {@code src/test} (perfil {@code benchmark}), y aquí solo se habilitan para diagnosticar
+ * un entorno concreto. Deshabilitadas no registran medidores ni leen el reloj.
+ * </p>
+ * <p>
+ * Habilitadas, registran el tiempo de cada fase en {@code integra.seguridad.filtro} (etiqueta {@code fase})
+ * con percentiles 50/95/99, y en una de cada {@code security.metricas.filtro.muestreo} solicitudes la memoria
+ * reservada por el hilo durante el filtro en {@code integra.seguridad.filtro.asignacion}. La medición de memoria usa
+ * {@link com.sun.management.ThreadMXBean} y se omite si la JVM no la soporta.
+ * </p>
+ */
+@Component
+@Slf4j
+public class MetricasFiltroSeguridad {
+
+    public enum Fase {
+        /** Verificación de firma o resolución desde la caché de claims. */
+        VERIFICACION,
+        /** Comparación de versión de usuario, de roles y de catálogo. */
+        VERSION,
+        /** Expansión de authorities a permisos efectivos. */
+        EXPANSION,
+        /** Filtro completo, sin el resto de la cadena. */
+        TOTAL
+    }
+
+    private final Map<Fase, Timer> timers = new EnumMap<>(Fase.class);
+    private final DistributionSummary asignacion;
+    private final com.sun.management.ThreadMXBean threadMXBean;
+    private final boolean habilitado;
+    private final int muestreo;
+    private final AtomicLong solicitudes = new AtomicLong();
+
+    public MetricasFiltroSeguridad(MeterRegistry meterRegistry,
+                                   @Value("${security.metricas.filtro.habilitado:false}") boolean habilitado,
+                                   @Value("${security.metricas.filtro.muestreo:16}") int muestreo) {
+        this.habilitado = habilitado;
+        this.muestreo = Math.max(1, muestreo);
+        if (!habilitado) {
+            this.asignacion = null;
+            this.threadMXBean = null;
+            return;
+        }
+        for (Fase fase : Fase.values()) {
+            timers.put(fase, Timer.builder("integra.seguridad.filtro")
+                    .description("Tiempo de autenticación por token en cada solicitud")
+                    .tag("fase", fase.name().toLowerCase())
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry));
+        }
+        this.asignacion = DistributionSummary.builder("integra.seguridad.filtro.asignacion")
+                .description("Memoria reservada por el hilo durante la autenticación por token (muestreada)")
+                .baseUnit("bytes")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.threadMXBean = habilitarMedicionMemoria();
+    }
+
+    /**
+     * Marca de tiempo de inicio; 0 si las métricas están deshabilitadas.
+     */
+    public long inicio() {
+        return habilitado ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Registra la fase transcurrida desde {@code desde} y devuelve la marca actual para encadenar la siguiente.
+     */
+    public long registrar(Fase fase, long desde) {
+        if (!habilitado) {
+            return 0L;
+        }
+        long ahora = System.nanoTime();
+        timers.get(fase).record(ahora - desde, TimeUnit.NANOSECONDS);
+        return ahora;
+    }
+
+    /**
+     * Bytes reservados hasta ahora por el hilo si esta solicitud entra en la muestra; -1 en otro caso.
+     */
+    public long inicioAsignacion() {
+        if (threadMXBean == null || solicitudes.incrementAndGet() % muestreo != 0) {
+            return -1L;
+        }
+        return threadMXBean.getCurrentThreadAllocatedBytes();
+    }
+
+    public void registrarAsignacion(long inicial) {
+        if (inicial < 0) {
+            return;
+        }
+        asignacion.record(threadMXBean.getCurrentThreadAllocatedBytes() - inicial);
+    }
+
+    private com.sun.management.ThreadMXBean habilitarMedicionMemoria() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean && bean.isThreadAllocatedMemorySupported()) {
+            if (!bean.isThreadAllocatedMemoryEnabled()) {
+                bean.setThreadAllocatedMemoryEnabled(true);
+            }
+            return bean;
+        }
+        log.info("La JVM no permite medir la memoria reservada por hilo; se omite integra.seguridad.filtro.asignacion");
+        return null;
+    }
+}
@@ -1,10 +1,17 @@
 package integra.security;
 
+import integra.security.authority.PermisosMethodSecurityExpressionHandler;
+import integra.security.authority.RegistroPermisos;
+import integra.security.login.BCryptCostoPasswordEncoder;
+import integra.security.login.LoginProperties;
 import integra.security.service.CustomUserDetailsService;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -13,7 +20,6 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -26,6 +32,7 @@ public class SecurityConfig {
 
     private final CustomUserDetailsService userDetailsService;
     private final JwtRequestFilter jwtRequestFilter;
+    private final LoginProperties loginProperties;
 
     // ===============================
     // 🔐 Beans de seguridad
@@ -33,7 +40,8 @@ public class SecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(); // Ajusta la fuerza según tu entorno
+        // Costo en security.login.bcrypt; los hashes con menor costo se actualizan al iniciar sesión
+        return BCryptCostoPasswordEncoder.crear(loginProperties.getBcrypt());
     }
 
     @Bean
@@ -41,9 +49,19 @@ public class SecurityConfig {
         // Constructor moderno evita deprecated
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider(userDetailsService);
         provider.setPasswordEncoder(passwordEncoder());
+        provider.setUserDetailsPasswordService(userDetailsService);
         return provider;
     }
 
+    /**
+     * Evalúa hasAuthority de @PreAuthorize como prueba de bits sobre el principal. Es estático para que
+     * la infraestructura de seguridad de métodos lo obtenga sin inicializar esta configuración.
+     */
+    @Bean
+    static MethodSecurityExpressionHandler methodSecurityExpressionHandler(ObjectProvider<RegistroPermisos> registroPermisos, ObjectProvider<MeterRegistry> meterRegistry) {
+        return new PermisosMethodSecurityExpressionHandler(registroPermisos, meterRegistry);
+    }
+
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration config) throws Exception {
         // Spring construye automáticamente un AuthenticationManager con nuestro provider
@@ -34,6 +34,13 @@ public class UserPrincipal implements UserDetails {
     private Boolean esSupervisor;
     private Integer empleadoId;
 
+    /**
+     * Bitset de permisos según {@link integra.security.authority.RegistroPermisos}; null cuando el
+     * principal no proviene de un token y las verificaciones usan {@link #authorities}.
+     */
+    @JsonIgnore
+    private long[] permisosBits;
+
     public static UserPrincipal crear(Usuario usuario) {
         List<String> roles = usuario.getRoles().stream().map(Rol::getNombre).toList();
         List<String> permisos = usuario.getPermisos().stream().toList();
@@ -44,7 +51,7 @@ public class UserPrincipal implements UserDetails {
         permisos.forEach(p -> authorities.add(new SimpleGrantedAuthority(p)));
         permisosEspeciales.forEach(p -> authorities.add(new SimpleGrantedAuthority(p)));
 
-        return new UserPrincipal(usuario.getId(), usuario.getNombre(), usuario.getEmail(), usuario.getUsuario(), usuario.getPassword(), authorities, usuario.getActivo(), roles, permisos, permisosEspeciales, null, usuario.getTokenVersion(), usuario.getEsSupervisor(), usuario.getEmpleadoId());
+        return new UserPrincipal(usuario.getId(), usuario.getNombre(), usuario.getEmail(), usuario.getUsuario(), usuario.getPassword(), authorities, usuario.getActivo(), roles, permisos, permisosEspeciales, null, usuario.getTokenVersion(), usuario.getEsSupervisor(), usuario.getEmpleadoId(), null);
     }
 
     @Override
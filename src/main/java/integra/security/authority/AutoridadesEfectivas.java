@@ -0,0 +1,17 @@
+package integra.security.authority;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Set;
+
+/**
+ * Permisos efectivos de un token en sus dos representaciones: el conjunto que espera Spring Security y
+ * el bitset de {@link RegistroPermisos} usado en las verificaciones de {@code hasAuthority}.
+ * <p>
+ * Las instancias se comparten entre solicitudes: ninguna de las dos representaciones debe modificarse.
+ * </p>
+ */
+public record AutoridadesEfectivas(Set<GrantedAuthority> authorities, long[] bits) {
+
+    public static final AutoridadesEfectivas VACIAS = new AutoridadesEfectivas(Set.of(), new long[0]);
+}
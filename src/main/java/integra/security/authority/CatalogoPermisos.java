@@ -0,0 +1,74 @@
+package integra.security.authority;
+
+import integra.seguridad.rol.model.Rol;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Instantánea inmutable del catálogo de permisos y roles usada para codificar el claim compacto.
+ * <p>
+ * La posición de cada permiso es su orden alfabético dentro del catálogo y cada rol se identifica por su id.
+ * La versión son los primeros 64 bits del SHA-256 del contenido, igual en todas las instancias del servicio que
+ * vean el mismo catálogo; cualquier alta, baja o renombrado produce otra versión. Un hash de 32 bits como
+ * {@code String.hashCode} colisiona con facilidad (p. ej. {@code "Aa"} y {@code "BB"}), y una colisión haría que
+ * un token emitido con otro catálogo se decodificara con posiciones equivocadas.
+ * </p>
+ */
+public record CatalogoPermisos(long version,
+                               String[] codigos,
+                               Map<String, Integer> posiciones,
+                               Map<Long, String> rolesPorId,
+                               Map<String, Long> idsPorRol) {
+
+    public static CatalogoPermisos construir(List<String> codigosPermiso, List<Rol> roles) {
+        String[] codigos = codigosPermiso.stream().sorted().distinct().toArray(String[]::new);
+        Map<String, Integer> posiciones = new HashMap<>();
+        for (int i = 0; i < codigos.length; i++) {
+            posiciones.put(codigos[i], i);
+        }
+
+        Map<Long, String> rolesPorId = new HashMap<>();
+        Map<String, Long> idsPorRol = new HashMap<>();
+        StringBuilder firma = new StringBuilder(String.join(",", codigos)).append('|');
+        roles.stream()
+                .sorted((a, b) -> Long.compare(a.getId(), b.getId()))
+                .forEach(rol -> {
+                    rolesPorId.put(rol.getId(), rol.getNombre());
+                    idsPorRol.put(rol.getNombre(), rol.getId());
+                    firma.append(rol.getId()).append(':').append(rol.getNombre()).append(',');
+                });
+
+        return new CatalogoPermisos(version(firma.toString()), codigos, Map.copyOf(posiciones), Map.copyOf(rolesPorId), Map.copyOf(idsPorRol));
+    }
+
+    private static long version(String firma) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(firma.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof CatalogoPermisos otro && version == otro.version && Arrays.equals(codigos, otro.codigos);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(version);
+    }
+
+    @Override
+    public String toString() {
+        return "CatalogoPermisos[version=" + version + ", permisos=" + codigos.length + ", roles=" + rolesPorId.size() + "]";
+    }
+}
@@ -0,0 +1,137 @@
+package integra.security.authority;
+
+import integra.seguridad.rol.entity.Permission;
+import integra.seguridad.rol.event.RolesPermisosActualizadosEvent;
+import integra.seguridad.rol.repository.PermissionRepository;
+import integra.seguridad.rol.service.RolesPermisosService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Codifica las authorities del token (roles + permisos especiales) en un claim compacto:
+ * <pre>
+ * "pc": { "v": versión del catálogo, "r": bitset base64 de ids de rol, "p": bitset base64 de posiciones de permiso }
+ * </pre>
+ * Decodificar no requiere separar cadenas: los bitsets se recorren y cada bit se traduce con el
+ * {@link CatalogoPermisos} vigente. Un claim emitido con otra versión del catálogo no se decodifica;
+ * el token se trata como versión desactualizada y el usuario debe volver a autenticarse.
+ */
+@Component
+@Slf4j
+public class CodificadorClaimPermisos {
+
+    public static final String CLAIM = "pc";
+    private static final String VERSION = "v";
+    private static final String ROLES = "r";
+    private static final String PERMISOS = "p";
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final PermissionRepository permissionRepository;
+    private final RolesPermisosService rolesPermisosService;
+    private final AtomicReference<CatalogoPermisos> catalogo = new AtomicReference<>();
+
+    public CodificadorClaimPermisos(PermissionRepository permissionRepository, RolesPermisosService rolesPermisosService) {
+        this.permissionRepository = permissionRepository;
+        this.rolesPermisosService = rolesPermisosService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializar() {
+        reconstruir();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRolesPermisosActualizados(RolesPermisosActualizadosEvent event) {
+        reconstruir();
+    }
+
+    /**
+     * Devuelve el claim compacto, o null si alguna authority no pertenece al catálogo (en ese caso el
+     * token debe emitirse con la lista de authorities tradicional).
+     */
+    public Map<String, Object> codificar(List<String> authorities) {
+        CatalogoPermisos actual = obtenerCatalogo();
+        BitSet roles = new BitSet();
+        BitSet permisos = new BitSet();
+        for (String authority : authorities) {
+            Long rolId = actual.idsPorRol().get(authority);
+            if (rolId != null) {
+                roles.set(Math.toIntExact(rolId));
+                continue;
+            }
+            Integer posicion = actual.posiciones().get(authority);
+            if (posicion == null) {
+                return null;
+            }
+            permisos.set(posicion);
+        }
+        return Map.of(VERSION, actual.version(),
+                ROLES, ENCODER.encodeToString(roles.toByteArray()),
+                PERMISOS, ENCODER.encodeToString(permisos.toByteArray()));
+    }
+
+    /**
+     * Reconstruye la lista de authorities del claim compacto, o null si fue emitido con otra versión
+     * del catálogo.
+     */
+    public List<String> decodificar(Map<?, ?> claim) {
+        CatalogoPermisos actual = obtenerCatalogo();
+        if (!esVersionVigente(claim, actual)) {
+            return null;
+        }
+        BitSet roles = BitSet.valueOf(DECODER.decode((String) claim.get(ROLES)));
+        BitSet permisos = BitSet.valueOf(DECODER.decode((String) claim.get(PERMISOS)));
+
+        List<String> authorities = new ArrayList<>(roles.cardinality() + permisos.cardinality());
+        for (int id = roles.nextSetBit(0); id >= 0; id = roles.nextSetBit(id + 1)) {
+            String rol = actual.rolesPorId().get((long) id);
+            if (rol == null) {
+                return null;
+            }
+            authorities.add(rol);
+        }
+        for (int posicion = permisos.nextSetBit(0); posicion >= 0; posicion = permisos.nextSetBit(posicion + 1)) {
+            if (posicion >= actual.codigos().length) {
+                return null;
+            }
+            authorities.add(actual.codigos()[posicion]);
+        }
+        return authorities;
+    }
+
+    public boolean esVersionVigente(Map<?, ?> claim) {
+        return esVersionVigente(claim, obtenerCatalogo());
+    }
+
+    private static boolean esVersionVigente(Map<?, ?> claim, CatalogoPermisos actual) {
+        // Los tokens emitidos con la versión de 32 bits anterior no coinciden y se tratan como desactualizados
+        return claim.get(VERSION) instanceof Number version && version.longValue() == actual.version();
+    }
+
+    private CatalogoPermisos obtenerCatalogo() {
+        CatalogoPermisos actual = catalogo.get();
+        return actual != null ? actual : reconstruir();
+    }
+
+    private synchronized CatalogoPermisos reconstruir() {
+        List<String> codigos = permissionRepository.findAll().stream().map(Permission::getId).toList();
+        CatalogoPermisos nuevo = CatalogoPermisos.construir(codigos, rolesPermisosService.cargarRolesConPermisos());
+        CatalogoPermisos anterior = catalogo.getAndSet(nuevo);
+        if (anterior == null || anterior.version() != nuevo.version()) {
+            log.info("Catálogo de permisos para tokens: {}", nuevo);
+        }
+        return nuevo;
+    }
+}
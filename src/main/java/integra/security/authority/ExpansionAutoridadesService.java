@@ -0,0 +1,116 @@
+package integra.security.authority;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import integra.seguridad.rol.event.RolesPermisosActualizadosEvent;
+import integra.seguridad.rol.service.RolesPermisosService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Expande las authorities de un token (roles + permisos especiales) al conjunto de permisos efectivos.
+ * <p>
+ * Usa un {@link IndiceRolesPermisos} inmutable que se reconstruye tras cada cambio de permisos de rol,
+ * y conserva el resultado de cada combinación de authorities ya vista. Para un usuario recurrente la
+ * expansión es una sola búsqueda en caché y devuelve siempre las mismas {@link AutoridadesEfectivas}.
+ * </p>
+ */
+@Service
+@Slf4j
+public class ExpansionAutoridadesService {
+
+    private static final String NOMBRE_CACHE_ROLES = "rolesPermisos";
+
+    private final RolesPermisosService rolesPermisosService;
+    private final CacheManager cacheManager;
+    private final RegistroPermisos registroPermisos;
+    private final AtomicReference<IndiceRolesPermisos> indice = new AtomicReference<>();
+    private final AtomicLong versiones = new AtomicLong();
+    private final Cache<ClaveExpansion, AutoridadesEfectivas> expansiones;
+
+    public ExpansionAutoridadesService(RolesPermisosService rolesPermisosService, CacheManager cacheManager, RegistroPermisos registroPermisos, MeterRegistry meterRegistry, @Value("${security.authorities.expansiones-maximo:5000}") long maximoExpansiones) {
+        this.rolesPermisosService = rolesPermisosService;
+        this.cacheManager = cacheManager;
+        this.registroPermisos = registroPermisos;
+        Cache<ClaveExpansion, AutoridadesEfectivas> cache = Caffeine.newBuilder()
+                .maximumSize(maximoExpansiones)
+                .recordStats()
+                .build();
+        this.expansiones = CaffeineCacheMetrics.monitor(meterRegistry, cache, "expansionAutoridades");
+    }
+
+    /**
+     * Devuelve los permisos efectivos de las authorities del token. Los nombres que no corresponden a un
+     * rol se tratan como permisos especiales.
+     */
+    public AutoridadesEfectivas expandir(List<String> authorities) {
+        if (authorities == null || authorities.isEmpty()) {
+            return AutoridadesEfectivas.VACIAS;
+        }
+        IndiceRolesPermisos actual = obtenerIndice();
+        return expansiones.get(new ClaveExpansion(actual.version(), authorities), clave -> calcular(actual, clave.authorities()));
+    }
+
+    public IndiceRolesPermisos obtenerIndice() {
+        IndiceRolesPermisos actual = indice.get();
+        return actual != null ? actual : reconstruir();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializar() {
+        reconstruir();
+    }
+
+    /**
+     * Reconstruye el índice una vez confirmados los cambios de permisos. También vuelve a limpiar la caché
+     * de roles, por si una lectura concurrente la repobló antes del commit con los permisos anteriores.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRolesPermisosActualizados(RolesPermisosActualizadosEvent event) {
+        var cacheRoles = cacheManager.getCache(NOMBRE_CACHE_ROLES);
+        if (cacheRoles != null) {
+            cacheRoles.clear();
+        }
+        reconstruir();
+        expansiones.invalidateAll();
+    }
+
+    private synchronized IndiceRolesPermisos reconstruir() {
+        IndiceRolesPermisos nuevo = IndiceRolesPermisos.construir(versiones.incrementAndGet(), rolesPermisosService.cargarRolesConPermisos());
+        indice.set(nuevo);
+        log.debug("Índice de roles y permisos reconstruido: versión {}, {} roles", nuevo.version(), nuevo.permisosPorRol().size());
+        return nuevo;
+    }
+
+    private AutoridadesEfectivas calcular(IndiceRolesPermisos indice, List<String> authorities) {
+        Set<GrantedAuthority> permisos = new HashSet<>();
+        for (String authority : authorities) {
+            Set<GrantedAuthority> permisosRol = indice.permisosDe(authority);
+            if (permisosRol != null) {
+                permisos.addAll(permisosRol);
+            } else {
+                // Si no es rol, es permiso especial
+                permisos.add(new SimpleGrantedAuthority(authority));
+            }
+        }
+        return new AutoridadesEfectivas(Set.copyOf(permisos), registroPermisos.codificar(permisos));
+    }
+
+    private record ClaveExpansion(long version, List<String> authorities) {
+    }
+}
@@ -0,0 +1,42 @@
+package integra.security.authority;
+
+import integra.model.Permiso;
+import integra.seguridad.rol.model.Rol;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Índice inmutable nombre de rol → permisos ya convertidos en {@link GrantedAuthority}.
+ * <p>
+ * Cada reconstrucción produce una nueva instancia con versión mayor; las expansiones calculadas con
+ * una versión anterior dejan de reutilizarse en cuanto se publica la nueva.
+ * </p>
+ */
+public record IndiceRolesPermisos(long version, Map<String, Set<GrantedAuthority>> permisosPorRol) {
+
+    public static IndiceRolesPermisos construir(long version, List<Rol> roles) {
+        Map<String, Set<GrantedAuthority>> permisosPorRol = new HashMap<>();
+        for (Rol rol : roles) {
+            Set<GrantedAuthority> permisos = rol.getPermisos() == null ? Set.of() : rol.getPermisos()
+                    .stream()
+                    .map(Permiso::getId)
+                    .map(SimpleGrantedAuthority::new)
+                    .collect(Collectors.toUnmodifiableSet());
+            permisosPorRol.put(rol.getNombre(), permisos);
+        }
+        return new IndiceRolesPermisos(version, Map.copyOf(permisosPorRol));
+    }
+
+    /**
+     * Devuelve los permisos del rol o {@code null} si el nombre no corresponde a un rol.
+     */
+    public Set<GrantedAuthority> permisosDe(String rol) {
+        return permisosPorRol.get(rol);
+    }
+}
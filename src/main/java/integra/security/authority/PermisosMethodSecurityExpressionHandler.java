@@ -0,0 +1,208 @@
+package integra.security.authority;
+
+import integra.security.UserPrincipal;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.MethodExecutor;
+import org.springframework.expression.MethodResolver;
+import org.springframework.expression.ParseException;
+import org.springframework.expression.ParserContext;
+import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.security.access.expression.SecurityExpressionOperations;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.core.Authentication;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Evalúa {@code hasAuthority} y {@code hasAnyAuthority} de las expresiones {@code @PreAuthorize} como
+ * pruebas de bits sobre {@link UserPrincipal#getPermisosBits()}.
+ * <p>
+ * Las expresiones de {@link integra.security.Autoridades} no cambian. Al parsearlas (una vez por método) una
+ * expresión formada solo por {@code hasAuthority('X')} o {@code hasAnyAuthority('X', …)} se reescribe como
+ * {@code tienePermiso(índice, 'X') or …}, con el índice de {@link RegistroPermisos} ya resuelto; cada evaluación
+ * es entonces una sola prueba de bit, sin buscar el código. Las demás expresiones se parsean sin cambios y
+ * sus {@code hasAuthority}/{@code hasAnyAuthority} buscan el índice al evaluarse.
+ * </p>
+ * <p>
+ * Si el principal no trae bitset (por ejemplo, durante el login) se usa la evaluación estándar de Spring
+ * Security sobre las authorities. Cada evaluación se cuenta en {@code integra.seguridad.autorizacion} según el
+ * {@code modo} usado, para detectar si el camino lento deja de ser la excepción.
+ * </p>
+ */
+public class PermisosMethodSecurityExpressionHandler extends DefaultMethodSecurityExpressionHandler {
+
+    private static final String TIENE_PERMISO = "tienePermiso";
+    private static final Pattern SOLO_AUTORIDADES = Pattern.compile("\\s*has(Any)?Authority\\(\\s*('[^']*'(?:\\s*,\\s*'[^']*')*)\\s*\\)\\s*");
+    private static final Pattern CODIGO = Pattern.compile("'([^']*)'");
+
+    private final ObjectProvider<RegistroPermisos> registroPermisos;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private volatile ResolutorPermisos resolutor;
+
+    public PermisosMethodSecurityExpressionHandler(ObjectProvider<RegistroPermisos> registroPermisos, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.registroPermisos = registroPermisos;
+        this.meterRegistry = meterRegistry;
+        setExpressionParser(new ParserPermisos(new SpelExpressionParser()));
+    }
+
+    @Override
+    public EvaluationContext createEvaluationContext(Supplier<Authentication> authentication, MethodInvocation mi) {
+        EvaluationContext context = super.createEvaluationContext(authentication, mi);
+        if (context instanceof StandardEvaluationContext standard) {
+            List<MethodResolver> resolvers = new ArrayList<>(standard.getMethodResolvers().size() + 1);
+            resolvers.add(obtenerResolutor());
+            resolvers.addAll(standard.getMethodResolvers());
+            standard.setMethodResolvers(resolvers);
+        }
+        return context;
+    }
+
+    /**
+     * Los beans se resuelven en la primera evaluación: el handler se crea antes que ellos.
+     */
+    private ResolutorPermisos obtenerResolutor() {
+        ResolutorPermisos actual = resolutor;
+        if (actual == null) {
+            MeterRegistry registry = meterRegistry.getObject();
+            Counter porBits = registry.counter("integra.seguridad.autorizacion", "modo", "bits");
+            Counter porAuthorities = registry.counter("integra.seguridad.autorizacion", "modo", "authorities");
+            actual = new ResolutorPermisos(new VerificacionBits(registroPermisos.getObject(), porBits, porAuthorities),
+                    new VerificacionIndice(porBits, porAuthorities));
+            resolutor = actual;
+        }
+        return actual;
+    }
+
+    /**
+     * Reescribe las expresiones que solo verifican authorities para que lleguen a la evaluación con el
+     * índice de cada código ya resuelto.
+     */
+    private final class ParserPermisos implements ExpressionParser {
+
+        private final ExpressionParser delegado;
+
+        ParserPermisos(ExpressionParser delegado) {
+            this.delegado = delegado;
+        }
+
+        @Override
+        public Expression parseExpression(String expressionString) throws ParseException {
+            return delegado.parseExpression(reescribir(expressionString));
+        }
+
+        @Override
+        public Expression parseExpression(String expressionString, ParserContext context) throws ParseException {
+            return delegado.parseExpression(context == null || !context.isTemplate() ? reescribir(expressionString) : expressionString, context);
+        }
+
+        /**
+         * Los índices de {@link RegistroPermisos} nunca se reasignan, así que registrar el código aquí deja el
+         * índice válido durante toda la vida del proceso.
+         */
+        private String reescribir(String expresion) {
+            Matcher matcher = SOLO_AUTORIDADES.matcher(expresion);
+            RegistroPermisos registro = registroPermisos.getIfAvailable();
+            if (registro == null || !matcher.matches()) {
+                return expresion;
+            }
+            List<String> codigos = CODIGO.matcher(matcher.group(2)).results().map(resultado -> resultado.group(1)).toList();
+            if (matcher.group(1) == null && codigos.size() != 1) {
+                return expresion;
+            }
+            StringJoiner reescrita = new StringJoiner(" or ");
+            for (String codigo : codigos) {
+                reescrita.add(TIENE_PERMISO + "(" + registro.registrar(codigo) + ", '" + codigo + "')");
+            }
+            return reescrita.toString();
+        }
+    }
+
+    private record ResolutorPermisos(VerificacionBits verificacion, VerificacionIndice verificacionIndice) implements MethodResolver {
+
+        @Override
+        public MethodExecutor resolve(EvaluationContext context, Object targetObject, String name, List<TypeDescriptor> argumentTypes) {
+            if (!(targetObject instanceof SecurityExpressionOperations)) {
+                return null;
+            }
+            return switch (name) {
+                case TIENE_PERMISO -> argumentTypes.size() == 2 ? verificacionIndice : null;
+                case "hasAuthority" -> argumentTypes.size() == 1 ? verificacion : null;
+                case "hasAnyAuthority" -> verificacion;
+                default -> null;
+            };
+        }
+    }
+
+    /**
+     * {@code tienePermiso(índice, código)}: prueba el bit ya resuelto al parsear la expresión.
+     */
+    private record VerificacionIndice(Counter porBits, Counter porAuthorities) implements MethodExecutor {
+
+        @Override
+        public TypedValue execute(EvaluationContext context, Object target, Object... arguments) {
+            SecurityExpressionOperations root = (SecurityExpressionOperations) target;
+            long[] bits = bitsDe(root);
+            if (bits != null) {
+                porBits.increment();
+                return RegistroPermisos.contiene(bits, (Integer) arguments[0]) ? TypedValue.TRUE : TypedValue.FALSE;
+            }
+            porAuthorities.increment();
+            return root.hasAuthority((String) arguments[1]) ? TypedValue.TRUE : TypedValue.FALSE;
+        }
+    }
+
+    /**
+     * Devuelve true si el principal tiene al menos uno de los códigos recibidos.
+     */
+    private record VerificacionBits(RegistroPermisos registro, Counter porBits, Counter porAuthorities) implements MethodExecutor {
+
+        @Override
+        public TypedValue execute(EvaluationContext context, Object target, Object... arguments) {
+            SecurityExpressionOperations root = (SecurityExpressionOperations) target;
+            String[] codigos = aplanar(arguments);
+            long[] bits = bitsDe(root);
+            if (bits != null) {
+                porBits.increment();
+                for (String codigo : codigos) {
+                    if (registro.contiene(bits, codigo)) {
+                        return TypedValue.TRUE;
+                    }
+                }
+                return TypedValue.FALSE;
+            }
+            porAuthorities.increment();
+            return root.hasAnyAuthority(codigos) ? TypedValue.TRUE : TypedValue.FALSE;
+        }
+
+        private static String[] aplanar(Object[] arguments) {
+            if (arguments.length == 1 && arguments[0] instanceof String[] arreglo) {
+                return arreglo;
+            }
+            String[] codigos = new String[arguments.length];
+            for (int i = 0; i < arguments.length; i++) {
+                codigos[i] = String.valueOf(arguments[i]);
+            }
+            return codigos;
+        }
+    }
+
+    private static long[] bitsDe(SecurityExpressionOperations root) {
+        return root.getAuthentication() != null && root.getAuthentication().getPrincipal() instanceof UserPrincipal principal
+                ? principal.getPermisosBits()
+                : null;
+    }
+}
@@ -0,0 +1,107 @@
+package integra.security.authority;
+
+import integra.seguridad.rol.entity.Permission;
+import integra.seguridad.rol.event.RolesPermisosActualizadosEvent;
+import integra.seguridad.rol.repository.PermissionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Asigna a cada código de permiso ('AA1', 'BB2', …) un índice entero denso.
+ * <p>
+ * Los índices solo se agregan, nunca se reasignan, de modo que un bitset calculado en cualquier momento
+ * sigue siendo válido durante toda la vida del proceso. Al arrancar se registran los permisos de la tabla
+ * {@code permissions} en orden; los códigos nuevos (permisos creados después o permisos especiales que no
+ * están en el catálogo) reciben el siguiente índice libre en cuanto aparecen.
+ * </p>
+ */
+@Component
+@Slf4j
+public class RegistroPermisos {
+
+    private final PermissionRepository permissionRepository;
+    private final Map<String, Integer> indices = new ConcurrentHashMap<>();
+    private final AtomicInteger siguiente = new AtomicInteger();
+
+    public RegistroPermisos(PermissionRepository permissionRepository) {
+        this.permissionRepository = permissionRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializar() {
+        registrarCatalogo();
+        log.info("Registro de permisos inicializado con {} códigos", indices.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRolesPermisosActualizados(RolesPermisosActualizadosEvent event) {
+        registrarCatalogo();
+    }
+
+    /**
+     * Índice del código, o -1 si nunca se ha registrado (ningún usuario puede tenerlo).
+     */
+    public int indice(String codigo) {
+        Integer indice = indices.get(codigo);
+        return indice != null ? indice : -1;
+    }
+
+    /**
+     * Índice del código, asignándole uno nuevo si aún no lo tiene.
+     */
+    public int registrar(String codigo) {
+        return indices.computeIfAbsent(codigo, c -> siguiente.getAndIncrement());
+    }
+
+    /**
+     * Número de códigos registrados hasta el momento.
+     */
+    public int tamano() {
+        return siguiente.get();
+    }
+
+    public long[] codificar(Collection<? extends GrantedAuthority> authorities) {
+        int[] posiciones = authorities.stream()
+                .map(GrantedAuthority::getAuthority)
+                .mapToInt(this::registrar)
+                .toArray();
+        int maximo = -1;
+        for (int posicion : posiciones) {
+            maximo = Math.max(maximo, posicion);
+        }
+        long[] bits = new long[(maximo >>> 6) + 1];
+        for (int posicion : posiciones) {
+            bits[posicion >>> 6] |= 1L << posicion;
+        }
+        return bits;
+    }
+
+    public boolean contiene(long[] bits, String codigo) {
+        return contiene(bits, indice(codigo));
+    }
+
+    public static boolean contiene(long[] bits, int indice) {
+        if (indice < 0) {
+            return false;
+        }
+        int palabra = indice >>> 6;
+        return palabra < bits.length && (bits[palabra] & (1L << indice)) != 0;
+    }
+
+    private void registrarCatalogo() {
+        permissionRepository.findAll()
+                .stream()
+                .map(Permission::getId)
+                .sorted()
+                .forEach(this::registrar);
+    }
+}
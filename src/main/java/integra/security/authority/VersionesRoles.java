@@ -0,0 +1,103 @@
+package integra.security.authority;
+
+import integra.seguridad.rol.event.RolesPermisosActualizadosEvent;
+import integra.seguridad.rol.repository.RolVersionQuery;
+import integra.seguridad.rol.repository.RoleRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Versiones vigentes de cada rol, usadas por el claim {@code rv} del token.
+ * <p>
+ * El claim guarda la versión de cada rol del usuario al emitir el token; cuando cambian los permisos de un rol
+ * su versión aumenta y los tokens que lo incluyen dejan de ser vigentes sin tocar la versión de cada usuario.
+ * Las versiones se recargan tras cada cambio confirmado y periódicamente, para que otras instancias del
+ * servicio también perciban los cambios.
+ * </p>
+ */
+@Component
+@Slf4j
+public class VersionesRoles {
+
+    private final RoleRepository roleRepository;
+    private final AtomicReference<Versiones> versiones = new AtomicReference<>();
+
+    public VersionesRoles(RoleRepository roleRepository) {
+        this.roleRepository = roleRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializar() {
+        recargar();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRolesPermisosActualizados(RolesPermisosActualizadosEvent event) {
+        recargar();
+    }
+
+    @Scheduled(fixedDelayString = "${security.jwt.versiones-rol.recarga-ms:60000}", initialDelayString = "${security.jwt.versiones-rol.recarga-ms:60000}")
+    public void recargarPeriodicamente() {
+        recargar();
+    }
+
+    /**
+     * Devuelve las versiones de los roles presentes en las authorities del token, indexadas por id de rol.
+     */
+    public Map<String, Long> versionesDe(List<String> authorities) {
+        Versiones actual = obtener();
+        Map<String, Long> resultado = new HashMap<>();
+        for (String authority : authorities) {
+            RolVersionQuery rol = actual.porNombre().get(authority);
+            if (rol != null) {
+                resultado.put(String.valueOf(rol.id()), rol.version());
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Indica si todas las versiones del claim coinciden con las vigentes. Un rol eliminado invalida el claim.
+     */
+    public boolean vigentes(Map<?, ?> claim) {
+        Versiones actual = obtener();
+        for (Map.Entry<?, ?> entry : claim.entrySet()) {
+            RolVersionQuery rol = actual.porId().get(String.valueOf(entry.getKey()));
+            if (rol == null || !(entry.getValue() instanceof Number version) || version.longValue() != rol.version()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Versiones obtener() {
+        Versiones actual = versiones.get();
+        return actual != null ? actual : recargar();
+    }
+
+    private Versiones recargar() {
+        List<RolVersionQuery> roles = roleRepository.findBy(RolVersionQuery.class);
+        Map<String, RolVersionQuery> porNombre = new HashMap<>();
+        Map<String, RolVersionQuery> porId = new HashMap<>();
+        roles.forEach(rol -> {
+            porNombre.put(rol.name(), rol);
+            porId.put(String.valueOf(rol.id()), rol);
+        });
+        Versiones nuevas = new Versiones(Map.copyOf(porNombre), Map.copyOf(porId));
+        versiones.set(nuevas);
+        log.debug("Versiones de roles recargadas: {} roles", roles.size());
+        return nuevas;
+    }
+
+    private record Versiones(Map<String, RolVersionQuery> porNombre, Map<String, RolVersionQuery> porId) {
+    }
+}
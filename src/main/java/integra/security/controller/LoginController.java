@@ -3,6 +3,7 @@ package integra.security.controller;
 import integra.security.AccesoRequest;
 import integra.security.dto.JWTResponse;
 import integra.security.handler.LoginHandler;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -11,6 +12,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("auth")
@@ -19,9 +22,9 @@ public class LoginController {
     private final LoginHandler loginHandler;
 
     @PostMapping("/login")
-    public ResponseEntity<JWTResponse> login(@RequestBody @Valid AccesoRequest request) {
+    public CompletableFuture<ResponseEntity<JWTResponse>> login(@RequestBody @Valid AccesoRequest request, HttpServletRequest httpRequest) {
 
-        return ResponseEntity.ok(loginHandler.login(request));
+        return loginHandler.loginAsync(request, httpRequest.getRemoteAddr()).thenApply(ResponseEntity::ok);
     }
 
 }
\ No newline at end of file
@@ -1,33 +1,90 @@
 package integra.security.handler;
 
+import integra.globalexception.LoginSaturadoException;
 import integra.security.AccesoRequest;
 import integra.security.JwtUtil;
 import integra.security.UserPrincipal;
 import integra.security.dto.JWTResponse;
-import lombok.RequiredArgsConstructor;
+import integra.security.login.LimitadorLogin;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.stereotype.Component;
 
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class LoginHandler {
     private final AuthenticationManager authenticationManager;
     private final JwtUtil jwtUtil;
+    private final ThreadPoolTaskExecutor loginExecutor;
+    private final LimitadorLogin limitadorLogin;
+    private final MeterRegistry meterRegistry;
+    private final Timer espera;
+
+    public LoginHandler(AuthenticationManager authenticationManager, JwtUtil jwtUtil, @Qualifier("loginExecutor") ThreadPoolTaskExecutor loginExecutor, LimitadorLogin limitadorLogin, MeterRegistry meterRegistry) {
+        this.authenticationManager = authenticationManager;
+        this.jwtUtil = jwtUtil;
+        this.loginExecutor = loginExecutor;
+        this.limitadorLogin = limitadorLogin;
+        this.meterRegistry = meterRegistry;
+        this.espera = Timer.builder("integra.login.espera")
+                .description("Tiempo que una solicitud de login espera turno en el pool de login")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Ejecuta el login en el pool dedicado, liberando el hilo de la solicitud mientras BCrypt verifica la
+     * contraseña. Antes de encolarlo aplica el límite de intentos fallidos por usuario e IP, y las credenciales
+     * inválidas cuentan contra ambos; si el pool y su cola están llenos, responde de inmediato con
+     * {@link LoginSaturadoException}.
+     */
+    public CompletableFuture<JWTResponse> loginAsync(AccesoRequest request, String ip) {
+        limitadorLogin.verificar(request.username(), ip);
+        long encolado = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                espera.record(System.nanoTime() - encolado, TimeUnit.NANOSECONDS);
+                try {
+                    return login(request);
+                } catch (AuthenticationException e) {
+                    limitadorLogin.registrarFallo(request.username(), ip);
+                    throw e;
+                }
+            }, loginExecutor);
+        } catch (TaskRejectedException e) {
+            meterRegistry.counter("integra.login.rechazados").increment();
+            log.warn("Pool de login saturado, se rechaza el acceso de {}", request.username());
+            throw new LoginSaturadoException("Servicio ocupado", "Hay demasiados inicios de sesión en curso, intente de nuevo en unos segundos");
+        }
+    }
 
     public JWTResponse login(AccesoRequest request) {
         log.info("Iniciando login para usuario: {}", request.username());
-        Authentication authentication = authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(request.username(), request.password()));
-        UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
+        Timer.Sample muestra = Timer.start(meterRegistry);
+        String resultado = "error";
+        try {
+            Authentication authentication = authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(request.username(), request.password()));
+            UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
 
-        String token = jwtUtil.generateToken(user);
-        Set<String> uiPermissions = user.getPermissions().stream().collect(java.util.stream.Collectors.toSet());
+            String token = jwtUtil.generateToken(user);
+            Set<String> uiPermissions = user.getPermissions().stream().collect(java.util.stream.Collectors.toSet());
 
-        return new JWTResponse(token, "Login exitoso", uiPermissions);
+            resultado = "exito";
+            limitadorLogin.registrarExito(request.username());
+            return new JWTResponse(token, "Login exitoso", uiPermissions);
+        } finally {
+            muestra.stop(meterRegistry.timer("integra.login.duracion", "resultado", resultado));
+        }
     }
 }
@@ -0,0 +1,108 @@
+package integra.security.login;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Arrays;
+
+/**
+ * {@link BCryptPasswordEncoder} con costo configurable que solicita volver a cifrar toda contraseña cuyo
+ * costo sea menor al vigente. Así, al subir el costo, los hashes existentes se actualizan solos conforme los
+ * usuarios inician sesión; un hash con costo mayor se conserva, para que bajar el costo (por error o en un
+ * nodo con otra configuración) nunca debilite los hashes guardados.
+ * <p>
+ * El costo es el mismo en todos los nodos ({@code security.login.bcrypt.costo}): si cada nodo usara uno
+ * distinto, el mismo hash se reescribiría en cada login según el nodo que lo atendiera.
+ * </p>
+ */
+@Slf4j
+public class BCryptCostoPasswordEncoder implements PasswordEncoder {
+
+    private static final int MUESTRAS_CALIBRACION = 3;
+
+    private final BCryptPasswordEncoder delegado;
+    private final int costo;
+
+    public BCryptCostoPasswordEncoder(int costo) {
+        this.delegado = new BCryptPasswordEncoder(costo);
+        this.costo = costo;
+    }
+
+    /**
+     * Crea el encoder con el costo configurado. Si hay tiempo objetivo, la calibración de este equipo solo se
+     * informa en el log como sugerencia; nunca cambia el costo.
+     */
+    public static BCryptCostoPasswordEncoder crear(LoginProperties.Bcrypt config) {
+        log.info("BCrypt con costo configurado {}", config.getCosto());
+        if (config.getTiempoObjetivo() != null) {
+            int sugerido = calibrar(config);
+            log.info("BCrypt: costo sugerido {} para un tiempo objetivo de {} ms en este equipo (configurado {})",
+                    sugerido, config.getTiempoObjetivo().toMillis(), config.getCosto());
+        }
+        return new BCryptCostoPasswordEncoder(config.getCosto());
+    }
+
+    /**
+     * Mide el tiempo de un hash con el costo mínimo y estima el de los demás: cada punto de costo duplica
+     * las rondas. Devuelve el mayor costo cuya estimación no excede el objetivo.
+     */
+    static int calibrar(LoginProperties.Bcrypt config) {
+        BCryptPasswordEncoder prueba = new BCryptPasswordEncoder(config.getCostoMinimo());
+        prueba.encode("calibracion"); // calentamiento del JIT
+
+        long[] muestras = new long[MUESTRAS_CALIBRACION];
+        for (int i = 0; i < muestras.length; i++) {
+            long inicio = System.nanoTime();
+            prueba.encode("calibracion");
+            muestras[i] = System.nanoTime() - inicio;
+        }
+        Arrays.sort(muestras);
+        long medianaNanos = muestras[muestras.length / 2];
+        long objetivoNanos = config.getTiempoObjetivo().toNanos();
+
+        int costo = config.getCostoMinimo();
+        long estimado = medianaNanos;
+        while (costo < config.getCostoMaximo() && estimado * 2 <= objetivoNanos) {
+            costo++;
+            estimado *= 2;
+        }
+        log.debug("Calibración BCrypt: {} µs con costo {}, estimado {} µs con costo {}", medianaNanos / 1000, config.getCostoMinimo(), estimado / 1000, costo);
+        return costo;
+    }
+
+    public int getCosto() {
+        return costo;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegado.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return delegado.matches(rawPassword, encodedPassword);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        int costoGuardado = costoDe(encodedPassword);
+        return costoGuardado > 0 && costoGuardado < costo;
+    }
+
+    /**
+     * Extrae el costo de un hash con formato {@code $2a$NN$...}; devuelve 0 si no es un hash BCrypt.
+     */
+    static int costoDe(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(0) != '$' || encodedPassword.charAt(3) != '$' || encodedPassword.charAt(6) != '$') {
+            return 0;
+        }
+        char decenas = encodedPassword.charAt(4);
+        char unidades = encodedPassword.charAt(5);
+        if (!Character.isDigit(decenas) || !Character.isDigit(unidades)) {
+            return 0;
+        }
+        return (decenas - '0') * 10 + (unidades - '0');
+    }
+}
@@ -0,0 +1,167 @@
+package integra.security.login;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import integra.globalexception.LoginLimitadoException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Limita los intentos de inicio de sesión por usuario y por IP con una ventana deslizante en memoria.
+ * <p>
+ * Se consulta antes de encolar el login, de modo que una ráfaga de intentos (p. ej., relleno de credenciales)
+ * se rechaza sin consultar la base de datos ni ejecutar BCrypt. Los contadores viven en una caché acotada que
+ * descarta las claves inactivas durante dos ventanas.
+ * </p>
+ * <p>
+ * Solo cuentan los intentos fallidos ({@link #registrarFallo}): contar cada intento permitiría a cualquiera
+ * bloquear una cuenta ajena con solo enviar su nombre de usuario, y a quienes comparten una IP les bastaría
+ * entrar sin errores para agotarla. Un login exitoso reinicia el contador del usuario. El límite por IP es
+ * opcional ({@code security.login.limite.ip-habilitado}) porque la IP de la conexión no siempre identifica al
+ * cliente. Los intentos que ya están en curso cuando se alcanza el límite no se detienen, así que el exceso
+ * queda acotado por el tamaño del pool de login.
+ * </p>
+ */
+@Component
+@Slf4j
+public class LimitadorLogin {
+
+    private static final String PREFIJO_USUARIO = "u:";
+    private static final String PREFIJO_IP = "ip:";
+
+    private final LoginProperties.Limite config;
+    private final Cache<String, VentanaDeslizante> ventanas;
+    private final Counter rechazosUsuario;
+    private final Counter rechazosIp;
+
+    public LimitadorLogin(LoginProperties properties, MeterRegistry meterRegistry) {
+        this.config = properties.getLimite();
+        Cache<String, VentanaDeslizante> cache = Caffeine.newBuilder()
+                .maximumSize(config.getMaximoClaves())
+                .expireAfterAccess(config.getVentana().multipliedBy(2))
+                .recordStats()
+                .build();
+        this.ventanas = CaffeineCacheMetrics.monitor(meterRegistry, cache, "limiteLogin");
+        this.rechazosUsuario = Counter.builder("integra.login.limitados")
+                .description("Intentos de login rechazados por exceder el límite de la ventana")
+                .tag("clave", "usuario")
+                .register(meterRegistry);
+        this.rechazosIp = Counter.builder("integra.login.limitados")
+                .description("Intentos de login rechazados por exceder el límite de la ventana")
+                .tag("clave", "ip")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Lanza {@link LoginLimitadoException} si el usuario o la IP ya agotaron sus fallos en la ventana. No cuenta
+     * el intento ni crea contadores: eso lo hace {@link #registrarFallo} cuando las credenciales son inválidas.
+     */
+    public void verificar(String username, String ip) {
+        if (!config.isHabilitado()) {
+            return;
+        }
+        long ahora = System.currentTimeMillis();
+        long ventanaMillis = config.getVentana().toMillis();
+
+        if (limitaIp(ip) && agotada(ventanas.getIfPresent(PREFIJO_IP + ip), ahora, ventanaMillis, config.getMaximoPorIp())) {
+            rechazosIp.increment();
+            log.warn("Login limitado para la IP {}", ip);
+            throw rechazo();
+        }
+        if (agotada(ventanas.getIfPresent(PREFIJO_USUARIO + normalizar(username)), ahora, ventanaMillis, config.getMaximoPorUsuario())) {
+            rechazosUsuario.increment();
+            log.warn("Login limitado para el usuario {}", username);
+            throw rechazo();
+        }
+    }
+
+    /**
+     * Reinicia el contador del usuario tras un login exitoso; el de la IP se conserva.
+     */
+    public void registrarExito(String username) {
+        ventanas.invalidate(PREFIJO_USUARIO + normalizar(username));
+    }
+
+    /**
+     * Cuenta un intento fallido (credenciales inválidas) contra el usuario y, si su límite está habilitado,
+     * contra la IP.
+     */
+    public void registrarFallo(String username, String ip) {
+        if (!config.isHabilitado()) {
+            return;
+        }
+        long ahora = System.currentTimeMillis();
+        long ventanaMillis = config.getVentana().toMillis();
+        ventana(PREFIJO_USUARIO + normalizar(username)).registrar(ahora, ventanaMillis);
+        if (limitaIp(ip)) {
+            ventana(PREFIJO_IP + ip).registrar(ahora, ventanaMillis);
+        }
+    }
+
+    /**
+     * Estado para Actuator. Solo publica conteos: los nombres de usuario y las IPs no salen del proceso.
+     */
+    public Map<String, Object> estado() {
+        long ahora = System.currentTimeMillis();
+        long ventanaMillis = config.getVentana().toMillis();
+        long usuariosConFallos = 0;
+        long usuariosLimitados = 0;
+        long ipsConFallos = 0;
+        long ipsLimitadas = 0;
+        for (Map.Entry<String, VentanaDeslizante> entry : ventanas.asMap().entrySet()) {
+            double fallos = entry.getValue().estimar(ahora, ventanaMillis);
+            if (fallos <= 0) {
+                continue;
+            }
+            if (entry.getKey().startsWith(PREFIJO_IP)) {
+                ipsConFallos++;
+                ipsLimitadas += fallos >= config.getMaximoPorIp() ? 1 : 0;
+            } else {
+                usuariosConFallos++;
+                usuariosLimitados += fallos >= config.getMaximoPorUsuario() ? 1 : 0;
+            }
+        }
+
+        Map<String, Object> estado = new LinkedHashMap<>();
+        estado.put("habilitado", config.isHabilitado());
+        estado.put("ventana", config.getVentana().toString());
+        estado.put("maximoPorUsuario", config.getMaximoPorUsuario());
+        estado.put("ipHabilitado", config.isIpHabilitado());
+        estado.put("maximoPorIp", config.getMaximoPorIp());
+        estado.put("clavesActivas", ventanas.estimatedSize());
+        estado.put("rechazosUsuario", (long) rechazosUsuario.count());
+        estado.put("rechazosIp", (long) rechazosIp.count());
+        estado.put("usuariosConFallos", usuariosConFallos);
+        estado.put("usuariosLimitados", usuariosLimitados);
+        estado.put("ipsConFallos", ipsConFallos);
+        estado.put("ipsLimitadas", ipsLimitadas);
+        return estado;
+    }
+
+    private boolean limitaIp(String ip) {
+        return config.isIpHabilitado() && ip != null;
+    }
+
+    private static boolean agotada(VentanaDeslizante ventana, long ahora, long ventanaMillis, int maximo) {
+        return ventana != null && ventana.estimar(ahora, ventanaMillis) >= maximo;
+    }
+
+    private VentanaDeslizante ventana(String clave) {
+        return ventanas.get(clave, k -> new VentanaDeslizante());
+    }
+
+    private LoginLimitadoException rechazo() {
+        return new LoginLimitadoException("Demasiados intentos", "Se excedió el número de intentos de acceso, intente de nuevo más tarde", Math.max(1, config.getVentana().toSeconds()));
+    }
+
+    private static String normalizar(String username) {
+        return username == null ? "" : username.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,24 @@
+package integra.security.login;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Expone el estado de {@link LimitadorLogin} en {@code /actuator/limitelogin}, solo con conteos.
+ */
+@Component
+@Endpoint(id = "limitelogin")
+@RequiredArgsConstructor
+public class LimitadorLoginEndpoint {
+
+    private final LimitadorLogin limitadorLogin;
+
+    @ReadOperation
+    public Map<String, Object> estado() {
+        return limitadorLogin.estado();
+    }
+}
@@ -0,0 +1,29 @@
+package integra.security.login;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.Collections;
+
+@Configuration
+public class LoginExecutorConfig {
+
+    /**
+     * Pool acotado para el login. Sin crecimiento más allá del núcleo: el trabajo es CPU (BCrypt) y más hilos
+     * solo competirían con el resto del servicio. Cuando la cola se llena, la tarea se rechaza de inmediato.
+     */
+    @Bean("loginExecutor")
+    public ThreadPoolTaskExecutor loginExecutor(LoginProperties properties, MeterRegistry meterRegistry) {
+        ThreadPoolTaskExecutor exec = new ThreadPoolTaskExecutor();
+        exec.setCorePoolSize(properties.hilosEfectivos());
+        exec.setMaxPoolSize(properties.hilosEfectivos());
+        exec.setQueueCapacity(properties.getCola());
+        exec.setThreadNamePrefix("LoginExec-");
+        exec.initialize();
+        new ExecutorServiceMetrics(exec.getThreadPoolExecutor(), "login", Collections.emptyList()).bindTo(meterRegistry);
+        return exec;
+    }
+}
@@ -0,0 +1,91 @@
+package integra.security.login;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Parámetros del inicio de sesión.
+ * <p>
+ * El login se ejecuta en su propio pool acotado para que una ráfaga de accesos (p. ej., al inicio de turno)
+ * no consuma los hilos ni la CPU que atienden las checadas de los kioscos.
+ * </p>
+ */
+@Component
+@ConfigurationProperties(prefix = "security.login")
+@Data
+public class LoginProperties {
+
+    /**
+     * Hilos dedicados al login; 0 usa la mitad de los procesadores disponibles.
+     */
+    private int hilos = 0;
+
+    /**
+     * Solicitudes de login que pueden esperar turno; al llenarse se responde 503.
+     */
+    private int cola = 64;
+
+    private final Bcrypt bcrypt = new Bcrypt();
+
+    private final Limite limite = new Limite();
+
+    public int hilosEfectivos() {
+        return hilos > 0 ? hilos : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    }
+
+    @Data
+    public static class Bcrypt {
+        /**
+         * Costo (log2 de rondas) de los nuevos hashes; debe ser el mismo en todos los nodos. Las contraseñas
+         * con un costo menor se vuelven a cifrar en el siguiente login exitoso.
+         */
+        private int costo = 10;
+
+        /**
+         * Si se indica, al arrancar se mide el equipo y se registra en el log el mayor costo entre
+         * {@link #costoMinimo} y {@link #costoMaximo} cuya verificación no exceda este tiempo. Es solo una
+         * sugerencia para ajustar {@link #costo}; no se aplica.
+         */
+        private Duration tiempoObjetivo;
+
+        private int costoMinimo = 10;
+
+        private int costoMaximo = 14;
+    }
+
+    @Data
+    public static class Limite {
+        private boolean habilitado = true;
+
+        /**
+         * Duración de la ventana deslizante de intentos.
+         */
+        private Duration ventana = Duration.ofMinutes(1);
+
+        /**
+         * Intentos fallidos permitidos por usuario dentro de la ventana; un login exitoso reinicia su contador.
+         */
+        private int maximoPorUsuario = 10;
+
+        /**
+         * Habilita el límite por IP. Está deshabilitado por defecto: la IP es la de la conexión
+         * ({@code getRemoteAddr}), y detrás de un proxy o de un NAT, como los kioscos de una sucursal, muchas
+         * personas comparten la misma. Solo debe habilitarse cuando esa IP identifique al cliente.
+         */
+        private boolean ipHabilitado = false;
+
+        /**
+         * Intentos fallidos permitidos por IP dentro de la ventana, sumando todos los usuarios. Los logins
+         * exitosos no cuentan.
+         */
+        private int maximoPorIp = 60;
+
+        /**
+         * Máximo de usuarios e IPs con contador en memoria.
+         */
+        private long maximoClaves = 100_000;
+    }
+}
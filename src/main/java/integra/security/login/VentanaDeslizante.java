@@ -0,0 +1,64 @@
+package integra.security.login;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contador de ventana deslizante aproximada, sin bloqueos.
+ * <p>
+ * Conserva los intentos de la ventana fija actual y de la anterior; la estimación de la ventana deslizante
+ * pondera la anterior por la fracción que aún se solapa. Todo el estado se empaqueta en un {@code long}
+ * (índice de ventana: 32 bits, contador actual: 16 bits, contador anterior: 16 bits) y se actualiza con CAS.
+ * </p>
+ */
+final class VentanaDeslizante {
+
+    private static final long MAXIMO_CONTADOR = 0xFFFF;
+
+    private final AtomicLong estado = new AtomicLong();
+
+    /**
+     * Registra un intento; el límite lo evalúa quien consulta {@link #estimar}.
+     */
+    void registrar(long ahoraMillis, long ventanaMillis) {
+        long indice = ahoraMillis / ventanaMillis;
+        while (true) {
+            long actual = estado.get();
+            long[] contadores = contadores(actual, indice);
+            long siguiente = empaquetar(indice, Math.min(contadores[0] + 1, MAXIMO_CONTADOR), contadores[1]);
+            if (estado.compareAndSet(actual, siguiente)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Intentos estimados dentro de la ventana deslizante que termina en {@code ahoraMillis}.
+     */
+    double estimar(long ahoraMillis, long ventanaMillis) {
+        long indice = ahoraMillis / ventanaMillis;
+        double solapamiento = 1.0 - (double) (ahoraMillis % ventanaMillis) / ventanaMillis;
+        long[] contadores = contadores(estado.get(), indice);
+        return contadores[0] + contadores[1] * solapamiento;
+    }
+
+    /**
+     * Devuelve {actual, anterior} trasladados a la ventana {@code indice}.
+     */
+    private static long[] contadores(long estado, long indice) {
+        long indiceGuardado = estado >>> 32;
+        long actual = (estado >>> 16) & MAXIMO_CONTADOR;
+        long anterior = estado & MAXIMO_CONTADOR;
+        long indiceActual = indice & 0xFFFF_FFFFL;
+        if (indiceGuardado == indiceActual) {
+            return new long[]{actual, anterior};
+        }
+        if (indiceGuardado + 1 == indiceActual) {
+            return new long[]{0, actual};
+        }
+        return new long[]{0, 0};
+    }
+
+    private static long empaquetar(long indice, long actual, long anterior) {
+        return ((indice & 0xFFFF_FFFFL) << 32) | (actual << 16) | anterior;
+    }
+}
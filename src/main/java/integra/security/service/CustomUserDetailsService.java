@@ -1,76 +1,53 @@
 package integra.security.service;
 
-import integra.config.db.SystemIdProvider;
-import integra.empleado.EmpleadoEntity;
-import integra.empleado.EmpleadoRepository;
 import integra.globalexception.LoginException;
-import integra.model.Usuario;
 import integra.security.UserPrincipal;
-import integra.seguridad.rol.model.Rol;
+import integra.seguridad.usuario.event.PrivilegiosUsuarioModificadosEvent;
 import integra.seguridad.usuario.repository.UserRepository;
+import integra.seguridad.usuario.service.PrivilegiosUsuarioService;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.HashSet;
-import java.util.Optional;
-import java.util.Set;
-import java.util.stream.Collectors;
-
 @Service
 @RequiredArgsConstructor
-@Transactional(readOnly = true)
-public class CustomUserDetailsService implements UserDetailsService {
+@Slf4j
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
     private final UserRepository userRepository;
-    private final EmpleadoRepository empleadoRepository;
-    private final SystemIdProvider systemIdProvider;
+    private final PrivilegiosUsuarioService privilegiosUsuarioService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
 
+    /**
+     * Construye el principal desde la instantánea de privilegios en caché (roles, permisos y supervisor).
+     */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        var user = userRepository.findByUsername(username)
+        var privilegios = privilegiosUsuarioService.obtenerPorUsername(username)
                 .orElseThrow(() -> new LoginException("Acceso denegado", "Verifique sus credenciales de acceso"));
-        Optional<EmpleadoEntity> empleado = Optional.empty();
-        if (user.getEmpleadoId() != null) {
-            empleado = empleadoRepository.findById(user.getEmpleadoId());
-        }
-
-        Usuario usuario = new Usuario(user.getId(), user.getUsername(), user.getPassword(), user.getFullname(), user.getEmail(), user.getEnabled());
-        // Obtener permisos de roles
-        Set<String> permisosDeRoles = new HashSet<>();
-
-        Set<Rol> roles = user.getUserRoles().stream().map(userRole -> {
-            var rol = userRole.getRole();
-            permisosDeRoles.addAll(rol.getPermissionsList());
-            return new Rol(rol.getName());
-        }).collect(Collectors.toSet());
-
-        // Todos los permisos directos del usuario
-        Set<String> permisosDirectos = new HashSet<>(user.getPermissionNameList());
-
-        // Permisos especiales = permisos directos - permisos que ya vienen de roles
-        Set<String> permisosEspeciales = new HashSet<>(permisosDirectos);
-        permisosEspeciales.removeAll(permisosDeRoles);
-
-        // Todos los permisos para UI
-        Set<String> todosLosPermisos = new HashSet<>(permisosDeRoles);
-        todosLosPermisos.addAll(permisosDirectos);
-
-        usuario.setRoles(roles);
-        empleado.ifPresent(empleadoEntity -> {
-            usuario.setEmpleadoId(empleadoEntity.getId());
-            usuario.setEsSupervisor(empleadoEntity.getPuesto()
-                    .getId()
-                    .equals(systemIdProvider.getIdPuestoSupervisor()));
-        });
-        usuario.setUsuario(user.getFullname());
-        usuario.setPermisos(todosLosPermisos); // todos para UI
-        usuario.setPermisosEspeciales(permisosEspeciales); // solo especiales para JWT
-        usuario.setAuthorities(todosLosPermisos);
-
-        return UserPrincipal.crear(usuario);
+        return UserPrincipal.crear(privilegios.aUsuarioAcceso());
     }
 
-}
\ No newline at end of file
+    /**
+     * Guarda el hash recalculado tras un login exitoso cuyo hash tenía un costo BCrypt menor al vigente.
+     * Lo invoca {@code DaoAuthenticationProvider} con la contraseña recién verificada.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePasswordByUsername(newPassword, user.getUsername());
+        if (user instanceof UserPrincipal principal) {
+            eventPublisher.publishEvent(new PrivilegiosUsuarioModificadosEvent(principal.getId()));
+        }
+        meterRegistry.counter("integra.login.rehash").increment();
+        log.debug("Contraseña de {} cifrada de nuevo con el costo BCrypt vigente", user.getUsername());
+        return user;
+    }
+}
@@ -1,6 +1,7 @@
 package integra.security.token;
 
 import integra.security.JwtUtil;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -19,13 +20,14 @@ public class JwtTokenValidator implements TokenValidator {
 
     @Override
     public TokenValidationResult validateToken(String token) {
+        Claims claims = jwtUtil.extractAllClaims(token);
 
-        if (jwtUtil.isTokenExpired(token)) {
+        if (jwtUtil.isTokenExpired(claims)) {
             log.info("Token expired");
             return new TokenValidationResult(TokenStatus.EXPIRED, "Token has expired");
         }
 
-        if (jwtUtil.esVersionDeprecada(token)) {
+        if (jwtUtil.esVersionDeprecada(claims)) {
             log.info("Token version deprecated");
             throw new ExpiredJwtException(null, null, "Token version deprecated");
         }
@@ -0,0 +1,8 @@
+package integra.seguridad.rol.event;
+
+/**
+ * Se publica cuando cambia la asignación de permisos a roles. Los consumidores reconstruyen sus
+ * estructuras derivadas una vez confirmada la transacción.
+ */
+public record RolesPermisosActualizadosEvent() {
+}
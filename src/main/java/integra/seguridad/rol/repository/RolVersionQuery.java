@@ -0,0 +1,11 @@
+package integra.seguridad.rol.repository;
+
+import integra.seguridad.rol.entity.Role;
+
+import java.io.Serializable;
+
+/**
+ * DTO for {@link Role}
+ */
+public record RolVersionQuery(Long id, String name, Long version) implements Serializable {
+}
@@ -12,9 +12,13 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional
 public class ActualizarRolService {
     private final RoleRepository repository;
+    private final RolesPermisosService rolesPermisosService;
 
     public int actualizarNombreRol(Long id, RolCommand data) {
         var rol = new Role(id, data.getNombre(), data.getDescripcion());
-        return repository.updateNameAndDescriptionById(rol.getName(), rol.getDescription(), rol.getId());
+        int actualizados = repository.updateNameAndDescriptionById(rol.getName(), rol.getDescription(), rol.getId());
+        // Los tokens y las instantáneas de privilegios llevan el nombre del rol
+        rolesPermisosService.limpiarCacheRolesPermisos();
+        return actualizados;
     }
 }
\ No newline at end of file
@@ -10,8 +10,10 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional
 public class EliminarRolService {
     private final RoleRepository repository;
+    private final RolesPermisosService rolesPermisosService;
 
     public void eliminarRol(Long id) {
         repository.deleteById(id);
+        rolesPermisosService.limpiarCacheRolesPermisos();
     }
 }
\ No newline at end of file
@@ -1,8 +1,8 @@
 package integra.seguridad.rol.service;
 
-import integra.seguridad.usuario.repository.UserRepository;
 import integra.seguridad.usuario.service.TokenVersionService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -10,14 +10,20 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 @Transactional
 public class InvalidarTokensRolService {
-    private final UserRepository userRepository;
     private final TokenVersionService tokenVersionService;
 
-    public void invalidarTokensPorRol(Long rolId) {
-        // Buscar todos los usuarios que tienen este rol
-        var usuarios = userRepository.findUsernamesByRoleId(rolId);
+    /**
+     * Con el claim de versión por rol habilitado, el aumento de {@code roles.version} ya invalida los tokens
+     * que incluyen el rol y no es necesario tocar la versión de cada usuario.
+     */
+    @Value("${security.jwt.version-rol:false}")
+    private boolean versionPorRol;
 
-        // Incrementar versión de token para cada usuario
-        usuarios.forEach(tokenVersionService::incrementVersion);
+    public void invalidarTokensPorRol(Long rolId) {
+        if (versionPorRol) {
+            return;
+        }
+        // Incrementar la versión de token de todos los usuarios con este rol en una sola sentencia
+        tokenVersionService.incrementarVersionPorRol(rolId);
     }
-}
\ No newline at end of file
+}
@@ -1,11 +1,15 @@
 package integra.seguridad.rol.service;
 
+import integra.config.cache.bus.CacheInvalidadaRemotamenteEvent;
 import integra.model.Permiso;
+import integra.seguridad.rol.event.RolesPermisosActualizadosEvent;
 import integra.seguridad.rol.model.Rol;
 import integra.seguridad.rol.repository.RoleRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,9 +21,17 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class RolesPermisosService {
     private final RoleRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Cacheable(value = "rolesPermisos", unless = "#result == null")
     public List<Rol> obtenerRolesConPermisos() {
+        return cargarRolesConPermisos();
+    }
+
+    /**
+     * Consulta los roles con sus permisos sin pasar por la caché.
+     */
+    public List<Rol> cargarRolesConPermisos() {
         return repository.findAll()
                 .stream()
                 .map(role -> new Rol(role.getId(), role.getName(), role.getDescription(), role.getPermissions()
@@ -31,6 +43,17 @@ public class RolesPermisosService {
 
     @CacheEvict(value = "rolesPermisos", allEntries = true)
     public void limpiarCacheRolesPermisos() {
-        // Solo limpia cache, no es necesario código adicional
+        // El índice de autoridades se reconstruye al confirmar la transacción
+        eventPublisher.publishEvent(new RolesPermisosActualizadosEvent());
+    }
+
+    /**
+     * Otro nodo modificó roles o permisos: además de la caché, se reconstruyen los índices derivados de este nodo.
+     */
+    @EventListener
+    public void onCacheInvalidadaRemotamente(CacheInvalidadaRemotamenteEvent event) {
+        if ("rolesPermisos".equals(event.cache())) {
+            eventPublisher.publishEvent(new RolesPermisosActualizadosEvent());
+        }
     }
 }
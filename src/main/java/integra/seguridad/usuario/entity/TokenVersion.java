@@ -7,6 +7,8 @@ import lombok.Getter;
 import lombok.Setter;
 import org.hibernate.annotations.ColumnDefault;
 
+import java.time.LocalDateTime;
+
 @Getter
 @Setter
 @Entity
@@ -29,6 +31,13 @@ public class TokenVersion {
     @Column(name = "version", nullable = false)
     private Integer version;
 
+    /**
+     * Marca de la última modificación, mantenida por la base de datos ({@code ON UPDATE CURRENT_TIMESTAMP}).
+     * Los nodos la usan como marca de agua para leer solo las versiones cambiadas.
+     */
+    @Column(name = "updated_at", insertable = false, updatable = false)
+    private LocalDateTime updatedAt;
+
     public TokenVersion(Integer id, String username, Integer version) {
         this.id = id;
         this.username = username;
@@ -0,0 +1,10 @@
+package integra.seguridad.usuario.event;
+
+/**
+ * Se publica cuando cambian los datos de acceso de un usuario (estatus, permisos especiales, contraseña o baja).
+ * Tras el commit se descarta su {@link integra.seguridad.usuario.query.InstantaneaPrivilegios} en caché.
+ *
+ * @param usuarioId id del usuario modificado
+ */
+public record PrivilegiosUsuarioModificadosEvent(Long usuarioId) {
+}
@@ -0,0 +1,118 @@
+package integra.seguridad.usuario.query;
+
+import integra.model.Usuario;
+import integra.seguridad.rol.model.Rol;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Datos de acceso de un usuario: roles con sus permisos, permisos directos y estatus de supervisor.
+ * <p>
+ * Se arma con una sola consulta ({@link PrivilegioFila}) y es inmutable; la comparten el login, la
+ * renovación del token y la consulta de privilegios. {@code generacion} identifica la versión del
+ * catálogo de roles con la que se cargó.
+ * </p>
+ */
+public record InstantaneaPrivilegios(long generacion,
+                                     Long id,
+                                     String username,
+                                     String password,
+                                     String fullname,
+                                     String email,
+                                     Boolean activo,
+                                     Integer empleadoId,
+                                     Boolean esSupervisor,
+                                     List<RolPrivilegios> roles,
+                                     Set<String> permisosDirectos) {
+
+    public record RolPrivilegios(Long id, String nombre, String descripcion, Set<String> permisos) {
+    }
+
+    /**
+     * Agrupa las filas de la consulta; devuelve null si no hay filas (usuario inexistente).
+     */
+    public static InstantaneaPrivilegios de(long generacion, List<PrivilegioFila> filas, Integer idPuestoSupervisor) {
+        if (filas.isEmpty()) {
+            return null;
+        }
+        PrivilegioFila usuario = filas.stream().filter(InstantaneaPrivilegios::esFilaRol).findFirst().orElse(filas.getFirst());
+        Map<Long, RolPrivilegios> roles = new LinkedHashMap<>();
+        Set<String> directos = new HashSet<>();
+        for (PrivilegioFila fila : filas) {
+            if (!esFilaRol(fila)) {
+                directos.add(fila.getPermiso());
+                continue;
+            }
+            if (fila.getRolId() == null) {
+                continue;
+            }
+            RolPrivilegios rol = roles.computeIfAbsent(fila.getRolId(), id -> new RolPrivilegios(id, fila.getRolNombre(), fila.getRolDescripcion(), new HashSet<>()));
+            if (fila.getPermiso() != null) {
+                rol.permisos().add(fila.getPermiso());
+            }
+        }
+
+        Integer empleadoId = usuario.getEmpleadoId();
+        Boolean esSupervisor = empleadoId != null ? idPuestoSupervisor.equals(usuario.getPuestoId()) : null;
+        List<RolPrivilegios> rolesInmutables = roles.values().stream()
+                .map(rol -> new RolPrivilegios(rol.id(), rol.nombre(), rol.descripcion(), Set.copyOf(rol.permisos())))
+                .toList();
+        return new InstantaneaPrivilegios(generacion, usuario.getId(), usuario.getUsername(), usuario.getPassword(), usuario.getFullname(), usuario.getEmail(), usuario.getEnabled(), empleadoId, esSupervisor, rolesInmutables, Set.copyOf(directos));
+    }
+
+    private static boolean esFilaRol(PrivilegioFila fila) {
+        return fila.getEspecial() == null || fila.getEspecial() == 0;
+    }
+
+    /**
+     * Usuario para autenticación: todos los permisos para la UI y, aparte, los especiales (directos que
+     * no llegan por ningún rol) que viajan en el token.
+     */
+    public Usuario aUsuarioAcceso() {
+        Set<String> permisosDeRoles = new HashSet<>();
+        Set<Rol> rolesAcceso = new HashSet<>();
+        roles.forEach(rol -> {
+            permisosDeRoles.addAll(rol.permisos());
+            rolesAcceso.add(new Rol(rol.nombre()));
+        });
+
+        Set<String> permisosEspeciales = new HashSet<>(permisosDirectos);
+        permisosEspeciales.removeAll(permisosDeRoles);
+
+        Set<String> todosLosPermisos = new HashSet<>(permisosDeRoles);
+        todosLosPermisos.addAll(permisosDirectos);
+
+        Usuario usuario = new Usuario(id, username, password, fullname, email, activo);
+        usuario.setRoles(rolesAcceso);
+        usuario.setEmpleadoId(empleadoId);
+        usuario.setEsSupervisor(esSupervisor);
+        usuario.setPermisos(todosLosPermisos);
+        usuario.setPermisosEspeciales(permisosEspeciales);
+        usuario.setAuthorities(todosLosPermisos);
+        return usuario;
+    }
+
+    /**
+     * Usuario para la consulta de privilegios: roles con sus permisos y los permisos directos.
+     */
+    public Usuario aUsuarioPrivilegios() {
+        Usuario usuario = new Usuario();
+        usuario.setId(id);
+        usuario.setNombre(username);
+        usuario.setEmail(email);
+        usuario.setActivo(activo);
+        Set<Rol> rolesPrivilegios = new HashSet<>();
+        roles.forEach(rol -> {
+            Rol modelo = new Rol(rol.id(), rol.nombre(), rol.descripcion());
+            modelo.setPermisosList(rol.permisos());
+            rolesPrivilegios.add(modelo);
+        });
+        usuario.setRoles(rolesPrivilegios);
+        usuario.setPermisos(new HashSet<>(permisosDirectos));
+        return usuario;
+    }
+}
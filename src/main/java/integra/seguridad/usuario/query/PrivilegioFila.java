@@ -0,0 +1,33 @@
+package integra.seguridad.usuario.query;
+
+/**
+ * Fila de la consulta de privilegios de un usuario: datos del usuario repetidos en cada fila, más un permiso
+ * de rol ({@code especial = 0}, con los datos del rol) o un permiso directo ({@code especial = 1}).
+ */
+public interface PrivilegioFila {
+    Long getId();
+
+    String getUsername();
+
+    String getPassword();
+
+    String getFullname();
+
+    String getEmail();
+
+    Boolean getEnabled();
+
+    Integer getEmpleadoId();
+
+    Integer getPuestoId();
+
+    Long getRolId();
+
+    String getRolNombre();
+
+    String getRolDescripcion();
+
+    String getPermiso();
+
+    Integer getEspecial();
+}
@@ -1,11 +1,36 @@
 package integra.seguridad.usuario.repository;
 
 import integra.seguridad.usuario.entity.TokenVersion;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface TokenVersionRepository extends CrudRepository<TokenVersion, Integer> {
     Optional<TokenVersion> findByUsername(String username);
 
-}
\ No newline at end of file
+    /**
+     * Versiones modificadas desde la marca de agua indicada (inclusive).
+     */
+    List<TokenVersion> findByUpdatedAtGreaterThanEqual(LocalDateTime desde);
+
+    /**
+     * Incrementa en una sola sentencia la versión de token de todos los usuarios con el rol indicado.
+     * <p>
+     * Antes de la sentencia se escriben los cambios pendientes de la transacción (p. ej. los permisos del rol):
+     * la sentencia no toca esas tablas, así que el flush automático no los incluiría y el {@code clear} posterior
+     * los descartaría.
+     * </p>
+     *
+     * @param roleId id del rol
+     * @return número de versiones incrementadas
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE TokenVersion tv SET tv.version = tv.version + 1 WHERE tv.username IN (SELECT u.username FROM User u JOIN u.userRoles ur WHERE ur.role.id = :roleId)")
+    int incrementarVersionPorRol(@Param("roleId") Long roleId);
+
+}
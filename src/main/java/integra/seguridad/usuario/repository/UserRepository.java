@@ -1,10 +1,12 @@
 package integra.seguridad.usuario.repository;
 
 import integra.seguridad.usuario.entity.User;
+import integra.seguridad.usuario.query.PrivilegioFila;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,6 +23,36 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("update User u set u.enabled = ?1 where u.id = ?2")
     int updateEnabledById(Boolean enabled, Long id);
 
+    @Transactional
+    @Modifying
+    @Query("update User u set u.password = ?1 where u.username = ?2")
+    int updatePasswordByUsername(String password, String username);
+
+
+    /**
+     * Privilegios de un usuario en una sola consulta: una fila por permiso de cada rol (o una por rol sin
+     * permisos, o una sola sin roles) y una por permiso directo.
+     */
+    @Query(value = """
+            SELECT u.id AS id, u.username AS username, u.password AS password, u.fullname AS fullname, u.email AS email,
+                   u.enabled AS enabled, e.id AS empleadoId, e.puesto_id AS puestoId,
+                   r.id AS rolId, r.name AS rolNombre, r.description AS rolDescripcion, rp.permission_id AS permiso, 0 AS especial
+            FROM users u
+            LEFT JOIN empleado e ON e.id = u.empleado_id
+            LEFT JOIN user_roles ur ON ur.user_id = u.id
+            LEFT JOIN roles r ON r.id = ur.role_id
+            LEFT JOIN role_permissions rp ON rp.role_id = r.id
+            WHERE u.username = :username
+            UNION ALL
+            SELECT u.id, u.username, u.password, u.fullname, u.email, u.enabled, NULL, NULL, NULL, NULL, NULL, up.permission_id, 1
+            FROM users u
+            JOIN user_permissions up ON up.user_id = u.id
+            WHERE u.username = :username
+            """, nativeQuery = true)
+    List<PrivilegioFila> findPrivilegiosByUsername(@Param("username") String username);
+
+    @Query("SELECT u.username FROM User u WHERE u.id = :id")
+    Optional<String> findUsernameById(@Param("id") Long id);
 
     <T> List<T> findBy(Class<T> type);
 
@@ -1,7 +1,9 @@
 package integra.seguridad.usuario.service;
 
+import integra.seguridad.usuario.event.PrivilegiosUsuarioModificadosEvent;
 import integra.seguridad.usuario.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -10,8 +12,10 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class ActualizarEstatusService {
     private final UserRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public void execute(Long idUsuario, Boolean newStatus) {
         repository.updateEnabledById(newStatus, idUsuario);
+        eventPublisher.publishEvent(new PrivilegiosUsuarioModificadosEvent(idUsuario));
     }
 }
@@ -2,8 +2,10 @@ package integra.seguridad.usuario.service;
 
 import integra.globalexception.DataNotFoundException;
 import integra.seguridad.rol.command.ActualizarPermisoEspecialCommand;
+import integra.seguridad.usuario.event.PrivilegiosUsuarioModificadosEvent;
 import integra.seguridad.usuario.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,6 +14,7 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional
 public class ActualizarPermisosEspecialesService {
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public void actualizarPermisosEspeciales(ActualizarPermisoEspecialCommand command) {
         var user = userRepository.findById(command.getId())
@@ -26,6 +29,6 @@ public class ActualizarPermisosEspecialesService {
 //                    .toList();
 //            user.setUserPermissions(permisosReferencias);
 //        }
-
+        eventPublisher.publishEvent(new PrivilegiosUsuarioModificadosEvent(command.getId()));
     }
 }
@@ -2,8 +2,10 @@ package integra.seguridad.usuario.service;
 
 import integra.config.db.SystemIdProvider;
 import integra.globalexception.BusinessRuleException;
+import integra.seguridad.usuario.event.PrivilegiosUsuarioModificadosEvent;
 import integra.seguridad.usuario.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -13,6 +15,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class EliminarUsuarioService {
     private final UserRepository repository;
     private final SystemIdProvider systemIdProvider;
+    private final ApplicationEventPublisher eventPublisher;
 
     public void execute(Long id) {
         if (id.equals(systemIdProvider.getIdUsuarioAdmin())) {
@@ -21,5 +24,6 @@ public class EliminarUsuarioService {
         }
 
         repository.deleteById(id);
+        eventPublisher.publishEvent(new PrivilegiosUsuarioModificadosEvent(id));
     }
 }
@@ -0,0 +1,152 @@
+package integra.seguridad.usuario.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import integra.config.cache.bus.BusInvalidacion;
+import integra.config.cache.bus.Invalidacion;
+import integra.config.db.ConfiguracionApp;
+import integra.config.db.ConfiguracionModificadaEvent;
+import integra.config.db.SystemIdProvider;
+import integra.seguridad.rol.event.RolesPermisosActualizadosEvent;
+import integra.seguridad.usuario.event.PrivilegiosUsuarioModificadosEvent;
+import integra.seguridad.usuario.query.InstantaneaPrivilegios;
+import integra.seguridad.usuario.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caché de {@link InstantaneaPrivilegios} por usuario, compartida por el login, la renovación del token y
+ * la consulta de privilegios.
+ * <p>
+ * Un cambio de estatus, de permisos especiales o de contraseña descarta la instantánea del usuario tras el
+ * commit ({@link PrivilegiosUsuarioModificadosEvent}). Un cambio de permisos de rol afecta a cualquier usuario,
+ * así que avanza la generación: las instantáneas de generaciones anteriores, incluidas las que se estuvieran
+ * cargando en ese momento, se vuelven a consultar en su siguiente uso.
+ * </p>
+ * <p>
+ * Con varios nodos, el descarte por usuario se publica en el {@link BusInvalidacion} (canal {@value #BUS}) para
+ * que un usuario deshabilitado en un nodo no pueda iniciar sesión en otro. La generación avanza en los demás
+ * nodos con el descarte remoto de {@code rolesPermisos}, que vuelve a publicar ahí el
+ * {@link RolesPermisosActualizadosEvent}. Sin bus, los otros nodos ven el cambio cuando expira la instantánea
+ * ({@code security.privilegios.ttl}).
+ * </p>
+ */
+@Service
+@Slf4j
+public class PrivilegiosUsuarioService {
+
+    /**
+     * Canal del {@link BusInvalidacion} con los ids de usuario cuyos privilegios cambiaron.
+     */
+    public static final String BUS = "privilegios";
+
+    private final UserRepository userRepository;
+    private final SystemIdProvider systemIdProvider;
+    private final ObjectProvider<BusInvalidacion> bus;
+    private final AtomicLong generacion = new AtomicLong();
+    private final Cache<String, InstantaneaPrivilegios> porUsername;
+    private final Cache<Long, String> usernamesPorId;
+
+    public PrivilegiosUsuarioService(UserRepository userRepository, SystemIdProvider systemIdProvider, MeterRegistry meterRegistry, ObjectProvider<BusInvalidacion> bus, @Value("${security.privilegios.maximo:5000}") long maximo, @Value("${security.privilegios.ttl:PT30M}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.systemIdProvider = systemIdProvider;
+        this.bus = bus;
+        Cache<String, InstantaneaPrivilegios> cache = Caffeine.newBuilder()
+                .maximumSize(maximo)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.porUsername = CaffeineCacheMetrics.monitor(meterRegistry, cache, "privilegiosUsuario");
+        this.usernamesPorId = Caffeine.newBuilder()
+                .maximumSize(maximo)
+                .build();
+    }
+
+    public Optional<InstantaneaPrivilegios> obtenerPorUsername(String username) {
+        InstantaneaPrivilegios instantanea = porUsername.getIfPresent(username);
+        if (instantanea != null && instantanea.generacion() == generacion.get()) {
+            return Optional.of(instantanea);
+        }
+        if (instantanea != null) {
+            porUsername.asMap().remove(username, instantanea);
+        }
+        return Optional.ofNullable(porUsername.get(username, this::cargar));
+    }
+
+    public Optional<InstantaneaPrivilegios> obtenerPorId(Long id) {
+        String username = usernamesPorId.get(id, clave -> userRepository.findUsernameById(clave).orElse(null));
+        if (username == null) {
+            return Optional.empty();
+        }
+        return obtenerPorUsername(username);
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void suscribir() {
+        bus.ifAvailable(destino -> destino.suscribir(this::aplicarRemota));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPrivilegiosUsuarioModificados(PrivilegiosUsuarioModificadosEvent event) {
+        descartar(event.usuarioId());
+        bus.ifAvailable(destino -> destino.publicar(BUS, event.usuarioId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRolesPermisosActualizados(RolesPermisosActualizadosEvent event) {
+        generacion.incrementAndGet();
+    }
+
+    /**
+     * Las instantáneas marcan si el usuario es supervisor según el puesto configurado; si cambia, se recalculan.
+     */
+    @EventListener
+    public void onConfiguracionModificada(ConfiguracionModificadaEvent event) {
+        if (event.cambio(ConfiguracionApp.ID_PUESTO_SUPERVISOR)) {
+            generacion.incrementAndGet();
+        }
+    }
+
+    private void aplicarRemota(Invalidacion invalidacion) {
+        if (!BUS.equals(invalidacion.cache())) {
+            return;
+        }
+        if (invalidacion.clave() instanceof Long usuarioId) {
+            descartar(usuarioId);
+        } else {
+            // Clave no transmitida: se descartan todas
+            generacion.incrementAndGet();
+        }
+        log.debug("Privilegios descartados por cambio en el nodo {}: {}", invalidacion.origen(), invalidacion.clave());
+    }
+
+    private void descartar(Long usuarioId) {
+        String username = usernamesPorId.getIfPresent(usuarioId);
+        if (username != null) {
+            porUsername.invalidate(username);
+        } else {
+            porUsername.asMap().values().removeIf(instantanea -> instantanea.id().equals(usuarioId));
+        }
+        usernamesPorId.invalidate(usuarioId);
+    }
+
+    private InstantaneaPrivilegios cargar(String username) {
+        long generacionCarga = generacion.get();
+        InstantaneaPrivilegios instantanea = InstantaneaPrivilegios.de(generacionCarga, userRepository.findPrivilegiosByUsername(username), systemIdProvider.getIdPuestoSupervisor());
+        if (instantanea != null) {
+            usernamesPorId.put(instantanea.id(), username);
+        }
+        return instantanea;
+    }
+}
@@ -0,0 +1,121 @@
+package integra.seguridad.usuario.service;
+
+/**
+ * Tabla inmutable de versiones de token indexada por un hash de 64 bits del username.
+ * <p>
+ * Usa direccionamiento abierto sobre arreglos primitivos ({@code long[]} de hashes, {@code int[]} de versiones):
+ * una búsqueda no reserva memoria ni compara cadenas. Con hashes de 64 bits la probabilidad de colisión entre
+ * los usuarios del sistema es despreciable, por lo que no se conservan los nombres.
+ * </p>
+ * <p>
+ * Cada modificación produce una tabla nueva; quien la publica (ver {@link TokenVersionService}) la intercambia
+ * de forma atómica, así que las lecturas concurrentes siempre ven una tabla completa.
+ * </p>
+ */
+final class TablaVersionesToken {
+
+    static final int AUSENTE = -1;
+    private static final long VACIO = 0L;
+
+    static final TablaVersionesToken VACIA = new TablaVersionesToken(new long[16], new int[16], 0);
+
+    private final long[] hashes;
+    private final int[] versiones;
+    private final int tamano;
+
+    private TablaVersionesToken(long[] hashes, int[] versiones, int tamano) {
+        this.hashes = hashes;
+        this.versiones = versiones;
+        this.tamano = tamano;
+    }
+
+    int version(String username) {
+        long hash = hash(username);
+        int mascara = hashes.length - 1;
+        for (int i = indice(hash, mascara); ; i = (i + 1) & mascara) {
+            long actual = hashes[i];
+            if (actual == hash) {
+                return versiones[i];
+            }
+            if (actual == VACIO) {
+                return AUSENTE;
+            }
+        }
+    }
+
+    int tamano() {
+        return tamano;
+    }
+
+    /**
+     * Devuelve una tabla con las versiones indicadas aplicadas, o esta misma si ninguna cambia.
+     */
+    TablaVersionesToken con(String[] usernames, int[] nuevasVersiones, int cantidad) {
+        boolean cambia = false;
+        for (int i = 0; i < cantidad && !cambia; i++) {
+            cambia = version(usernames[i]) != nuevasVersiones[i];
+        }
+        if (!cambia) {
+            return this;
+        }
+
+        int capacidad = hashes.length;
+        while ((tamano + cantidad) * 2 > capacidad) {
+            capacidad <<= 1;
+        }
+        long[] nuevosHashes = new long[capacidad];
+        int[] versionesCopia = new int[capacidad];
+        int nuevoTamano = 0;
+        for (int i = 0; i < hashes.length; i++) {
+            if (hashes[i] != VACIO) {
+                nuevoTamano += colocar(nuevosHashes, versionesCopia, hashes[i], versiones[i]);
+            }
+        }
+        for (int i = 0; i < cantidad; i++) {
+            nuevoTamano += colocar(nuevosHashes, versionesCopia, hash(usernames[i]), nuevasVersiones[i]);
+        }
+        return new TablaVersionesToken(nuevosHashes, versionesCopia, nuevoTamano);
+    }
+
+    /**
+     * Coloca la versión y devuelve 1 si el hash es nuevo, 0 si reemplazó uno existente.
+     */
+    private static int colocar(long[] hashes, int[] versiones, long hash, int version) {
+        int mascara = hashes.length - 1;
+        for (int i = indice(hash, mascara); ; i = (i + 1) & mascara) {
+            if (hashes[i] == VACIO) {
+                hashes[i] = hash;
+                versiones[i] = version;
+                return 1;
+            }
+            if (hashes[i] == hash) {
+                versiones[i] = version;
+                return 0;
+            }
+        }
+    }
+
+    private static int indice(long hash, int mascara) {
+        return (int) (hash ^ (hash >>> 32)) & mascara;
+    }
+
+    /**
+     * FNV-1a de 64 bits con un mezclado final; el 0 se reserva para las casillas vacías.
+     */
+    static long hash(String username) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < username.length(); i++) {
+            h ^= username.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h == VACIO ? 1L : h;
+    }
+
+    @Override
+    public String toString() {
+        return "TablaVersionesToken[tamano=" + tamano + ", capacidad=" + hashes.length + "]";
+    }
+}
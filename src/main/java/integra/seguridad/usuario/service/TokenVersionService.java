@@ -2,60 +2,92 @@ package integra.seguridad.usuario.service;
 
 import integra.seguridad.usuario.entity.TokenVersion;
 import integra.seguridad.usuario.repository.TokenVersionRepository;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Servicio encargado de la gestión de versiones de token por usuario.
  * <p>
  * Cada usuario posee una versión de token que permite invalidar sus JWTs
  * emitidos previamente cuando cambian sus permisos o roles. Esta información
- * se almacena en base de datos y se mantiene en caché (Caffeine) para mejorar
- * el rendimiento de lectura.
+ * se almacena en base de datos y se mantiene en memoria en una
+ * {@link TablaVersionesToken} para que la validación de cada solicitud no
+ * consulte la base de datos.
  * </p>
  *
  * <h2>Flujo general:</h2>
  * <ol>
  *     <li>Durante el login, se consulta la versión actual del usuario mediante {@link #getVersion(String)}.</li>
  *     <li>El valor devuelto se incluye como claim <b>"ver"</b> dentro del JWT.</li>
- *     <li>En la validación del token, se compara el valor de <b>"ver"</b> con la versión actual en caché.</li>
+ *     <li>En la validación del token, se compara el valor de <b>"ver"</b> con la versión actual en memoria.</li>
  *     <li>Si las versiones no coinciden, el token se considera inválido (p. ej., por cambio de permisos).</li>
  * </ol>
  *
- * <p>El cacheo de las versiones utiliza la anotación {@link Cacheable}, y las
- * operaciones de actualización o limpieza utilizan {@link CacheEvict} para
- * asegurar coherencia entre base de datos y memoria.</p>
+ * <p>La tabla se carga completa al arrancar y después se actualiza por sondeo: cada
+ * {@code security.token-version.sondeo-ms} se leen solo las filas con {@code updated_at}
+ * posterior a la última marca de agua vista (menos un margen para las transacciones que
+ * confirman tarde). Así una revocación hecha en otro nodo se aplica en pocos segundos.
+ * Los cambios hechos en este nodo se aplican en cuanto se confirma la transacción.</p>
+ *
+ * <p>MariaDB asigna {@code updated_at} al ejecutar la sentencia, no al confirmar: un incremento
+ * que confirma más de {@code margen-ms} después queda por debajo de la marca de agua y el sondeo
+ * no lo ve. Por eso cada {@code security.token-version.reconciliacion-ms} se lee la tabla completa
+ * (una fila por usuario) y se aplican las versiones que difieran; ese intervalo acota cuánto puede
+ * tardar en aplicarse una revocación en el peor caso.</p>
  *
  * @author Exon
- * @version 1.0
+ * @version 1.1
  * @since 2025-11-04
  */
 @Service
-@RequiredArgsConstructor
-@Transactional(readOnly = true)
+@Slf4j
 public class TokenVersionService {
 
+    private static final LocalDateTime INICIO = LocalDateTime.of(1970, 1, 1, 0, 0);
+
     private final TokenVersionRepository repository;
+    private final Duration margen;
+    private final AtomicReference<TablaVersionesToken> tabla = new AtomicReference<>();
+    private LocalDateTime marcaAgua;
+
+    public TokenVersionService(TokenVersionRepository repository, @Value("${security.token-version.margen-ms:5000}") long margenMs) {
+        this.repository = repository;
+        this.margen = Duration.ofMillis(margenMs);
+    }
 
     /**
      * Obtiene la versión actual del token para el usuario especificado.
      * <p>
-     * Si el usuario no tiene un registro previo en la tabla <b>token_version</b>,
-     * se crea automáticamente con una versión inicial de {@code 1}.
+     * Se resuelve desde la tabla en memoria. Si el usuario no aparece (p. ej., se creó en
+     * otro nodo después del último sondeo) se consulta la base de datos, y si no tiene un
+     * registro previo en la tabla <b>token_version</b>, se crea con una versión inicial de {@code 1}.
      * </p>
      *
      * @param username nombre de usuario.
      * @return número de versión actual del token del usuario.
      */
-    @Cacheable(value = "tokenVersions", key = "#username")
     public int getVersion(String username) {
-        return repository.findByUsername(username)
+        int version = obtenerTabla().version(username);
+        if (version != TablaVersionesToken.AUSENTE) {
+            return version;
+        }
+        int actual = repository.findByUsername(username)
                 .map(TokenVersion::getVersion)
                 .orElseGet(() -> repository.save(new TokenVersion(null, username, 1)).getVersion());
+        aplicar(new String[]{username}, new int[]{actual}, 1);
+        return actual;
     }
 
     /**
@@ -66,44 +98,158 @@ public class TokenVersionService {
      * almacenada.
      * </p>
      * <p>
-     * El valor cacheado se elimina usando {@link CacheEvict}, de modo que la
-     * próxima lectura consulte el valor actualizado en base de datos.
+     * La nueva versión se publica en la tabla en memoria una vez confirmada la
+     * transacción; los demás nodos la reciben en su siguiente sondeo.
      * </p>
      *
      * @param username nombre del usuario.
      * @return nueva versión del token después del incremento.
      */
     @Transactional
-    @CacheEvict(value = "tokenVersions", key = "#username")
     public int incrementVersion(String username) {
         var tokenVersion = repository.findByUsername(username).map(tv -> {
             tv.setVersion(tv.getVersion() + 1);
             return repository.save(tv);
         }).orElseGet(() -> repository.save(new TokenVersion(null, username, 1)));
-        return tokenVersion.getVersion();
+        int version = tokenVersion.getVersion();
+        alConfirmar(() -> aplicar(new String[]{username}, new int[]{version}, 1));
+        return version;
+    }
+
+    /**
+     * Incrementa con una sola sentencia la versión de token de todos los usuarios con el rol indicado.
+     * <p>
+     * Una vez confirmada la transacción se sondean los cambios de inmediato, sin esperar al siguiente ciclo,
+     * de modo que no es necesario conocer los usuarios afectados.
+     * </p>
+     *
+     * @param rolId id del rol modificado.
+     * @return número de versiones incrementadas.
+     */
+    @Transactional
+    public int incrementarVersionPorRol(Long rolId) {
+        int actualizadas = repository.incrementarVersionPorRol(rolId);
+        alConfirmar(this::sondearCambios);
+        return actualizadas;
     }
 
     /**
-     * Elimina todas las entradas del caché de versiones de token.
+     * Descarta la tabla en memoria y vuelve a cargar todas las versiones.
      * <p>
      * Puede ser invocado, por ejemplo, al realizar una actualización masiva
-     * de roles o al reiniciar el sistema.
+     * de versiones directamente en base de datos.
      * </p>
      */
-    @CacheEvict(value = "tokenVersions", allEntries = true)
     public void evictAllCache() {
-        // Intencionalmente vacío; la anotación maneja la invalidación del caché.
+        cargar();
     }
 
     /**
-     * Precarga en el caché todas las versiones de token existentes en base de datos.
+     * Precarga en memoria todas las versiones de token existentes en base de datos.
      * <p>
-     * Este método puede llamarse durante el arranque del sistema (por ejemplo,
-     * al recibir el evento {@link ApplicationReadyEvent}) para inicializar
-     * las versiones en memoria y evitar la latencia de la primera consulta.
+     * Se invoca durante el arranque del sistema (al recibir el evento
+     * {@link ApplicationReadyEvent}) con una sola consulta, para evitar la latencia
+     * de la primera validación.
      * </p>
      */
     public void preloadCache() {
-        repository.findAll().forEach(tv -> getVersion(tv.getUsername()));
+        cargar();
+    }
+
+    /**
+     * Lee la tabla completa y aplica las versiones que el sondeo no vio.
+     */
+    @Scheduled(fixedDelayString = "${security.token-version.reconciliacion-ms:60000}", initialDelayString = "${security.token-version.reconciliacion-ms:60000}")
+    public synchronized void reconciliar() {
+        TablaVersionesToken actual = tabla.get();
+        if (actual == null) {
+            return;
+        }
+        try {
+            List<TokenVersion> distintas = new ArrayList<>();
+            for (TokenVersion tv : repository.findAll()) {
+                if (actual.version(tv.getUsername()) != tv.getVersion()) {
+                    distintas.add(tv);
+                }
+            }
+            if (!distintas.isEmpty()) {
+                log.info("Reconciliación de versiones de token: {} versiones que el sondeo no había aplicado", distintas.size());
+                aplicar(distintas);
+            }
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron reconciliar las versiones de token: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Lee las versiones modificadas desde la última marca de agua y las aplica a la tabla en memoria.
+     */
+    @Scheduled(fixedDelayString = "${security.token-version.sondeo-ms:3000}", initialDelayString = "${security.token-version.sondeo-ms:3000}")
+    public synchronized void sondearCambios() {
+        if (tabla.get() == null) {
+            return;
+        }
+        try {
+            List<TokenVersion> cambios = repository.findByUpdatedAtGreaterThanEqual(marcaAgua.minus(margen));
+            if (!cambios.isEmpty()) {
+                aplicar(cambios);
+            }
+        } catch (RuntimeException e) {
+            // Se reintenta en el siguiente ciclo con la misma marca de agua
+            log.warn("No se pudieron sondear las versiones de token: {}", e.getMessage());
+        }
+    }
+
+    private TablaVersionesToken obtenerTabla() {
+        TablaVersionesToken actual = tabla.get();
+        return actual != null ? actual : cargar();
+    }
+
+    private synchronized TablaVersionesToken cargar() {
+        List<TokenVersion> todas = new ArrayList<>();
+        repository.findAll().forEach(todas::add);
+        marcaAgua = INICIO;
+        TablaVersionesToken nueva = aplicarSobre(TablaVersionesToken.VACIA, todas);
+        tabla.set(nueva);
+        log.info("Versiones de token cargadas: {}", nueva);
+        return nueva;
+    }
+
+    private synchronized void aplicar(List<TokenVersion> versiones) {
+        tabla.set(aplicarSobre(obtenerTabla(), versiones));
+    }
+
+    /**
+     * Aplica las versiones leídas sobre {@code base} y avanza la marca de agua.
+     */
+    private TablaVersionesToken aplicarSobre(TablaVersionesToken base, List<TokenVersion> versiones) {
+        String[] usernames = new String[versiones.size()];
+        int[] valores = new int[versiones.size()];
+        for (int i = 0; i < versiones.size(); i++) {
+            TokenVersion tv = versiones.get(i);
+            usernames[i] = tv.getUsername();
+            valores[i] = tv.getVersion();
+            if (tv.getUpdatedAt() != null && tv.getUpdatedAt().isAfter(marcaAgua)) {
+                marcaAgua = tv.getUpdatedAt();
+            }
+        }
+        return base.con(usernames, valores, versiones.size());
+    }
+
+    private synchronized void aplicar(String[] usernames, int[] versiones, int cantidad) {
+        tabla.set(obtenerTabla().con(usernames, versiones, cantidad));
+    }
+
+    private static void alConfirmar(Runnable accion) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            accion.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                accion.run();
+            }
+        });
     }
 }
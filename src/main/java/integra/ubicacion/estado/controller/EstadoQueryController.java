@@ -1,13 +1,16 @@
 package integra.ubicacion.estado.controller;
 
+import integra.catalogo.CatalogoReferenciaService;
+import integra.catalogo.CatalogosReferencia;
+import integra.catalogo.RespuestaCatalogo;
 import integra.model.Estado;
-import integra.ubicacion.estado.service.EstadoQueryService;
 import integra.utils.ResponseData;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -15,10 +18,10 @@ import java.util.List;
 @RequestMapping("/estados")
 @RequiredArgsConstructor
 class EstadoQueryController {
-    private final EstadoQueryService estadoQueryService;
+    private final CatalogoReferenciaService catalogoReferenciaService;
 
     @GetMapping
-    public ResponseEntity<ResponseData<List<Estado>>> obtenerEstados() {
-        return ResponseEntity.ok(ResponseData.of(estadoQueryService.obtenerEstados(), "Estados registrados"));
+    public ResponseEntity<ResponseData<List<Estado>>> obtenerEstados(WebRequest request) {
+        return RespuestaCatalogo.responder(catalogoReferenciaService, request, CatalogosReferencia.ESTADOS, CatalogosReferencia::estados, "Estados registrados");
     }
 }
\ No newline at end of file
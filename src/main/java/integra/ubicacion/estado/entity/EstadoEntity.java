@@ -1,15 +1,20 @@
 package integra.ubicacion.estado.entity;
 
+import integra.config.cache.RegionesHibernate;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Getter
 @Setter
 @Entity
 @Table(name = "estado")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = RegionesHibernate.ESTADO)
 public class EstadoEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
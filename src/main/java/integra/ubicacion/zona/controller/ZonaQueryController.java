@@ -1,13 +1,16 @@
 package integra.ubicacion.zona.controller;
 
+import integra.catalogo.CatalogoReferenciaService;
+import integra.catalogo.CatalogosReferencia;
+import integra.catalogo.RespuestaCatalogo;
 import integra.ubicacion.zona.entity.ZonaEntityDto;
-import integra.ubicacion.zona.service.ZonaQueryService;
 import integra.utils.ResponseData;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -15,10 +18,10 @@ import java.util.List;
 @RequestMapping("zonas")
 @RequiredArgsConstructor
 class ZonaQueryController {
-    private final ZonaQueryService zonaQueryService;
+    private final CatalogoReferenciaService catalogoReferenciaService;
 
     @GetMapping
-    public ResponseEntity<ResponseData<List<ZonaEntityDto>>> obtenerZonas() {
-        return ResponseEntity.ok(ResponseData.of(zonaQueryService.obtenerZonas(), "Zonas"));
+    public ResponseEntity<ResponseData<List<ZonaEntityDto>>> obtenerZonas(WebRequest request) {
+        return RespuestaCatalogo.responder(catalogoReferenciaService, request, CatalogosReferencia.ZONAS, CatalogosReferencia::zonas, "Zonas");
     }
 }
\ No newline at end of file
@@ -1,10 +1,13 @@
 package integra.ubicacion.zona.entity;
 
+import integra.config.cache.RegionesHibernate;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.DynamicInsert;
 
@@ -12,6 +15,8 @@ import org.hibernate.annotations.DynamicInsert;
 @Setter
 @Entity
 @Table(name = "zona")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = RegionesHibernate.ZONA)
 @DynamicInsert
 public class ZonaEntity {
     @Id
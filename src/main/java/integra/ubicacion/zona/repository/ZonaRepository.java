@@ -1,14 +1,18 @@
 package integra.ubicacion.zona.repository;
 
 import integra.ubicacion.zona.entity.ZonaEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 public interface ZonaRepository extends JpaRepository<ZonaEntity, Integer> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     <T> List<T> findBy(Class<T> type);
 
     @Transactional
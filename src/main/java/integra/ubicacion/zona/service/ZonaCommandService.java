@@ -1,11 +1,14 @@
 package integra.ubicacion.zona.service;
 
+import integra.catalogo.CatalogosModificadosEvent;
+import integra.catalogo.CatalogosReferencia;
 import integra.ubicacion.zona.entity.ZonaEntity;
 import integra.ubicacion.zona.repository.ZonaRepository;
 import integra.ubicacion.zona.request.ActualizarZona;
 import integra.ubicacion.zona.request.NuevaZona;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,21 +17,25 @@ import org.springframework.transaction.annotation.Transactional;
 @Slf4j
 public class ZonaCommandService {
     private final ZonaRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public void registrarZona(NuevaZona nuevaZona) {
         ZonaEntity entity = new ZonaEntity(nuevaZona.getNombre());
         repository.save(entity);
+        eventPublisher.publishEvent(new CatalogosModificadosEvent(CatalogosReferencia.ZONAS));
     }
 
     @Transactional
     public void actualizarZona(ActualizarZona data) {
         repository.updateNombreAndActivoById(data.getNombre(), data.getActivo(), data.getId());
+        eventPublisher.publishEvent(new CatalogosModificadosEvent(CatalogosReferencia.ZONAS));
     }
 
     @Transactional
     public void eliminarZona(Integer id) {
         repository.deleteById(id);
+        eventPublisher.publishEvent(new CatalogosModificadosEvent(CatalogosReferencia.ZONAS));
         log.info("Zona eliminada: {}", id);
 
     }
@@ -0,0 +1,11 @@
+package integra.unidad.event;
+
+/**
+ * Evento publicado cuando se registra, actualiza, cambia de estatus o elimina una unidad.
+ *
+ * @param unidadId             unidad afectada
+ * @param supervisorAnteriorId supervisor que tenía la unidad antes del cambio ({@code null} si no tenía o es nueva)
+ * @param eliminada            {@code true} si la unidad se eliminó
+ */
+public record UnidadModificadaEvent(Integer unidadId, Integer supervisorAnteriorId, boolean eliminada) {
+}
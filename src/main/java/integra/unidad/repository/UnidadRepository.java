@@ -45,6 +45,15 @@ public interface UnidadRepository extends JpaRepository<UnidadEntity, Integer> {
      */
     <T> List<T> findBySupervisor_IdOrderByClaveAsc(Integer id, Class<T> type);
 
+    /**
+     * Obtiene el ID del supervisor asignado a una unidad.
+     *
+     * @param id ID de la unidad
+     * @return Optional con el ID del supervisor, vacío si la unidad no existe o no tiene supervisor
+     */
+    @Query("select u.supervisor.id from UnidadEntity u where u.id = ?1")
+    Optional<Integer> findSupervisorIdById(Integer id);
+
     /**
      * Actualiza el estado activo de una unidad por su ID.
      *
@@ -0,0 +1,200 @@
+package integra.unidad.service;
+
+import integra.config.cache.bus.BusInvalidacion;
+import integra.globalexception.DataNotFoundException;
+import integra.model.Contacto;
+import integra.model.Empleado;
+import integra.model.Unidad;
+import integra.model.Zona;
+import integra.unidad.event.UnidadModificadaEvent;
+import integra.unidad.query.UnidadInfo;
+import integra.unidad.query.UnidadInfoActivo;
+import integra.unidad.repository.UnidadRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * Mantiene las cachés de unidades al día tras cada alta, cambio o baja, tocando solo las entradas afectadas.
+ * <p>
+ * Las listas compartidas ({@code unidadList} sin clave y {@code unidadesActivas}) y las listas por supervisor
+ * se parchean en memoria con la fila leída tras el commit; el contacto de la unidad se reemplaza si estaba en
+ * caché; los horarios ({@code unidadInfo}) solo se descartan al eliminar la unidad. Las entradas que no estaban
+ * en caché no se cargan.
+ * </p>
+ * <p>
+ * Con varios nodos, las claves afectadas se publican en el {@link BusInvalidacion} para que los demás las
+ * descarten.
+ * </p>
+ * <p>
+ * Cada operación se cuenta en {@code integra.cache.sincronizacion} (etiquetas {@code cache} y {@code accion});
+ * junto con los aciertos y fallos de {@code cache.gets} permite comparar la eficiencia de las cachés antes y
+ * después del cambio.
+ * </p>
+ */
+@Component
+@Slf4j
+public class UnidadCacheSincronizador {
+
+    private static final Comparator<Unidad> POR_CLAVE = Comparator.comparing(Unidad::getClave, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final CacheManager cacheManager;
+    private final UnidadRepository repository;
+    private final UnidadQueryService queryService;
+    private final MeterRegistry meterRegistry;
+    private final ObjectProvider<BusInvalidacion> bus;
+
+    public UnidadCacheSincronizador(CacheManager cacheManager, UnidadRepository repository, UnidadQueryService queryService, MeterRegistry meterRegistry, ObjectProvider<BusInvalidacion> bus) {
+        this.cacheManager = cacheManager;
+        this.repository = repository;
+        this.queryService = queryService;
+        this.meterRegistry = meterRegistry;
+        this.bus = bus;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUnidadModificada(UnidadModificadaEvent event) {
+        try {
+            sincronizar(event);
+        } catch (RuntimeException e) {
+            // Si no se puede parchear, se vuelve al comportamiento anterior: vaciar las cachés de unidades
+            log.warn("No se pudieron actualizar las cachés de la unidad {}; se vacían: {}", event.unidadId(), e.getMessage());
+            for (String nombre : List.of("unidadList", "unidadesActivas", "unidadContacto", "unidadInfo")) {
+                Cache cache = cacheManager.getCache(nombre);
+                if (cache != null) {
+                    cache.clear();
+                    contar(nombre, "vaciada");
+                }
+            }
+        }
+    }
+
+    private void sincronizar(UnidadModificadaEvent event) {
+        Integer id = event.unidadId();
+        UnidadInfo info = event.eliminada() ? null : repository.findById(id, UnidadInfo.class).orElse(null);
+        UnidadInfoActivo activo = info == null ? null : repository.findById(id, UnidadInfoActivo.class).orElse(null);
+        Integer supervisorActual = info == null ? null : repository.findSupervisorIdById(id).orElse(null);
+
+        // Lista general (obtenerInfoBasica)
+        parchear("unidadList", SimpleKey.EMPTY, lista -> reemplazar(lista, id, info == null ? null
+                : new Unidad(info.id(), info.clave(), info.nombre(), info.activo(), new Contacto(new Zona(info.zonaNombre())), new Empleado(info.supervisorNombreCompleto())), null));
+
+        // Listas por supervisor (obtenerInfoBasicaPorSupervisor): se quita del anterior y se actualiza en el actual
+        if (event.supervisorAnteriorId() != null && !event.supervisorAnteriorId().equals(supervisorActual)) {
+            parchear("unidadList", event.supervisorAnteriorId(), lista -> reemplazar(lista, id, null, null));
+        }
+        if (supervisorActual != null) {
+            parchear("unidadList", supervisorActual, lista -> reemplazar(lista, id,
+                    new Unidad(info.id(), info.clave(), info.nombre(), info.activo(), new Contacto(new Zona(info.zonaNombre()))), POR_CLAVE));
+        }
+
+        parchear("unidadesActivas", SimpleKey.EMPTY, lista -> reemplazar(lista, id, activo == null ? null
+                : new Unidad(activo.id(), activo.nombreCompleto()), null));
+
+        actualizarContacto(id, info == null);
+
+        if (event.eliminada()) {
+            descartar("unidadInfo", id);
+        }
+    }
+
+    private void actualizarContacto(Integer id, boolean eliminada) {
+        Cache cache = cacheManager.getCache("unidadContacto");
+        if (cache == null || cache.get(id) == null) {
+            // Otro nodo puede tenerla aunque este no
+            avisarNodos("unidadContacto", id);
+            return;
+        }
+        if (eliminada) {
+            descartar("unidadContacto", id);
+            return;
+        }
+        try {
+            cache.put(id, queryService.cargarContacto(id));
+            contar("unidadContacto", "actualizada");
+            avisarNodos("unidadContacto", id);
+        } catch (DataNotFoundException e) {
+            descartar("unidadContacto", id);
+        }
+    }
+
+    /**
+     * Aplica {@code cambio} de forma atómica a la lista en caché bajo {@code key}, si existe.
+     */
+    @SuppressWarnings("unchecked")
+    private void parchear(String nombre, Object key, UnaryOperator<List<Unidad>> cambio) {
+        Cache cache = cacheManager.getCache(nombre);
+        if (cache == null || !(cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativa)) {
+            return;
+        }
+        ConcurrentMap<Object, Object> mapa = ((com.github.benmanes.caffeine.cache.Cache<Object, Object>) nativa).asMap();
+        Object resultado = mapa.computeIfPresent(key, (k, actual) -> actual instanceof List<?> lista ? cambio.apply((List<Unidad>) lista) : actual);
+        if (resultado != null) {
+            contar(nombre, "parcheada");
+        }
+        avisarNodos(nombre, key);
+    }
+
+    /**
+     * Los parches y reemplazos no pasan por el descarte de la caché, así que se avisa explícitamente a los demás
+     * nodos, tengan o no la entrada en este.
+     */
+    private void avisarNodos(String nombre, Object key) {
+        bus.ifAvailable(destino -> destino.publicar(nombre, key));
+    }
+
+    /**
+     * Devuelve una copia de {@code lista} sin la unidad {@code id} y, si {@code nueva} no es nula, con ella en su lugar
+     * (o al final, reordenando con {@code orden} si se indica).
+     */
+    private static List<Unidad> reemplazar(List<Unidad> lista, Integer id, Unidad nueva, Comparator<Unidad> orden) {
+        List<Unidad> resultado = new ArrayList<>(lista.size() + 1);
+        boolean reemplazada = false;
+        for (Unidad unidad : lista) {
+            if (Objects.equals(unidad.getId(), id)) {
+                if (nueva != null && !reemplazada) {
+                    resultado.add(nueva);
+                    reemplazada = true;
+                }
+            } else {
+                resultado.add(unidad);
+            }
+        }
+        if (nueva != null && !reemplazada) {
+            resultado.add(nueva);
+        }
+        if (orden != null) {
+            resultado.sort(orden);
+        }
+        return List.copyOf(resultado);
+    }
+
+    private void descartar(String nombre, Object key) {
+        Cache cache = cacheManager.getCache(nombre);
+        if (cache != null && cache.evictIfPresent(key)) {
+            contar(nombre, "descartada");
+        }
+    }
+
+    private void contar(String cache, String accion) {
+        Counter.builder("integra.cache.sincronizacion")
+                .description("Entradas de caché de unidades actualizadas tras un cambio")
+                .tag("cache", cache)
+                .tag("accion", accion)
+                .register(meterRegistry)
+                .increment();
+    }
+}
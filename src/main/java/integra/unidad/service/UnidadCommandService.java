@@ -4,6 +4,7 @@ import integra.globalexception.DuplicateDataException;
 import integra.globalexception.FKDataException;
 import integra.globalexception.InvalidReferenceException;
 import integra.unidad.entity.UnidadEntity;
+import integra.unidad.event.UnidadModificadaEvent;
 import integra.unidad.repository.UnidadRepository;
 import integra.unidad.request.ActualizarUnidad;
 import integra.unidad.request.NuevaUnidad;
@@ -11,11 +12,18 @@ import integra.unidad.validator.IUnidadValidator;
 import jakarta.persistence.PersistenceException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Altas, cambios y bajas de unidades.
+ * <p>
+ * Cada operación publica un {@link UnidadModificadaEvent}; tras el commit, {@link UnidadCacheSincronizador}
+ * actualiza solo las entradas de caché de la unidad afectada en lugar de vaciar las cachés completas.
+ * </p>
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -23,10 +31,10 @@ public class UnidadCommandService {
 
     private final UnidadRepository writeRepository;
     private final IUnidadValidator validator;
+    private final ApplicationEventPublisher eventPublisher;
 
     // --- REGISTRAR ---
     @Transactional
-    @CacheEvict(value = {"unidadList", "unidadesActivas", "unidadContacto", "unidadInfo"}, allEntries = true)
     public void registrarUnidad(NuevaUnidad params) {
         validator.checkExisteClaveUnidad(params.getClave());
         validator.checkExisteTelefono(params.getTelefono());
@@ -37,6 +45,7 @@ public class UnidadCommandService {
 
         try {
             writeRepository.saveAndFlush(unidad);
+            eventPublisher.publishEvent(new UnidadModificadaEvent(unidad.getId(), null, false));
         } catch (DataIntegrityViolationException ex) {
             log.error("Violación de integridad al registrar unidad: {}", ex.getMessage(), ex);
 
@@ -68,12 +77,13 @@ public class UnidadCommandService {
 
     // --- ACTUALIZAR ---
     @Transactional
-    @CacheEvict(value = {"unidadList", "unidadesActivas", "unidadContacto", "unidadInfo"}, allEntries = true)
     public void actualizarUnidad(ActualizarUnidad params) {
         UnidadEntity unidadToUpdate = new UnidadEntity(params);
+        Integer supervisorAnterior = writeRepository.findSupervisorIdById(params.getId()).orElse(null);
 
         try {
             writeRepository.saveAndFlush(unidadToUpdate);
+            eventPublisher.publishEvent(new UnidadModificadaEvent(params.getId(), supervisorAnterior, false));
         } catch (DataIntegrityViolationException | PersistenceException ex) {
             log.error("Error al actualizar unidad ({}): {}", ex.getClass().getSimpleName(), ex.getMessage(), ex);
             verificarDuplicado(ex, params);
@@ -92,18 +102,19 @@ public class UnidadCommandService {
 
     // --- CAMBIO DE ESTATUS ---
     @Transactional
-    @CacheEvict(value = {"unidadList", "unidadesActivas", "unidadContacto", "unidadInfo"}, allEntries = true)
     public void actualizarEstatusUnidad(Integer id, Boolean estatus) {
         writeRepository.updateActivoById(estatus, id);
+        eventPublisher.publishEvent(new UnidadModificadaEvent(id, writeRepository.findSupervisorIdById(id).orElse(null), false));
         log.info("Unidad {}: {}", estatus ? "habilitada" : "deshabilitada", id);
     }
 
     // --- ELIMINAR ---
     @Transactional
-    @CacheEvict(value = {"unidadList", "unidadesActivas", "unidadContacto", "unidadInfo"}, allEntries = true)
     public void eliminarUnidad(int id) {
+        Integer supervisorAnterior = writeRepository.findSupervisorIdById(id).orElse(null);
         try {
             writeRepository.deleteById(id);
+            eventPublisher.publishEvent(new UnidadModificadaEvent(id, supervisorAnterior, true));
             log.info("Unidad eliminada correctamente: {}", id);
         } catch (DataIntegrityViolationException e) {
             log.error("Error al eliminar unidad {}: {}", id, e.getMessage());
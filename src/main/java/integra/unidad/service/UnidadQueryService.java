@@ -31,8 +31,34 @@ public class UnidadQueryService {
     private final UnidadHorarioJpaRepository horarioRepository;
 
     @Cacheable(value = "unidadList", unless = "#result == null")
-    @Transactional(readOnly = true)
     public List<Unidad> obtenerInfoBasica() {
+        return cargarInfoBasica();
+    }
+
+    @Cacheable(value = "unidadList", key = "#id")
+    public List<Unidad> obtenerInfoBasicaPorSupervisor(Integer id) {
+        return cargarInfoBasicaPorSupervisor(id);
+    }
+
+    @Cacheable(value = "unidadesActivas")
+    public List<Unidad> obtenerUnidadesActivas() {
+        return cargarUnidadesActivas();
+    }
+
+    @Cacheable(value = "unidadContacto", key = "#idUnidad")
+    public Unidad obtenerContacto(Integer idUnidad) {
+        return cargarContacto(idUnidad);
+    }
+
+    @Cacheable(value = "unidadInfo", key = "#idUnidad")
+    public List<HorarioOperativo> obtenerHorario(Integer idUnidad) {
+        return cargarHorario(idUnidad);
+    }
+
+    // Consultas sin caché: las usan los métodos anteriores y los cargadores de refresco en segundo plano
+
+    @Transactional(readOnly = true)
+    public List<Unidad> cargarInfoBasica() {
         return readRepository.findBy(UnidadInfo.class).stream().map(data -> {
             Contacto contacto = new Contacto(new Zona(data.zonaNombre()));
             Empleado supervisor = new Empleado(data.supervisorNombreCompleto());
@@ -40,36 +66,32 @@ public class UnidadQueryService {
         }).toList();
     }
 
-    @Cacheable(value = "unidadList", key = "#id")
     @Transactional(readOnly = true)
-    public List<Unidad> obtenerInfoBasicaPorSupervisor(Integer id) {
+    public List<Unidad> cargarInfoBasicaPorSupervisor(Integer id) {
         return readRepository.findBySupervisor_IdOrderByClaveAsc(id, UnidadInfo.class).stream().map(data -> {
             Contacto contacto = new Contacto(new Zona(data.zonaNombre()));
             return new Unidad(data.id(), data.clave(), data.nombre(), data.activo(), contacto);
         }).toList();
     }
 
-    @Cacheable(value = "unidadesActivas")
     @Transactional(readOnly = true)
-    public List<Unidad> obtenerUnidadesActivas() {
+    public List<Unidad> cargarUnidadesActivas() {
         return readRepository.findBy(UnidadInfoActivo.class)
                 .stream()
                 .map(data -> new Unidad(data.id(), data.nombreCompleto()))
                 .toList();
     }
 
-    @Cacheable(value = "unidadContacto", key = "#idUnidad")
     @Transactional(readOnly = true)
-    public Unidad obtenerContacto(Integer idUnidad) {
+    public Unidad cargarContacto(Integer idUnidad) {
         UnidadContactoQuery data = readRepository.findById(idUnidad, UnidadContactoQuery.class)
                 .orElseThrow(() -> new DataNotFoundException("Sin registro", "Unidad no encontrada"));
         Contacto contacto = new Contacto(data.telefono(), data.email(), new Estado(data.estadoId(), data.estadoNombre()), data.localizacion(), new Zona(data.zonaId(), data.zonaNombre()));
         return new Unidad(data.id(), data.clave(), data.nombre(), data.activo(), contacto);
     }
 
-    @Cacheable(value = "unidadInfo", key = "#idUnidad")
     @Transactional(readOnly = true)
-    public List<HorarioOperativo> obtenerHorario(Integer idUnidad) {
+    public List<HorarioOperativo> cargarHorario(Integer idUnidad) {
         return horarioRepository.findByUnidadId(idUnidad, UnidadHorarioQuery.class)
                 .stream()
                 .map(x -> new HorarioOperativo(x.id(), x.operatividadNombre(), x.apertura(), x.cierre()))
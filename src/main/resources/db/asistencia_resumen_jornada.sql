@@ -0,0 +1,11 @@
+-- Columnas de resumen por jornada, calculadas al cierre (FinalizarJornada, FinalizarPausa y cierre automático).
+-- Las jornadas históricas se completan con integra.asistencia.resumen-backfill.habilitado=true.
+ALTER TABLE asistencia
+    ADD COLUMN IF NOT EXISTS minutos_netos        INT        NULL,
+    ADD COLUMN IF NOT EXISTS minutos_pausa_comida INT        NULL,
+    ADD COLUMN IF NOT EXISTS minutos_otras_pausas INT        NULL,
+    ADD COLUMN IF NOT EXISTS minutos_extras       INT        NULL,
+    ADD COLUMN IF NOT EXISTS jornada_nocturna     TINYINT(1) NULL;
+
+-- Permite al backfill localizar las jornadas pendientes sin recorrer toda la tabla
+CREATE INDEX IF NOT EXISTS idx_asistencia_resumen_pendiente ON asistencia (jornada_cerrada, minutos_netos, id);
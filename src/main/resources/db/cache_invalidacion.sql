@@ -0,0 +1,12 @@
+-- Invalidaciones de caché compartidas entre nodos (BusInvalidacionTabla). Cada nodo lee por sondeo las filas
+-- con id mayor a la última vista; las antiguas se eliminan periódicamente.
+CREATE TABLE IF NOT EXISTS cache_invalidacion
+(
+    id     BIGINT AUTO_INCREMENT PRIMARY KEY,
+    cache  VARCHAR(100) NOT NULL,
+    clave  VARCHAR(255) NULL,
+    origen VARCHAR(64)  NOT NULL,
+    creado TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3)
+);
+
+CREATE INDEX IF NOT EXISTS idx_cache_invalidacion_creado ON cache_invalidacion (creado);
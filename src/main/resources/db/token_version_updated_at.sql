@@ -0,0 +1,6 @@
+-- Marca de agua para que cada nodo lea solo las versiones de token modificadas desde su última consulta
+-- (TokenVersionService). La mantiene la base de datos, incluida la actualización masiva por rol.
+ALTER TABLE token_version
+    ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3);
+
+CREATE INDEX IF NOT EXISTS idx_token_version_updated_at ON token_version (updated_at);
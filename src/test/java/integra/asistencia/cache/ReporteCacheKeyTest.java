@@ -0,0 +1,70 @@
+package integra.asistencia.cache;
+
+import integra.asistencia.actions.EmpleadoReporteCommand;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReporteCacheKeyTest {
+
+    private static final LocalDate HOY = LocalDate.of(2025, 6, 15);
+
+    @Test
+    void cubreLasFechasDelRangoConSusLimites() {
+        ReporteCacheKey key = key(null, LocalDateTime.of(2025, 6, 1, 8, 0), LocalDate.of(2025, 6, 7));
+
+        assertThat(key.cubre(5, LocalDate.of(2025, 6, 1))).as("inicio, aunque la hora de desde sea posterior").isTrue();
+        assertThat(key.cubre(5, LocalDate.of(2025, 6, 7))).as("fin").isTrue();
+        assertThat(key.cubre(5, LocalDate.of(2025, 5, 31))).isFalse();
+        assertThat(key.cubre(5, LocalDate.of(2025, 6, 8))).isFalse();
+    }
+
+    @Test
+    void unReporteDeEmpleadoSoloCubreASuEmpleado() {
+        ReporteCacheKey key = key(5, LocalDateTime.of(2025, 6, 1, 0, 0), LocalDate.of(2025, 6, 7));
+
+        assertThat(key.cubre(5, LocalDate.of(2025, 6, 3))).isTrue();
+        assertThat(key.cubre(6, LocalDate.of(2025, 6, 3))).isFalse();
+        assertThat(key.cubre(null, LocalDate.of(2025, 6, 3))).isFalse();
+    }
+
+    @Test
+    void sinFechaOSinLimitesCubreTodo() {
+        ReporteCacheKey abierta = key(null, null, null);
+
+        assertThat(abierta.cubre(5, LocalDate.of(1990, 1, 1))).isTrue();
+        assertThat(key(null, LocalDateTime.of(2025, 6, 1, 0, 0), LocalDate.of(2025, 6, 7)).cubre(5, null)).isTrue();
+    }
+
+    @Test
+    void elPeriodoConcluyeCuandoTerminaAntesDeHoy() {
+        LocalDateTime desde = LocalDateTime.of(2025, 6, 1, 0, 0);
+
+        assertThat(key(null, desde, HOY.minusDays(1)).periodoConcluido(HOY)).isTrue();
+        assertThat(key(null, desde, HOY).periodoConcluido(HOY)).as("el día en curso aún recibe checadas").isFalse();
+        assertThat(key(null, desde, HOY.plusDays(1)).periodoConcluido(HOY)).isFalse();
+        assertThat(key(null, desde, null).periodoConcluido(HOY)).isFalse();
+    }
+
+    @Test
+    void laHoraDeHastaNoDistingueClaves() {
+        EmpleadoReporteCommand mediodia = command(LocalDateTime.of(2025, 6, 7, 12, 0));
+        EmpleadoReporteCommand finDelDia = command(LocalDateTime.of(2025, 6, 7, 23, 59, 59));
+
+        assertThat(ReporteCacheKey.of(mediodia)).isEqualTo(ReporteCacheKey.of(finDelDia));
+    }
+
+    private static ReporteCacheKey key(Integer empleadoId, LocalDateTime desde, LocalDate hasta) {
+        return new ReporteCacheKey(empleadoId, null, null, null, null, desde, hasta);
+    }
+
+    private static EmpleadoReporteCommand command(LocalDateTime hasta) {
+        EmpleadoReporteCommand command = new EmpleadoReporteCommand();
+        command.setDesde(LocalDateTime.of(2025, 6, 1, 0, 0));
+        command.setHasta(hasta);
+        return command;
+    }
+}
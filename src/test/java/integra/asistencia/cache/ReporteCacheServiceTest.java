@@ -0,0 +1,169 @@
+package integra.asistencia.cache;
+
+import integra.asistencia.actions.EmpleadoReporteCommand;
+import integra.asistencia.config.ReporteProperties;
+import integra.asistencia.event.AsistenciaModificadaEvent;
+import integra.asistencia.model.Asistencia;
+import integra.asistencia.model.EmpleadoReporte;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Verifica que la caché guarda copias, descarta los cálculos invalidados a mitad de camino y mantiene el
+ * directorio en disco alineado con su índice.
+ */
+class ReporteCacheServiceTest {
+
+    private static final int EMPLEADO = 5;
+    private static final LocalDate FECHA = LocalDate.of(2025, 6, 3);
+
+    @TempDir
+    Path directorio;
+
+    private final ReporteProperties properties = new ReporteProperties();
+    private final AtomicInteger cargas = new AtomicInteger();
+    private final AtomicInteger generaciones = new AtomicInteger();
+    private ReporteCacheService servicio;
+
+    @BeforeEach
+    void preparar() {
+        properties.getCache().setDirectorioDisco(directorio.toString());
+        servicio = new ReporteCacheService(properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void laEntradaEsUnaCopiaQueNoModificaAlLlamador() {
+        List<EmpleadoReporte> calculados = reporte();
+        List<Asistencia> asistenciasOriginales = calculados.get(0).getAsistencias();
+
+        List<EmpleadoReporte> enCache = servicio.obtenerAsistencia(command(), () -> calculados);
+
+        assertThat(calculados.get(0).getAsistencias()).as("el reporte del llamador no se toca").isSameAs(asistenciasOriginales);
+        assertThatThrownBy(() -> enCache.get(0).getAsistencias().add(new Asistencia(9))).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> enCache.get(0).getAsistencias().get(0).getPausas().clear()).isInstanceOf(UnsupportedOperationException.class);
+
+        // Lo que el llamador haga después con sus objetos no llega a la caché
+        asistenciasOriginales.get(0).setComentario("modificado");
+        asistenciasOriginales.add(new Asistencia(9));
+        List<EmpleadoReporte> otraVez = servicio.obtenerAsistencia(command(), this::fallar);
+        assertThat(otraVez.get(0).getAsistencias()).hasSize(1);
+        assertThat(otraVez.get(0).getAsistencias().get(0).getComentario()).isNull();
+    }
+
+    @Test
+    void unCalculoSinCambiosSeGuarda() {
+        servicio.obtenerAsistencia(command(), this::cargar);
+        servicio.obtenerAsistencia(command(), this::cargar);
+
+        assertThat(cargas).hasValue(1);
+    }
+
+    @Test
+    void unCalculoInvalidadoMientrasCorreNoSeGuarda() {
+        List<EmpleadoReporte> datos = servicio.obtenerAsistencia(command(), () -> {
+            // El cambio se confirma después de que el cálculo leyó la base de datos
+            List<EmpleadoReporte> leidos = cargar();
+            servicio.onAsistenciaModificada(new AsistenciaModificadaEvent(EMPLEADO, FECHA));
+            return leidos;
+        });
+        assertThat(datos).hasSize(1);
+
+        servicio.obtenerAsistencia(command(), this::cargar);
+        assertThat(cargas).as("la siguiente solicitud vuelve a calcular").hasValue(2);
+    }
+
+    @Test
+    void unCambioFueraDelRangoNoDescartaElCalculo() {
+        servicio.obtenerAsistencia(command(), () -> {
+            List<EmpleadoReporte> leidos = cargar();
+            servicio.onAsistenciaModificada(new AsistenciaModificadaEvent(EMPLEADO, FECHA.plusMonths(1)));
+            return leidos;
+        });
+
+        servicio.obtenerAsistencia(command(), this::cargar);
+        assertThat(cargas).hasValue(1);
+    }
+
+    @Test
+    void laInvalidacionEliminaElExcelDelDisco() throws Exception {
+        servicio.obtenerExcel(command(), this::cargar, this::generar);
+        assertThat(archivos()).as("un periodo concluido y cerrado se escribe en disco").hasSize(1);
+
+        servicio.onAsistenciaModificada(new AsistenciaModificadaEvent(EMPLEADO, FECHA));
+
+        // El removalListener del índice se ejecuta en el executor de Caffeine
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!archivos().isEmpty() && System.nanoTime() < limite) {
+            Thread.sleep(20);
+        }
+        assertThat(archivos()).isEmpty();
+        servicio.obtenerExcel(command(), this::cargar, this::generar);
+        assertThat(generaciones).hasValue(2);
+    }
+
+    @Test
+    void alArrancarSeEliminanLosArchivosDeUnaEjecucionAnterior() throws IOException {
+        Files.write(directorio.resolve("anterior.xlsx"), new byte[]{1, 2, 3});
+        Files.write(directorio.resolve("otro.txt"), new byte[]{1});
+
+        new ReporteCacheService(properties, new SimpleMeterRegistry());
+
+        assertThat(archivos()).isEmpty();
+        assertThat(directorio.resolve("otro.txt")).exists();
+    }
+
+    private List<EmpleadoReporte> cargar() {
+        cargas.incrementAndGet();
+        return reporte();
+    }
+
+    private List<EmpleadoReporte> fallar() {
+        throw new AssertionError("se esperaba un acierto de caché");
+    }
+
+    private byte[] generar(List<EmpleadoReporte> datos) {
+        generaciones.incrementAndGet();
+        return new byte[2048];
+    }
+
+    private List<Path> archivos() throws IOException {
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            return archivos.filter(archivo -> archivo.toString().endsWith(".xlsx")).toList();
+        }
+    }
+
+    private static EmpleadoReporteCommand command() {
+        EmpleadoReporteCommand command = new EmpleadoReporteCommand();
+        command.setEmpleadoId(EMPLEADO);
+        command.setDesde(LocalDateTime.of(2025, 6, 1, 0, 0));
+        command.setHasta(LocalDateTime.of(2025, 6, 7, 23, 59, 59));
+        return command;
+    }
+
+    private static List<EmpleadoReporte> reporte() {
+        Asistencia asistencia = new Asistencia(1);
+        asistencia.setFecha(FECHA);
+        asistencia.setInicioJornada(FECHA.atTime(8, 0));
+        asistencia.setFinJornada(FECHA.atTime(16, 0));
+        asistencia.setJornadaCerrada(true);
+        asistencia.setPausas(new ArrayList<>());
+        List<Asistencia> asistencias = new ArrayList<>(List.of(asistencia));
+        return new ArrayList<>(List.of(new EmpleadoReporte(EMPLEADO, null, null, null, asistencias, FECHA.withDayOfMonth(1), FECHA.plusDays(4))));
+    }
+}
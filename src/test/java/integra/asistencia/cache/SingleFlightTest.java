@@ -0,0 +1,118 @@
+package integra.asistencia.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica que una llamada posterior a {@link SingleFlight#olvidar} no se une al cálculo que empezó antes
+ * del cambio, mientras que quienes ya esperaban siguen recibiendo su resultado.
+ */
+class SingleFlightTest {
+
+    private static final String CLAVE = "reporte";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SingleFlight<String, Integer> vuelos = new SingleFlight<>("prueba", meterRegistry);
+    private final ExecutorService hilos = Executors.newFixedThreadPool(4);
+    private final AtomicInteger calculos = new AtomicInteger();
+
+    @AfterEach
+    void cerrar() {
+        hilos.shutdownNow();
+    }
+
+    @Test
+    void lasLlamadasSimultaneasCompartenUnCalculo() throws Exception {
+        CountDownLatch iniciado = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+
+        Future<Integer> primero = hilos.submit(() -> vuelos.ejecutar(CLAVE, () -> calcular(iniciado, liberar)));
+        assertThat(iniciado.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<Integer> segundo = hilos.submit(() -> vuelos.ejecutar(CLAVE, () -> calcular(null, null)));
+        esperarCoalescidas(1);
+        liberar.countDown();
+
+        assertThat(primero.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(segundo.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(calculos).hasValue(1);
+    }
+
+    @Test
+    void despuesDeOlvidarLaClaveSeCalculaDeNuevo() throws Exception {
+        CountDownLatch iniciado = new CountDownLatch(1);
+        CountDownLatch liberarAnterior = new CountDownLatch(1);
+        Future<Integer> anterior = hilos.submit(() -> vuelos.ejecutar(CLAVE, () -> calcular(iniciado, liberarAnterior)));
+        assertThat(iniciado.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<Integer> unido = hilos.submit(() -> vuelos.ejecutar(CLAVE, () -> calcular(null, null)));
+        esperarCoalescidas(1);
+
+        // Se confirma un cambio que cubre la clave mientras el primer cálculo sigue en curso
+        vuelos.olvidar(CLAVE::equals);
+
+        CountDownLatch iniciadoNuevo = new CountDownLatch(1);
+        CountDownLatch liberarNuevo = new CountDownLatch(1);
+        Future<Integer> posterior = hilos.submit(() -> vuelos.ejecutar(CLAVE, () -> calcular(iniciadoNuevo, liberarNuevo)));
+        assertThat(iniciadoNuevo.await(5, TimeUnit.SECONDS)).as("la llamada posterior inicia su propio cálculo").isTrue();
+
+        // El cálculo anterior termina primero y no debe retirar el nuevo
+        liberarAnterior.countDown();
+        assertThat(anterior.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(unido.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        Future<Integer> unidoAlNuevo = hilos.submit(() -> vuelos.ejecutar(CLAVE, () -> calcular(null, null)));
+        esperarCoalescidas(2);
+
+        liberarNuevo.countDown();
+        assertThat(posterior.get(5, TimeUnit.SECONDS)).isEqualTo(2);
+        assertThat(unidoAlNuevo.get(5, TimeUnit.SECONDS)).isEqualTo(2);
+        assertThat(calculos).hasValue(2);
+    }
+
+    @Test
+    void olvidarNoAfectaOtrasClaves() throws Exception {
+        CountDownLatch iniciado = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        Future<Integer> otro = hilos.submit(() -> vuelos.ejecutar("otro", () -> calcular(iniciado, liberar)));
+        assertThat(iniciado.await(5, TimeUnit.SECONDS)).isTrue();
+
+        vuelos.olvidar(CLAVE::equals);
+        Future<Integer> unido = hilos.submit(() -> vuelos.ejecutar("otro", () -> calcular(null, null)));
+        esperarCoalescidas(1);
+        liberar.countDown();
+
+        assertThat(otro.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(unido.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+    }
+
+    private int calcular(CountDownLatch iniciado, CountDownLatch liberar) {
+        int numero = calculos.incrementAndGet();
+        if (iniciado != null) {
+            iniciado.countDown();
+        }
+        if (liberar != null) {
+            try {
+                liberar.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return numero;
+    }
+
+    private void esperarCoalescidas(int esperadas) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("integra.singleflight.coalescidas").counter().count() < esperadas && System.nanoTime() < limite) {
+            Thread.sleep(5);
+        }
+        assertThat(meterRegistry.get("integra.singleflight.coalescidas").counter().count()).isEqualTo(esperadas);
+    }
+}
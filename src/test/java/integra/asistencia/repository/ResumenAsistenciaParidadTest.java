@@ -0,0 +1,229 @@
+package integra.asistencia.repository;
+
+import integra.asistencia.actions.EmpleadoReporteCommand;
+import integra.asistencia.model.Asistencia;
+import integra.asistencia.model.EmpleadoReporte;
+import integra.asistencia.model.PausaAsistencia;
+import integra.asistencia.query.ResumenAsistenciaProyeccion;
+import integra.asistencia.util.CalculadoraJornada;
+import integra.asistencia.util.TipoPausa;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.mariadb.MariaDBContainer;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica que los totales que {@link AsistenciaRepositoryImpl#findResumenByCriteria} calcula en SQL coinciden
+ * con los de {@link EmpleadoReporte} / {@link CalculadoraJornada} sobre los mismos datos.
+ * <p>
+ * La consulta reimplementa en SQL el cierre automático, el truncado de pausas y el redondeo de horas, así que
+ * se ejecuta contra MariaDB real. Cada jornada se inserta en la base y, a la vez, se arma su {@link Asistencia}
+ * en memoria; la mitad de las jornadas cerradas lleva {@code minutos_netos} precalculado, como las que se
+ * cierran desde la versión con columnas de resumen, y el resto obliga a la consulta a sumar sus pausas.
+ * </p>
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=none")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+@Sql(scripts = "/db/resumen-asistencia-schema.sql", config = @SqlConfig(transactionMode = SqlConfig.TransactionMode.ISOLATED))
+class ResumenAsistenciaParidadTest {
+
+    @Container
+    @ServiceConnection
+    static MariaDBContainer mariadb = new MariaDBContainer("mariadb:11.4");
+
+    private static final LocalDate DESDE = LocalDate.of(2025, 3, 1);
+    private static final int DIAS = 45;
+
+    @Autowired
+    private AsistenciaRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private final Map<Integer, List<Asistencia>> esperadas = new LinkedHashMap<>();
+    private int siguienteAsistencia = 1;
+    private int siguientePausa = 1;
+
+    @BeforeEach
+    void catalogos() {
+        jdbc.update("INSERT INTO puesto (id, nombre) VALUES (1, 'Vendedor')");
+        jdbc.update("INSERT INTO unidad (id, nombre_completo, supervisor_id, zona_id) VALUES (1, 'Unidad Centro', NULL, NULL)");
+    }
+
+    @Test
+    void casosLimiteCoincidenConEmpleadoReporte() {
+        int empleado = empleado(1);
+
+        // Cierre automático: casi 16 h brutas, pero no cuentan horas ni extras
+        jornada(empleado, dia(0).atTime(8, 0), dia(0).atTime(23, 59), true, false, false, List.of());
+        // Turno nocturno de 21:00 a 07:30 con 30 min de comida: 10 h netas, 2 h extras
+        jornada(empleado, dia(1).atTime(21, 0), dia(2).atTime(7, 30), false, false, false,
+                List.of(pausa(dia(2).atTime(1, 0), dia(2).atTime(1, 30), TipoPausa.COMIDA)));
+        // Pausa abierta: no descuenta; 8 h 59 min brutos → 8 h
+        jornada(empleado, dia(3).atTime(9, 0), dia(3).atTime(17, 59, 59), false, false, false,
+                List.of(pausa(dia(3).atTime(13, 0), null, TipoPausa.COMIDA)));
+        // Pausa más larga que la jornada: neto cero
+        jornada(empleado, dia(4).atTime(9, 0), dia(4).atTime(12, 0), false, true, false,
+                List.of(pausa(dia(4).atTime(9, 30), dia(4).atTime(16, 0), TipoPausa.OTRA)));
+        // Las pausas se suman en segundos antes de truncar: 30 s + 40 s = 1 min → 479 min netos → 7 h
+        jornada(empleado, dia(5).atTime(9, 0), dia(5).atTime(17, 0, 40), false, false, false,
+                List.of(pausa(dia(5).atTime(10, 0), dia(5).atTime(10, 0, 30), TipoPausa.OTRA),
+                        pausa(dia(5).atTime(12, 0), dia(5).atTime(12, 0, 40), TipoPausa.OTRA)));
+
+        ResumenAsistenciaProyeccion fila = comparar().get(empleado);
+
+        assertThat(fila.sumatoriaTiempoTrabajado()).isEqualTo(10 + 8 + 7);
+        assertThat(fila.sumatoriaTiempoExtras()).isEqualTo(2);
+        assertThat(fila.diasTrabajados()).isEqualTo(5);
+        assertThat(fila.totalInconsistencias()).isEqualTo(1);
+    }
+
+    @Test
+    void totalesCoincidenConEmpleadoReporteEnDatosGenerados() {
+        Random random = new Random(20250301L);
+        for (int e = 1; e <= 8; e++) {
+            int empleado = empleado(e);
+            for (int d = 0; d < DIAS; d++) {
+                if (random.nextInt(6) != 0) {
+                    generarJornada(empleado, dia(d), random);
+                }
+            }
+        }
+
+        comparar();
+    }
+
+    // === DATOS ===
+
+    /**
+     * Genera una jornada con una mezcla de los casos que la consulta trata aparte: turnos nocturnos, cierres
+     * automáticos, jornadas sin salida, pausas abiertas y pausas más largas que la jornada.
+     */
+    private void generarJornada(int empleado, LocalDate fecha, Random random) {
+        int caso = random.nextInt(10);
+        boolean nocturna = caso <= 1;
+        boolean automatica = caso == 2;
+        boolean sinSalida = caso == 3;
+
+        LocalDateTime inicio = fecha.atTime(nocturna ? 20 + random.nextInt(3) : 7 + random.nextInt(3), random.nextInt(60), random.nextInt(60));
+        LocalDateTime fin;
+        if (sinSalida) {
+            fin = null;
+        } else if (automatica) {
+            fin = nocturna ? fecha.plusDays(1).atTime(9, 59) : fecha.atTime(23, 59);
+        } else {
+            fin = inicio.plusMinutes(360 + random.nextInt(360)).plusSeconds(random.nextInt(60));
+        }
+
+        List<PausaAsistencia> pausas = new ArrayList<>();
+        LocalDateTime cursor = inicio.plusMinutes(60);
+        int cantidad = random.nextInt(4);
+        for (int i = 0; i < cantidad; i++) {
+            LocalDateTime inicioPausa = cursor.plusMinutes(random.nextInt(90)).plusSeconds(random.nextInt(60));
+            LocalDateTime finPausa = switch (random.nextInt(8)) {
+                case 0 -> null;
+                case 1 -> inicioPausa.plusHours(10 + random.nextInt(4));
+                default -> inicioPausa.plusMinutes(1 + random.nextInt(60)).plusSeconds(random.nextInt(60));
+            };
+            pausas.add(pausa(inicioPausa, finPausa, i == 0 ? TipoPausa.COMIDA : TipoPausa.OTRA));
+            cursor = finPausa != null ? finPausa : inicioPausa.plusMinutes(1);
+        }
+
+        boolean inconsistencia = random.nextInt(12) == 0;
+        boolean conResumen = fin != null && random.nextBoolean();
+        jornada(empleado, inicio, fin, automatica, inconsistencia, conResumen, pausas);
+    }
+
+    private int empleado(int id) {
+        jdbc.update("INSERT INTO empleado (id, codigo_empleado, nombre_completo, unidad_id, puesto_id) VALUES (?, ?, ?, 1, 1)",
+                id, "E%03d".formatted(id), "Empleado %03d".formatted(id));
+        return id;
+    }
+
+    /**
+     * Inserta la jornada y sus pausas, y registra la {@link Asistencia} equivalente para el cálculo en memoria.
+     */
+    private void jornada(int empleado, LocalDateTime inicio, LocalDateTime fin, boolean automatica, boolean inconsistencia,
+                         boolean conResumen, List<PausaAsistencia> pausas) {
+        int id = siguienteAsistencia++;
+        Asistencia asistencia = new Asistencia(id);
+        asistencia.setFecha(inicio.toLocalDate());
+        asistencia.setInicioJornada(inicio);
+        asistencia.setFinJornada(fin);
+        asistencia.setJornadaCerrada(fin != null);
+        asistencia.setCerradoAutomatico(automatica);
+        asistencia.setInconsistencia(inconsistencia);
+        asistencia.setPausas(pausas);
+
+        // Igual que ResumenJornada al cerrar la jornada
+        Integer minutosNetos = conResumen ? CalculadoraJornada.calcularTiempoNeto(inicio, fin, pausas, automatica).minutos() : null;
+        jdbc.update("""
+                        INSERT INTO asistencia (id, id_empleado, fecha, inicio_jornada, fin_jornada, jornada_cerrada,
+                                                cerrado_automatico, inconsistencia, minutos_netos)
+                        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)""",
+                id, empleado, asistencia.getFecha(), inicio, fin, fin != null, automatica, inconsistencia, minutosNetos);
+        for (PausaAsistencia pausa : pausas) {
+            jdbc.update("INSERT INTO pausa (id, id_asistencia, tipo, inicio, fin) VALUES (?, ?, ?, ?, ?)",
+                    siguientePausa++, id, pausa.getTipoPausa().name(), pausa.getInicio(), pausa.getFin());
+        }
+        esperadas.computeIfAbsent(empleado, k -> new ArrayList<>()).add(asistencia);
+    }
+
+    private static PausaAsistencia pausa(LocalDateTime inicio, LocalDateTime fin, TipoPausa tipo) {
+        PausaAsistencia pausa = new PausaAsistencia();
+        pausa.setInicio(inicio);
+        pausa.setFin(fin);
+        pausa.setTipoPausa(tipo);
+        return pausa;
+    }
+
+    private static LocalDate dia(int dia) {
+        return DESDE.plusDays(dia);
+    }
+
+    // === COMPARACIÓN ===
+
+    /**
+     * Compara, por empleado, los totales de la consulta con los de {@link EmpleadoReporte}.
+     */
+    private Map<Integer, ResumenAsistenciaProyeccion> comparar() {
+        EmpleadoReporteCommand command = new EmpleadoReporteCommand();
+        command.setDesde(DESDE.atStartOfDay());
+        command.setHasta(DESDE.plusDays(DIAS).atStartOfDay());
+
+        Map<Integer, ResumenAsistenciaProyeccion> resumen = repository.findResumenByCriteria(command).stream()
+                .collect(Collectors.toMap(ResumenAsistenciaProyeccion::empleadoId, Function.identity()));
+
+        assertThat(resumen.keySet()).containsExactlyInAnyOrderElementsOf(esperadas.keySet());
+        esperadas.forEach((empleado, asistencias) -> {
+            EmpleadoReporte reporte = new EmpleadoReporte(empleado, null, null, null, asistencias, null, null);
+            ResumenAsistenciaProyeccion fila = resumen.get(empleado);
+            assertThat(fila.sumatoriaTiempoTrabajado()).as("horas netas del empleado %d", empleado).isEqualTo(reporte.getSumatoriaTiempoTrabajado());
+            assertThat(fila.sumatoriaTiempoExtras()).as("horas extras del empleado %d", empleado).isEqualTo(reporte.getSumatoriaTiempoExtras());
+            assertThat(fila.diasTrabajados()).as("días trabajados del empleado %d", empleado).isEqualTo(reporte.getDiasTrabajados());
+            assertThat(fila.totalInconsistencias()).as("inconsistencias del empleado %d", empleado).isEqualTo(reporte.getTotalInconsistencias());
+        });
+        return resumen;
+    }
+}
@@ -0,0 +1,154 @@
+package integra.asistencia.service;
+
+import integra.asistencia.actions.EmpleadoReporteCommand;
+import integra.asistencia.config.ReporteProperties;
+import integra.asistencia.model.Asistencia;
+import integra.asistencia.model.EmpleadoReporte;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifica los límites de {@code particionar} y que {@code combinar} reconstruye el mismo reporte que una
+ * sola consulta: un renglón por empleado, con sus asistencias en orden y el rango completo.
+ */
+class ReporteParticionadoServiceTest {
+
+    private static final LocalDate INICIO = LocalDate.of(2025, 6, 1);
+
+    private final ReporteAsistenciaQueryService queryService = mock(ReporteAsistenciaQueryService.class);
+    private final ReporteProperties properties = new ReporteProperties();
+    private final Map<Integer, List<Asistencia>> asistenciasPorEmpleado = new LinkedHashMap<>();
+    private ReporteParticionadoService servicio;
+
+    @BeforeEach
+    void preparar() {
+        properties.setUmbralParticionDias(31);
+        properties.setDiasPorParticion(7);
+        servicio = new ReporteParticionadoService(queryService, properties, mock(PlatformTransactionManager.class), mock(DataSource.class));
+        when(queryService.getAsistencias(any())).thenAnswer(invocation -> consultar(invocation.getArgument(0)));
+    }
+
+    @Test
+    void unRangoIgualAlUmbralNoSeParticiona() {
+        EmpleadoReporteCommand command = command(INICIO.atTime(6, 30), INICIO.plusDays(30).atStartOfDay());
+
+        assertThat(servicio.particionar(command)).containsExactly(command);
+    }
+
+    @Test
+    void unDiaSobreElUmbralSeParticionaPorSemanas() {
+        EmpleadoReporteCommand command = command(INICIO.atTime(6, 30), INICIO.plusDays(31).atTime(18, 0));
+        command.setZonaId(3);
+
+        List<EmpleadoReporteCommand> particiones = servicio.particionar(command);
+
+        assertThat(particiones).extracting(EmpleadoReporteCommand::getDesde).containsExactly(
+                INICIO.atTime(6, 30),
+                INICIO.plusDays(7).atStartOfDay(),
+                INICIO.plusDays(14).atStartOfDay(),
+                INICIO.plusDays(21).atStartOfDay(),
+                INICIO.plusDays(28).atStartOfDay());
+        assertThat(particiones).extracting(EmpleadoReporteCommand::getHasta).containsExactly(
+                INICIO.plusDays(6).atStartOfDay(),
+                INICIO.plusDays(13).atStartOfDay(),
+                INICIO.plusDays(20).atStartOfDay(),
+                INICIO.plusDays(27).atStartOfDay(),
+                INICIO.plusDays(31).atStartOfDay());
+        assertThat(particiones).allSatisfy(particion -> assertThat(particion.getZonaId()).isEqualTo(3));
+    }
+
+    @Test
+    void unRangoAbiertoNoSeParticiona() {
+        EmpleadoReporteCommand command = command(INICIO.atStartOfDay(), null);
+
+        assertThat(servicio.particionar(command)).containsExactly(command);
+    }
+
+    @Test
+    void combinaAlEmpleadoQueApareceEnVariasParticiones() {
+        registrar(1, 1, INICIO.plusDays(1).atTime(8, 0), INICIO.plusDays(1).atTime(16, 0));
+        // Turno nocturno que empieza el último día de la primera partición y termina en la segunda
+        registrar(1, 2, INICIO.plusDays(6).atTime(22, 0), INICIO.plusDays(7).atTime(6, 0));
+        registrar(1, 3, INICIO.plusDays(9).atTime(8, 0), INICIO.plusDays(9).atTime(16, 0));
+        registrar(2, 4, INICIO.plusDays(15).atTime(8, 0), INICIO.plusDays(15).atTime(16, 0));
+        registrar(1, 5, INICIO.plusDays(31).atTime(22, 0), INICIO.plusDays(32).atTime(6, 0));
+
+        List<EmpleadoReporte> reporte = servicio.getAsistencias(command(INICIO.atStartOfDay(), INICIO.plusDays(31).atStartOfDay()));
+
+        assertThat(reporte).extracting(EmpleadoReporte::getId).containsExactly(1, 2);
+        EmpleadoReporte primero = reporte.get(0);
+        assertThat(primero.getAsistencias()).extracting(Asistencia::getId).containsExactly(1, 2, 3, 5);
+        assertThat(primero.getAsistencias().get(1).getFinJornada()).isEqualTo(INICIO.plusDays(7).atTime(6, 0));
+        assertThat(reporte).allSatisfy(empleado -> {
+            assertThat(empleado.getFechaDesde()).isEqualTo(INICIO);
+            assertThat(empleado.getFechaHasta()).isEqualTo(INICIO.plusDays(31));
+        });
+    }
+
+    @Test
+    void elReporteParticionadoCoincideConUnaSolaConsulta() {
+        registrar(1, 1, INICIO.plusDays(2).atTime(8, 0), INICIO.plusDays(2).atTime(16, 0));
+        registrar(2, 2, INICIO.plusDays(13).atTime(22, 0), INICIO.plusDays(14).atTime(6, 0));
+        registrar(1, 3, INICIO.plusDays(20).atTime(8, 0), INICIO.plusDays(20).atTime(16, 0));
+        EmpleadoReporteCommand command = command(INICIO.atStartOfDay(), INICIO.plusDays(40).atStartOfDay());
+
+        List<EmpleadoReporte> particionado = servicio.getAsistencias(command);
+        List<EmpleadoReporte> completo = consultar(command);
+
+        assertThat(particionado).extracting(EmpleadoReporte::getId)
+                .containsExactlyElementsOf(completo.stream().map(EmpleadoReporte::getId).toList());
+        for (int i = 0; i < completo.size(); i++) {
+            assertThat(particionado.get(i).getAsistencias()).extracting(Asistencia::getId)
+                    .containsExactlyElementsOf(completo.get(i).getAsistencias().stream().map(Asistencia::getId).toList());
+        }
+    }
+
+    /**
+     * Filtra como {@code AsistenciaSpecification}: por inicio de jornada, con "hasta" extendido al final del día.
+     */
+    private List<EmpleadoReporte> consultar(EmpleadoReporteCommand command) {
+        LocalDateTime hasta = command.getHasta().toLocalDate().atTime(23, 59, 59);
+        List<EmpleadoReporte> reportes = new ArrayList<>();
+        asistenciasPorEmpleado.forEach((empleadoId, asistencias) -> {
+            List<Asistencia> enRango = asistencias.stream()
+                    .filter(asistencia -> !asistencia.getInicioJornada().isBefore(command.getDesde()))
+                    .filter(asistencia -> !asistencia.getInicioJornada().isAfter(hasta))
+                    .toList();
+            if (!enRango.isEmpty()) {
+                reportes.add(new EmpleadoReporte(empleadoId, null, null, null, enRango,
+                        command.getDesde().toLocalDate(), command.getHasta().toLocalDate()));
+            }
+        });
+        return reportes;
+    }
+
+    private void registrar(int empleadoId, int id, LocalDateTime inicio, LocalDateTime fin) {
+        Asistencia asistencia = new Asistencia(id);
+        asistencia.setFecha(inicio.toLocalDate());
+        asistencia.setInicioJornada(inicio);
+        asistencia.setFinJornada(fin);
+        asistencia.setJornadaCerrada(true);
+        asistenciasPorEmpleado.computeIfAbsent(empleadoId, k -> new ArrayList<>()).add(asistencia);
+    }
+
+    private static EmpleadoReporteCommand command(LocalDateTime desde, LocalDateTime hasta) {
+        EmpleadoReporteCommand command = new EmpleadoReporteCommand();
+        command.setDesde(desde);
+        command.setHasta(hasta);
+        return command;
+    }
+}
@@ -0,0 +1,93 @@
+package integra.asistencia.service.jornada;
+
+import integra.asistencia.actions.FinalizarPausaCommand;
+import integra.asistencia.entity.AsistenciaModel;
+import integra.asistencia.entity.PausaModel;
+import integra.asistencia.event.AsistenciaModificadaEvent;
+import integra.asistencia.repository.PausaModelRepository;
+import integra.asistencia.service.UnidadVerificadorService;
+import integra.asistencia.service.WorkTimeImageService;
+import integra.asistencia.util.TipoPausa;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifica que cerrar una pausa manual sobre una jornada ya cerrada recalcula el resumen guardado.
+ */
+class FinalizarPausaTest {
+
+    private static final int EMPLEADO = 5;
+    private static final int UNIDAD = 1;
+
+    private final PausaModelRepository pausaRepository = mock(PausaModelRepository.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    // La hora manual se aplica al día en curso
+    private final LocalDate hoy = LocalDate.now();
+    private FinalizarPausa finalizarPausa;
+
+    @BeforeEach
+    void preparar() {
+        finalizarPausa = new FinalizarPausa(mock(WorkTimeImageService.class), pausaRepository, mock(UnidadVerificadorService.class), eventPublisher);
+    }
+
+    @Test
+    void laPausaManualSobreUnaJornadaCerradaRecalculaElResumen() {
+        AsistenciaModel asistencia = jornada(true);
+        PausaModel pausa = pausaAbierta(asistencia);
+
+        finalizarPausa.execute(new FinalizarPausaCommand(EMPLEADO, TipoPausa.COMIDA, null, UNIDAD, UNIDAD, LocalTime.of(13, 45)));
+
+        assertThat(pausa.getFin()).isEqualTo(hoy.atTime(13, 45));
+        assertThat(asistencia.getMinutosPausaComida()).isEqualTo(45);
+        assertThat(asistencia.getMinutosNetos()).isEqualTo(555);
+        assertThat(asistencia.getMinutosExtras()).isEqualTo(75);
+        verify(eventPublisher).publishEvent(new AsistenciaModificadaEvent(EMPLEADO, hoy));
+    }
+
+    @Test
+    void unaJornadaAbiertaNoRecibeResumen() {
+        AsistenciaModel asistencia = jornada(false);
+        pausaAbierta(asistencia);
+
+        finalizarPausa.execute(new FinalizarPausaCommand(EMPLEADO, TipoPausa.COMIDA, null, UNIDAD, UNIDAD, LocalTime.of(13, 45)));
+
+        assertThat(asistencia.getMinutosNetos()).as("se calcula al cerrar la jornada").isEqualTo(600);
+    }
+
+    private AsistenciaModel jornada(boolean cerrada) {
+        AsistenciaModel asistencia = new AsistenciaModel();
+        asistencia.setFecha(hoy);
+        asistencia.setInicioJornada(hoy.atTime(8, 0));
+        asistencia.setFinJornada(hoy.atTime(18, 0));
+        asistencia.setJornadaCerrada(cerrada);
+        // Resumen guardado antes de registrar la pausa
+        asistencia.setMinutosNetos(600);
+        asistencia.setMinutosPausaComida(0);
+        asistencia.setMinutosOtrasPausas(0);
+        asistencia.setMinutosExtras(120);
+        asistencia.setPausas(new ArrayList<>());
+        return asistencia;
+    }
+
+    private PausaModel pausaAbierta(AsistenciaModel asistencia) {
+        PausaModel pausa = new PausaModel();
+        pausa.setAsistencia(asistencia);
+        pausa.setTipo(TipoPausa.COMIDA.name());
+        pausa.setInicio(hoy.atTime(13, 0));
+        asistencia.setPausas(new ArrayList<>(List.of(pausa)));
+        when(pausaRepository.findFirstByAsistencia_Empleado_IdAndFinNullOrderByInicioDesc(EMPLEADO)).thenReturn(Optional.of(pausa));
+        return pausa;
+    }
+}
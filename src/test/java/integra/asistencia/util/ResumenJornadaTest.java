@@ -0,0 +1,83 @@
+package integra.asistencia.util;
+
+import integra.asistencia.entity.AsistenciaModel;
+import integra.asistencia.entity.PausaModel;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResumenJornadaTest {
+
+    private static final LocalDate DIA = LocalDate.of(2025, 6, 2);
+
+    @Test
+    void jornadaDiurnaConPausas() {
+        AsistenciaModel asistencia = jornada(DIA.atTime(8, 0), DIA.atTime(17, 30));
+
+        ResumenJornada.aplicar(asistencia, List.of(
+                pausa(TipoPausa.COMIDA, DIA.atTime(13, 0), DIA.atTime(14, 0)),
+                pausa(TipoPausa.OTRA, DIA.atTime(10, 0), DIA.atTime(10, 15))));
+
+        assertThat(asistencia.getMinutosNetos()).isEqualTo(495);
+        assertThat(asistencia.getMinutosPausaComida()).isEqualTo(60);
+        assertThat(asistencia.getMinutosOtrasPausas()).isEqualTo(15);
+        assertThat(asistencia.getMinutosExtras()).isEqualTo(15);
+        assertThat(asistencia.getJornadaNocturna()).isFalse();
+    }
+
+    @Test
+    void jornadaNocturnaQueCruzaLaMedianoche() {
+        AsistenciaModel asistencia = jornada(DIA.atTime(22, 0), DIA.plusDays(1).atTime(7, 0));
+
+        ResumenJornada.aplicar(asistencia, List.of(pausa(TipoPausa.COMIDA, DIA.atTime(23, 45), DIA.plusDays(1).atTime(0, 15))));
+
+        assertThat(asistencia.getMinutosNetos()).isEqualTo(510);
+        assertThat(asistencia.getMinutosPausaComida()).isEqualTo(30);
+        assertThat(asistencia.getMinutosExtras()).isEqualTo(30);
+        assertThat(asistencia.getJornadaNocturna()).isTrue();
+    }
+
+    @Test
+    void cierreAutomaticoConservaLasPausasSinMinutosNetos() {
+        AsistenciaModel asistencia = jornada(DIA.atTime(8, 0), DIA.atTime(23, 59));
+        asistencia.setCerradoAutomatico(true);
+
+        ResumenJornada.aplicar(asistencia, List.of(pausa(TipoPausa.OTRA, DIA.atTime(11, 0), DIA.atTime(11, 20))));
+
+        assertThat(asistencia.getMinutosNetos()).isZero();
+        assertThat(asistencia.getMinutosExtras()).isZero();
+        assertThat(asistencia.getMinutosOtrasPausas()).isEqualTo(20);
+    }
+
+    @Test
+    void sinPausasNiFinNoHayMinutos() {
+        AsistenciaModel asistencia = jornada(DIA.atTime(8, 0), null);
+
+        ResumenJornada.aplicar(asistencia, null);
+
+        assertThat(asistencia.getMinutosNetos()).isZero();
+        assertThat(asistencia.getMinutosPausaComida()).isZero();
+        assertThat(asistencia.getJornadaNocturna()).isFalse();
+    }
+
+    private static AsistenciaModel jornada(LocalDateTime inicio, LocalDateTime fin) {
+        AsistenciaModel asistencia = new AsistenciaModel();
+        asistencia.setFecha(inicio.toLocalDate());
+        asistencia.setInicioJornada(inicio);
+        asistencia.setFinJornada(fin);
+        asistencia.setJornadaCerrada(fin != null);
+        return asistencia;
+    }
+
+    private static PausaModel pausa(TipoPausa tipo, LocalDateTime inicio, LocalDateTime fin) {
+        PausaModel pausa = new PausaModel();
+        pausa.setTipo(tipo.name());
+        pausa.setInicio(inicio);
+        pausa.setFin(fin);
+        return pausa;
+    }
+}
@@ -0,0 +1,54 @@
+package integra.catalogo;
+
+import integra.empleado.InfoEmpleados;
+import integra.ubicacion.zona.entity.ZonaEntityDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica que el ETag sigue al contenido aunque los valores colisionen en {@code String.hashCode}.
+ */
+class CatalogosReferenciaTest {
+
+    @Test
+    void contenidoQueColisionaEnHashCodeTieneEtagsDistintos() {
+        assertThat("Aa".hashCode()).isEqualTo("BB".hashCode());
+
+        CatalogosReferencia primero = conZonas(List.of(new ZonaEntityDto(1, "Aa", true)));
+        CatalogosReferencia segundo = conZonas(List.of(new ZonaEntityDto(1, "BB", true)));
+
+        assertThat(primero.etag(CatalogosReferencia.ZONAS)).isNotEqualTo(segundo.etag(CatalogosReferencia.ZONAS));
+        assertThat(primero.etag(CatalogosReferencia.PAQUETE)).isNotEqualTo(segundo.etag(CatalogosReferencia.PAQUETE));
+        assertThat(primero.mismoContenido(segundo)).isFalse();
+    }
+
+    @Test
+    void elMismoContenidoTieneElMismoEtagSinImportarLaVersion() {
+        List<ZonaEntityDto> zonas = List.of(new ZonaEntityDto(1, "Norte", true), new ZonaEntityDto(2, "Sur", false));
+
+        CatalogosReferencia primero = conZonas(zonas);
+        CatalogosReferencia segundo = CatalogosReferencia.de(7, zonas, List.of(), List.of(), List.of(), List.of(), List.of());
+
+        assertThat(primero.etag(CatalogosReferencia.ZONAS)).isEqualTo(segundo.etag(CatalogosReferencia.ZONAS));
+        assertThat(primero.mismoContenido(segundo)).isTrue();
+    }
+
+    @Test
+    void losCamposNoSeConfundenAlConcatenarse() {
+        CatalogosReferencia primero = conSupervisores(new InfoEmpleados(1, "A", "B", null));
+        CatalogosReferencia segundo = conSupervisores(new InfoEmpleados(1, "AB", null, null));
+
+        assertThat(primero.etag(CatalogosReferencia.SUPERVISORES)).isNotEqualTo(segundo.etag(CatalogosReferencia.SUPERVISORES));
+    }
+
+    private static CatalogosReferencia conZonas(List<ZonaEntityDto> zonas) {
+        return CatalogosReferencia.de(1, zonas, List.of(), List.of(), List.of(), List.of(), List.of());
+    }
+
+    private static CatalogosReferencia conSupervisores(InfoEmpleados supervisor) {
+        return CatalogosReferencia.de(1, List.of(), List.of(), List.of(), List.of(), List.of(), List.of(supervisor));
+    }
+}
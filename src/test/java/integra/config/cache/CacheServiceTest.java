@@ -0,0 +1,40 @@
+package integra.config.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica que consultar o vaciar una caché desconocida no la crea en el gestor dinámico.
+ */
+class CacheServiceTest {
+
+    private CaffeineCacheManager cacheManager;
+    private CacheService servicio;
+
+    @BeforeEach
+    void preparar() {
+        cacheManager = new CaffeineCacheManager();
+        cacheManager.getCache("unidadInfo").put(1, "unidad 1");
+        servicio = new CacheService(cacheManager, new CacheProperties(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void unaCacheDesconocidaNoExisteNiSeCrea() {
+        assertThat(servicio.getCacheDetalle("noExiste", 10)).isNull();
+        assertThat(servicio.buscarClaves("noExiste", "*", 10)).isNull();
+        servicio.clearCache("noExiste");
+
+        assertThat(cacheManager.getCacheNames()).containsExactly("unidadInfo");
+        assertThat(servicio.getCacheDetalles(10)).containsOnlyKeys("unidadInfo");
+    }
+
+    @Test
+    void unaCacheExistenteSeConsulta() {
+        assertThat(servicio.getCacheDetalle("unidadInfo", 10)).isNotNull();
+        assertThat(servicio.buscarClaves("unidadInfo", "*", 10)).containsExactly("1");
+    }
+}
@@ -0,0 +1,135 @@
+package integra.config.cache;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.interceptor.SimpleKeyGenerator;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de generar (y buscar) una clave de caché con {@link CustomKeyGenerator} frente a {@link SimpleKeyGenerator}.
+ * <ul>
+ *     <li>{@code idCustom} y {@code idSimple}: un solo id, el caso de todos los {@code @Cacheable} actuales.</li>
+ *     <li>{@code listaCustom} y {@code listaSimple}: una lista de 100 ids; la primera la copia y la
+ *     segunda guarda la referencia del llamador.</li>
+ *     <li>{@code criterioCustom}: un DTO sin {@code equals}, comparado por el valor de sus campos.</li>
+ *     <li>{@code buscarListaCustom} y {@code buscarListaSimple}: generar la clave y buscarla en un mapa que ya
+ *     la contiene, como hace la caché en un acierto.</li>
+ * </ul>
+ * Se ejecuta con {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="CustomKeyGenerator -prof gc"}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CustomKeyGeneratorBenchmark {
+
+    private static final int IDS = 100;
+
+    private final CustomKeyGenerator custom = new CustomKeyGenerator();
+    private final SimpleKeyGenerator simple = new SimpleKeyGenerator();
+    private final Consultas consultas = new Consultas();
+
+    private Method porId;
+    private Method porIds;
+    private Method porCriterio;
+    private List<Integer> ids;
+    private Criterio criterio;
+    private Map<Object, Object> enCacheCustom;
+    private Map<Object, Object> enCacheSimple;
+
+    @Setup
+    public void preparar() throws NoSuchMethodException {
+        porId = Consultas.class.getDeclaredMethod("porId", Integer.class);
+        porIds = Consultas.class.getDeclaredMethod("porIds", List.class);
+        porCriterio = Consultas.class.getDeclaredMethod("porCriterio", Criterio.class);
+        ids = new ArrayList<>(IDS);
+        for (int i = 0; i < IDS; i++) {
+            ids.add(i);
+        }
+        criterio = new Criterio(3, List.of("A", "B", "C"));
+
+        enCacheCustom = new HashMap<>();
+        enCacheCustom.put(custom.generate(consultas, porIds, new ArrayList<>(ids)), Boolean.TRUE);
+        enCacheSimple = new HashMap<>();
+        enCacheSimple.put(simple.generate(consultas, porIds, new ArrayList<>(ids)), Boolean.TRUE);
+    }
+
+    @Benchmark
+    public Object idCustom() {
+        return custom.generate(consultas, porId, 42);
+    }
+
+    @Benchmark
+    public Object idSimple() {
+        return simple.generate(consultas, porId, 42);
+    }
+
+    @Benchmark
+    public Object listaCustom() {
+        return custom.generate(consultas, porIds, ids);
+    }
+
+    @Benchmark
+    public Object listaSimple() {
+        return simple.generate(consultas, porIds, ids);
+    }
+
+    @Benchmark
+    public Object criterioCustom() {
+        return custom.generate(consultas, porCriterio, criterio);
+    }
+
+    @Benchmark
+    public Object buscarListaCustom() {
+        return enCacheCustom.get(custom.generate(consultas, porIds, ids));
+    }
+
+    @Benchmark
+    public Object buscarListaSimple() {
+        return enCacheSimple.get(simple.generate(consultas, porIds, ids));
+    }
+
+    /**
+     * DTO sin {@code equals}, como los comandos de consulta.
+     */
+    static class Criterio {
+        private final int zona;
+        private final List<String> puestos;
+
+        Criterio(int zona, List<String> puestos) {
+            this.zona = zona;
+            this.puestos = puestos;
+        }
+    }
+
+    @SuppressWarnings("unused")
+    static class Consultas {
+        Object porId(Integer id) {
+            return null;
+        }
+
+        Object porIds(List<Integer> ids) {
+            return null;
+        }
+
+        Object porCriterio(Criterio criterio) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package integra.config.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CustomKeyGeneratorTest {
+
+    private final CustomKeyGenerator generador = new CustomKeyGenerator();
+    private final Consultas consultas = new Consultas();
+
+    @Test
+    void listasConElMismoPrimerElementoNoColisionan() {
+        Object clave = generar("porIds", List.of(1, 2, 3));
+
+        assertThat(clave).isNotEqualTo(generar("porIds", List.of(1, 2, 4)));
+        assertThat(clave).isNotEqualTo(generar("porIds", List.of(1, 2)));
+        assertThat(clave).isNotEqualTo(generar("porIds", List.of(1, 2, 3, 4)));
+        assertThat(clave).isEqualTo(generar("porIds", new ArrayList<>(List.of(1, 2, 3))));
+    }
+
+    @Test
+    void listasGrandesQueSoloDifierenAlFinalNoColisionan() {
+        List<Integer> base = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            base.add(i);
+        }
+        List<Integer> otra = new ArrayList<>(base);
+        otra.set(otra.size() - 1, -1);
+
+        assertThat(generar("porIds", base)).isNotEqualTo(generar("porIds", otra));
+    }
+
+    @Test
+    void laClaveNoCambiaSiElLlamadorModificaLaColeccion() {
+        List<Integer> ids = new ArrayList<>(List.of(1, 2, 3));
+        Object clave = generar("porIds", ids);
+
+        ids.add(4);
+
+        assertThat(clave).isEqualTo(generar("porIds", List.of(1, 2, 3)));
+        assertThat(clave).isNotEqualTo(generar("porIds", ids));
+    }
+
+    @Test
+    void conjuntosYMapasSeComparanPorContenido() {
+        assertThat(generar("porDias", Set.of(DayOfWeek.MONDAY, DayOfWeek.FRIDAY)))
+                .isEqualTo(generar("porDias", new HashSet<>(List.of(DayOfWeek.FRIDAY, DayOfWeek.MONDAY))));
+        assertThat(generar("porFiltro", Map.of("zona", 1, "puesto", 2)))
+                .isEqualTo(generar("porFiltro", Map.of("puesto", 2, "zona", 1)))
+                .isNotEqualTo(generar("porFiltro", Map.of("zona", 1, "puesto", 3)));
+    }
+
+    @Test
+    void dtoSinEqualsSeComparaPorSusCampos() {
+        assertThat(generar("porCriterio", new Criterio(1, List.of("A", "B"))))
+                .isEqualTo(generar("porCriterio", new Criterio(1, List.of("A", "B"))))
+                .isNotEqualTo(generar("porCriterio", new Criterio(1, List.of("A", "C"))));
+    }
+
+    @Test
+    void arreglosSeComparanPorContenido() {
+        assertThat(generar("porArreglo", (Object) new int[]{1, 2, 3}))
+                .isEqualTo(generar("porArreglo", (Object) new int[]{1, 2, 3}))
+                .isNotEqualTo(generar("porArreglo", (Object) new int[]{1, 2, 4}));
+    }
+
+    @Test
+    void mismosArgumentosEnOtroMetodoNoColisionan() {
+        assertThat(generar("porIds", List.of(1))).isNotEqualTo(generar("otrosIds", List.of(1)));
+    }
+
+    @Test
+    void clasesHomonimasNoColisionan() throws NoSuchMethodException {
+        Object clave = generador.generate(new Homonimas.Consultas(), Homonimas.Consultas.class.getDeclaredMethod("porIds", List.class), List.of(1));
+
+        assertThat(Homonimas.Consultas.class.getSimpleName()).isEqualTo(Consultas.class.getSimpleName());
+        assertThat(clave).isNotEqualTo(generar("porIds", List.of(1)));
+    }
+
+    @Test
+    void laClaveDeserializadaEsIgualALaOriginal() throws Exception {
+        Object[] claves = {
+                generar("porIds", List.of(1, 2, 3)),
+                generar("porDias", Set.of(DayOfWeek.MONDAY)),
+                generar("porCriterio", new Criterio(7, List.of("X"))),
+                generar("porArreglo", (Object) new int[]{4, 5})
+        };
+        for (Object clave : claves) {
+            Object copia = deserializar(serializar(clave));
+
+            assertThat(copia).isNotSameAs(clave).isEqualTo(clave).hasSameHashCodeAs(clave);
+        }
+    }
+
+    private Object generar(String metodo, Object argumento) {
+        for (Method method : Consultas.class.getDeclaredMethods()) {
+            if (method.getName().equals(metodo)) {
+                return generador.generate(consultas, method, argumento);
+            }
+        }
+        throw new IllegalArgumentException(metodo);
+    }
+
+    private static byte[] serializar(Object objeto) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream salida = new ObjectOutputStream(bytes)) {
+            salida.writeObject(objeto);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object deserializar(byte[] bytes) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream entrada = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return entrada.readObject();
+        }
+    }
+
+    /**
+     * DTO sin {@code equals}, como los comandos de consulta.
+     */
+    static class Criterio implements Serializable {
+        private final int zona;
+        private final List<String> puestos;
+
+        Criterio(int zona, List<String> puestos) {
+            this.zona = zona;
+            this.puestos = puestos;
+        }
+    }
+
+    static class Homonimas {
+        @SuppressWarnings("unused")
+        static class Consultas {
+            List<Object> porIds(List<Integer> ids) {
+                return List.of();
+            }
+        }
+    }
+
+    @SuppressWarnings("unused")
+    static class Consultas {
+        List<Object> porIds(List<Integer> ids) {
+            return List.of();
+        }
+
+        List<Object> otrosIds(List<Integer> ids) {
+            return List.of();
+        }
+
+        List<Object> porDias(Set<DayOfWeek> dias) {
+            return List.of();
+        }
+
+        List<Object> porFiltro(Map<String, Integer> filtro) {
+            return List.of();
+        }
+
+        List<Object> porCriterio(Criterio criterio) {
+            return List.of();
+        }
+
+        List<Object> porArreglo(int[] valores) {
+            return List.of();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package integra.config.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica que la instantánea solo restaura las cachés con {@link CargadorCache} y que sus valores se
+ * reemplazan por los actuales.
+ */
+class InstantaneaCacheServiceTest {
+
+    @TempDir
+    Path directorio;
+
+    private final Map<Object, Object> baseDeDatos = new HashMap<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private InstantaneaCacheService servicio;
+    private CaffeineCacheManager cacheManager;
+
+    @BeforeEach
+    void preparar() {
+        CacheProperties properties = new CacheProperties();
+        properties.getInstantanea().setArchivo(directorio.resolve("instantanea.bin").toString());
+        cacheManager = new CaffeineCacheManager("unidadInfo", "unidadContacto");
+
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("unidadInfo", new CargadorCache("unidadInfo", baseDeDatos::get));
+
+        // Las recargas se ejecutan en el mismo hilo para comprobar el resultado sin esperar
+        servicio = new InstantaneaCacheService(cacheManager, properties, meterRegistry,
+                beanFactory.getBeanProvider(CargadorCache.class), Runnable::run);
+    }
+
+    @Test
+    void restauraYRecargaLasCachesConCargador() {
+        baseDeDatos.put(1L, "unidad 1");
+        baseDeDatos.put(2L, "unidad 2");
+        cache("unidadInfo").put(1L, "unidad 1");
+        cache("unidadInfo").put(2L, "unidad 2");
+        servicio.guardar();
+
+        // Cambios mientras la instancia estaba detenida
+        baseDeDatos.put(1L, "unidad 1 modificada");
+        baseDeDatos.remove(2L);
+        reiniciar();
+
+        servicio.restaurar();
+
+        assertThat(cache("unidadInfo").get(1L, String.class)).isEqualTo("unidad 1 modificada");
+        assertThat(cache("unidadInfo").get(2L)).isNull();
+        assertThat(conteo("unidadInfo", "restaurada")).isEqualTo(1);
+    }
+
+    @Test
+    void noGuardaNiRestauraLasCachesSinCargador() {
+        cache("unidadContacto").put(1L, "contacto anterior");
+        servicio.guardar();
+        reiniciar();
+
+        servicio.restaurar();
+
+        assertThat(cache("unidadContacto").get(1L)).isNull();
+    }
+
+    private void reiniciar() {
+        cacheManager.getCacheNames().forEach(nombre -> cache(nombre).clear());
+    }
+
+    private Cache cache(String nombre) {
+        return cacheManager.getCache(nombre);
+    }
+
+    private double conteo(String cache, String resultado) {
+        return meterRegistry.get("integra.cache.instantanea").tag("cache", cache).tag("resultado", resultado).counter().count();
+    }
+}
@@ -0,0 +1,157 @@
+package integra.config.cache.bus;
+
+import integra.config.cache.CacheConfig;
+import integra.config.cache.CacheProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.mariadb.MariaDBContainer;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Dos contextos de aplicación (dos nodos) sobre la misma base MariaDB, con las cachés de {@link CacheConfig} y
+ * el bus por tabla.
+ * <p>
+ * Recorre el camino real: {@link CacheManagerDistribuido} envuelve la caché, {@link CacheDistribuida#evict}
+ * publica en {@link BusInvalidacionTabla}, el otro nodo la lee por sondeo y la aplica con
+ * {@code aplicarRemota}. Cada contexto solo carga la configuración de cachés y la entidad del bus; el resto de la
+ * aplicación no interviene.
+ * </p>
+ */
+@Testcontainers
+class BusInvalidacionContextosTest {
+
+    private static final String CACHE = "unidadInfo";
+
+    @Container
+    static MariaDBContainer mariadb = new MariaDBContainer("mariadb:11.4");
+
+    private ConfigurableApplicationContext nodoA;
+    private ConfigurableApplicationContext nodoB;
+    private final List<CacheInvalidadaRemotamenteEvent> recibidasEnB = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void iniciar() {
+        nodoA = nodo().run();
+        nodoB = nodo().listeners((ApplicationListener<ApplicationEvent>) evento -> {
+            if (evento instanceof PayloadApplicationEvent<?> publicado && publicado.getPayload() instanceof CacheInvalidadaRemotamenteEvent invalidacion) {
+                recibidasEnB.add(invalidacion);
+            }
+        }).run();
+    }
+
+    @AfterEach
+    void detener() {
+        if (nodoA != null) {
+            // Un nodo nuevo vuelve a leer la ventana bajo la marca de agua: no debe ver las filas de otra prueba
+            nodoA.getBean(JdbcTemplate.class).update("DELETE FROM cache_invalidacion");
+            nodoA.close();
+        }
+        if (nodoB != null) {
+            nodoB.close();
+        }
+    }
+
+    @Test
+    void elDescarteEnUnNodoSeAplicaEnElOtro() throws InterruptedException {
+        Cache enA = cache(nodoA);
+        Cache enB = cache(nodoB);
+        assertThat(enA).isInstanceOf(CacheDistribuida.class);
+        enA.put(1, "unidad 1 (A)");
+        enB.put(1, "unidad 1 (B)");
+        enB.put(2, "unidad 2 (B)");
+
+        enA.evict(1);
+
+        esperar(() -> enB.get(1) == null);
+        assertThat(enB.get(2)).as("las demás claves se conservan").isNotNull();
+        assertThat(enA.get(1)).isNull();
+        assertThat(recibidasEnB).extracting(CacheInvalidadaRemotamenteEvent::cache).containsExactly(CACHE);
+    }
+
+    @Test
+    void vaciarUnaCacheLaVaciaEnElOtroNodo() throws InterruptedException {
+        Cache enA = cache(nodoA);
+        Cache enB = cache(nodoB);
+        enA.put(1, "unidad 1 (A)");
+        enA.put(2, "unidad 2 (A)");
+
+        enB.clear();
+
+        esperar(() -> enA.get(1) == null && enA.get(2) == null);
+    }
+
+    @Test
+    void unNodoNoAplicaSusPropiasInvalidaciones() throws InterruptedException {
+        Cache enA = cache(nodoA);
+        Cache enB = cache(nodoB);
+        enB.put(1, "unidad 1 (B)");
+
+        enB.evict(2);
+        enA.evict(3);
+
+        // El descarte de A llega a B; si B recibiera el suyo también habría dos eventos
+        esperar(() -> !recibidasEnB.isEmpty());
+        Thread.sleep(500);
+        assertThat(recibidasEnB).extracting(CacheInvalidadaRemotamenteEvent::clave).containsExactly(3);
+        assertThat(enB.get(1)).isNotNull();
+    }
+
+    private SpringApplicationBuilder nodo() {
+        return new SpringApplicationBuilder(Nodo.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.main.banner-mode=off",
+                        "spring.datasource.url=" + mariadb.getJdbcUrl(),
+                        "spring.datasource.username=" + mariadb.getUsername(),
+                        "spring.datasource.password=" + mariadb.getPassword(),
+                        "spring.jpa.hibernate.ddl-auto=none",
+                        "spring.sql.init.mode=always",
+                        "spring.sql.init.schema-locations=classpath:db/cache_invalidacion.sql",
+                        "integra.cache.bus.tipo=tabla",
+                        "integra.cache.bus.sondeo-ms=100",
+                        "integra.cache.specs." + CACHE + ".maximum-size=100");
+    }
+
+    private static Cache cache(ConfigurableApplicationContext contexto) {
+        return contexto.getBean(CacheManager.class).getCache(CACHE);
+    }
+
+    private static void esperar(BooleanSupplier condicion) throws InterruptedException {
+        long limite = System.currentTimeMillis() + 10_000;
+        while (!condicion.getAsBoolean() && System.currentTimeMillis() < limite) {
+            Thread.sleep(50);
+        }
+        assertThat(condicion.getAsBoolean()).as("la invalidación llegó al otro nodo").isTrue();
+    }
+
+    /**
+     * Un nodo: el paquete de esta clase limita el escaneo de JPA a la entidad y el repositorio del bus.
+     */
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EnableScheduling
+    @Import({CacheProperties.class, CacheConfig.class, BusInvalidacionTabla.class})
+    static class Nodo {
+    }
+}
@@ -0,0 +1,117 @@
+package integra.config.cache.bus;
+
+import integra.config.cache.CacheProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.mariadb.MariaDBContainer;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Dos nodos de {@link BusInvalidacionTabla} sobre la misma tabla en MariaDB.
+ * <p>
+ * Reproduce una confirmación fuera de orden: una transacción toma un id y confirma después de que otro nodo
+ * publicó con un id mayor y el receptor ya avanzó su marca de agua por encima del primero.
+ * </p>
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=none")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Sql(scripts = "/db/cache_invalidacion.sql", config = @SqlConfig(transactionMode = SqlConfig.TransactionMode.ISOLATED))
+class BusInvalidacionTablaTest {
+
+    @Container
+    @ServiceConnection
+    static MariaDBContainer mariadb = new MariaDBContainer("mariadb:11.4");
+
+    @Autowired
+    private CacheInvalidacionRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private BusInvalidacionTabla emisor;
+    private BusInvalidacionTabla receptor;
+    private final List<Invalidacion> recibidas = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void preparar() {
+        jdbc.update("DELETE FROM cache_invalidacion");
+        CacheProperties properties = new CacheProperties();
+        emisor = new BusInvalidacionTabla(repository, transactionManager, properties);
+        receptor = new BusInvalidacionTabla(repository, transactionManager, properties);
+        receptor.suscribir(recibidas::add);
+        emisor.iniciar();
+        receptor.iniciar();
+    }
+
+    @Test
+    void entregaLasInvalidacionesConfirmadasFueraDeOrden() throws Exception {
+        try (Connection lenta = dataSource.getConnection()) {
+            lenta.setAutoCommit(false);
+            try (PreparedStatement insert = lenta.prepareStatement("INSERT INTO cache_invalidacion (cache, clave, origen) VALUES (?, ?, ?)")) {
+                insert.setString(1, "unidadInfo");
+                insert.setString(2, BusInvalidacionTabla.codificar(1L));
+                insert.setString(3, "nodo-lento");
+                insert.executeUpdate();
+            }
+
+            emisor.publicar("unidadInfo", 2L);
+            receptor.sondear();
+            assertThat(recibidas).extracting(Invalidacion::clave).containsExactly(2L);
+
+            lenta.commit();
+        }
+
+        receptor.sondear();
+        assertThat(recibidas).extracting(Invalidacion::clave).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void cadaInvalidacionSeEntregaUnaSolaVez() {
+        for (long clave = 1; clave <= 3; clave++) {
+            emisor.publicar("unidadInfo", clave);
+            receptor.sondear();
+        }
+        receptor.sondear();
+        receptor.sondear();
+
+        assertThat(recibidas).extracting(Invalidacion::clave).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void noSeEntreganLasInvalidacionesPropias() {
+        receptor.publicar("unidadInfo", 1L);
+        emisor.publicar("unidadInfo", 2L);
+
+        receptor.sondear();
+
+        assertThat(recibidas).extracting(Invalidacion::origen).containsOnly(emisor.nodo());
+        assertThat(recibidas).extracting(Invalidacion::clave).containsExactly(2L);
+    }
+}
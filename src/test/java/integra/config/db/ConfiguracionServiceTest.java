@@ -0,0 +1,76 @@
+package integra.config.db;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifica el orden de resolución de los parámetros: fila de {@code parametros_app}, después
+ * {@code app.config.*} en las demás fuentes del {@code Environment} y por último el valor por defecto.
+ */
+class ConfiguracionServiceTest {
+
+    private final ParametroRepository repository = mock(ParametroRepository.class);
+    private final StandardEnvironment env = new StandardEnvironment();
+    private ConfiguracionService servicio;
+
+    @BeforeEach
+    void preparar() {
+        env.getPropertySources().addLast(new MapPropertySource("application", Map.of(
+                "app.config.idPuestoSupervisor", "9",
+                "app.config.horaInicioNocturno", "20:30",
+                "app.config.idPuestoNocturno", "no-es-numero")));
+        ConfigurationPropertySources.attach(env);
+        servicio = new ConfiguracionService(repository, mock(ApplicationEventPublisher.class), env);
+    }
+
+    @Test
+    void unParametroSinFilaSeTomaDeLasPropiedades() {
+        when(repository.findAll()).thenReturn(List.of());
+
+        ConfiguracionApp configuracion = servicio.recargar();
+
+        assertThat(configuracion.idPuestoSupervisor()).isEqualTo(9);
+        assertThat(configuracion.horaInicioNocturno()).isEqualTo(LocalTime.of(20, 30));
+        assertThat(configuracion.idPuestoNocturno()).as("valor inválido en propiedades").isEqualTo(2);
+        assertThat(configuracion.idUsuarioAdmin()).isEqualTo(1L);
+    }
+
+    @Test
+    void laFilaDeLaTablaTienePrioridad() {
+        when(repository.findAll()).thenReturn(List.of(parametro(ConfiguracionApp.ID_PUESTO_SUPERVISOR, "5")));
+
+        assertThat(servicio.recargar().idPuestoSupervisor()).isEqualTo(5);
+    }
+
+    @Test
+    void laFuenteDeLaTablaNoSeUsaComoRespaldo() {
+        // Lo que ConfiguracionLoader publicó de una lectura anterior no debe sobrevivir a que se borre la fila
+        env.getPropertySources().addFirst(new MapPropertySource(ConfiguracionLoader.FUENTE,
+                Map.of("app.config.idUsuarioAdmin", "77", "app.config.idPuestoSupervisor", "5")));
+        when(repository.findAll()).thenReturn(List.of());
+
+        ConfiguracionApp configuracion = servicio.recargar();
+
+        assertThat(configuracion.idUsuarioAdmin()).isEqualTo(1L);
+        assertThat(configuracion.idPuestoSupervisor()).isEqualTo(9);
+    }
+
+    private static ParametrosAppEntity parametro(String nombre, String valor) {
+        ParametrosAppEntity entidad = new ParametrosAppEntity();
+        entidad.setNombre(nombre);
+        entidad.setValor(valor);
+        return entidad;
+    }
+}
@@ -0,0 +1,177 @@
+package integra.security;
+
+import integra.model.Permiso;
+import integra.security.authority.CodificadorClaimPermisos;
+import integra.security.authority.ExpansionAutoridadesService;
+import integra.security.authority.PermisosMethodSecurityExpressionHandler;
+import integra.security.authority.RegistroPermisos;
+import integra.security.authority.VersionesRoles;
+import integra.seguridad.rol.model.Rol;
+import integra.seguridad.rol.repository.PermissionRepository;
+import integra.seguridad.rol.repository.RoleRepository;
+import integra.seguridad.rol.service.RolesPermisosService;
+import integra.seguridad.usuario.entity.TokenVersion;
+import integra.seguridad.usuario.repository.TokenVersionRepository;
+import integra.seguridad.usuario.service.TokenVersionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPublicKey;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Componentes reales de la autenticación por token ({@link JwtUtil}, {@link JwtRequestFilter},
+ * {@link ExpansionAutoridadesService}, {@link RegistroPermisos} y el manejador de {@code @PreAuthorize}) armados
+ * sin contexto de Spring, con repositorios simulados y un catálogo generado de forma determinista.
+ * <p>
+ * El catálogo sigue la forma de {@link Autoridades}: módulos {@code A}–{@code F}, submódulos {@code AA}–{@code FF}
+ * y acciones {@code AA1}–{@code FF6}, más de 250 códigos, así que los bitsets ocupan varias palabras.
+ * </p>
+ */
+public final class EntornoSeguridadPrueba {
+
+    private static final int ROLES = 12;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<String> codigos = new ArrayList<>();
+    private final List<String> roles = new ArrayList<>();
+    private final List<UserPrincipal> usuarios = new ArrayList<>();
+    private final List<String> tokens = new ArrayList<>();
+
+    private final RegistroPermisos registroPermisos;
+    private final ExpansionAutoridadesService expansionAutoridadesService;
+    private final JwtUtil jwtUtil;
+    private final JwtRequestFilter filtro;
+    private final PermisosMethodSecurityExpressionHandler expressionHandler;
+
+    public EntornoSeguridadPrueba(int cantidadUsuarios) {
+        Random random = new Random(20251104L);
+        for (char modulo = 'A'; modulo <= 'F'; modulo++) {
+            codigos.add(String.valueOf(modulo));
+            for (char submodulo = 'A'; submodulo <= 'F'; submodulo++) {
+                codigos.add("" + modulo + submodulo);
+                for (int accion = 1; accion <= 6; accion++) {
+                    codigos.add("" + modulo + submodulo + accion);
+                }
+            }
+        }
+
+        List<Rol> catalogoRoles = new ArrayList<>();
+        for (int i = 1; i <= ROLES; i++) {
+            Set<Permiso> permisos = new HashSet<>();
+            for (int j = 0; j < 40; j++) {
+                permisos.add(new Permiso(codigos.get(random.nextInt(codigos.size()))));
+            }
+            Rol rol = new Rol((long) i, "ROL_" + i, null, permisos);
+            catalogoRoles.add(rol);
+            roles.add(rol.getNombre());
+        }
+
+        List<TokenVersion> versiones = new ArrayList<>();
+        for (int i = 1; i <= cantidadUsuarios; i++) {
+            Set<String> authorities = new LinkedHashSet<>();
+            int cantidadRoles = 1 + random.nextInt(3);
+            for (int j = 0; j < cantidadRoles; j++) {
+                authorities.add(roles.get(random.nextInt(ROLES)));
+            }
+            if (random.nextInt(4) == 0) {
+                // Permiso especial fuera de los roles
+                authorities.add(codigos.get(random.nextInt(codigos.size())));
+            }
+            String username = "usuario%04d".formatted(i);
+            usuarios.add(new UserPrincipal((long) i, username, username + "@integra.test", "Usuario " + i, null, List.of(), true,
+                    null, null, null, List.copyOf(authorities), 1, random.nextBoolean(), i, null));
+            versiones.add(new TokenVersion(i, username, 1));
+        }
+
+        PermissionRepository permissionRepository = mock(PermissionRepository.class);
+        RolesPermisosService rolesPermisosService = mock(RolesPermisosService.class);
+        when(rolesPermisosService.cargarRolesConPermisos()).thenReturn(catalogoRoles);
+        TokenVersionRepository tokenVersionRepository = mock(TokenVersionRepository.class);
+        when(tokenVersionRepository.findAll()).thenReturn(versiones);
+
+        registroPermisos = new RegistroPermisos(permissionRepository);
+        expansionAutoridadesService = new ExpansionAutoridadesService(rolesPermisosService, new ConcurrentMapCacheManager(),
+                registroPermisos, meterRegistry, 5000);
+
+        jwtUtil = new JwtUtil(new TokenVersionService(tokenVersionRepository, 5000), meterRegistry,
+                new CodificadorClaimPermisos(permissionRepository, rolesPermisosService), new VersionesRoles(mock(RoleRepository.class)));
+        KeyPair llaves = generarLlaves();
+        ReflectionTestUtils.setField(jwtUtil, "privateKey", llaves.getPrivate());
+        ReflectionTestUtils.setField(jwtUtil, "publicKey", llaves.getPublic());
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpirationInSeconds", 3600L);
+        ReflectionTestUtils.setField(jwtUtil, "maximoClaimsEnCache", 10_000L);
+        jwtUtil.init();
+        usuarios.forEach(usuario -> tokens.add(jwtUtil.generateToken(usuario)));
+
+        filtro = new JwtRequestFilter(expansionAutoridadesService, jwtUtil, new MetricasFiltroSeguridad(meterRegistry, false, 16));
+
+        StaticListableBeanFactory beans = new StaticListableBeanFactory(Map.of("registroPermisos", registroPermisos, "meterRegistry", meterRegistry));
+        expressionHandler = new PermisosMethodSecurityExpressionHandler(beans.getBeanProvider(RegistroPermisos.class), beans.getBeanProvider(MeterRegistry.class));
+    }
+
+    public MeterRegistry meterRegistry() {
+        return meterRegistry;
+    }
+
+    public List<String> codigos() {
+        return codigos;
+    }
+
+    public List<UserPrincipal> usuarios() {
+        return usuarios;
+    }
+
+    public List<String> tokens() {
+        return tokens;
+    }
+
+    public RegistroPermisos registroPermisos() {
+        return registroPermisos;
+    }
+
+    public ExpansionAutoridadesService expansionAutoridadesService() {
+        return expansionAutoridadesService;
+    }
+
+    public JwtUtil jwtUtil() {
+        return jwtUtil;
+    }
+
+    public JwtRequestFilter filtro() {
+        return filtro;
+    }
+
+    public PermisosMethodSecurityExpressionHandler expressionHandler() {
+        return expressionHandler;
+    }
+
+    public RSAPublicKey llavePublica() {
+        return (RSAPublicKey) ReflectionTestUtils.getField(jwtUtil, "publicKey");
+    }
+
+    private static KeyPair generarLlaves() {
+        try {
+            KeyPairGenerator generador = KeyPairGenerator.getInstance("RSA");
+            generador.initialize(2048);
+            return generador.generateKeyPair();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("RSA no disponible", e);
+        }
+    }
+}
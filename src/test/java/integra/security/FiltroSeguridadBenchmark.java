@@ -0,0 +1,155 @@
+package integra.security;
+
+import integra.security.authority.AutoridadesEfectivas;
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.aopalliance.intercept.MethodInvocation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.expression.Expression;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.access.expression.ExpressionUtils;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.util.SimpleMethodInvocation;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo por solicitud de la autenticación por token, fase por fase.
+ * <ul>
+ *     <li>{@code verificarToken}: {@link JwtUtil#extractAllClaims} con el token ya en la caché de claims.</li>
+ *     <li>{@code validarVersion}: comparación de versión de usuario, roles y catálogo.</li>
+ *     <li>{@code expandirAutoridades}: {@link integra.security.authority.ExpansionAutoridadesService#expandir}.</li>
+ *     <li>{@code evaluarPreAuthorize}: una expresión de {@link Autoridades} con el manejador de la aplicación;
+ *     {@code evaluarPreAuthorizeEstandar} es la misma evaluación con el manejador de Spring Security.</li>
+ *     <li>{@code filtroCompleto}: {@link JwtRequestFilter} de principio a fin, con solicitud y respuesta simuladas.</li>
+ * </ul>
+ * Se ejecuta con {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="FiltroSeguridad -prof gc"}; el
+ * perfil {@code gc} informa la memoria reservada por operación ({@code gc.alloc.rate.norm}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FiltroSeguridadBenchmark {
+
+    private static final FilterChain CADENA_VACIA = (request, response) -> {
+    };
+
+    @Param({"1000"})
+    public int usuarios;
+
+    private EntornoSeguridadPrueba entorno;
+    private String[] tokens;
+    private Claims[] claims;
+    private List<String>[] authorities;
+    private Authentication[] autenticaciones;
+    private Expression[] expresiones;
+    private Expression[] expresionesEstandar;
+    private MethodSecurityExpressionHandler estandar;
+    private MethodInvocation invocacion;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int posicion;
+
+        int siguiente(int limite) {
+            posicion = posicion + 1 == limite ? 0 : posicion + 1;
+            return posicion;
+        }
+    }
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void preparar() throws NoSuchMethodException {
+        entorno = new EntornoSeguridadPrueba(usuarios);
+        tokens = entorno.tokens().toArray(String[]::new);
+        claims = new Claims[usuarios];
+        authorities = new List[usuarios];
+        autenticaciones = new Authentication[usuarios];
+        for (int i = 0; i < usuarios; i++) {
+            claims[i] = entorno.jwtUtil().extractAllClaims(tokens[i]);
+            authorities[i] = entorno.jwtUtil().extraerAuthorities(claims[i]);
+            AutoridadesEfectivas efectivas = entorno.expansionAutoridadesService().expandir(authorities[i]);
+            UserPrincipal usuario = entorno.usuarios().get(i);
+            UserPrincipal principal = new UserPrincipal(usuario.getId(), usuario.getUsername(), usuario.getEmail(), null, null,
+                    efectivas.authorities(), true, null, null, null, authorities[i], 1, usuario.getEsSupervisor(), usuario.getEmpleadoId(), efectivas.bits());
+            autenticaciones[i] = new UsernamePasswordAuthenticationToken(principal, null, efectivas.authorities());
+        }
+
+        List<String> codigos = entorno.codigos();
+        estandar = new DefaultMethodSecurityExpressionHandler();
+        expresiones = new Expression[codigos.size()];
+        expresionesEstandar = new Expression[codigos.size()];
+        for (int i = 0; i < codigos.size(); i++) {
+            String expresion = "hasAuthority('" + codigos.get(i) + "')";
+            expresiones[i] = entorno.expressionHandler().getExpressionParser().parseExpression(expresion);
+            expresionesEstandar[i] = estandar.getExpressionParser().parseExpression(expresion);
+        }
+        invocacion = new SimpleMethodInvocation(this, Object.class.getMethod("toString"));
+    }
+
+    @Benchmark
+    public Claims verificarToken(Cursor cursor) {
+        return entorno.jwtUtil().extractAllClaims(tokens[cursor.siguiente(usuarios)]);
+    }
+
+    @Benchmark
+    public boolean validarVersion(Cursor cursor) {
+        Claims vigentes = claims[cursor.siguiente(usuarios)];
+        return !entorno.jwtUtil().isTokenExpired(vigentes) && !entorno.jwtUtil().esVersionDeprecada(vigentes);
+    }
+
+    @Benchmark
+    public AutoridadesEfectivas expandirAutoridades(Cursor cursor) {
+        return entorno.expansionAutoridadesService().expandir(authorities[cursor.siguiente(usuarios)]);
+    }
+
+    @Benchmark
+    public boolean evaluarPreAuthorize(Cursor cursor) {
+        return evaluar(entorno.expressionHandler(), expresiones, cursor);
+    }
+
+    @Benchmark
+    public boolean evaluarPreAuthorizeEstandar(Cursor cursor) {
+        return evaluar(estandar, expresionesEstandar, cursor);
+    }
+
+    @Benchmark
+    public int filtroCompleto(Cursor cursor) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/unidades");
+        request.addHeader("Authorization", "Bearer " + tokens[cursor.siguiente(usuarios)]);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            entorno.filtro().doFilter(request, response, CADENA_VACIA);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return response.getStatus();
+    }
+
+    private boolean evaluar(MethodSecurityExpressionHandler handler, Expression[] candidatas, Cursor cursor) {
+        Authentication autenticacion = autenticaciones[cursor.siguiente(usuarios)];
+        Expression expresion = candidatas[cursor.posicion % candidatas.length];
+        return ExpressionUtils.evaluateAsBoolean(expresion, handler.createEvaluationContext(() -> autenticacion, invocacion));
+    }
+}
@@ -0,0 +1,175 @@
+package integra.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Ejecuta {@link JwtRequestFilter} con MockMvc desde varios hilos a la vez.
+ * <p>
+ * Comprueba que cada solicitud se autentica con el usuario de su propio token, que la firma RSA se verifica
+ * una sola vez por token (las demás solicitudes resuelven los claims desde la caché) y que la memoria que el
+ * filtro reserva por solicitud se mantiene acotada. El rendimiento medido se informa en el log; el detalle por
+ * fase está en {@link FiltroSeguridadBenchmark}.
+ * </p>
+ */
+@Slf4j
+class JwtRequestFilterConcurrenciaTest {
+
+    private static final int USUARIOS = 200;
+    private static final int HILOS = 8;
+    private static final int SOLICITUDES_POR_HILO = 500;
+    /** Holgado: con los claims en caché el filtro reserva unos pocos KB por solicitud. */
+    private static final long MAXIMO_BYTES_POR_SOLICITUD = 32 * 1024;
+
+    private EntornoSeguridadPrueba entorno;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void preparar() {
+        entorno = new EntornoSeguridadPrueba(USUARIOS);
+        mockMvc = MockMvcBuilders.standaloneSetup(new EcoController())
+                .addFilters(new LimpiarContextoFilter(), entorno.filtro())
+                .build();
+    }
+
+    @Test
+    void cadaSolicitudSeAutenticaConSuTokenBajoConcurrencia() throws Exception {
+        // Primera pasada: cada token se verifica una vez y queda en caché
+        for (int i = 0; i < USUARIOS; i++) {
+            assertThat(eco(i).getResponse().getContentAsString()).isEqualTo(entorno.usuarios().get(i).getUsername());
+        }
+        double fallosIniciales = fallosCacheClaims();
+
+        List<Callable<Integer>> tareas = new ArrayList<>();
+        for (int h = 0; h < HILOS; h++) {
+            tareas.add(() -> {
+                int correctas = 0;
+                for (int s = 0; s < SOLICITUDES_POR_HILO; s++) {
+                    int usuario = ThreadLocalRandom.current().nextInt(USUARIOS);
+                    MvcResult resultado = eco(usuario);
+                    if (resultado.getResponse().getStatus() == 200
+                            && resultado.getResponse().getContentAsString().equals(entorno.usuarios().get(usuario).getUsername())) {
+                        correctas++;
+                    }
+                }
+                return correctas;
+            });
+        }
+
+        long inicio = System.nanoTime();
+        int correctas = 0;
+        try (ExecutorService executor = Executors.newFixedThreadPool(HILOS)) {
+            for (Future<Integer> resultado : executor.invokeAll(tareas)) {
+                correctas += resultado.get();
+            }
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        log.info("{} solicitudes autenticadas en {} hilos: {} solicitudes/s", HILOS * SOLICITUDES_POR_HILO, HILOS,
+                Math.round(HILOS * SOLICITUDES_POR_HILO / segundos));
+
+        assertThat(correctas).isEqualTo(HILOS * SOLICITUDES_POR_HILO);
+        assertThat(fallosCacheClaims()).as("verificaciones RSA después de la primera pasada").isEqualTo(fallosIniciales);
+    }
+
+    @Test
+    void tokenConFirmaAlteradaSeRechaza() throws Exception {
+        String token = entorno.tokens().getFirst();
+        String alterado = token.substring(0, token.length() - 4) + (token.endsWith("AAAA") ? "BBBB" : "AAAA");
+
+        MvcResult resultado = mockMvc.perform(get("/api/eco").header("Authorization", "Bearer " + alterado)).andReturn();
+
+        assertThat(resultado.getResponse().getStatus()).isEqualTo(401);
+    }
+
+    @Test
+    void memoriaReservadaPorElFiltroEstaAcotada() throws Exception {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled());
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        int solicitudes = 2000;
+        for (int i = 0; i < solicitudes; i++) {
+            eco(i % USUARIOS);
+            anonima();
+        }
+
+        long inicio = threadMXBean.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < solicitudes; i++) {
+            eco(i % USUARIOS);
+        }
+        long conToken = threadMXBean.getCurrentThreadAllocatedBytes() - inicio;
+
+        inicio = threadMXBean.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < solicitudes; i++) {
+            anonima();
+        }
+        long sinToken = threadMXBean.getCurrentThreadAllocatedBytes() - inicio;
+
+        long porSolicitud = (conToken - sinToken) / solicitudes;
+        log.info("Memoria reservada por el filtro: {} bytes por solicitud", porSolicitud);
+        assertThat(porSolicitud).isLessThan(MAXIMO_BYTES_POR_SOLICITUD);
+    }
+
+    private MvcResult eco(int usuario) throws Exception {
+        return mockMvc.perform(get("/api/eco").header("Authorization", "Bearer " + entorno.tokens().get(usuario))).andReturn();
+    }
+
+    private void anonima() throws Exception {
+        mockMvc.perform(get("/api/eco")).andReturn();
+    }
+
+    private double fallosCacheClaims() {
+        return entorno.meterRegistry().get("cache.gets").tag("cache", "jwtClaims").tag("result", "miss").functionCounter().count();
+    }
+
+    @RestController
+    static class EcoController {
+
+        @GetMapping("/api/eco")
+        String eco() {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            return authentication != null ? authentication.getName() : "anonimo";
+        }
+    }
+
+    /**
+     * Hace lo que {@code SecurityContextHolderFilter} en la cadena real: cada solicitud empieza sin autenticación.
+     */
+    static class LimpiarContextoFilter extends OncePerRequestFilter {
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain) throws ServletException, IOException {
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                SecurityContextHolder.clearContext();
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package integra.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.interfaces.RSAPublicKey;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de obtener los claims de un token en cada solicitud.
+ * <ul>
+ *     <li>{@code parserPorSolicitud}: construir el parser y verificar la firma en cada llamada, como antes.</li>
+ *     <li>{@code parserUnico}: el parser se construye una vez y solo se repite la verificación RSA.</li>
+ *     <li>{@code claimsEnCache}: {@link JwtUtil#extractAllClaims}, que resuelve un token ya verificado con el
+ *     SHA-256 del token y una búsqueda en la caché.</li>
+ * </ul>
+ * Se ejecuta con {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="VerificacionJwt -prof gc"}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VerificacionJwtBenchmark {
+
+    private static final String ISSUER = "integra-auth-server";
+
+    @Param({"1000"})
+    public int usuarios;
+
+    private JwtUtil jwtUtil;
+    private RSAPublicKey llavePublica;
+    private JwtParser parser;
+    private String[] tokens;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int posicion;
+
+        int siguiente(int limite) {
+            posicion = posicion + 1 == limite ? 0 : posicion + 1;
+            return posicion;
+        }
+    }
+
+    @Setup
+    public void preparar() {
+        EntornoSeguridadPrueba entorno = new EntornoSeguridadPrueba(usuarios);
+        jwtUtil = entorno.jwtUtil();
+        llavePublica = entorno.llavePublica();
+        parser = Jwts.parser().verifyWith(llavePublica).requireIssuer(ISSUER).build();
+        tokens = entorno.tokens().toArray(String[]::new);
+        for (String token : tokens) {
+            jwtUtil.extractAllClaims(token);
+        }
+    }
+
+    @Benchmark
+    public Claims parserPorSolicitud(Cursor cursor) {
+        return Jwts.parser().verifyWith(llavePublica).requireIssuer(ISSUER).build()
+                .parseSignedClaims(tokens[cursor.siguiente(usuarios)]).getPayload();
+    }
+
+    @Benchmark
+    public Claims parserUnico(Cursor cursor) {
+        return parser.parseSignedClaims(tokens[cursor.siguiente(usuarios)]).getPayload();
+    }
+
+    @Benchmark
+    public Claims claimsEnCache(Cursor cursor) {
+        return jwtUtil.extractAllClaims(tokens[cursor.siguiente(usuarios)]);
+    }
+}
@@ -0,0 +1,81 @@
+package integra.security.authority;
+
+import integra.seguridad.rol.entity.Permission;
+import integra.seguridad.rol.model.Rol;
+import integra.seguridad.rol.repository.PermissionRepository;
+import integra.seguridad.rol.service.RolesPermisosService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifica la versión del catálogo del claim compacto: distinta para catálogos distintos aunque colisionen en
+ * {@code String.hashCode}, y un claim de otra versión no se decodifica.
+ */
+class CodificadorClaimPermisosTest {
+
+    private final PermissionRepository permissionRepository = mock(PermissionRepository.class);
+    private final RolesPermisosService rolesPermisosService = mock(RolesPermisosService.class);
+    private CodificadorClaimPermisos codificador;
+
+    @BeforeEach
+    void preparar() {
+        catalogo(List.of("AA1", "AA2", "BB1"), List.of(new Rol(1L, "ADMIN", null), new Rol(2L, "SUPERVISOR", null)));
+        codificador = new CodificadorClaimPermisos(permissionRepository, rolesPermisosService);
+        codificador.inicializar();
+    }
+
+    @Test
+    void catalogosQueColisionanEnHashCodeTienenVersionesDistintas() {
+        assertThat("Aa".hashCode()).isEqualTo("BB".hashCode());
+
+        CatalogoPermisos primero = CatalogoPermisos.construir(List.of("Aa"), List.of());
+        CatalogoPermisos segundo = CatalogoPermisos.construir(List.of("BB"), List.of());
+
+        assertThat(primero.version()).isNotEqualTo(segundo.version());
+        assertThat(primero.version()).isEqualTo(CatalogoPermisos.construir(List.of("Aa"), List.of()).version());
+    }
+
+    @Test
+    void decodificaElClaimDeLaVersionVigente() {
+        Map<String, Object> claim = codificador.codificar(List.of("SUPERVISOR", "BB1"));
+
+        assertThat(codificador.esVersionVigente(claim)).isTrue();
+        assertThat(codificador.decodificar(claim)).containsExactlyInAnyOrder("SUPERVISOR", "BB1");
+    }
+
+    @Test
+    void rechazaElClaimDeOtraVersionDelCatalogo() {
+        Map<String, Object> claim = codificador.codificar(List.of("ADMIN", "AA2"));
+
+        catalogo(List.of("AA0", "AA1", "AA2", "BB1"), List.of(new Rol(1L, "ADMIN", null), new Rol(2L, "SUPERVISOR", null)));
+        codificador.onRolesPermisosActualizados(null);
+
+        assertThat(codificador.esVersionVigente(claim)).isFalse();
+        assertThat(codificador.decodificar(claim)).isNull();
+    }
+
+    @Test
+    void rechazaLaVersionDe32BitsAnterior() {
+        Map<String, Object> claim = new HashMap<>(codificador.codificar(List.of("ADMIN")));
+        long version = ((Number) claim.get("v")).longValue();
+        assertThat((long) (int) version).isNotEqualTo(version);
+
+        claim.put("v", (int) version);
+
+        assertThat(codificador.esVersionVigente(claim)).isFalse();
+        assertThat(codificador.decodificar(claim)).isNull();
+    }
+
+    private void catalogo(List<String> codigos, List<Rol> roles) {
+        when(permissionRepository.findAll()).thenReturn(codigos.stream().map(Permission::new).toList());
+        when(rolesPermisosService.cargarRolesConPermisos()).thenReturn(roles);
+    }
+}
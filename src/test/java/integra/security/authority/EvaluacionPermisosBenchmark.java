@@ -0,0 +1,140 @@
+package integra.security.authority;
+
+import integra.security.EntornoSeguridadPrueba;
+import integra.security.UserPrincipal;
+import org.aopalliance.intercept.MethodInvocation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.security.access.expression.ExpressionUtils;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.util.SimpleMethodInvocation;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de una verificación {@code hasAuthority} de {@code @PreAuthorize}.
+ * <ul>
+ *     <li>{@code indiceAlParsear}: la expresión reescrita por {@link PermisosMethodSecurityExpressionHandler}, con el
+ *     índice del código resuelto al parsear.</li>
+ *     <li>{@code indiceAlEvaluar}: la misma expresión sin reescribir; el índice se busca en cada evaluación.</li>
+ *     <li>{@code authorities}: {@link DefaultMethodSecurityExpressionHandler} sobre el conjunto de authorities.</li>
+ *     <li>{@code bitPorIndice} y {@code bitPorCodigo}: solo la prueba de bit, con y sin búsqueda del índice.</li>
+ * </ul>
+ * Se ejecuta con {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="EvaluacionPermisos -prof gc"}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EvaluacionPermisosBenchmark {
+
+    private static final int USUARIOS = 200;
+
+    private RegistroPermisos registro;
+    private MethodSecurityExpressionHandler handler;
+    private MethodSecurityExpressionHandler estandar;
+    private MethodInvocation invocacion;
+    private Authentication[] autenticaciones;
+    private long[][] bits;
+    private String[] codigos;
+    private int[] indices;
+    private Expression[] reescritas;
+    private Expression[] sinReescribir;
+    private Expression[] estandares;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int usuario;
+        private int codigo;
+
+        void avanzar(int usuarios, int codigos) {
+            usuario = usuario + 1 == usuarios ? 0 : usuario + 1;
+            codigo = codigo + 1 == codigos ? 0 : codigo + 1;
+        }
+    }
+
+    @Setup
+    public void preparar() throws NoSuchMethodException {
+        EntornoSeguridadPrueba entorno = new EntornoSeguridadPrueba(USUARIOS);
+        registro = entorno.registroPermisos();
+        handler = entorno.expressionHandler();
+        estandar = new DefaultMethodSecurityExpressionHandler();
+        invocacion = new SimpleMethodInvocation(this, Object.class.getMethod("toString"));
+
+        autenticaciones = new Authentication[USUARIOS];
+        bits = new long[USUARIOS][];
+        for (int i = 0; i < USUARIOS; i++) {
+            UserPrincipal usuario = entorno.usuarios().get(i);
+            AutoridadesEfectivas efectivas = entorno.expansionAutoridadesService().expandir(usuario.getAuthoritiesForToken());
+            UserPrincipal principal = new UserPrincipal(usuario.getId(), usuario.getUsername(), usuario.getEmail(), null, null,
+                    efectivas.authorities(), true, null, null, null, usuario.getAuthoritiesForToken(), 1, usuario.getEsSupervisor(),
+                    usuario.getEmpleadoId(), efectivas.bits());
+            autenticaciones[i] = new UsernamePasswordAuthenticationToken(principal, null, efectivas.authorities());
+            bits[i] = efectivas.bits();
+        }
+
+        List<String> catalogo = entorno.codigos();
+        SpelExpressionParser spel = new SpelExpressionParser();
+        codigos = catalogo.toArray(String[]::new);
+        indices = new int[codigos.length];
+        reescritas = new Expression[codigos.length];
+        sinReescribir = new Expression[codigos.length];
+        estandares = new Expression[codigos.length];
+        for (int i = 0; i < codigos.length; i++) {
+            String texto = "hasAuthority('" + codigos[i] + "')";
+            reescritas[i] = handler.getExpressionParser().parseExpression(texto);
+            sinReescribir[i] = spel.parseExpression(texto);
+            estandares[i] = estandar.getExpressionParser().parseExpression(texto);
+            indices[i] = registro.indice(codigos[i]);
+        }
+    }
+
+    @Benchmark
+    public boolean indiceAlParsear(Cursor cursor) {
+        return evaluar(handler, reescritas, cursor);
+    }
+
+    @Benchmark
+    public boolean indiceAlEvaluar(Cursor cursor) {
+        return evaluar(handler, sinReescribir, cursor);
+    }
+
+    @Benchmark
+    public boolean authorities(Cursor cursor) {
+        return evaluar(estandar, estandares, cursor);
+    }
+
+    @Benchmark
+    public boolean bitPorIndice(Cursor cursor) {
+        cursor.avanzar(USUARIOS, codigos.length);
+        return RegistroPermisos.contiene(bits[cursor.usuario], indices[cursor.codigo]);
+    }
+
+    @Benchmark
+    public boolean bitPorCodigo(Cursor cursor) {
+        cursor.avanzar(USUARIOS, codigos.length);
+        return registro.contiene(bits[cursor.usuario], codigos[cursor.codigo]);
+    }
+
+    private boolean evaluar(MethodSecurityExpressionHandler manejador, Expression[] expresiones, Cursor cursor) {
+        cursor.avanzar(USUARIOS, expresiones.length);
+        Authentication autenticacion = autenticaciones[cursor.usuario];
+        return ExpressionUtils.evaluateAsBoolean(expresiones[cursor.codigo], manejador.createEvaluationContext(() -> autenticacion, invocacion));
+    }
+}
@@ -0,0 +1,100 @@
+package integra.security.authority;
+
+import integra.security.EntornoSeguridadPrueba;
+import integra.security.UserPrincipal;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.expression.Expression;
+import org.springframework.security.access.expression.ExpressionUtils;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.util.SimpleMethodInvocation;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica la reescritura de {@code hasAuthority}/{@code hasAnyAuthority} al parsear y que el resultado coincide
+ * con {@link DefaultMethodSecurityExpressionHandler} para todo el catálogo, con y sin bitset en el principal.
+ */
+class PermisosMethodSecurityExpressionHandlerTest {
+
+    private EntornoSeguridadPrueba entorno;
+    private PermisosMethodSecurityExpressionHandler handler;
+    private final DefaultMethodSecurityExpressionHandler estandar = new DefaultMethodSecurityExpressionHandler();
+    private MethodInvocation invocacion;
+
+    @BeforeEach
+    void preparar() throws NoSuchMethodException {
+        entorno = new EntornoSeguridadPrueba(50);
+        handler = entorno.expressionHandler();
+        invocacion = new SimpleMethodInvocation(this, Object.class.getMethod("toString"));
+    }
+
+    @Test
+    void hasAuthoritySeReescribeConElIndiceResueltoAlParsear() {
+        Expression expresion = handler.getExpressionParser().parseExpression("hasAuthority('BC3')");
+        int indice = entorno.registroPermisos().indice("BC3");
+
+        assertThat(indice).isNotNegative();
+        assertThat(expresion.getExpressionString()).isEqualTo("tienePermiso(" + indice + ", 'BC3')");
+    }
+
+    @Test
+    void hasAnyAuthoritySeReescribeComoDisyuncion() {
+        Expression expresion = handler.getExpressionParser().parseExpression("hasAnyAuthority('AA1', 'FF6')");
+
+        assertThat(expresion.getExpressionString()).isEqualTo("tienePermiso(%d, 'AA1') or tienePermiso(%d, 'FF6')"
+                .formatted(entorno.registroPermisos().indice("AA1"), entorno.registroPermisos().indice("FF6")));
+    }
+
+    @Test
+    void otrasExpresionesNoSeReescriben() {
+        String compuesta = "hasAuthority('A') and isAuthenticated()";
+
+        assertThat(handler.getExpressionParser().parseExpression(compuesta).getExpressionString()).isEqualTo(compuesta);
+    }
+
+    @Test
+    void coincideConLaEvaluacionEstandarParaTodosLosCodigosYUsuarios() {
+        List<String> codigos = entorno.codigos();
+        for (UserPrincipal usuario : entorno.usuarios()) {
+            Authentication conBits = autenticacion(usuario, true);
+            Authentication sinBits = autenticacion(usuario, false);
+            for (int i = 0; i < codigos.size(); i++) {
+                String simple = "hasAuthority('" + codigos.get(i) + "')";
+                String alguna = "hasAnyAuthority('" + codigos.get(i) + "', '" + codigos.get((i * 7 + 3) % codigos.size()) + "')";
+                String compuesta = simple + " and isAuthenticated()";
+                for (String texto : List.of(simple, alguna, compuesta)) {
+                    boolean esperado = evaluar(estandar, texto, conBits);
+                    assertThat(evaluar(handler, texto, conBits)).as("%s para %s con bitset", texto, usuario.getUsername()).isEqualTo(esperado);
+                    assertThat(evaluar(handler, texto, sinBits)).as("%s para %s sin bitset", texto, usuario.getUsername()).isEqualTo(esperado);
+                }
+            }
+        }
+    }
+
+    @Test
+    void codigoDesconocidoNoSeConcede() {
+        Authentication autenticacion = autenticacion(entorno.usuarios().getFirst(), true);
+
+        assertThat(evaluar(handler, "hasAuthority('ZZ9')", autenticacion)).isFalse();
+    }
+
+    private boolean evaluar(MethodSecurityExpressionHandler manejador, String texto, Authentication autenticacion) {
+        Expression expresion = manejador.getExpressionParser().parseExpression(texto);
+        return ExpressionUtils.evaluateAsBoolean(expresion, manejador.createEvaluationContext(() -> autenticacion, invocacion));
+    }
+
+    private Authentication autenticacion(UserPrincipal usuario, boolean conBits) {
+        AutoridadesEfectivas efectivas = entorno.expansionAutoridadesService().expandir(usuario.getAuthoritiesForToken());
+        UserPrincipal principal = new UserPrincipal(usuario.getId(), usuario.getUsername(), usuario.getEmail(), null, null,
+                efectivas.authorities(), true, null, null, null, usuario.getAuthoritiesForToken(), 1, usuario.getEsSupervisor(),
+                usuario.getEmpleadoId(), conBits ? efectivas.bits() : null);
+        return new UsernamePasswordAuthenticationToken(principal, null, efectivas.authorities());
+    }
+}
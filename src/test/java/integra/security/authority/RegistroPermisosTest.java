@@ -0,0 +1,80 @@
+package integra.security.authority;
+
+import integra.seguridad.rol.repository.PermissionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Verifica el bitset de {@link RegistroPermisos} palabra por palabra, en particular los bits 63 y 64 donde
+ * {@code 1L << indice} cambia de palabra.
+ */
+class RegistroPermisosTest {
+
+    private RegistroPermisos registro;
+
+    @BeforeEach
+    void preparar() {
+        registro = new RegistroPermisos(mock(PermissionRepository.class));
+        IntStream.range(0, 130).forEach(i -> registro.registrar(codigo(i)));
+    }
+
+    @Test
+    void codificarPoneCadaCodigoEnSuPalabraYBit() {
+        long[] bits = registro.codificar(authorities(0, 63, 64, 127, 128));
+
+        assertThat(bits).hasSize(3);
+        assertThat(bits[0]).isEqualTo(1L | 1L << 63);
+        assertThat(bits[1]).isEqualTo(1L | 1L << 63);
+        assertThat(bits[2]).isEqualTo(1L);
+    }
+
+    @Test
+    void contieneSoloLosIndicesCodificados() {
+        long[] bits = registro.codificar(authorities(0, 63, 64, 127, 128));
+
+        for (int indice : new int[]{0, 63, 64, 127, 128}) {
+            assertThat(RegistroPermisos.contiene(bits, indice)).as("índice %d", indice).isTrue();
+            assertThat(registro.contiene(bits, codigo(indice))).as("código %s", codigo(indice)).isTrue();
+        }
+        for (int indice : new int[]{1, 62, 65, 126, 129}) {
+            assertThat(RegistroPermisos.contiene(bits, indice)).as("índice %d", indice).isFalse();
+        }
+    }
+
+    @Test
+    void indicesFueraDelBitsetONoRegistradosNoSeContienen() {
+        long[] bits = registro.codificar(authorities(5));
+
+        assertThat(bits).hasSize(1);
+        assertThat(RegistroPermisos.contiene(bits, 64)).isFalse();
+        assertThat(RegistroPermisos.contiene(bits, 1000)).isFalse();
+        assertThat(RegistroPermisos.contiene(bits, -1)).isFalse();
+        assertThat(registro.contiene(bits, "NO_REGISTRADO")).isFalse();
+        assertThat(RegistroPermisos.contiene(new long[0], 0)).isFalse();
+    }
+
+    @Test
+    void losIndicesNoSeReasignan() {
+        int indice = registro.indice(codigo(64));
+
+        assertThat(registro.registrar(codigo(64))).isEqualTo(indice);
+        assertThat(registro.registrar("NUEVO")).isEqualTo(130);
+        assertThat(registro.tamano()).isEqualTo(131);
+    }
+
+    private List<GrantedAuthority> authorities(int... indices) {
+        return IntStream.of(indices).<GrantedAuthority>mapToObj(i -> new SimpleGrantedAuthority(codigo(i))).toList();
+    }
+
+    private static String codigo(int indice) {
+        return "P%03d".formatted(indice);
+    }
+}
@@ -0,0 +1,37 @@
+package integra.security.login;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BCryptCostoPasswordEncoderTest {
+
+    private final BCryptCostoPasswordEncoder encoder = new BCryptCostoPasswordEncoder(6);
+
+    @Test
+    void soloSeActualizanLosHashesConCostoMenor() {
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(5).encode("secreto"))).isTrue();
+        assertThat(encoder.upgradeEncoding(encoder.encode("secreto"))).isFalse();
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(7).encode("secreto"))).isFalse();
+    }
+
+    @Test
+    void unValorQueNoEsBCryptNoSeActualiza() {
+        assertThat(encoder.upgradeEncoding("{noop}secreto")).isFalse();
+        assertThat(encoder.upgradeEncoding(null)).isFalse();
+    }
+
+    @Test
+    void laCalibracionNoCambiaElCostoConfigurado() {
+        LoginProperties.Bcrypt config = new LoginProperties.Bcrypt();
+        config.setCosto(5);
+        config.setCostoMinimo(4);
+        config.setCostoMaximo(8);
+        config.setTiempoObjetivo(Duration.ofSeconds(10));
+
+        assertThat(BCryptCostoPasswordEncoder.crear(config).getCosto()).isEqualTo(5);
+    }
+}
@@ -0,0 +1,109 @@
+package integra.security.login;
+
+import integra.globalexception.LoginLimitadoException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LimitadorLoginTest {
+
+    private static final String IP = "10.0.0.7";
+
+    private LoginProperties properties;
+
+    @BeforeEach
+    void preparar() {
+        properties = new LoginProperties();
+        properties.getLimite().setVentana(Duration.ofHours(1));
+        properties.getLimite().setMaximoPorUsuario(3);
+        properties.getLimite().setMaximoPorIp(5);
+    }
+
+    @Test
+    void elLimitePorIpEstaDeshabilitadoPorDefecto() {
+        LimitadorLogin limitador = new LimitadorLogin(properties, new SimpleMeterRegistry());
+
+        for (int i = 0; i < 50; i++) {
+            String username = "usuario" + i;
+            assertThatCode(() -> limitador.verificar(username, IP)).doesNotThrowAnyException();
+            limitador.registrarFallo(username, IP);
+        }
+    }
+
+    @Test
+    void losLoginsExitososNoConsumenElLimiteDeLaIp() {
+        properties.getLimite().setIpHabilitado(true);
+        LimitadorLogin limitador = new LimitadorLogin(properties, new SimpleMeterRegistry());
+
+        for (int i = 0; i < 50; i++) {
+            String username = "usuario" + i;
+            assertThatCode(() -> limitador.verificar(username, IP)).doesNotThrowAnyException();
+            limitador.registrarExito(username);
+        }
+    }
+
+    @Test
+    void losFallosAgotanElLimiteDeLaIp() {
+        properties.getLimite().setIpHabilitado(true);
+        LimitadorLogin limitador = new LimitadorLogin(properties, new SimpleMeterRegistry());
+
+        for (int i = 0; i < 5; i++) {
+            limitador.verificar("usuario" + i, IP);
+            limitador.registrarFallo("usuario" + i, IP);
+        }
+
+        assertThatThrownBy(() -> limitador.verificar("otro", IP)).isInstanceOf(LoginLimitadoException.class);
+        assertThatCode(() -> limitador.verificar("otro", "10.0.0.8")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void losIntentosSinFalloNoBloqueanAlUsuario() {
+        LimitadorLogin limitador = new LimitadorLogin(properties, new SimpleMeterRegistry());
+
+        // Conocer el nombre de usuario no basta para bloquear la cuenta
+        for (int i = 0; i < 50; i++) {
+            assertThatCode(() -> limitador.verificar("ana", IP)).doesNotThrowAnyException();
+        }
+    }
+
+    @Test
+    void losFallosAgotanElLimiteDelUsuarioYUnExitoLoReinicia() {
+        LimitadorLogin limitador = new LimitadorLogin(properties, new SimpleMeterRegistry());
+
+        for (int i = 0; i < 3; i++) {
+            limitador.verificar("Ana", IP);
+            limitador.registrarFallo("Ana", IP);
+        }
+        assertThatThrownBy(() -> limitador.verificar(" ana ", IP)).isInstanceOf(LoginLimitadoException.class);
+        assertThatCode(() -> limitador.verificar("luis", IP)).doesNotThrowAnyException();
+
+        limitador.registrarExito("ana");
+        assertThatCode(() -> limitador.verificar("ana", IP)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void elEstadoSoloPublicaConteos() {
+        properties.getLimite().setIpHabilitado(true);
+        LimitadorLogin limitador = new LimitadorLogin(properties, new SimpleMeterRegistry());
+        for (int i = 0; i < 3; i++) {
+            limitador.registrarFallo("jperez", IP);
+        }
+        limitador.registrarFallo("mlopez", IP);
+
+        Map<String, Object> estado = limitador.estado();
+
+        assertThat(estado)
+                .containsEntry("usuariosConFallos", 2L)
+                .containsEntry("usuariosLimitados", 1L)
+                .containsEntry("ipsConFallos", 1L)
+                .containsEntry("ipsLimitadas", 0L);
+        assertThat(estado.toString()).doesNotContain("jperez", "mlopez", IP);
+    }
+}
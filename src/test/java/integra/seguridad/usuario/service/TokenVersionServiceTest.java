@@ -0,0 +1,62 @@
+package integra.seguridad.usuario.service;
+
+import integra.seguridad.usuario.entity.TokenVersion;
+import integra.seguridad.usuario.repository.TokenVersionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifica que un incremento confirmado tarde, con {@code updated_at} por debajo de la marca de agua, se
+ * aplica en la reconciliación aunque el sondeo no lo vea.
+ */
+class TokenVersionServiceTest {
+
+    private static final LocalDateTime AHORA = LocalDateTime.of(2025, 6, 1, 12, 0);
+
+    private final TokenVersionRepository repository = mock(TokenVersionRepository.class);
+    private TokenVersionService servicio;
+
+    @BeforeEach
+    void preparar() {
+        when(repository.findAll()).thenReturn(List.of(version("ana", 1, AHORA), version("luis", 3, AHORA)));
+        servicio = new TokenVersionService(repository, 5000);
+        servicio.preloadCache();
+    }
+
+    @Test
+    void laReconciliacionAplicaElIncrementoQueElSondeoNoVio() {
+        // El incremento de ana se ejecutó antes de la marca de agua y confirmó después del margen
+        when(repository.findByUpdatedAtGreaterThanEqual(any())).thenReturn(List.of());
+        when(repository.findAll()).thenReturn(List.of(version("ana", 2, AHORA.minusMinutes(1)), version("luis", 3, AHORA)));
+
+        servicio.sondearCambios();
+        assertThat(servicio.getVersion("ana")).isEqualTo(1);
+
+        servicio.reconciliar();
+        assertThat(servicio.getVersion("ana")).isEqualTo(2);
+        assertThat(servicio.getVersion("luis")).isEqualTo(3);
+    }
+
+    @Test
+    void elSondeoAplicaLosCambiosDentroDelMargen() {
+        when(repository.findByUpdatedAtGreaterThanEqual(any())).thenReturn(List.of(version("luis", 4, AHORA.plusSeconds(1))));
+
+        servicio.sondearCambios();
+
+        assertThat(servicio.getVersion("luis")).isEqualTo(4);
+    }
+
+    private static TokenVersion version(String username, int valor, LocalDateTime actualizada) {
+        TokenVersion tv = new TokenVersion(null, username, valor);
+        tv.setUpdatedAt(actualizada);
+        return tv;
+    }
+}
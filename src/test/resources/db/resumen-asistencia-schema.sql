@@ -0,0 +1,51 @@
+-- Tablas y columnas que lee AsistenciaRepositoryImpl#findResumenByCriteria
+DROP TABLE IF EXISTS pausa;
+DROP TABLE IF EXISTS asistencia;
+DROP TABLE IF EXISTS empleado;
+DROP TABLE IF EXISTS unidad;
+DROP TABLE IF EXISTS puesto;
+
+CREATE TABLE puesto
+(
+    id     INT PRIMARY KEY,
+    nombre VARCHAR(50) NOT NULL
+);
+
+CREATE TABLE unidad
+(
+    id              INT PRIMARY KEY,
+    nombre_completo VARCHAR(100),
+    supervisor_id   INT NULL,
+    zona_id         INT NULL
+);
+
+CREATE TABLE empleado
+(
+    id              INT PRIMARY KEY,
+    codigo_empleado VARCHAR(20) NOT NULL,
+    nombre_completo VARCHAR(152),
+    unidad_id       INT NULL,
+    puesto_id       INT NOT NULL
+);
+
+CREATE TABLE asistencia
+(
+    id                 INT PRIMARY KEY,
+    id_empleado        INT        NOT NULL,
+    fecha              DATE       NOT NULL,
+    inicio_jornada     DATETIME   NULL,
+    fin_jornada        DATETIME   NULL,
+    jornada_cerrada    TINYINT(1) NULL DEFAULT 0,
+    cerrado_automatico TINYINT(1) NULL DEFAULT 0,
+    inconsistencia     TINYINT(1) NULL DEFAULT 0,
+    minutos_netos      INT        NULL
+);
+
+CREATE TABLE pausa
+(
+    id            INT PRIMARY KEY,
+    id_asistencia INT         NOT NULL,
+    tipo          VARCHAR(30) NOT NULL,
+    inicio        DATETIME    NOT NULL,
+    fin           DATETIME    NULL
+);